@@ -0,0 +1,41 @@
+package benchmarks;
+
+import java.time.LocalDateTime;
+
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.stub.SyntheticRepo;
+import ui.TestController;
+
+/**
+ * Synthetic repository data for benchmarks, generated by {@link SyntheticRepo} from a fixed seed and time
+ * so that the same size always produces the same data.
+ */
+public final class BenchmarkData {
+
+    public static final String REPO_ID = "benchmark/repo";
+
+    private static final long SEED = 0;
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2016, 3, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a MultiModel containing a single repository with the given number of issues.
+     */
+    public static MultiModel createMultiModel(int issueCount) {
+        MultiModel models = new MultiModel(TestController.createTestPreferences());
+        Model model = createModel(issueCount);
+        models.queuePendingRepository(model.getRepoId());
+        models.addPending(model);
+        models.setDefaultRepo(model.getRepoId());
+        return models;
+    }
+
+    public static Model createModel(int issueCount) {
+        SyntheticRepo repo = new SyntheticRepo(issueCount, SEED, 0, START_TIME);
+        return new Model(REPO_ID, repo.getIssues(REPO_ID), repo.getLabels(REPO_ID),
+                         repo.getMilestones(REPO_ID), repo.getCollaborators(REPO_ID));
+    }
+}
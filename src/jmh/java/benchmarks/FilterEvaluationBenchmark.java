@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.UpdateController;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+import ui.GuiElement;
+
+/**
+ * Evaluation of a parsed filter against every issue in a repository, on its own and as part of
+ * processFilters, which also sorts, counts and produces the elements shown in a panel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterEvaluationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int issueCount;
+
+    @Param({
+        "is:open",
+        "is:open label:priority sort:milestone,id",
+        "(label:type OR label:status) -label:component assignee:user1",
+        "milestone:current is:pr count:20 sort:~updated",
+        "fix in:title has:milestone sort:priority,~id"
+    })
+    public String filter;
+
+    private MultiModel models;
+    private FilterExpression filterExpr;
+    private List<TurboIssue> issues;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        models = BenchmarkData.createMultiModel(issueCount);
+        filterExpr = Qualifier.replaceMilestoneAliases(models, Parser.parse(filter));
+        issues = models.getIssues();
+    }
+
+    @Benchmark
+    public long process() {
+        long count = 0;
+        for (TurboIssue issue : issues) {
+            if (Qualifier.process(models, filterExpr, issue)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Map<FilterExpression, List<GuiElement>> processFilters() {
+        return UpdateController.processFilters(models, Collections.singletonList(filterExpr), Optional.empty());
+    }
+}
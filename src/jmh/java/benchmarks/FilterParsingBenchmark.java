@@ -0,0 +1,90 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import filter.IncrementalParser;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import filter.lexer.Lexer;
+import filter.lexer.Token;
+
+/**
+ * Lexing and parsing of filter text, which happens on every keystroke in a panel's filter text field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterParsingBenchmark {
+
+    @Param({
+        "is:open",
+        "is:open label:priority.high sort:milestone,id",
+        "(label:type.bug OR label:type.feature) -label:priority.low assignee:user1 updated:<48",
+        "repo:benchmark/repo milestone:current is:pr created:>2015-01-01 count:20 sort:~updated",
+        "crash in:title (author:user2 || involves:user3) && !is:closed && has:milestone sort:priority,~id",
+        "id:benchmark/repo#1;benchmark/repo#20;benchmark/repo#300;benchmark/repo#4000;benchmark/repo#5000",
+        "(label:type.bug OR label:type.feature OR label:type.task OR label:type.chore) "
+            + "(milestone:current OR milestone:curr-1 OR milestone:curr+1) -label:status.wontfix "
+            + "-label:status.duplicate (assignee:user1 OR assignee:user2 OR assignee:user3 OR assignee:user4) "
+            + "created:2015-01-01..2016-03-01 updated:<=720 \"null pointer\" in:title,body "
+            + "repo:benchmark/repo;benchmark/other is:open is:issue count:50 sort:~updated,priority,id"
+    })
+    public String filter;
+
+    @Benchmark
+    public List<Token> lex() {
+        return new Lexer(filter).lex();
+    }
+
+    @Benchmark
+    public FilterExpression parse() {
+        Parser.CACHE.clear();
+        return Parser.parse(filter);
+    }
+
+    @Benchmark
+    public FilterExpression parseCached() {
+        return Parser.parse(filter);
+    }
+
+    /**
+     * Checks every prefix of the filter, as happens while it is typed into a filter text field.
+     */
+    @Benchmark
+    public int checkWhileTyping() {
+        int valid = 0;
+        for (int i = 1; i <= filter.length(); i++) {
+            if (Parser.check(filter.substring(0, i))) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int checkWhileTypingIncrementally() {
+        IncrementalParser parser = new IncrementalParser();
+        int valid = 0;
+        for (int i = 1; i <= filter.length(); i++) {
+            if (parser.check(filter.substring(0, i))) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
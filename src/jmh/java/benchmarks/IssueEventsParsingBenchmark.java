@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.egit.github.core.client.GitHubResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import github.GitHubEventsResponse;
+import github.TurboIssueEvent;
+
+/**
+ * Parsing of issue events response bodies into TurboIssueEvents, for event histories of different lengths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssueEventsParsingBenchmark {
+
+    private static final String[] EVENTS = {
+        "\"event\":\"labeled\",\"label\":{\"name\":\"type.bug\",\"color\":\"fc2929\"}",
+        "\"event\":\"unlabeled\",\"label\":{\"name\":\"status.ongoing\",\"color\":\"009800\"}",
+        "\"event\":\"renamed\",\"rename\":{\"from\":\"Old title\",\"to\":\"New title\"}",
+        "\"event\":\"milestoned\",\"milestone\":{\"title\":\"V1.0\"}",
+        "\"event\":\"assigned\",\"assignee\":" + user("bob"),
+        "\"event\":\"closed\",\"commit_id\":null",
+        "\"event\":\"reopened\"",
+        "\"event\":\"subscribed\"",
+    };
+
+    @Param({"100", "1000", "10000"})
+    public int eventCount;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < eventCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"url\":\"https://api.github.com/repos/benchmark/repo/issues/events/").append(i)
+                    .append("\",\"actor\":").append(user("user" + i % 20))
+                    .append(',').append(EVENTS[i % EVENTS.length])
+                    .append(",\"created_at\":\"2016-03-01T12:").append(String.format("%02d", i % 60))
+                    .append(":00Z\"}");
+        }
+        body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String user(String login) {
+        return "{\"login\":\"" + login + "\",\"id\":1,\"avatar_url\":\"https://avatars.githubusercontent.com/u/1\","
+                + "\"url\":\"https://api.github.com/users/" + login + "\",\"type\":\"User\",\"site_admin\":false}";
+    }
+
+    @Benchmark
+    public List<TurboIssueEvent> parse() throws IOException {
+        return new GitHubEventsResponse(new GitHubResponse(null, null), new ByteArrayInputStream(body), "")
+                .getTurboIssueEvents();
+    }
+}
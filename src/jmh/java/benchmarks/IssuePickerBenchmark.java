@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.resource.TurboIssue;
+import util.QueryMatcher;
+
+/**
+ * Matching issues as a query is typed into the issue picker, one keystroke at a time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssuePickerBenchmark {
+
+    private static final String QUERY = "crash on startup 12";
+
+    @Param({"1000", "50000"})
+    public int issueCount;
+
+    private List<TurboIssue> issues;
+
+    @Setup
+    public void setup() {
+        issues = BenchmarkData.createModel(issueCount).getIssues();
+    }
+
+    /**
+     * Matches every prefix of the query against the issues from scratch.
+     */
+    @Benchmark
+    public int typeQuery() {
+        int matched = 0;
+        for (int i = 1; i <= QUERY.length(); i++) {
+            matched += TurboIssue.getMatchedIssues(issues, QUERY.substring(0, i)).size();
+        }
+        return matched;
+    }
+
+    /**
+     * Matches every prefix of the query with one matcher, as the issue picker does.
+     */
+    @Benchmark
+    public int typeQueryWithMatcher() {
+        QueryMatcher<TurboIssue> matcher = TurboIssue.createMatcher(issues);
+        int matched = 0;
+        for (int i = 1; i <= QUERY.length(); i++) {
+            matched += TurboIssue.getMatchedIssues(matcher, QUERY.substring(0, i)).size();
+        }
+        return matched;
+    }
+}
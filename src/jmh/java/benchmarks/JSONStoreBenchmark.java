@@ -0,0 +1,72 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.interfaces.RepoStore;
+import backend.json.JSONStore;
+import backend.resource.Model;
+import backend.resource.serialization.SerializableModel;
+
+/**
+ * Writing a repository to and reading it back from the JSON store, in a temporary directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JSONStoreBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int issueCount;
+
+    private Path directory;
+    private JSONStore store;
+    private SerializableModel model;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException, ExecutionException {
+        directory = Files.createTempDirectory("hubturbo-jmh");
+        RepoStore.changeDirectory(directory.toString());
+        store = new JSONStore();
+        model = new SerializableModel(BenchmarkData.createModel(issueCount));
+        store.saveRepository(BenchmarkData.REPO_ID, model).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.walk(directory)
+                .sorted(Comparator.reverseOrder())
+                .forEach(path -> path.toFile().delete());
+    }
+
+    @Benchmark
+    public boolean write() throws InterruptedException, ExecutionException {
+        return store.saveRepository(BenchmarkData.REPO_ID, model).get();
+    }
+
+    @Benchmark
+    public Model read() throws InterruptedException, ExecutionException {
+        return store.loadRepository(BenchmarkData.REPO_ID).get();
+    }
+}
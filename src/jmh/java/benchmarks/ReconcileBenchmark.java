@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.resource.TurboIssue;
+
+/**
+ * Reconciliation of a repository's issues with a batch of updated issues, as done on every refresh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReconcileBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int issueCount;
+
+    /**
+     * Percentage of issues updated since the last refresh.
+     */
+    @Param({"1", "10"})
+    public int churn;
+
+    private List<TurboIssue> existing;
+    private List<TurboIssue> changed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        existing = BenchmarkData.createModel(issueCount).getIssues();
+        changed = new ArrayList<>();
+        for (int i = 0; i < existing.size(); i += 100 / churn) {
+            TurboIssue issue = new TurboIssue(existing.get(i));
+            issue.setTitle(issue.getTitle() + " (edited)");
+            changed.add(issue);
+        }
+    }
+
+    @Benchmark
+    public List<TurboIssue> reconcile() {
+        return TurboIssue.reconcile(existing, changed);
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import filter.Parser;
+import filter.expression.IssueSortKeys;
+import filter.expression.Qualifier;
+
+/**
+ * Sorting all issues of a repository with the compound sort comparator, which looks up sort keys on every
+ * comparison, compared with sorting by sort keys precomputed once per issue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int issueCount;
+
+    @Param({"sort:priority,milestone", "sort:milestone,~updated", "sort:~assignee,id"})
+    public String sort;
+
+    private MultiModel models;
+    private Qualifier sortQualifier;
+    private List<TurboIssue> issues;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        models = BenchmarkData.createMultiModel(issueCount);
+        sortQualifier = Parser.parse(sort).find(Qualifier::isMetaQualifier).get(0);
+        issues = new ArrayList<>(models.getIssues());
+        Collections.shuffle(issues, new Random(0));
+    }
+
+    @Benchmark
+    public List<TurboIssue> comparator() {
+        List<TurboIssue> sorted = new ArrayList<>(issues);
+        sorted.sort(sortQualifier.getCompoundSortComparator(models, false));
+        return sorted;
+    }
+
+    @Benchmark
+    public List<TurboIssue> precomputedKeys() {
+        return new IssueSortKeys(models, issues, sortQualifier.getSortKeys(), false).sort();
+    }
+}
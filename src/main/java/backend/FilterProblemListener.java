@@ -0,0 +1,16 @@
+package backend;
+
+import filter.expression.FilterExpression;
+
+import java.util.List;
+
+/**
+ * Receives the problems found while processing filters: warnings about parts of a filter which can match
+ * nothing, and errors which stop a filter from being applied at all.
+ */
+public interface FilterProblemListener {
+
+    void onWarnings(FilterExpression filterExpr, List<String> warnings);
+
+    void onError(FilterExpression filterExpr, String message);
+}
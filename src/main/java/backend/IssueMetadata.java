@@ -2,19 +2,25 @@ package backend;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import org.eclipse.egit.github.core.Comment;
 
+import com.google.common.collect.ImmutableList;
+
+import backend.resource.serialization.SerializableIssueMetadata;
 import github.TurboIssueEvent;
 import util.Utility;
 
+/**
+ * The events and comments of an issue. Instances are immutable, and the lists of events and comments are shared
+ * between the instances derived from one another rather than copied.
+ */
 public final class IssueMetadata {
 
-    private final List<TurboIssueEvent> events;
-    private final List<Comment> comments;
+    private final ImmutableList<TurboIssueEvent> events;
+    private final ImmutableList<Comment> comments;
 
     // This field expresses whether this metadata is known to be the latest
     // at the time of instantiation. It is like a dirty flag which is
@@ -37,7 +43,7 @@ public final class IssueMetadata {
      * new issues.
      */
     public static IssueMetadata empty() {
-        return new IssueMetadata(new ArrayList<>(), new ArrayList<>(), false, "", "");
+        return new IssueMetadata(ImmutableList.of(), ImmutableList.of(), false, "", "");
     }
 
     /**
@@ -69,17 +75,22 @@ public final class IssueMetadata {
         return new IssueMetadata(events, comments, true, eventsETag, commentsETag, currentUser);
     }
 
+    /**
+     * Constructs a metadata instance restored from the store, with the properties computed when it was
+     * stored. It is not known to be the latest.
+     */
+    public static IssueMetadata restored(SerializableIssueMetadata metadata) {
+        return new IssueMetadata(metadata.getEvents(), metadata.getComments(), false,
+                                 metadata.getEventsETag(), metadata.getCommentsETag(),
+                                 metadata.getNonSelfUpdatedAt(), metadata.getUser());
+    }
+
     /**
      * Reconciles a newly-updated metadata instance against older data.
      */
     public IssueMetadata reconcile(LocalDateTime nonSelfUpdatedAt,
                                    List<TurboIssueEvent> existingEvents, String existingETag) {
-        List<TurboIssueEvent> newEvents;
-        if (existingETag.equals(eventsETag)) {
-            newEvents = new ArrayList<>(existingEvents);
-        } else {
-            newEvents = new ArrayList<>(events);
-        }
+        List<TurboIssueEvent> newEvents = existingETag.equals(eventsETag) ? existingEvents : events;
         return new IssueMetadata(newEvents, comments, isLatest, eventsETag, commentsETag, nonSelfUpdatedAt, user);
     }
 
@@ -88,8 +99,8 @@ public final class IssueMetadata {
      */
     private IssueMetadata(List<TurboIssueEvent> events, List<Comment> comments,
                           boolean isLatest, String eventsETag, String commentsETag) {
-        this.events = new ArrayList<>(events);
-        this.comments = new ArrayList<>(comments);
+        this.events = ImmutableList.copyOf(events);
+        this.comments = ImmutableList.copyOf(comments);
         this.isLatest = isLatest;
         this.eventsETag = eventsETag;
         this.commentsETag = commentsETag;
@@ -115,8 +126,8 @@ public final class IssueMetadata {
     private IssueMetadata(List<TurboIssueEvent> events, List<Comment> comments,
                           boolean isLatest, String eventsETag, String commentsETag,
                           LocalDateTime nonSelfUpdatedAt, String user) {
-        this.events = new ArrayList<>(events);
-        this.comments = new ArrayList<>(comments);
+        this.events = ImmutableList.copyOf(events);
+        this.comments = ImmutableList.copyOf(comments);
         this.isLatest = isLatest;
         this.eventsETag = eventsETag;
         this.commentsETag = commentsETag;
@@ -173,17 +184,21 @@ public final class IssueMetadata {
     }
 
     public List<TurboIssueEvent> getEvents() {
-        return new ArrayList<>(events);
+        return events;
     }
 
     public List<Comment> getComments() {
-        return new ArrayList<>(comments);
+        return comments;
     }
 
     public boolean isLatest() {
         return isLatest;
     }
 
+    public String getUser() {
+        return user;
+    }
+
     public LocalDateTime getNonSelfUpdatedAt() {
         return nonSelfUpdatedAt;
     }
@@ -1,9 +1,11 @@
 package backend;
 
 import backend.control.RepoOpControl;
+import backend.github.GitHubModelUpdatesData;
 import backend.resource.Model;
 import backend.resource.MultiModel;
 import backend.resource.TurboIssue;
+import backend.webhook.WebhookUpdates;
 import filter.expression.FilterExpression;
 import filter.expression.Qualifier;
 import filter.expression.QualifierType;
@@ -21,6 +23,8 @@ import util.Utility;
 import util.events.*;
 import util.events.testevents.ClearLogicModelEvent;
 import util.events.testevents.ClearLogicModelEventHandler;
+import util.metrics.Metrics;
+import util.tracing.Tracer;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -42,6 +46,9 @@ public class Logic {
     public LoginController loginController;
     public UpdateController updateController;
 
+    // Set while the panels show repositories loaded from the store and logging in is not yet done
+    private volatile boolean isShowingStoredReposBeforeLogin = false;
+
     public Logic(UIManager uiManager, Preferences prefs, Optional<RepoIO> repoIO, Optional<MultiModel> models) {
         this.uiManager = uiManager;
         this.prefs = prefs;
@@ -81,20 +88,97 @@ public class Logic {
     }
 
     public void refresh() {
-        String message = "Refreshing " + models.toModels().stream()
+        List<Model> current = models.toModels();
+        String message = "Refreshing " + current.stream()
                 .map(Model::getRepoId)
                 .collect(Collectors.joining(", "));
 
         logger.info(message);
         UI.status.displayMessage(message);
 
-        Futures.sequence(models.toModels().stream()
-                                 .map((model) -> repoIO.updateModel(model, true))
-                                 .collect(Collectors.toList()))
-                .thenRun(this::refreshUI)
-                .thenCompose(n -> getRateLimitResetTime())
-                .thenApply(this::updateRemainingRate)
-                .exceptionally(Futures::log);
+        Tracer.traceAsync("Logic.refresh", Optional.empty(), () ->
+                Futures.sequence(current.stream()
+                                         .map((model) -> repoIO.updateModel(model, true))
+                                         .collect(Collectors.toList()))
+                        .thenApply(Tracer.wrap((List<Model> updated) -> refreshUIIfChanged(current, updated)))
+                        .thenCompose(n -> getRateLimitResetTime())
+                        .thenApply(this::updateRemainingRate)
+                        .exceptionally(Futures::log));
+    }
+
+    /**
+     * Applies a webhook payload to the model of the open repository it is about, then refreshes the panels.
+     * Payloads about repositories which are not open, or of events which do not change models, are ignored.
+     *
+     * @param eventType the type of event the payload is for
+     * @param payload   the JSON payload
+     * @return the updated model, or an empty Optional if the payload was ignored
+     * @throws com.google.gson.JsonParseException if the payload is malformed
+     */
+    public CompletableFuture<Optional<Model>> applyWebhookPayload(String eventType, String payload) {
+        Optional<GitHubModelUpdatesData> updates =
+                WebhookUpdates.toModelUpdates(eventType, payload, models::getModelById);
+        if (!updates.isPresent()) {
+            logger.info("Ignored " + eventType + " webhook delivery");
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        logger.info(HTLog.format(updates.get().getRepoId(), "Applying %s webhook delivery", eventType));
+        return Tracer.traceAsync("Logic.applyWebhookPayload", Optional.of(eventType), () ->
+                repoOpControl.updateLocalModel(updates.get(), true)
+                        .thenApply(model -> {
+                            refreshUI();
+                            return Optional.of(model);
+                        }));
+    }
+
+    /**
+     * Loads those of the given repositories which are stored locally, without contacting the repository
+     * source, then refreshes the panels from them. This lets panels be shown before logging in; the loaded
+     * repositories are brought up to date by the next refresh.
+     * <p>
+     * Repositories which are not stored, or are already open or being opened, are skipped, as are those
+     * which fail to load.
+     *
+     * @param repoIds ids of the repositories to load
+     * @return the models which were loaded
+     */
+    public CompletableFuture<List<Model>> openRepositoriesFromStore(Set<String> repoIds) {
+        Set<String> requested = Utility.convertSetToLowerCase(repoIds);
+        List<String> toLoad = repoIO.getStoredRepos().stream()
+                .filter(repoId -> requested.contains(repoId.toLowerCase()))
+                .filter(repoId -> !isAlreadyOpen(repoId) && !models.isRepositoryPending(repoId))
+                .collect(Collectors.toList());
+        toLoad.forEach(models::queuePendingRepository);
+        logger.info("Loading " + toLoad + " from store");
+
+        // All loads are requested at once, and each model is added as soon as it has loaded
+        return Futures.sequence(toLoad.stream()
+                                        .map(repoId -> repoIO.loadRepositoryFromStore(repoId)
+                                                .thenApply(model -> {
+                                                    models.addPending(model);
+                                                    return Optional.of(model);
+                                                })
+                                                .exceptionally(e -> {
+                                                    models.removePendingRepository(repoId);
+                                                    return Optional.empty();
+                                                }))
+                                        .collect(Collectors.toList()))
+                .thenApply(loaded -> {
+                    updateController.refreshFromLoadedModels(getAllPanels());
+                    return loaded.stream()
+                            .filter(Optional::isPresent)
+                            .map(Optional::get)
+                            .collect(Collectors.toList());
+                });
+    }
+
+    /**
+     * Sets whether the panels are showing repositories loaded from the store before logging in. While they
+     * are, refreshing panels only filters the loaded repositories, without opening the repositories in their
+     * filters or retrieving metadata, as neither can be done before logging in.
+     */
+    public void setShowingStoredReposBeforeLogin(boolean isShowingStoredReposBeforeLogin) {
+        this.isShowingStoredReposBeforeLogin = isShowingStoredReposBeforeLogin;
     }
 
     /**
@@ -578,7 +662,38 @@ public class Logic {
      * and then sends the data to the GUI.
      */
     private void refreshUI() {
-        updateController.processAndRefresh(getAllPanels());
+        refreshPanels(getAllPanels());
+    }
+
+    private void refreshPanels(List<FilterPanel> panels) {
+        if (isShowingStoredReposBeforeLogin) {
+            updateController.refreshFromLoadedModels(panels);
+        } else {
+            updateController.processAndRefresh(panels);
+        }
+    }
+
+    /**
+     * Refreshes the panels unless none of the models changed in updating them. Panels whose filters depend on
+     * the current time are always refreshed.
+     *
+     * @return true if the panels were refreshed
+     */
+    private boolean refreshUIIfChanged(List<Model> current, List<Model> updated) {
+        boolean isChanged = false;
+        for (int i = 0; i < current.size(); i++) {
+            isChanged |= !current.get(i).isSameVersionAs(updated.get(i));
+        }
+        List<FilterPanel> panels = getAllPanels();
+        boolean isTimeDependent = panels.stream()
+                .anyMatch(panel -> Qualifier.hasUpdatedQualifier(panel.getCurrentFilterExpression()));
+        if (isChanged || isTimeDependent) {
+            updateController.processAndRefresh(panels);
+            return true;
+        }
+        Metrics.counter("logic.unchangedRefreshes").increment();
+        logger.info("Nothing changed; not refreshing panels");
+        return false;
     }
 
     /**
@@ -589,10 +704,11 @@ public class Logic {
     public void refreshPanel(FilterPanel panel) {
         List<FilterPanel> panels = new ArrayList<>();
         panels.add(panel);
-        updateController.processAndRefresh(panels);
+        refreshPanels(panels);
 
-        // AppliedFilterEvent will be triggered asynchronously when repo(s) have finished opening, so just terminate
-        if (hasRepoSpecifiedInFilter(panel)) return;
+        // AppliedFilterEvent will be triggered asynchronously when repo(s) have finished opening, so just terminate.
+        // Repositories are not opened before logging in, so it is triggered here then.
+        if (!isShowingStoredReposBeforeLogin && hasRepoSpecifiedInFilter(panel)) return;
 
         Platform.runLater(() -> UI.events.triggerEvent(new AppliedFilterEvent(panel)));
     }
@@ -622,7 +738,10 @@ public class Logic {
     private boolean insertMetadata(Map<Integer, IssueMetadata> metadata, String repoId, String currentUser) {
         String updatedMessage = "Received metadata from " + repoId + "!";
         UI.status.displayMessage(updatedMessage);
-        models.insertMetadata(repoId, metadata, currentUser);
+        Map<Integer, IssueMetadata> changed = models.insertMetadata(repoId, metadata, currentUser);
+        if (!changed.isEmpty()) {
+            repoIO.saveIssueMetadata(repoId, changed);
+        }
         return true;
     }
 
@@ -59,9 +59,17 @@ public final class LoginController {
         password = logic.prefs.getLastLoginPassword();
     }
 
+    /**
+     * Returns true if a repository and login credentials are known, so logging in can be attempted
+     * without asking the user for them.
+     */
+    public boolean hasLoginDetails() {
+        return Utility.isWellFormedRepoId(owner, repo) && !username.isEmpty() && !password.isEmpty();
+    }
+
     public boolean attemptLogin() {
 
-        boolean validRepoId = Utility.isWellFormedRepoId(owner, repo) && !username.isEmpty() && !password.isEmpty();
+        boolean validRepoId = hasLoginDetails();
         boolean loginSuccessful = login(username, password);
 
         if (validRepoId && loginSuccessful) {
@@ -2,6 +2,7 @@ package backend;
 
 import backend.control.RepoOpControl;
 import backend.github.GitHubModelUpdatesData;
+import backend.github.GitHubRepoTask;
 import backend.github.GitHubSource;
 import backend.interfaces.RepoSource;
 import backend.interfaces.RepoStore;
@@ -14,16 +15,26 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.egit.github.core.Issue;
 import ui.UI;
+import ui.components.StatusUI;
 import util.HTLog;
+import util.events.EventDispatcher;
 import util.events.ShowErrorDialogEvent;
 import util.events.UpdateProgressEvent;
+import util.metrics.Metrics;
+import util.tracing.Tracer;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static util.Futures.withResult;
 
@@ -35,8 +46,15 @@ public class RepoIO {
     private final JSONStore jsonStore;
     private RepoOpControl repoOpControl;
 
+    // Where progress, errors and status messages are reported, if not to the UI
+    private Optional<EventDispatcher> events = Optional.empty();
+    private Optional<StatusUI> status = Optional.empty();
+
     private final List<String> storedRepos;
 
+    // Runs downloads of repos which could not be loaded from the store
+    private final ExecutorService downloadPool = Executors.newCachedThreadPool();
+
     private static final int MAX_REDOWNLOAD_TRIES = 2;
 
     /**
@@ -71,6 +89,24 @@ public class RepoIO {
         return this.repoOpControl;
     }
 
+    /**
+     * Reports progress, errors and status messages to the given dispatcher and status rather than to the UI,
+     * e.g. when there is no UI. Progress of downloads from the repo source is reported there too.
+     */
+    public void setEventsAndStatus(EventDispatcher events, StatusUI status) {
+        this.events = Optional.of(events);
+        this.status = Optional.of(status);
+        repoSource.setEventDispatcher(events);
+    }
+
+    private EventDispatcher getEvents() {
+        return events.orElse(UI.events);
+    }
+
+    private StatusUI getStatus() {
+        return status.orElse(UI.status);
+    }
+
     public List<String> getStoredRepos() {
         return storedRepos;
     }
@@ -84,28 +120,41 @@ public class RepoIO {
     }
 
     public CompletableFuture<Model> openRepository(String repoId) {
+        return Metrics.timer("repoio.openRepository").timeAsync(() -> loadOrDownloadRepository(repoId));
+    }
+
+    private CompletableFuture<Model> loadOrDownloadRepository(String repoId) {
         // The ignoreCase logic is necessary when we are opening a repo from the login dialog window
         // i.e. when the isAlreadyOpen check in Logic fails.
         Optional<String> matchingRepoName = storedRepos.stream().filter(repoName ->
                                                                                 repoName.equalsIgnoreCase(repoId))
                 .findFirst();
         if (matchingRepoName.isPresent()) {
-            // TODO avoid CI deadlock in the .exceptionally call. Explanation:
-            /* loadRepoFromStoreAsync will execute in jsonStore's single thread pool, and if
-             it has an exception then downloadRepoFromSourceBlocking will also run there. Eventually,
-             this results in jsonStore.saveRepository in updateModel being placed as another Task on the
-             same thread pool. However, since the current task is still carrying out and waiting for the second
-             task to complete, the program gets deadlocked on the CI.
-             One example of how this can happen is when storedRepos contains the repo name but the json was
-             deleted while the program is still running. */
             String repoToLoad = matchingRepoName.get();
-            return loadRepoFromStoreAsync(repoToLoad)
-                    .exceptionally(e -> downloadRepoFromSourceBlocking(repoToLoad));
+            CompletableFuture<Model> result = new CompletableFuture<>();
+            loadRepoFromStoreAsync(repoToLoad).whenComplete((model, e) -> {
+                if (e == null) {
+                    result.complete(model);
+                    return;
+                }
+                // A failed load completes on a store thread. The download waits for the repo to be written to
+                // the store, which queues behind the load on the same repo, so it must not wait there.
+                downloadPool.execute(Tracer.wrap(() -> result.complete(downloadRepoFromSourceBlocking(repoToLoad))));
+            });
+            return result;
         } else {
             return downloadRepoFromSourceAsync(repoId);
         }
     }
 
+    /**
+     * Loads a stored repository without downloading updates for it. Completes exceptionally if the
+     * repository cannot be loaded from the store.
+     */
+    public CompletableFuture<Model> loadRepositoryFromStore(String repoId) {
+        return jsonStore.loadRepository(repoId);
+    }
+
     public CompletableFuture<Boolean> removeRepository(String repoId) {
         storedRepos.remove(repoId);
         return jsonStore.removeStoredRepo(repoId);
@@ -121,7 +170,7 @@ public class RepoIO {
     }
 
     private CompletableFuture<Model> downloadRepoFromSourceAsync(String repoId, int remainingTries) {
-        UI.status.displayMessage("Downloading " + repoId);
+        getStatus().displayMessage("Downloading " + repoId);
         return repoSource.downloadRepository(repoId)
                 .thenCompose(newModel -> updateModel(newModel, false, remainingTries))
                 .thenApply(model -> {
@@ -167,11 +216,22 @@ public class RepoIO {
     }
 
     public CompletableFuture<Model> updateModel(Model model, boolean syncOperation, int remainingTries) {
+        return Metrics.timer("repoio.updateModel").timeAsync(() -> Tracer.traceAsync(
+                "RepoIO.updateModel", Optional.of(model.getRepoId()),
+                () -> downloadAndApplyUpdates(model, syncOperation, remainingTries)));
+    }
+
+    private CompletableFuture<Model> downloadAndApplyUpdates(Model model, boolean syncOperation,
+                                                             int remainingTries) {
+        if (!jsonStore.isWriterOf(model.getRepoId())) {
+            return applyStoredUpdates(model, syncOperation);
+        }
         return downloadModelUpdates(model)
-                .thenCompose((updates) -> getRepoOpControl().updateLocalModel(updates, syncOperation))
-                .thenApply(newModel -> {
+                .thenCompose(Tracer.wrap((updates) -> getRepoOpControl().updateLocalModel(updates, syncOperation)))
+                .thenApply(Tracer.wrap(newModel -> {
                     boolean corruptedJson = false;
-                    if (!model.equals(newModel)) {
+                    // Comparing versions first avoids comparing the contents of models which did not change
+                    if (!model.isSameVersionAs(newModel) && !model.equals(newModel)) {
                         try {
                             corruptedJson =
                                     jsonStore.saveRepository(newModel.getRepoId(), new SerializableModel(newModel))
@@ -180,32 +240,86 @@ public class RepoIO {
                             corruptedJson = true;
                         }
                     } else {
+                        Metrics.counter("repoio.unchangedModels").increment();
                         logger.info(HTLog.format(model.getRepoId(),
                                                  "Nothing changed; not writing to store"));
                     }
                     if (corruptedJson && remainingTries > 0) {
+                        Metrics.counter("repoio.redownloads").increment();
                         return downloadRepoFromSourceAsync(model.getRepoId(), remainingTries - 1).join();
                     } else {
                         if (corruptedJson && remainingTries == 0) {
-                            UI.events.triggerEvent(new ShowErrorDialogEvent("Could not sync " + model.getRepoId(),
+                            getEvents().triggerEvent(new ShowErrorDialogEvent("Could not sync " + model.getRepoId(),
                                             "We were not able to sync with GitHub "
                                             + "to retrieve and store data for the repository "
                                             + model.getRepoId()
                                             + ". Please let us know if you "
                                             + "encounter this issue consistently."));
                         } else {
-                            UI.status.displayMessage(model.getRepoId() + " is up to date!");
+                            getStatus().displayMessage(model.getRepoId() + " is up to date!");
                         }
-                        UI.events.triggerEvent(new UpdateProgressEvent(model.getRepoId()));
+                        getEvents().triggerEvent(new UpdateProgressEvent(model.getRepoId()));
                         return newModel;
                     }
-                }).exceptionally(withResult(new Model(model.getRepoId())));
+                })).exceptionally(withResult(new Model(model.getRepoId())));
+    }
+
+    /**
+     * Brings a model up to date with what was last stored by the writer of its repository, another instance
+     * sharing the store, rather than downloading updates for it again.
+     */
+    private CompletableFuture<Model> applyStoredUpdates(Model model, boolean syncOperation) {
+        return jsonStore.loadRepositoryIfChanged(model.getRepoId())
+                .thenCompose(stored -> {
+                    if (!stored.isPresent()) {
+                        return CompletableFuture.completedFuture(model);
+                    }
+                    Metrics.counter("repoio.storedUpdates").increment();
+                    return getRepoOpControl().updateLocalModel(toModelUpdates(model, stored.get()), syncOperation);
+                })
+                .thenApply(newModel -> {
+                    getEvents().triggerEvent(new UpdateProgressEvent(model.getRepoId()));
+                    return newModel;
+                })
+                .exceptionally(withResult(model));
+    }
+
+    /**
+     * Returns the differences between a model and the stored version of it as updates, so that they are applied
+     * to the model just as downloaded updates are.
+     */
+    private static GitHubModelUpdatesData toModelUpdates(Model model, Model stored) {
+        Map<Integer, LocalDateTime> updatedAt = new HashMap<>();
+        model.getIssues().forEach(issue -> updatedAt.put(issue.getId(), issue.getUpdatedAt()));
+        List<TurboIssue> changedIssues = stored.getIssues().stream()
+                .filter(issue -> !updatedAt.containsKey(issue.getId())
+                        || !Objects.equals(issue.getUpdatedAt(), updatedAt.get(issue.getId())))
+                .collect(Collectors.toList());
+
+        UpdateSignature signature = stored.getUpdateSignature();
+        return new GitHubModelUpdatesData(
+                stored,
+                new GitHubRepoTask.Result<>(changedIssues, signature.issuesETag, signature.lastCheckTime),
+                new ArrayList<>(),
+                new GitHubRepoTask.Result<>(stored.getLabels(), signature.labelsETag),
+                new GitHubRepoTask.Result<>(stored.getMilestones(), signature.milestonesETag),
+                new GitHubRepoTask.Result<>(stored.getUsers(), signature.collaboratorsETag),
+                new GitHubRepoTask.Result<>(new ArrayList<>(), signature.issueEventsETag),
+                new GitHubRepoTask.Result<>(new ArrayList<>(), signature.issueCommentsETag));
     }
 
     public CompletableFuture<Map<Integer, IssueMetadata>> getIssueMetadata(String repoId, List<TurboIssue> issues) {
         return repoSource.downloadMetadata(repoId, issues);
     }
 
+    /**
+     * Stores the metadata of the given issues of a repository, so that it is restored when the repository is
+     * next loaded from the store.
+     */
+    public CompletableFuture<Boolean> saveIssueMetadata(String repoId, Map<Integer, IssueMetadata> metadata) {
+        return jsonStore.saveIssueMetadata(repoId, metadata);
+    }
+
     public CompletableFuture<Boolean> replaceIssueLabels(TurboIssue issue, List<String> labels) {
         return repoSource.replaceIssueLabels(issue, labels);
     }
@@ -9,6 +9,7 @@ import ui.UI;
 import ui.issuepanel.FilterPanel;
 import util.events.ModelUpdatedEvent;
 import util.events.UpdateRateLimitsEvent;
+import util.tracing.Tracer;
 
 import java.util.List;
 import java.util.Map;
@@ -23,7 +24,7 @@ public class UIManager {
 
     public void update(Map<FilterExpression, List<GuiElement>> elementsToShow,
                        List<TurboUser> users) {
-        Platform.runLater(() -> ui.triggerEvent(new ModelUpdatedEvent(elementsToShow, users)));
+        Platform.runLater(Tracer.wrap(() -> ui.triggerEvent(new ModelUpdatedEvent(elementsToShow, users))));
     }
 
     public void updateRateLimits(ImmutablePair<Integer, Long> rateLimits) {
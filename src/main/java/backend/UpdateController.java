@@ -5,17 +5,23 @@ import backend.resource.MultiModel;
 import backend.resource.TurboIssue;
 import filter.FilterException;
 import filter.expression.FilterExpression;
+import filter.expression.IssueSortKeys;
 import filter.expression.Qualifier;
 import javafx.application.Platform;
 import org.apache.logging.log4j.Logger;
 import filter.expression.QualifierType;
+import filter.expression.SortKey;
 import ui.GuiElement;
 import ui.UI;
 import ui.issuepanel.FilterPanel;
 import util.Futures;
 import util.HTLog;
+import util.Sorting;
 import util.events.FilterExceptionEvent;
 import util.events.FilterWarningEvent;
+import util.metrics.Metrics;
+import util.tracing.Span;
+import util.tracing.Tracer;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -30,6 +36,27 @@ import java.util.stream.Collectors;
 public class UpdateController {
     private static final Logger logger = HTLog.get(UpdateController.class);
 
+    /**
+     * Number of leading issues per panel to sort in the preliminary pass, enough to fill
+     * the visible part of a panel. The remaining issues are ordered by the follow-up pass.
+     */
+    private static final int VISIBLE_WINDOW_SIZE = 50;
+
+    /**
+     * Reports problems with filters to the panels showing them, through events on the JavaFX thread.
+     */
+    private static final FilterProblemListener UI_PROBLEM_LISTENER = new FilterProblemListener() {
+        @Override
+        public void onWarnings(FilterExpression filterExpr, List<String> warnings) {
+            Platform.runLater(() -> UI.events.triggerEvent(new FilterWarningEvent(filterExpr, warnings)));
+        }
+
+        @Override
+        public void onError(FilterExpression filterExpr, String message) {
+            Platform.runLater(() -> UI.events.triggerEvent(new FilterExceptionEvent(filterExpr, message)));
+        }
+    };
+
     private final Logic logic;
 
     public UpdateController(Logic logic) {
@@ -49,12 +76,14 @@ public class UpdateController {
         List<FilterExpression> filterExprs = getFilterExpressions(filterPanels);
 
         // Filter and sort the issues first even if the metadata is not yet available so that criteria not
-        // based on metadata can have immediate effect.
-        logic.updateUI(processFilters(filterExprs));
+        // based on metadata can have immediate effect. Only the visible window is sorted here, as the
+        // issues are always filtered and sorted in full again below.
+        logic.updateUI(processFilters(filterExprs, Optional.of(VISIBLE_WINDOW_SIZE)));
 
         // Open specified repos
         openRepositoriesInFilters(filterPanels)
-                .thenRun(() -> {
+                .exceptionally(Futures::log)
+                .thenRun(Tracer.wrap(() -> {
                     // First filter, for issues requiring a metadata update.
                     Map<String, List<TurboIssue>> toUpdate = tallyMetadataUpdate(filterExprs);
 
@@ -75,8 +104,19 @@ public class UpdateController {
                                     + "/" + results.size() + " repos"))
                             .thenCompose(n -> logic.getRateLimitResetTime())
                             .thenApply(logic::updateRemainingRate)
-                            .thenRun(() -> logic.updateUI(processFilters(filterExprs))); // Then filter the second time.
-                });
+                            // Then filter the second time.
+                            .thenRun(Tracer.wrap(() -> logic.updateUI(processFilters(filterExprs))));
+                }));
+    }
+
+    /**
+     * Filters and sorts issues for the given panels using only the repositories already loaded, without
+     * opening the repositories in their filters or retrieving metadata, and refreshes them.
+     *
+     * @param filterPanels Filter panels to process
+     */
+    public void refreshFromLoadedModels(List<FilterPanel> filterPanels) {
+        logic.updateUI(processFilters(getFilterExpressions(filterPanels)));
     }
 
     private List<FilterExpression> getFilterExpressions(List<FilterPanel> panels) {
@@ -99,27 +139,35 @@ public class UpdateController {
                 }).collect(Collectors.toList()));
     }
 
+    private Map<String, List<TurboIssue>> tallyMetadataUpdate(List<FilterExpression> filterExprs) {
+        return tallyMetadataUpdate(logic.getModels(), filterExprs, UI_PROBLEM_LISTENER);
+    }
+
     /**
      * Given a list of filter expressions, determine issues within the model that require a metadata update.
+     * Only issues whose metadata is out of date, because they changed or had new events or comments since it
+     * was downloaded, require one.
      *
+     * @param models      The MultiModel containing the issues to check
      * @param filterExprs Filter expressions to process for metadata requests.
+     * @param problems    Told of filters which cannot be applied
      * @return Repo IDs and the corresponding issues in the repo requiring a metadata update.
      */
-    private Map<String, List<TurboIssue>> tallyMetadataUpdate(List<FilterExpression> filterExprs) {
-        MultiModel models = logic.getModels();
+    public static Map<String, List<TurboIssue>> tallyMetadataUpdate(MultiModel models,
+                                                                    List<FilterExpression> filterExprs,
+                                                                    FilterProblemListener problems) {
         List<TurboIssue> allModelIssues = models.getIssues();
 
         return filterExprs.stream()
                 .filter(Qualifier::hasUpdatedQualifier)
                 .flatMap(filterExpr -> allModelIssues.stream()
+                        .filter(issue -> !issue.getMetadata().isLatest())
                         .filter(issue -> {
                             try {
                                 return Qualifier.process(models, filterExpr,
                                                          issue);
                             } catch (FilterException e) {
-                                Platform.runLater(() -> UI.events.triggerEvent(
-                                        new FilterExceptionEvent(filterExpr, e
-                                                .getMessage())));
+                                problems.onError(filterExpr, e.getMessage());
                                 return false;
                             }
                         }))
@@ -127,79 +175,138 @@ public class UpdateController {
                 .collect(Collectors.groupingBy(TurboIssue::getRepoId));
     }
 
+    private Map<FilterExpression, List<GuiElement>> processFilters(List<FilterExpression> filterExprs) {
+        return processFilters(logic.getModels(), filterExprs, Optional.empty());
+    }
+
+    private Map<FilterExpression, List<GuiElement>> processFilters(List<FilterExpression> filterExprs,
+                                                                   Optional<Integer> visibleWindowSize) {
+        return processFilters(logic.getModels(), filterExprs, visibleWindowSize);
+    }
+
     /**
      * Filters, sorts and counts issues within the model according to the given filter expressions
      * In here, "processed" is equivalent to "filtered, sorted and counted".
+     * <p>
+     * When a count qualifier is present, only the issues to be shown are selected and sorted rather than
+     * sorting all matching issues. When a visible window size is given, only that many leading issues are
+     * sorted and the rest are left in model order.
      *
-     * @param filterExprs Filter expressions
+     * @param models            The MultiModel containing the issues to process
+     * @param filterExprs       Filter expressions
+     * @param visibleWindowSize Number of leading issues to sort, or empty to sort all issues
      * @return Filter expressions and their corresponding issues after filtering, sorting and counting.
      */
-    private Map<FilterExpression, List<GuiElement>> processFilters(List<FilterExpression> filterExprs) {
-        MultiModel models = logic.getModels();
+    public static Map<FilterExpression, List<GuiElement>> processFilters(MultiModel models,
+                                                                         List<FilterExpression> filterExprs,
+                                                                         Optional<Integer> visibleWindowSize) {
+        return processFilters(models, filterExprs, visibleWindowSize, UI_PROBLEM_LISTENER);
+    }
+
+    /**
+     * As {@link #processFilters(MultiModel, List, Optional)}, but reports problems with the filters to the given
+     * listener rather than to the UI, so that filters can be processed without one.
+     */
+    public static Map<FilterExpression, List<GuiElement>> processFilters(MultiModel models,
+                                                                         List<FilterExpression> filterExprs,
+                                                                         Optional<Integer> visibleWindowSize,
+                                                                         FilterProblemListener problems) {
+        Span span = Tracer.start("processFilters");
+        try {
+            return processFiltersInSpan(models, filterExprs, visibleWindowSize, problems);
+        } finally {
+            span.close();
+        }
+    }
+
+    private static Map<FilterExpression, List<GuiElement>> processFiltersInSpan(MultiModel models,
+                                                                                List<FilterExpression> filterExprs,
+                                                                                Optional<Integer> visibleWindowSize,
+                                                                                FilterProblemListener problems) {
+        long start = System.nanoTime();
         List<TurboIssue> allModelIssues = models.getIssues();
 
+        // Warnings depend only on the repository of an issue, so they are found once for each repository
+        Set<String> issueRepoIds = allModelIssues.stream()
+                .map(TurboIssue::getRepoId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
         Map<FilterExpression, List<GuiElement>> processed = new HashMap<>();
 
         filterExprs.stream().distinct().forEach(filterExpr -> {
+            long panelStart = System.nanoTime();
+            Span panelSpan = Tracer.start("processFilter", Optional.of(filterExpr.toString()));
             boolean hasUpdatedQualifier = Qualifier.hasUpdatedQualifier(filterExpr);
 
             try {
                 FilterExpression filterExprNoAlias = Qualifier.replaceMilestoneAliases(models, filterExpr);
 
-                List<TurboIssue> processedIssues = allModelIssues.stream()
+                List<TurboIssue> matchingIssues = allModelIssues.stream()
                         .filter(issue -> Qualifier.process(models,
                                                            filterExprNoAlias, issue))
-                        .sorted(determineComparator(filterExprNoAlias,
-                                                    hasUpdatedQualifier))
-                        .limit(Qualifier.determineCount(allModelIssues,
-                                                        filterExprNoAlias))
                         .collect(Collectors.toList());
+                int count = Qualifier.determineCount(matchingIssues, filterExprNoAlias);
+
+                // Sort keys are computed once per issue instead of on every comparison
+                IssueSortKeys sortKeys = new IssueSortKeys(models, matchingIssues,
+                                                           determineSortKeys(filterExprNoAlias, hasUpdatedQualifier),
+                                                           hasUpdatedQualifier);
+                List<Integer> order;
+                if (visibleWindowSize.isPresent() && visibleWindowSize.get() < count) {
+                    order = Sorting.sortFirst(sortKeys.getIndices(), visibleWindowSize.get(), sortKeys.getComparator())
+                            .subList(0, Math.min(count, matchingIssues.size()));
+                } else {
+                    order = Sorting.topK(sortKeys.getIndices(), count, sortKeys.getComparator());
+                }
+                List<TurboIssue> processedIssues = sortKeys.getIssues(order);
 
                 List<GuiElement> processedElements = produceGuiElements(models, processedIssues);
 
-                List<String> warnings = allModelIssues.stream()
-                        .map(issue -> filterExprNoAlias.getWarnings(models, issue))
+                List<String> warnings = issueRepoIds.stream()
+                        .map(repoId -> filterExprNoAlias.getWarnings(models, repoId))
                         .flatMap(List::stream)
                         .distinct()
                         .collect(Collectors.toList());
 
                 if (!warnings.isEmpty()) {
-                    Platform.runLater(() -> UI.events.triggerEvent(new FilterWarningEvent(filterExpr, warnings)));
+                    problems.onWarnings(filterExpr, warnings);
                 }
 
                 processed.put(filterExpr, processedElements);
             } catch (FilterException e) {
-                Platform.runLater(() -> UI.events.triggerEvent(new FilterExceptionEvent(filterExpr, e.getMessage())));
+                problems.onError(filterExpr, e.getMessage());
+            } finally {
+                panelSpan.close();
             }
+            Metrics.timer("filter.processPanel").recordSince(panelStart);
         });
 
+        Metrics.timer("filter.processAll").recordSince(start);
         return processed;
     }
 
     /**
-     * Produces a suitable comparator based on the given filter expression.
+     * Produces suitable sort keys based on the given filter expression.
      *
      * @param filterExpr          The given filter expression.
-     * @param hasUpdatedQualifier Determines the behaviour of the sort key "nonSelfUpdate".
-     * @return The comparator to use.
+     * @param hasUpdatedQualifier Determines the sort key to use when there is no sort qualifier.
+     * @return The sort keys to use.
      */
-    private Comparator<TurboIssue> determineComparator(FilterExpression filterExpr,
-                                                       boolean hasUpdatedQualifier) {
-        MultiModel models = logic.getModels();
+    private static List<SortKey> determineSortKeys(FilterExpression filterExpr, boolean hasUpdatedQualifier) {
         for (Qualifier metaQualifier : filterExpr.find(Qualifier::isMetaQualifier)) {
             // Only take into account the first sort qualifier found
             if (metaQualifier.getType() == QualifierType.SORT) {
-                return metaQualifier.getCompoundSortComparator(models, hasUpdatedQualifier);
+                return metaQualifier.getSortKeys();
             }
         }
 
         // No sort qualifier, look for updated qualifier
         if (hasUpdatedQualifier) {
-            return Qualifier.getSortComparator(models, "nonSelfUpdate", true, true);
+            return Collections.singletonList(new SortKey("nonSelfUpdate", true));
         }
 
         // No sort or updated, return sort by descending ID, which is the default.
-        return Qualifier.getSortComparator(models, "id", true, false);
+        return Collections.singletonList(new SortKey("id", true));
     }
 
     /**
@@ -210,7 +317,7 @@ public class UpdateController {
      * @param processedIssues The list of issues to construct GUIElements for.
      * @return A list of GUIElements corresponding to the given list of issues.
      */
-    private List<GuiElement> produceGuiElements(MultiModel models, List<TurboIssue> processedIssues) {
+    private static List<GuiElement> produceGuiElements(MultiModel models, List<TurboIssue> processedIssues) {
         return processedIssues.stream().map(issue -> {
             Optional<Model> modelOfIssue = models.getModelById(issue.getRepoId());
             assert modelOfIssue.isPresent();
@@ -14,6 +14,8 @@ public class UpdateSignature {
     public final String labelsETag;
     public final String milestonesETag;
     public final String collaboratorsETag;
+    public final String issueEventsETag;
+    public final String issueCommentsETag;
     public final Date lastCheckTime;
 
     private UpdateSignature() {
@@ -21,6 +23,8 @@ public class UpdateSignature {
         labelsETag = null;
         milestonesETag = null;
         collaboratorsETag = null;
+        issueEventsETag = null;
+        issueCommentsETag = null;
 
         // This initialisation is a reasonable default
         lastCheckTime = new Date();
@@ -28,11 +32,18 @@ public class UpdateSignature {
 
     public UpdateSignature(String issuesETag, String labelsETag, String milestonesETag, String collaboratorsETag,
                            Date lastCheckTime) {
+        this(issuesETag, labelsETag, milestonesETag, collaboratorsETag, null, null, lastCheckTime);
+    }
+
+    public UpdateSignature(String issuesETag, String labelsETag, String milestonesETag, String collaboratorsETag,
+                           String issueEventsETag, String issueCommentsETag, Date lastCheckTime) {
 
         this.issuesETag = issuesETag;
         this.labelsETag = labelsETag;
         this.milestonesETag = milestonesETag;
         this.collaboratorsETag = collaboratorsETag;
+        this.issueEventsETag = issueEventsETag;
+        this.issueCommentsETag = issueCommentsETag;
         this.lastCheckTime = new Date(lastCheckTime.getTime());
     }
 
@@ -41,7 +52,8 @@ public class UpdateSignature {
     }
 
     /**
-     * lastCheckTime does not contribute to equality of signatures.
+     * lastCheckTime and the ETags of the issue events and comments feeds, which only mark issue metadata as
+     * stale, do not contribute to equality of signatures.
      */
     @Override
     public boolean equals(Object o) {
@@ -8,12 +8,16 @@ import backend.resource.MultiModel;
 import backend.resource.TurboIssue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import util.metrics.Metrics;
+import util.tracing.Span;
+import util.tracing.Tracer;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A means of repo-level synchronisation for select RepoIO operations. Only one instance of this class
@@ -28,11 +32,15 @@ public final class RepoOpControl {
     private final MultiModel models;
 
     private final ExecutorService pool = Executors.newCachedThreadPool();
-    private final Map<String, BlockingQueue<RepoOp>> queues = new HashMap<>();
+    private final Map<String, BlockingQueue<QueuedOp>> queues = new HashMap<>();
+
+    // Operations enqueued but not yet started, across all repos
+    private final AtomicInteger queuedOps = new AtomicInteger();
 
     public RepoOpControl(RepoIO repoIO, MultiModel models) {
         this.repoIO = repoIO;
         this.models = models;
+        Metrics.gauge("repoop.queued", queuedOps::get);
     }
 
     public CompletableFuture<Model> openRepository(String repoId) {
@@ -58,7 +66,12 @@ public final class RepoOpControl {
         if (syncOperation) {
             enqueue(new UpdateLocalModelOp(models, updates, result));
         } else {
-            op.perform();
+            Span span = Tracer.start(op.getClass().getSimpleName());
+            try {
+                op.perform();
+            } finally {
+                span.close();
+            }
         }
         return result;
     }
@@ -148,13 +161,16 @@ public final class RepoOpControl {
      * (and in the same queue) are guaranteed to be handled by the same thread.
      */
     private void enqueue(RepoOp op) {
-        BlockingQueue<RepoOp> q = queues.get(op.repoId());
+        BlockingQueue<QueuedOp> q = queues.get(op.repoId());
 
         // TODO scan queue for patterns
 
+        // Counted before it is put, as it may be taken (and uncounted) before put returns
+        queuedOps.incrementAndGet();
         try {
-            q.put(op);
+            q.put(new QueuedOp(op));
         } catch (InterruptedException e) {
+            queuedOps.decrementAndGet();
             logger.error(e.getLocalizedMessage(), e);
         }
     }
@@ -165,14 +181,36 @@ public final class RepoOpControl {
      * (in which case get blocks).
      */
     private void dequeue(String repoId) {
-        BlockingQueue<RepoOp> q = queues.get(repoId);
+        BlockingQueue<QueuedOp> q = queues.get(repoId);
 
         while (true) {
             try {
-                q.take().perform().get();
-            } catch (ExecutionException | InterruptedException e) {
+                QueuedOp queued = q.take();
+                queuedOps.decrementAndGet();
+                long start = System.nanoTime();
+                Metrics.timer("repoop.wait").record(start - queued.enqueuedAt);
+                queued.perform.run();
+                Metrics.timer("repoop.perform").recordSince(start);
+            } catch (InterruptedException e) {
                 logger.error(e.getLocalizedMessage(), e);
             }
         }
     }
+
+    private static final class QueuedOp {
+        private final long enqueuedAt = System.nanoTime();
+
+        // Performs the operation and waits for it, traced as a child of the span it was enqueued from
+        private final Runnable perform;
+
+        QueuedOp(RepoOp op) {
+            this.perform = Tracer.wrap(op.getClass().getSimpleName(), () -> {
+                try {
+                    op.perform().get();
+                } catch (ExecutionException | InterruptedException e) {
+                    logger.error(e.getLocalizedMessage(), e);
+                }
+            });
+        }
+    }
 }
@@ -7,8 +7,10 @@ import org.apache.logging.log4j.Logger;
 import org.eclipse.egit.github.core.PullRequest;
 import util.HTLog;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -43,9 +45,16 @@ public class UpdateLocalModelOp implements RepoOp<Model> {
         UpdateSignature newSignature =
                 new UpdateSignature(updates.getIssues().eTag, updates.getLabels().eTag,
                                     updates.getMilestones().eTag, updates.getUsers().eTag,
+                                    updates.getIssueEvents().eTag, updates.getIssueComments().eTag,
                                     updates.getIssues().lastCheckTime);
-        Model updatedModel = new Model(updates.getRepoId(), getUpdateIssues(), getUpdatedLabels(),
-                                       getUpdatedMilestones(), getUpdatedUsers(), newSignature);
+        Model updatedModel;
+        if (isEmpty(updates) && newSignature.equals(oldModel.getUpdateSignature())) {
+            // Nothing changed, so the model keeps its content and version
+            updatedModel = oldModel.withUpdateSignature(newSignature);
+        } else {
+            updatedModel = new Model(updates.getRepoId(), getUpdateIssues(), getUpdatedLabels(),
+                                     getUpdatedMilestones(), getUpdatedUsers(), newSignature);
+        }
 
         logger.info(HTLog.format(updatedModel.getRepoId(), "Updated model with " + updatedModel.summarise()));
         if (oldModelOptional.isPresent()) {
@@ -55,24 +64,50 @@ public class UpdateLocalModelOp implements RepoOp<Model> {
         return result;
     }
 
+    private static boolean isEmpty(GitHubModelUpdatesData updates) {
+        return updates.getIssues().items.isEmpty()
+                && updates.getPullRequests().isEmpty()
+                && !updates.getLabels().getReplacement().isPresent()
+                && !updates.getMilestones().getReplacement().isPresent()
+                && !updates.getUsers().getReplacement().isPresent()
+                && updates.getIssueEvents().items.isEmpty()
+                && updates.getIssueComments().items.isEmpty();
+    }
+
     private List<TurboIssue> getUpdateIssues() {
         List<TurboIssue> existing = oldModel.getIssues();
         List<TurboIssue> updatedIssues = updates.getIssues().items;
         List<PullRequest> updatesPullRequests = updates.getPullRequests();
 
         List<TurboIssue> updated = updatedIssues.isEmpty() ? existing : TurboIssue.reconcile(existing, updatedIssues);
+        invalidateMetadataWithActivity(updated);
         return TurboIssue.combineWithPullRequests(updated, updatesPullRequests);
     }
 
+    /**
+     * Marks the metadata of issues with new events or comments as out of date, so that it is downloaded again.
+     * Metadata of other issues is kept, as nothing happened to them since it was downloaded.
+     */
+    private void invalidateMetadataWithActivity(List<TurboIssue> issues) {
+        Set<Integer> withActivity = new HashSet<>(updates.getIssueEvents().items);
+        withActivity.addAll(updates.getIssueComments().items);
+        if (withActivity.isEmpty()) {
+            return;
+        }
+        issues.stream()
+                .filter(issue -> withActivity.contains(issue.getId()) && issue.getMetadata().isLatest())
+                .forEach(issue -> issue.setMetadata(issue.getMetadata().invalidate()));
+    }
+
     private List<TurboLabel> getUpdatedLabels() {
-        return updates.getLabels().items.isEmpty() ? oldModel.getLabels() : updates.getLabels().items;
+        return updates.getLabels().getReplacement().orElse(oldModel.getLabels());
     }
 
     private List<TurboMilestone> getUpdatedMilestones() {
-        return updates.getMilestones().items.isEmpty() ? oldModel.getMilestones() : updates.getMilestones().items;
+        return updates.getMilestones().getReplacement().orElse(oldModel.getMilestones());
     }
 
     private List<TurboUser> getUpdatedUsers() {
-        return updates.getUsers().items.isEmpty() ? oldModel.getUsers() : updates.getUsers().items;
+        return updates.getUsers().getReplacement().orElse(oldModel.getUsers());
     }
 }
@@ -0,0 +1,52 @@
+package backend.daemon;
+
+import ui.GuiElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The issues matching a filter query, in the order a panel would show them, along with any warnings about the
+ * filter. A query whose filter cannot be applied has an error instead of issues.
+ */
+public class QueryResult {
+
+    private final String filterText;
+    private final List<GuiElement> elements;
+    private final List<String> warnings;
+    private final Optional<String> error;
+
+    private QueryResult(String filterText, List<GuiElement> elements, List<String> warnings,
+                        Optional<String> error) {
+        this.filterText = filterText;
+        this.elements = elements;
+        this.warnings = warnings;
+        this.error = error;
+    }
+
+    public static QueryResult of(String filterText, List<GuiElement> elements, List<String> warnings) {
+        return new QueryResult(filterText, new ArrayList<>(elements), new ArrayList<>(warnings), Optional.empty());
+    }
+
+    public static QueryResult failed(String filterText, String error) {
+        return new QueryResult(filterText, Collections.emptyList(), Collections.emptyList(), Optional.of(error));
+    }
+
+    public String getFilterText() {
+        return filterText;
+    }
+
+    public List<GuiElement> getElements() {
+        return Collections.unmodifiableList(elements);
+    }
+
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    public Optional<String> getError() {
+        return error;
+    }
+}
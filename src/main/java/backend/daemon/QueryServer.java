@@ -0,0 +1,211 @@
+package backend.daemon;
+
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import ui.GuiElement;
+import util.HTLog;
+import util.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * An HTTP server on the loopback interface which answers filter queries with JSON, using a {@link SyncDaemon}.
+ *
+ * GET /query?filter=... returns the matching issues, in the order a panel would show them, along with any
+ * warnings about the filter; a filter which cannot be applied gets a 400 response with the error. GET /repos
+ * returns the ids of the open repositories.
+ */
+public class QueryServer {
+
+    private static final Logger logger = HTLog.get(QueryServer.class);
+
+    private static final String PARAM_FILTER = "filter";
+    private static final int HANDLER_THREADS = 4;
+
+    // Opening a repository for the first time can take a while, but clients should not wait forever
+    private static final int QUERY_TIMEOUT_SECONDS = 300;
+
+    private static final Gson gson = new GsonBuilder().create();
+
+    private final int port;
+    private final SyncDaemon daemon;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param port   the port to listen on, or 0 for any free port
+     * @param daemon the daemon to answer queries with
+     */
+    public QueryServer(int port, SyncDaemon daemon) {
+        this.port = port;
+        this.daemon = daemon;
+    }
+
+    public synchronized void start() throws IOException {
+        assert server == null : "Attempt to start QueryServer that has already been started";
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(HANDLER_THREADS);
+        server.setExecutor(executor);
+        server.createContext("/query", exchange -> respond(exchange, this::query));
+        server.createContext("/repos", exchange -> respond(exchange, this::repos));
+        server.start();
+        logger.info("Serving filter queries on port " + getPort());
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+    }
+
+    /**
+     * Returns the port listened on, which is only known after starting if any free port was asked for.
+     */
+    public synchronized int getPort() {
+        return server == null ? port : server.getAddress().getPort();
+    }
+
+    private Response query(HttpExchange exchange) {
+        Optional<String> filterText = getParameter(exchange, PARAM_FILTER);
+        if (!filterText.isPresent()) {
+            return Response.error(HttpURLConnection.HTTP_BAD_REQUEST, "Missing filter parameter");
+        }
+
+        Metrics.counter("daemon.queries").increment();
+        QueryResult result;
+        try {
+            result = daemon.query(filterText.get()).get(QUERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            return Response.error(HttpURLConnection.HTTP_GATEWAY_TIMEOUT, "Timed out");
+        } catch (InterruptedException | ExecutionException e) {
+            logger.error("Could not answer query " + filterText.get(), e);
+            return Response.error(HttpURLConnection.HTTP_INTERNAL_ERROR, String.valueOf(e.getMessage()));
+        }
+
+        if (result.getError().isPresent()) {
+            return Response.error(HttpURLConnection.HTTP_BAD_REQUEST, result.getError().get());
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("filter", result.getFilterText());
+        json.addProperty("count", result.getElements().size());
+        JsonArray issues = new JsonArray();
+        result.getElements().forEach(element -> issues.add(toJson(element)));
+        json.add("issues", issues);
+        json.add("warnings", gson.toJsonTree(result.getWarnings()));
+        return new Response(HttpURLConnection.HTTP_OK, json);
+    }
+
+    private Response repos(HttpExchange exchange) {
+        JsonObject json = new JsonObject();
+        json.add("repos", gson.toJsonTree(daemon.getOpenRepositories()));
+        return new Response(HttpURLConnection.HTTP_OK, json);
+    }
+
+    private static JsonObject toJson(GuiElement element) {
+        TurboIssue issue = element.getIssue();
+        JsonObject json = new JsonObject();
+        json.addProperty("repo", issue.getRepoId());
+        json.addProperty("number", issue.getId());
+        json.addProperty("title", issue.getTitle());
+        json.addProperty("open", issue.isOpen());
+        json.addProperty("pullRequest", issue.isPullRequest());
+        json.add("labels", gson.toJsonTree(element.getLabels().stream()
+                                                   .map(TurboLabel::getFullName)
+                                                   .collect(Collectors.toList())));
+        element.getMilestone().map(TurboMilestone::getTitle)
+                .ifPresent(milestone -> json.addProperty("milestone", milestone));
+        element.getAssignee().map(TurboUser::getLoginName)
+                .ifPresent(assignee -> json.addProperty("assignee", assignee));
+        json.addProperty("author", issue.getCreator());
+        json.addProperty("comments", issue.getCommentCount());
+        json.addProperty("createdAt", issue.getCreatedAt().toString());
+        json.addProperty("updatedAt", issue.getUpdatedAt().toString());
+        return json;
+    }
+
+    private static Optional<String> getParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return Optional.empty();
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return Optional.of(decode(pair.substring(separator + 1)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, Handler handler) throws IOException {
+        try {
+            Response response = "GET".equals(exchange.getRequestMethod())
+                    ? handler.handle(exchange)
+                    : Response.error(HttpURLConnection.HTTP_BAD_METHOD, "Only GET is supported");
+            byte[] body = response.json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.status, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Response handle(HttpExchange exchange);
+    }
+
+    private static final class Response {
+        private final int status;
+        private final JsonObject json;
+
+        Response(int status, JsonObject json) {
+            this.status = status;
+            this.json = json;
+        }
+
+        static Response error(int status, String message) {
+            JsonObject json = new JsonObject();
+            json.addProperty("error", message);
+            return new Response(status, json);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package backend.daemon;
+
+import backend.FilterProblemListener;
+import backend.IssueMetadata;
+import backend.RepoIO;
+import backend.UpdateController;
+import backend.UserCredentials;
+import backend.control.RepoOpControl;
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import filter.FilterException;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+import filter.expression.QualifierType;
+import org.apache.logging.log4j.Logger;
+import prefs.Preferences;
+import ui.GuiElement;
+import ui.components.StatusUIStub;
+import util.Futures;
+import util.HTLog;
+import util.Utility;
+import util.events.EventDispatcherStub;
+import util.tracing.Tracer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps repositories synced and in memory without a UI, and answers filter queries against them, so that
+ * scripts wanting the views HubTurbo computes share one set of API calls and one warm cache.
+ *
+ * Filters are processed exactly as they are for panels. Repositories named in repo: qualifiers are opened the
+ * first time they are queried, and metadata is downloaded for the issues which need it when a filter has an
+ * updated: qualifier.
+ */
+public class SyncDaemon {
+
+    private static final Logger logger = HTLog.get(SyncDaemon.class);
+
+    public static final int DEFAULT_PORT = 8091;
+    public static final int DEFAULT_REFRESH_PERIOD = 60;
+
+    private static final String ARG_REPOS = "repos";
+    private static final String ARG_PORT = "port";
+    private static final String ARG_REFRESH_PERIOD = "refresh";
+
+    private final Preferences prefs;
+    private final RepoIO repoIO;
+    private final MultiModel models;
+    private final RepoOpControl repoOpControl;
+
+    // Repositories being opened or already open, by lowercase id, so that concurrent queries open each once
+    private final Map<String, CompletableFuture<Boolean>> openings = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService refreshScheduler;
+
+    public SyncDaemon(Preferences prefs, RepoIO repoIO) {
+        this.prefs = prefs;
+        this.repoIO = repoIO;
+        // Nothing listens for events or shows status messages, but the backend still reports them
+        repoIO.setEventsAndStatus(new EventDispatcherStub(), new StatusUIStub());
+        this.models = new MultiModel(prefs);
+        this.repoOpControl = new RepoOpControl(repoIO, models);
+        repoIO.setRepoOpControl(repoOpControl);
+    }
+
+    public CompletableFuture<Boolean> login(UserCredentials credentials) {
+        return repoIO.login(credentials);
+    }
+
+    /**
+     * Opens a repository if it is not already open or being opened. The first repository opened becomes the
+     * default one, which filters without repo: qualifiers apply to.
+     *
+     * @return true if the repository is open
+     */
+    public CompletableFuture<Boolean> openRepository(String repoId) {
+        if (!Utility.isWellFormedRepoId(repoId)) {
+            return Futures.unit(false);
+        }
+        return openings.computeIfAbsent(repoId.toLowerCase(), key -> {
+            CompletableFuture<Boolean> opening = downloadRepository(repoId);
+            opening.thenAccept(isOpen -> {
+                if (!isOpen) {
+                    // So that it can be tried again
+                    openings.remove(key);
+                }
+            });
+            return opening;
+        });
+    }
+
+    private CompletableFuture<Boolean> downloadRepository(String repoId) {
+        models.queuePendingRepository(repoId);
+        return repoIO.isRepositoryValid(repoId).thenCompose(valid -> {
+            if (!valid) {
+                logger.warn(repoId + " is not a valid repository");
+                models.removePendingRepository(repoId);
+                return Futures.unit(false);
+            }
+            logger.info("Opening " + repoId);
+            return repoOpControl.openRepository(repoId)
+                    .thenApply(models::addPending)
+                    .thenApply(multiModel -> {
+                        setDefaultRepoIfUnset(repoId);
+                        return true;
+                    });
+        }).exceptionally(e -> {
+            logger.error("Could not open " + repoId, e);
+            models.removePendingRepository(repoId);
+            return false;
+        });
+    }
+
+    private synchronized void setDefaultRepoIfUnset(String repoId) {
+        if (models.getDefaultRepo() == null) {
+            models.setDefaultRepo(repoId);
+        }
+    }
+
+    public Set<String> getOpenRepositories() {
+        return models.toModels().stream()
+                .map(Model::getRepoId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Starts downloading updates to the open repositories every given number of seconds.
+     */
+    public synchronized void start(int refreshPeriod) {
+        assert refreshScheduler == null : "Attempt to start SyncDaemon that has already been started";
+        refreshScheduler = Executors.newSingleThreadScheduledExecutor();
+        refreshScheduler.scheduleWithFixedDelay(() -> refresh().join(),
+                                                refreshPeriod, refreshPeriod, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+            refreshScheduler = null;
+        }
+    }
+
+    /**
+     * Downloads updates to all open repositories.
+     */
+    public CompletableFuture<List<Model>> refresh() {
+        logger.info("Refreshing " + getOpenRepositories());
+        return Tracer.traceAsync("SyncDaemon.refresh", Optional.empty(), () ->
+                Futures.sequence(models.toModels().stream()
+                                         .map(model -> repoIO.updateModel(model, true))
+                                         .collect(Collectors.toList()))
+                        .exceptionally(Futures::log));
+    }
+
+    /**
+     * Filters and sorts the issues of the open repositories with the given filter text, opening the
+     * repositories it names and downloading the metadata it needs first.
+     */
+    public CompletableFuture<QueryResult> query(String filterText) {
+        FilterExpression filterExpr;
+        try {
+            filterExpr = Parser.parse(filterText);
+        } catch (FilterException e) {
+            return Futures.unit(QueryResult.failed(filterText, e.getMessage()));
+        }
+
+        List<CompletableFuture<Boolean>> repoOpenings =
+                Qualifier.getMetaQualifierContent(filterExpr, QualifierType.REPO).stream()
+                        .map(this::openRepository)
+                        .collect(Collectors.toList());
+
+        return Tracer.traceAsync("SyncDaemon.query", Optional.of(filterText), () ->
+                Futures.sequence(repoOpenings)
+                        .thenCompose(opened -> updateMetadata(filterExpr))
+                        .thenApply(updated -> process(filterText, filterExpr)));
+    }
+
+    private CompletableFuture<List<Boolean>> updateMetadata(FilterExpression filterExpr) {
+        Map<String, List<TurboIssue>> toUpdate = UpdateController.tallyMetadataUpdate(
+                models, Collections.singletonList(filterExpr), new CollectingListener());
+        List<CompletableFuture<Boolean>> downloads = new ArrayList<>();
+        toUpdate.forEach((repoId, issues) -> downloads.add(downloadMetadata(repoId, issues)));
+        return Futures.sequence(downloads);
+    }
+
+    private CompletableFuture<Boolean> downloadMetadata(String repoId, List<TurboIssue> issues) {
+        String currentUser = prefs.getLastLoginUsername();
+        logger.info("Getting metadata for " + issues.size() + " issues in " + repoId);
+        return repoIO.getIssueMetadata(repoId, issues)
+                .thenApply(metadata -> {
+                    Map<Integer, IssueMetadata> full = new HashMap<>();
+                    metadata.forEach((id, issueMetadata) -> full.put(id, issueMetadata.full(currentUser)));
+                    Map<Integer, IssueMetadata> changed = models.insertMetadata(repoId, full, currentUser);
+                    if (!changed.isEmpty()) {
+                        repoIO.saveIssueMetadata(repoId, changed);
+                    }
+                    return true;
+                })
+                .exceptionally(Futures.withResult(false));
+    }
+
+    private QueryResult process(String filterText, FilterExpression filterExpr) {
+        CollectingListener problems = new CollectingListener();
+        Map<FilterExpression, List<GuiElement>> processed = UpdateController.processFilters(
+                models, Collections.singletonList(filterExpr), Optional.empty(), problems);
+        if (problems.error.isPresent()) {
+            return QueryResult.failed(filterText, problems.error.get());
+        }
+        return QueryResult.of(filterText, processed.getOrDefault(filterExpr, Collections.emptyList()),
+                              problems.warnings);
+    }
+
+    /**
+     * Keeps the problems reported with a filter, to be returned with the results of the query.
+     */
+    private static class CollectingListener implements FilterProblemListener {
+        private final List<String> warnings = new ArrayList<>();
+        private Optional<String> error = Optional.empty();
+
+        @Override
+        public void onWarnings(FilterExpression filterExpr, List<String> warnings) {
+            this.warnings.addAll(warnings);
+        }
+
+        @Override
+        public void onError(FilterExpression filterExpr, String message) {
+            error = Optional.of(message);
+        }
+    }
+
+    /**
+     * Runs the daemon with the credentials of the last login, taking arguments of the form --name=value:
+     * repos, a comma-separated list of repositories to open at once; port, the port to serve queries on;
+     * and refresh, the number of seconds between downloads of updates.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> namedArgs = parseNamedArgs(args);
+        int port = Integer.parseInt(namedArgs.getOrDefault(ARG_PORT, String.valueOf(DEFAULT_PORT)));
+        int refreshPeriod = Integer.parseInt(namedArgs.getOrDefault(ARG_REFRESH_PERIOD,
+                                                                    String.valueOf(DEFAULT_REFRESH_PERIOD)));
+
+        Preferences prefs = Preferences.load(Preferences.DIRECTORY, Preferences.SESSION_CONFIG_FILENAME,
+                                             Preferences.USER_CONFIG_FILENAME);
+        SyncDaemon daemon = new SyncDaemon(prefs, new RepoIO(Optional.empty(), Optional.empty(), Optional.empty()));
+
+        UserCredentials credentials = new UserCredentials(prefs.getLastLoginUsername(),
+                                                          prefs.getLastLoginPassword());
+        if (!daemon.login(credentials).join()) {
+            logger.error("Could not log in as " + credentials.username + "; log in with HubTurbo first");
+            System.exit(1);
+        }
+
+        Futures.sequence(splitRepoIds(namedArgs.getOrDefault(ARG_REPOS, "")).stream()
+                                 .map(daemon::openRepository)
+                                 .collect(Collectors.toList()))
+                .join();
+
+        QueryServer server = new QueryServer(port, daemon);
+        server.start();
+        daemon.start(refreshPeriod);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            daemon.stop();
+            server.stop();
+        }));
+    }
+
+    private static List<String> splitRepoIds(String repos) {
+        List<String> repoIds = new ArrayList<>();
+        for (String repoId : repos.split(",")) {
+            if (!repoId.trim().isEmpty()) {
+                repoIds.add(repoId.trim());
+            }
+        }
+        return repoIds;
+    }
+
+    private static Map<String, String> parseNamedArgs(String[] args) {
+        Map<String, String> namedArgs = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 2) {
+                namedArgs.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return namedArgs;
+    }
+}
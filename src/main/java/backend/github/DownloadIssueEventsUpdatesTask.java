@@ -0,0 +1,40 @@
+package backend.github;
+
+import backend.interfaces.Repo;
+import backend.interfaces.TaskRunner;
+import backend.resource.Model;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.util.List;
+
+/**
+ * This class represents an async task that finds the issues in a repository with new events,
+ * whose metadata is then out of date
+ */
+public class DownloadIssueEventsUpdatesTask extends GitHubRepoTask<GitHubRepoTask.Result<Integer>> {
+
+    private static final Logger logger = HTLog.get(DownloadIssueEventsUpdatesTask.class);
+
+    private final Model model;
+
+    public DownloadIssueEventsUpdatesTask(TaskRunner taskRunner, Repo repo, Model model) {
+        super(taskRunner, repo);
+        this.model = model;
+    }
+
+    @Override
+    public void run() {
+        ImmutablePair<List<Integer>, String> changes = repo.getIssuesWithUpdatedEvents(
+                model.getRepoId(), model.getUpdateSignature().issueEventsETag,
+                model.getUpdateSignature().lastCheckTime);
+
+        List<Integer> issueIds = changes.left;
+
+        logger.info(HTLog.format(model.getRepoId(), "%s issue(s) with new events%s",
+                                 issueIds.size(), issueIds.isEmpty() ? "" : ": " + issueIds));
+
+        response.complete(new Result<>(issueIds, changes.right));
+    }
+}
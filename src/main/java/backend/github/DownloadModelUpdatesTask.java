@@ -31,12 +31,17 @@ public class DownloadModelUpdatesTask extends GitHubRepoTask<GitHubModelUpdatesD
         DownloadMilestonesUpdatesTask milestonesTask = new DownloadMilestonesUpdatesTask(taskRunner, repo, model);
         DownloadUsersUpdatesTask usersTask = new DownloadUsersUpdatesTask(taskRunner, repo, model);
         DownloadPullRequestsUpdatesTask pullRequestsTask = new DownloadPullRequestsUpdatesTask(taskRunner, repo, model);
+        DownloadIssueEventsUpdatesTask issueEventsTask = new DownloadIssueEventsUpdatesTask(taskRunner, repo, model);
+        DownloadIssueCommentsUpdatesTask issueCommentsTask =
+                new DownloadIssueCommentsUpdatesTask(taskRunner, repo, model);
 
         taskRunner.execute(issuesTask);
         taskRunner.execute(labelsTask);
         taskRunner.execute(milestonesTask);
         taskRunner.execute(usersTask);
         taskRunner.execute(pullRequestsTask);
+        taskRunner.execute(issueEventsTask);
+        taskRunner.execute(issueCommentsTask);
 
         try {
             Result<TurboIssue> issuesResult = issuesTask.response.get();
@@ -44,10 +49,13 @@ public class DownloadModelUpdatesTask extends GitHubRepoTask<GitHubModelUpdatesD
             Result<TurboMilestone> milestonesResult = milestonesTask.response.get();
             Result<TurboUser> usersResult = usersTask.response.get();
             List<PullRequest> pullRequestsResult = pullRequestsTask.response.get();
+            Result<Integer> issueEventsResult = issueEventsTask.response.get();
+            Result<Integer> issueCommentsResult = issueCommentsTask.response.get();
 
             GitHubModelUpdatesData updates = new GitHubModelUpdatesData(model,
                                                                         issuesResult, pullRequestsResult,
-                                                                        labelsResult, milestonesResult, usersResult);
+                                                                        labelsResult, milestonesResult, usersResult,
+                                                                        issueEventsResult, issueCommentsResult);
             logger.info(HTLog.format(model.getRepoId(), "Updates download completed"));
             response.complete(updates);
         } catch (InterruptedException | ExecutionException e) {
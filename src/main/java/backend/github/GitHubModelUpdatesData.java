@@ -16,17 +16,25 @@ public final class GitHubModelUpdatesData {
     private final GitHubRepoTask.Result<TurboMilestone> milestones;
     private final GitHubRepoTask.Result<TurboUser> users;
 
+    // Ids of the issues with new events or comments, whose metadata is out of date
+    private final GitHubRepoTask.Result<Integer> issueEvents;
+    private final GitHubRepoTask.Result<Integer> issueComments;
+
     public GitHubModelUpdatesData(Model model,
                                   GitHubRepoTask.Result<TurboIssue> issues, List<PullRequest> pullRequests,
                                   GitHubRepoTask.Result<TurboLabel> labels,
                                   GitHubRepoTask.Result<TurboMilestone> milestones,
-                                  GitHubRepoTask.Result<TurboUser> users) {
+                                  GitHubRepoTask.Result<TurboUser> users,
+                                  GitHubRepoTask.Result<Integer> issueEvents,
+                                  GitHubRepoTask.Result<Integer> issueComments) {
         this.model = model;
         this.issues = issues;
         this.pullRequests = pullRequests;
         this.labels = labels;
         this.milestones = milestones;
         this.users = users;
+        this.issueEvents = issueEvents;
+        this.issueComments = issueComments;
     }
 
     public String getRepoId() {
@@ -56,4 +64,12 @@ public final class GitHubModelUpdatesData {
     public GitHubRepoTask.Result<TurboUser> getUsers() {
         return users;
     }
+
+    public GitHubRepoTask.Result<Integer> getIssueEvents() {
+        return issueEvents;
+    }
+
+    public GitHubRepoTask.Result<Integer> getIssueComments() {
+        return issueComments;
+    }
 }
@@ -20,6 +20,7 @@ import org.eclipse.egit.github.core.service.IssueService;
 import org.eclipse.egit.github.core.service.MilestoneService;
 import ui.UI;
 import util.HTLog;
+import util.events.EventDispatcher;
 import util.events.UpdateProgressEvent;
 
 import java.io.IOException;
@@ -41,6 +42,17 @@ public class GitHubRepo implements Repo {
     private final LabelServiceEx labelService = new LabelServiceEx(client);
     private final MilestoneService milestoneService = new MilestoneService(client);
 
+    // Where progress is reported, if not to the UI
+    private Optional<EventDispatcher> events = Optional.empty();
+
+    public void setEventDispatcher(EventDispatcher events) {
+        this.events = Optional.of(events);
+    }
+
+    private EventDispatcher getEvents() {
+        return events.orElse(UI.events);
+    }
+
     @Override
     public boolean login(UserCredentials credentials) {
         client.setCredentials(credentials.username, credentials.password);
@@ -81,6 +93,31 @@ public class GitHubRepo implements Repo {
         return getUpdatedResource(repoId, eTag, LabelUpdateService::new, TurboLabel::new);
     }
 
+    @Override
+    public ImmutablePair<List<Integer>, String> getIssuesWithUpdatedEvents(String repoId, String eTag,
+                                                                           Date lastCheckTime) {
+        IssueEventUpdateService updateService = new IssueEventUpdateService(client, eTag, lastCheckTime);
+        List<Integer> issueIds = updateService.getUpdatedItems(RepositoryId.createFromId(repoId)).stream()
+                .filter(event -> event.getIssue() != null)
+                .map(event -> event.getIssue().getNumber())
+                .distinct()
+                .collect(Collectors.toList());
+        return new ImmutablePair<>(issueIds, updateService.getUpdatedETags());
+    }
+
+    @Override
+    public ImmutablePair<List<Integer>, String> getIssuesWithUpdatedComments(String repoId, String eTag,
+                                                                             Date lastCheckTime) {
+        IssueCommentUpdateService updateService = new IssueCommentUpdateService(client, eTag, lastCheckTime);
+        List<Integer> issueIds = updateService.getUpdatedItems(RepositoryId.createFromId(repoId)).stream()
+                .map(IssueComment::getIssueNumber)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .distinct()
+                .collect(Collectors.toList());
+        return new ImmutablePair<>(issueIds, updateService.getUpdatedETags());
+    }
+
     @Override
     public ImmutablePair<List<TurboMilestone>, String> getUpdatedMilestones(String repoId, String eTag) {
         return getUpdatedResource(repoId, eTag, MilestoneUpdateService::new, TurboMilestone::new);
@@ -181,11 +218,11 @@ public class GitHubRepo implements Repo {
                 assert totalIssueCount >= elements.size();
 
                 float progress = (float) elements.size() / (float) totalIssueCount;
-                UI.events.triggerEvent(new UpdateProgressEvent(repoId, progress));
+                getEvents().triggerEvent(new UpdateProgressEvent(repoId, progress));
                 logger.info(HTLog.format(repoId, "Loaded %d issues (%.0f%% done)",
                                          elements.size(), progress * 100));
             }
-            UI.events.triggerEvent(new UpdateProgressEvent(repoId));
+            getEvents().triggerEvent(new UpdateProgressEvent(repoId));
         } catch (NoSuchPageException pageException) {
             try {
                 throw pageException.getCause();
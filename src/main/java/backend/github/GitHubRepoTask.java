@@ -6,6 +6,7 @@ import backend.interfaces.TaskRunner;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public abstract class GitHubRepoTask<R> extends RepoTask<R> {
 
@@ -18,16 +19,39 @@ public abstract class GitHubRepoTask<R> extends RepoTask<R> {
         public final String eTag;
         public final Date lastCheckTime;
 
+        // Whether the items replace the stored ones even if there are none, rather than none meaning unchanged
+        private final boolean isReplacement;
+
         public Result(List<TR> items, String eTag, Date lastCheckTime) {
             this.items = items;
             this.eTag = eTag;
             this.lastCheckTime = new Date(lastCheckTime.getTime());
+            this.isReplacement = false;
         }
 
         public Result(List<TR> items, String eTag) {
+            this(items, eTag, false);
+        }
+
+        private Result(List<TR> items, String eTag, boolean isReplacement) {
             this.items = items;
             this.eTag = eTag;
             this.lastCheckTime = null;
+            this.isReplacement = isReplacement;
+        }
+
+        /**
+         * Returns a result whose items replace the stored ones, even if there are none.
+         */
+        public static <TR> Result<TR> replacing(List<TR> items, String eTag) {
+            return new Result<>(items, eTag, true);
+        }
+
+        /**
+         * Returns the items to replace the stored ones with, or an empty Optional if they are unchanged.
+         */
+        public Optional<List<TR>> getReplacement() {
+            return isReplacement || !items.isEmpty() ? Optional.of(items) : Optional.empty();
         }
     }
 }
@@ -2,7 +2,6 @@ package backend.github;
 
 import backend.IssueMetadata;
 import backend.UserCredentials;
-import backend.interfaces.Repo;
 import backend.interfaces.RepoSource;
 import backend.resource.Model;
 import backend.resource.TurboIssue;
@@ -11,6 +10,7 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.egit.github.core.Issue;
 import util.HTLog;
+import util.events.EventDispatcher;
 
 import java.util.List;
 import java.util.Map;
@@ -21,7 +21,12 @@ public class GitHubSource extends RepoSource {
 
     private static final Logger logger = HTLog.get(GitHubSource.class);
 
-    private final Repo gitHub = new GitHubRepo();
+    private final GitHubRepo gitHub = new GitHubRepo();
+
+    @Override
+    public void setEventDispatcher(EventDispatcher events) {
+        gitHub.setEventDispatcher(events);
+    }
 
     @Override
     public String getName() {
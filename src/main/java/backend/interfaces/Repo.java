@@ -39,6 +39,12 @@ public interface Repo {
 
     ImmutablePair<List<TurboLabel>, String> getUpdatedLabels(String repoId, String eTag);
 
+    // Return the ids of the issues with events or comments since the last check time, from repository-wide feeds
+    ImmutablePair<List<Integer>, String> getIssuesWithUpdatedEvents(String repoId, String eTag, Date lastCheckTime);
+
+    ImmutablePair<List<Integer>, String> getIssuesWithUpdatedComments(String repoId, String eTag,
+                                                                      Date lastCheckTime);
+
     ImmutablePair<List<TurboMilestone>, String> getUpdatedMilestones(String repoId, String eTag);
 
     ImmutablePair<List<TurboUser>, String> getUpdatedCollaborators(String repoId, String eTag);
@@ -8,6 +8,8 @@ import backend.resource.TurboIssue;
 import backend.resource.TurboMilestone;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.eclipse.egit.github.core.Issue;
+import util.events.EventDispatcher;
+import util.tracing.Tracer;
 
 import java.util.List;
 import java.util.Map;
@@ -28,7 +30,15 @@ public abstract class RepoSource implements TaskRunner {
 
     @Override
     public void execute(Runnable r) {
-        pool.execute(r);
+        // Tasks are traced as children of the span they were submitted from
+        pool.execute(r instanceof RepoTask ? Tracer.wrap(r.getClass().getSimpleName(), r) : Tracer.wrap(r));
+    }
+
+    /**
+     * Reports download progress to the given dispatcher rather than to the UI, e.g. when there is no UI.
+     */
+    public void setEventDispatcher(EventDispatcher events) {
+        // Sources which report no progress have nothing to do
     }
 
     public abstract String getName();
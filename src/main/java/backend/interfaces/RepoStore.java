@@ -2,25 +2,74 @@ package backend.interfaces;
 
 import backend.resource.Model;
 import backend.resource.serialization.SerializableModel;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
 import util.Utility;
+import util.tracing.Tracer;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+/**
+ * Stores repositories locally. Tasks on different repositories run in parallel, up to one per core, while
+ * tasks on the same repository run one at a time in the order they were added.
+ *
+ * The store may be shared by several instances of HubTurbo. Repository files are replaced whole rather than
+ * rewritten in place, so a file being read is never one being written. They are read in one go and not kept
+ * open, as an open file cannot be replaced on Windows.
+ */
 public abstract class RepoStore {
+    private static final Logger logger = HTLog.get(RepoStore.class);
+
     protected static String directory = "store";
     public static final String TEST_DIRECTORY = "store/test";
-    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService pool = Executors.newFixedThreadPool(POOL_SIZE);
+
+    // The last task added for each repository which may not have finished, by lowercase repo id
+    private final Map<String, CompletableFuture<Void>> lastTasks = new HashMap<>();
 
     public static String escapeRepoName(String repoName) {
         return repoName.replace("/", "-") + ".json";
     }
 
+    /**
+     * Returns the name of the file, in the store directory, which holds the issue metadata of a repository.
+     */
+    public static String getMetadataFileName(String repoName) {
+        return repoName.replace("/", "-") + ".metadata";
+    }
+
+    public static String getDirectory() {
+        return directory;
+    }
+
     protected void addTask(StoreTask task) {
-        pool.execute(task);
+        Runnable traced = Tracer.wrap(task.getClass().getSimpleName(), task);
+        String key = task.repoId.toLowerCase();
+        synchronized (lastTasks) {
+            // Each task starts after the previous one on its repository, even if that one failed
+            CompletableFuture<Void> previous = lastTasks.getOrDefault(key, CompletableFuture.completedFuture(null));
+            CompletableFuture<Void> next = previous.exceptionally(e -> null).thenRunAsync(traced, pool);
+            lastTasks.put(key, next);
+            next.whenComplete((result, e) -> {
+                synchronized (lastTasks) {
+                    lastTasks.remove(key, next);
+                }
+            });
+        }
     }
 
     public abstract CompletableFuture<Model> loadRepository(String repoId);
@@ -36,11 +85,43 @@ public abstract class RepoStore {
     }
 
     public static boolean write(String repoId, String output, int issueCount) {
-        return Utility.writeFile(getRepoPath(repoId).orElse(""), output, issueCount);
+        return Utility.writeFileAtomically(getRepoPath(repoId).orElse(""), output, issueCount);
     }
 
     public static Optional<String> read(String repoId) {
-        return Utility.readFile(getRepoPath(repoId).orElse(""));
+        Optional<String> repoPath = getRepoPath(repoId);
+        if (!repoPath.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new String(Files.readAllBytes(Paths.get(repoPath.get())), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error(e.getLocalizedMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns a value which changes whenever the repository's file is replaced, or an empty Optional if it
+     * does not exist.
+     */
+    public static Optional<Object> getVersion(String repoId) {
+        Optional<String> repoPath = getRepoPath(repoId);
+        if (!repoPath.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(repoPath.get()),
+                                                                  BasicFileAttributes.class);
+            // A replaced file is a new file, which has a new key where the file system has them
+            return Optional.of(Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(),
+                                             attributes.size()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.error(e.getLocalizedMessage(), e);
+            return Optional.empty();
+        }
     }
 
     public static boolean delete(String repoId) {
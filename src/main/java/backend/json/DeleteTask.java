@@ -20,6 +20,7 @@ class DeleteTask extends StoreTask {
 
     @Override
     public void run() {
+        IssueMetadataLog.delete(repoId);
         response.complete(RepoStore.delete(repoId));
     }
 }
@@ -0,0 +1,175 @@
+package backend.json;
+
+import backend.IssueMetadata;
+import backend.interfaces.RepoStore;
+import backend.resource.serialization.SerializableIssueMetadata;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.logging.log4j.Logger;
+import util.FileHelper;
+import util.HTLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the metadata of a repository's issues in a file beside its JSON, so that it survives restarts
+ * without the whole repository being rewritten each time metadata is downloaded.
+ *
+ * The file is a log to which the metadata of issues is appended as it changes. Each line is an issue id and
+ * its metadata as JSON, separated by a tab. On reading, the log is replayed, the last line for each issue
+ * winning, and rewritten with only the current metadata once it has grown too long.
+ *
+ * Instances of HubTurbo sharing the store may write the same log, so it is only read and written while
+ * holding a lock on it.
+ */
+final class IssueMetadataLog {
+
+    private static final Logger logger = HTLog.get(IssueMetadataLog.class);
+
+    private static final String SEPARATOR = "\t";
+    private static final int MIN_LINES_TO_COMPACT = 100;
+    private static final Gson gson = new Gson();
+
+    private IssueMetadataLog() {
+    }
+
+    /**
+     * Returns the stored metadata of the repository's issues by issue id, which is empty if there is none
+     * or it cannot be read.
+     */
+    static Map<Integer, IssueMetadata> read(String repoId) {
+        Map<Integer, IssueMetadata> metadata = new HashMap<>();
+        String fileName = RepoStore.getMetadataFileName(repoId);
+        if (!FileHelper.isFileExists(RepoStore.getDirectory(), fileName)) {
+            return metadata;
+        }
+        try {
+            withLock(repoId, log -> readInto(repoId, log, metadata));
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+        }
+        return metadata;
+    }
+
+    private static void readInto(String repoId, FileChannel log, Map<Integer, IssueMetadata> metadata)
+            throws IOException {
+        int lines = 0;
+        for (String line : readAll(log).split("\n")) {
+            String[] fields = line.split(SEPARATOR, 2);
+            if (fields.length != 2) {
+                continue;
+            }
+            try {
+                SerializableIssueMetadata stored = gson.fromJson(fields[1], SerializableIssueMetadata.class);
+                metadata.put(Integer.parseInt(fields[0]), IssueMetadata.restored(stored));
+                lines++;
+            } catch (NumberFormatException | JsonParseException | NullPointerException e) {
+                // Possibly the last line of an interrupted write
+                logger.warn(HTLog.format(repoId, "Ignoring malformed metadata entry"));
+            }
+        }
+
+        if (lines > MIN_LINES_TO_COMPACT && lines > 2 * metadata.size()) {
+            rewrite(repoId, log, metadata);
+        }
+    }
+
+    /**
+     * Appends the metadata of the given issues to the repository's log.
+     *
+     * @return true if the metadata could not be written
+     */
+    static boolean append(String repoId, Map<Integer, IssueMetadata> metadata) {
+        try {
+            withLock(repoId, log -> {
+                log.position(log.size());
+                write(log, serialise(metadata));
+            });
+            return false;
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+            return true;
+        }
+    }
+
+    static void delete(String repoId) {
+        try {
+            Files.deleteIfExists(getPath(repoId));
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+        }
+    }
+
+    private static void rewrite(String repoId, FileChannel log, Map<Integer, IssueMetadata> metadata)
+            throws IOException {
+        log.truncate(0);
+        log.position(0);
+        write(log, serialise(metadata));
+        logger.info(HTLog.format(repoId, "Compacted stored metadata"));
+    }
+
+    /**
+     * Runs the action on the repository's log while holding a lock on it, which excludes other instances as
+     * well as other threads in this one.
+     */
+    private static void withLock(String repoId, LogAction action) throws IOException {
+        // File locks are held by the whole process, so threads in it have to exclude each other themselves
+        synchronized (IssueMetadataLog.class) {
+            Files.createDirectories(Paths.get(RepoStore.getDirectory()));
+            try (FileChannel log = FileChannel.open(getPath(repoId), StandardOpenOption.CREATE,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                FileLock lock = log.lock();
+                try {
+                    action.apply(log);
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface LogAction {
+        void apply(FileChannel log) throws IOException;
+    }
+
+    private static String readAll(FileChannel log) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) log.size());
+        int read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+            read = log.read(buffer, buffer.position());
+        }
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private static void write(FileChannel log, String contents) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(contents);
+        while (buffer.hasRemaining()) {
+            log.write(buffer);
+        }
+    }
+
+    private static Path getPath(String repoId) {
+        return Paths.get(RepoStore.getDirectory(), RepoStore.getMetadataFileName(repoId));
+    }
+
+    private static String serialise(Map<Integer, IssueMetadata> metadata) {
+        StringBuilder contents = new StringBuilder();
+        metadata.forEach((issue, issueMetadata) -> contents.append(issue)
+                .append(SEPARATOR)
+                .append(gson.toJson(new SerializableIssueMetadata(issueMetadata)))
+                .append('\n'));
+        return contents.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package backend.json;
 
+import backend.IssueMetadata;
 import backend.interfaces.RepoStore;
 import backend.resource.Model;
 import backend.resource.serialization.SerializableModel;
@@ -17,27 +18,70 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.google.common.io.Files.getFileExtension;
 
+/**
+ * Stores repositories as JSON files, along with logs of their issues' metadata.
+ *
+ * Instances of HubTurbo may share the store. Only the writer of a repository, decided by {@link StoreLocks},
+ * should download updates to it and save them; the others pick up what it saves with
+ * {@link #loadRepositoryIfChanged(String)}.
+ */
 public class JSONStore extends RepoStore {
 
     private static final Logger logger = HTLog.get(JSONStore.class);
 
+    // The version of each repository's file last read or written by this store, by lowercase repo id
+    private final Map<String, Object> seenVersions = new ConcurrentHashMap<>();
+
     @Override
     public CompletableFuture<Model> loadRepository(String repoId) {
         CompletableFuture<Model> response = new CompletableFuture<>();
-        addTask(new ReadTask(repoId, response));
+        addTask(new ReadTask(repoId, response, seenVersions));
+        return response;
+    }
+
+    /**
+     * Loads a repository if its file changed since this store last read or wrote it.
+     *
+     * @return a future completing with the loaded repository, or an empty Optional if it did not change
+     */
+    public CompletableFuture<Optional<Model>> loadRepositoryIfChanged(String repoId) {
+        CompletableFuture<Optional<Model>> response = new CompletableFuture<>();
+        addTask(new ReloadTask(repoId, response, seenVersions));
         return response;
     }
 
     @Override
     public CompletableFuture<Boolean> saveRepository(String repoId, SerializableModel model) {
         CompletableFuture<Boolean> response = new CompletableFuture<>();
-        addTask(new WriteTask(repoId, model, response));
+        addTask(new WriteTask(repoId, model, response, seenVersions));
+        return response;
+    }
+
+    /**
+     * Tries to become the writer of a repository, if no other instance sharing the store is.
+     *
+     * @return true if this instance is the writer of the repository
+     */
+    public boolean isWriterOf(String repoId) {
+        return ensureDirectoryExists() && StoreLocks.tryAcquire(repoId);
+    }
+
+    /**
+     * Adds the metadata of the given issues to that stored for the repository.
+     *
+     * @return a future completing with true if the metadata could not be written
+     */
+    public CompletableFuture<Boolean> saveIssueMetadata(String repoId, Map<Integer, IssueMetadata> metadata) {
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        addTask(new MetadataWriteTask(repoId, metadata, response));
         return response;
     }
 
@@ -58,6 +102,7 @@ public class JSONStore extends RepoStore {
     }
 
     public CompletableFuture<Boolean> removeStoredRepo(String repoId) {
+        StoreLocks.release(repoId);
         CompletableFuture<Boolean> response = new CompletableFuture<>();
         addTask(new DeleteTask(repoId, response));
         return response;
@@ -1,9 +1,11 @@
 package backend.json;
 
+import backend.IssueMetadata;
 import backend.resource.serialization.SerializableModel;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -21,6 +23,16 @@ public class JSONStoreStub extends JSONStore {
         return CompletableFuture.completedFuture(false);
     }
 
+    @Override
+    public CompletableFuture<Boolean> saveIssueMetadata(String repoId, Map<Integer, IssueMetadata> metadata) {
+        return CompletableFuture.completedFuture(false);
+    }
+
+    @Override
+    public boolean isWriterOf(String repoId) {
+        return true;
+    }
+
     @Override
     public List<String> getStoredRepos() {
         return new ArrayList<>();
@@ -0,0 +1,31 @@
+package backend.json;
+
+import backend.IssueMetadata;
+import backend.interfaces.StoreTask;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class MetadataWriteTask extends StoreTask {
+
+    private static final Logger logger = HTLog.get(MetadataWriteTask.class);
+
+    public final Map<Integer, IssueMetadata> toSave;
+    public final CompletableFuture<Boolean> response;
+
+    public MetadataWriteTask(String repoId, Map<Integer, IssueMetadata> toSave,
+                             CompletableFuture<Boolean> response) {
+        super(repoId);
+        this.toSave = toSave;
+        this.response = response;
+    }
+
+    @Override
+    public void run() {
+        boolean isFailed = IssueMetadataLog.append(repoId, toSave);
+        logger.info(HTLog.format(repoId, "Metadata of " + toSave.size() + " issues written to store"));
+        response.complete(isFailed);
+    }
+}
@@ -1,5 +1,6 @@
 package backend.json;
 
+import backend.IssueMetadata;
 import backend.interfaces.RepoStore;
 import backend.interfaces.StoreTask;
 import backend.resource.Model;
@@ -11,7 +12,9 @@ import org.apache.logging.log4j.Logger;
 import util.HTLog;
 import util.exceptions.JSONLoadException;
 import util.exceptions.RepoStoreException;
+import util.metrics.Metrics;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -20,20 +23,26 @@ class ReadTask extends StoreTask {
     private static final Logger logger = HTLog.get(ReadTask.class);
 
     public final CompletableFuture<Model> response;
+    private final Map<String, Object> seenVersions;
 
-    public ReadTask(String repoId, CompletableFuture<Model> response) {
+    public ReadTask(String repoId, CompletableFuture<Model> response, Map<String, Object> seenVersions) {
         super(repoId);
         this.response = response;
+        this.seenVersions = seenVersions;
     }
 
     @Override
     public void run() {
+        long start = System.nanoTime();
         try {
+            RepoStore.getVersion(repoId).ifPresent(version -> seenVersions.put(repoId.toLowerCase(), version));
             Model model = load(repoId);
             response.complete(model);
         } catch (RepoStoreException e) {
             logger.error(HTLog.format(repoId, "Unable to load from store"));
             response.completeExceptionally(e);
+        } finally {
+            Metrics.timer("store.read").recordSince(start);
         }
     }
 
@@ -45,7 +54,7 @@ class ReadTask extends StoreTask {
      * @throws JSONLoadException when the repository's JSON data cannot be
      *                           retrieved from the local store or is corrupted
      */
-    private Model load(String repoId) throws RepoStoreException {
+    static Model load(String repoId) throws RepoStoreException {
         Optional<String> input = RepoStore.read(repoId);
 
         if (!input.isPresent()) {
@@ -58,12 +67,31 @@ class ReadTask extends StoreTask {
                 SerializableModel sModel = new Gson().fromJson(input.get(),
                                                                new TypeToken<SerializableModel>() {}.getType());
 
-                return new Model(sModel);
+                Model model = new Model(sModel);
+                restoreMetadata(model);
+                return model;
             } catch (NullPointerException | JsonParseException e) {
                 logger.error(HTLog.format(repoId, "JSON data is corrupted"));
                 throw new JSONLoadException(e);
             }
         }
     }
+
+    /**
+     * Gives the issues of a newly loaded model the metadata stored for them, so that it need not be
+     * downloaded again in full.
+     */
+    private static void restoreMetadata(Model model) {
+        Map<Integer, IssueMetadata> metadata = IssueMetadataLog.read(model.getRepoId());
+        if (metadata.isEmpty()) {
+            return;
+        }
+        model.getIssues().forEach(issue -> {
+            if (metadata.containsKey(issue.getId())) {
+                issue.setMetadata(metadata.get(issue.getId()));
+            }
+        });
+        logger.info(HTLog.format(model.getRepoId(), "Restored metadata of " + metadata.size() + " issues"));
+    }
 }
 
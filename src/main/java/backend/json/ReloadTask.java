@@ -0,0 +1,47 @@
+package backend.json;
+
+import backend.interfaces.RepoStore;
+import backend.interfaces.StoreTask;
+import backend.resource.Model;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+import util.exceptions.RepoStoreException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads a repository again if its file was replaced since this store last read or wrote it, as happens when
+ * another instance sharing the store writes it.
+ */
+class ReloadTask extends StoreTask {
+
+    private static final Logger logger = HTLog.get(ReloadTask.class);
+
+    public final CompletableFuture<Optional<Model>> response;
+    private final Map<String, Object> seenVersions;
+
+    public ReloadTask(String repoId, CompletableFuture<Optional<Model>> response, Map<String, Object> seenVersions) {
+        super(repoId);
+        this.response = response;
+        this.seenVersions = seenVersions;
+    }
+
+    @Override
+    public void run() {
+        Optional<Object> version = RepoStore.getVersion(repoId);
+        if (!version.isPresent() || version.get().equals(seenVersions.get(repoId.toLowerCase()))) {
+            response.complete(Optional.empty());
+            return;
+        }
+        try {
+            Model model = ReadTask.load(repoId);
+            seenVersions.put(repoId.toLowerCase(), version.get());
+            logger.info(HTLog.format(repoId, "Reloaded after it was written by another instance"));
+            response.complete(Optional.of(model));
+        } catch (RepoStoreException e) {
+            response.completeExceptionally(e);
+        }
+    }
+}
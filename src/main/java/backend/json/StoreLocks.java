@@ -0,0 +1,98 @@
+package backend.json;
+
+import backend.interfaces.RepoStore;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The locks by which instances of HubTurbo sharing a store agree on which of them writes each repository.
+ *
+ * Each repository has a lock file beside its JSON. The instance holding the lock downloads updates to the
+ * repository and writes them to the store, while the others only read what it writes. A lock is held until the
+ * repository is removed or the instance exits, when the operating system releases it, so that another instance
+ * takes over the next time it tries.
+ *
+ * Locks belong to the whole process, so every store in it writes the repositories whose locks it holds.
+ */
+final class StoreLocks {
+
+    private static final Logger logger = HTLog.get(StoreLocks.class);
+
+    // Locks held by this process, by absolute path of the lock file
+    private static final Map<Path, FileLock> held = new HashMap<>();
+
+    private StoreLocks() {
+    }
+
+    static String getLockFileName(String repoId) {
+        return repoId.toLowerCase().replace("/", "-") + ".lock";
+    }
+
+    /**
+     * Tries to become the writer of the repository, returning true if this process is its writer.
+     */
+    static synchronized boolean tryAcquire(String repoId) {
+        Path path = getLockPath(repoId);
+        if (held.containsKey(path)) {
+            return true;
+        }
+
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                held.put(path, lock);
+                logger.info(HTLog.format(repoId, "Writing to the store as the holder of its lock"));
+                return true;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Locked through some other channel in this process, which is not a store's to write with
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+        }
+        close(channel);
+        return false;
+    }
+
+    /**
+     * Gives up writing the repository, if this process was its writer.
+     */
+    static synchronized void release(String repoId) {
+        FileLock lock = held.remove(getLockPath(repoId));
+        if (lock == null) {
+            return;
+        }
+        try {
+            lock.release();
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+        }
+        close(lock.channel());
+    }
+
+    private static Path getLockPath(String repoId) {
+        return Paths.get(RepoStore.getDirectory(), getLockFileName(repoId)).toAbsolutePath();
+    }
+
+    private static void close(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.apache.logging.log4j.Logger;
 import util.HTLog;
+import util.metrics.Metrics;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 class WriteTask extends StoreTask {
@@ -16,11 +18,14 @@ class WriteTask extends StoreTask {
 
     public final SerializableModel toSave;
     public final CompletableFuture<Boolean> response;
+    private final Map<String, Object> seenVersions;
 
-    public WriteTask(String repoName, SerializableModel toSave, CompletableFuture<Boolean> response) {
+    public WriteTask(String repoName, SerializableModel toSave, CompletableFuture<Boolean> response,
+                     Map<String, Object> seenVersions) {
         super(repoName);
         this.toSave = toSave;
         this.response = response;
+        this.seenVersions = seenVersions;
     }
 
     @Override
@@ -29,8 +34,12 @@ class WriteTask extends StoreTask {
     }
 
     private boolean save(String repoId, SerializableModel model) {
+        long start = System.nanoTime();
         String output = new Gson().toJson(model);
         boolean corruptedJson = RepoStore.write(repoId, output, model.issues.size());
+        RepoStore.getVersion(repoId).ifPresent(version -> seenVersions.put(repoId.toLowerCase(), version));
+        Metrics.timer("store.write").recordSince(start);
+        Metrics.histogram("store.write.chars").record(output.length());
         logger.info(HTLog.format(repoId, "Written to JSON store"));
         return corruptedJson;
     }
@@ -0,0 +1,41 @@
+package backend.resource;
+
+import util.QueryMatcher;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Matches keywords against a fixed list of labels as {@link TurboLabel#getMatchedLabels(List, String)} does,
+ * reusing work across successive keywords typed into the label picker.
+ */
+public class LabelMatcher {
+
+    private final QueryMatcher<TurboLabel> shortNames;
+    private final QueryMatcher<TurboLabel> groupNames;
+
+    public LabelMatcher(List<TurboLabel> labels) {
+        shortNames = new QueryMatcher<>(labels, TurboLabel::getShortName);
+        groupNames = new QueryMatcher<>(labels, label -> label.isInGroup() ? label.getGroupName() : "");
+    }
+
+    /**
+     * @param keyword
+     * @return the labels whose group contains the keyword's group, if it has one, and whose name contains the
+     * keyword's name
+     */
+    public List<TurboLabel> getMatchedLabels(String keyword) {
+        String[] extractedNames = TurboLabel.splitKeyword(keyword);
+        List<TurboLabel> matchedByName = shortNames.getMatches(extractedNames[2]);
+        if (extractedNames[0].isEmpty()) {
+            return matchedByName;
+        }
+
+        Set<TurboLabel> matchedByGroup = new HashSet<>(groupNames.getMatches(extractedNames[0]));
+        return matchedByName.stream()
+                .filter(matchedByGroup::contains)
+                .collect(Collectors.toList());
+    }
+}
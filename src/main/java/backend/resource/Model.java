@@ -3,24 +3,48 @@ package backend.resource;
 import backend.UpdateSignature;
 import backend.interfaces.IBaseModel;
 import backend.resource.serialization.SerializableModel;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import util.Utility;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * The issues, labels, milestones and users of a repository.
+ *
+ * Each model has a version, which is shared by copies of it and changed whenever it is constructed anew or one
+ * of its issues is changed through it. Models with the same version have the same content, so that whether a
+ * model changed is known without comparing its contents.
+ *
+ * The lists of a model are immutable, so copies of it share them and getters return them without copying.
+ * Changes to its issues are made to the issues themselves. Indices of its labels and of the names of its users
+ * are built the first time they are needed, and are shared by copies too.
+ */
 @SuppressWarnings("unused")
 public class Model implements IBaseModel {
 
+    // Versions are unique across models, so a rebuilt model never has the version of the one it replaces
+    private static final AtomicLong versions = new AtomicLong();
+
+    private volatile long version = versions.incrementAndGet();
     private final UpdateSignature updateSignature;
     private final String repoId;
-    private final List<TurboIssue> issues;
-    private final List<TurboLabel> labels;
-    private final List<TurboMilestone> milestones;
-    private final List<TurboUser> users;
+    private final ImmutableList<TurboIssue> issues;
+    private final ImmutableList<TurboLabel> labels;
+    private final ImmutableList<TurboMilestone> milestones;
+    private final ImmutableList<TurboUser> users;
+    private final Supplier<Map<String, TurboLabel>> labelsByName;
+    private final Supplier<UserIndex> userIndex;
 
     private static final Logger logger = LogManager.getLogger(Model.class);
 
@@ -33,10 +57,12 @@ public class Model implements IBaseModel {
 
         this.updateSignature = updateSignature;
         this.repoId = repoId;
-        this.issues = issues;
-        this.labels = labels;
-        this.milestones = milestones;
-        this.users = users;
+        this.issues = ImmutableList.copyOf(issues);
+        this.labels = ImmutableList.copyOf(labels);
+        this.milestones = ImmutableList.copyOf(milestones);
+        this.users = ImmutableList.copyOf(users);
+        this.labelsByName = Suppliers.memoize(() -> indexLabels(this.labels));
+        this.userIndex = Suppliers.memoize(() -> new UserIndex(this.users));
     }
 
     /**
@@ -48,10 +74,12 @@ public class Model implements IBaseModel {
 
         this.updateSignature = UpdateSignature.EMPTY;
         this.repoId = repoId;
-        this.issues = issues;
-        this.labels = labels;
-        this.milestones = milestones;
-        this.users = users;
+        this.issues = ImmutableList.copyOf(issues);
+        this.labels = ImmutableList.copyOf(labels);
+        this.milestones = ImmutableList.copyOf(milestones);
+        this.users = ImmutableList.copyOf(users);
+        this.labelsByName = Suppliers.memoize(() -> indexLabels(this.labels));
+        this.userIndex = Suppliers.memoize(() -> new UserIndex(this.users));
     }
 
     /**
@@ -60,39 +88,53 @@ public class Model implements IBaseModel {
     public Model(String repoId) {
         this.updateSignature = UpdateSignature.EMPTY;
         this.repoId = repoId;
-        this.issues = new ArrayList<>();
-        this.labels = new ArrayList<>();
-        this.milestones = new ArrayList<>();
-        this.users = new ArrayList<>();
+        this.issues = ImmutableList.of();
+        this.labels = ImmutableList.of();
+        this.milestones = ImmutableList.of();
+        this.users = ImmutableList.of();
+        this.labelsByName = Suppliers.memoize(() -> indexLabels(this.labels));
+        this.userIndex = Suppliers.memoize(() -> new UserIndex(this.users));
     }
 
     /**
-     * Copy constructor.
+     * Copy constructor. The lists of the model are shared rather than copied, so this takes constant time.
      */
     public Model(Model model) {
-        this.updateSignature = model.updateSignature;
-        this.repoId = model.getRepoId();
-        this.issues = new ArrayList<>(model.getIssues());
-        this.labels = new ArrayList<>(model.getLabels());
-        this.milestones = new ArrayList<>(model.getMilestones());
-        this.users = new ArrayList<>(model.getUsers());
+        this(model, model.updateSignature);
+    }
+
+    /**
+     * Constructs a model with the same content and version as the given one, but a new update signature.
+     */
+    private Model(Model model, UpdateSignature updateSignature) {
+        this.version = model.version;
+        this.updateSignature = updateSignature;
+        this.repoId = model.repoId;
+        this.issues = model.issues;
+        this.labels = model.labels;
+        this.milestones = model.milestones;
+        this.users = model.users;
+        this.labelsByName = model.labelsByName;
+        this.userIndex = model.userIndex;
     }
 
     public Model(SerializableModel model) {
         this.updateSignature = model.updateSignature;
         this.repoId = model.repoId;
-        this.issues = model.issues.stream()
+        this.issues = ImmutableList.copyOf(model.issues.stream()
                 .map(i -> new TurboIssue(model.repoId, i))
-                .collect(Collectors.toList());
-        this.labels = model.labels.stream()
+                .iterator());
+        this.labels = ImmutableList.copyOf(model.labels.stream()
                 .map(l -> new TurboLabel(model.repoId, l))
-                .collect(Collectors.toList());
-        this.milestones = model.milestones.stream()
+                .iterator());
+        this.milestones = ImmutableList.copyOf(model.milestones.stream()
                 .map(m -> new TurboMilestone(model.repoId, m))
-                .collect(Collectors.toList());
-        this.users = model.users.stream()
+                .iterator());
+        this.users = ImmutableList.copyOf(model.users.stream()
                 .map(u -> new TurboUser(model.repoId, u))
-                .collect(Collectors.toList());
+                .iterator());
+        this.labelsByName = Suppliers.memoize(() -> indexLabels(this.labels));
+        this.userIndex = Suppliers.memoize(() -> new UserIndex(this.users));
     }
 
     public String getRepoId() {
@@ -103,24 +145,43 @@ public class Model implements IBaseModel {
         return updateSignature;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns true if this model is known to have the same content as the other, without comparing their
+     * contents. Models for which this is false may still turn out to be equal.
+     */
+    public boolean isSameVersionAs(Model other) {
+        return version == other.version;
+    }
+
+    /**
+     * Returns this model with the given update signature, for when an update downloaded nothing new.
+     */
+    public Model withUpdateSignature(UpdateSignature newSignature) {
+        return new Model(this, newSignature);
+    }
+
     @Override
-    public synchronized List<TurboIssue> getIssues() {
-        return new ArrayList<>(issues);
+    public List<TurboIssue> getIssues() {
+        return issues;
     }
 
     @Override
     public List<TurboLabel> getLabels() {
-        return new ArrayList<>(labels);
+        return labels;
     }
 
     @Override
     public List<TurboMilestone> getMilestones() {
-        return new ArrayList<>(milestones);
+        return milestones;
     }
 
     @Override
     public List<TurboUser> getUsers() {
-        return new ArrayList<>(users);
+        return users;
     }
 
     @SuppressWarnings("unused")
@@ -138,12 +199,18 @@ public class Model implements IBaseModel {
 
     public Optional<TurboLabel> getLabelByActualName(String labelName) {
         assert labelName != null && !labelName.isEmpty() : "Invalid label name " + labelName;
-        for (TurboLabel label : getLabels()) {
-            if (label.getFullName().equals(labelName)) {
-                return Optional.of(label);
-            }
+        return Optional.ofNullable(labelsByName.get().get(labelName));
+    }
+
+    /**
+     * Indexes labels by full name, keeping the first of any with the same name.
+     */
+    private static Map<String, TurboLabel> indexLabels(List<TurboLabel> labels) {
+        Map<String, TurboLabel> index = new HashMap<>();
+        for (TurboLabel label : labels) {
+            index.putIfAbsent(label.getFullName(), label);
         }
-        return Optional.empty();
+        return index;
     }
 
     public Optional<TurboUser> getUserByLogin(String login) {
@@ -156,6 +223,13 @@ public class Model implements IBaseModel {
         return Optional.empty();
     }
 
+    /**
+     * Returns true if the login or real name of one of the users contains the given name, ignoring case.
+     */
+    public boolean hasUserMatching(String name) {
+        return userIndex.get().hasMatch(name);
+    }
+
     public Optional<TurboMilestone> getMilestoneByTitle(String title) {
         assert title != null && !title.isEmpty() : "Invalid milestone title " + title;
         for (TurboMilestone milestone : getMilestones()) {
@@ -206,6 +280,7 @@ public class Model implements IBaseModel {
         Optional<TurboIssue> issueLookUpResult = getIssueById(issueId);
         return Utility.safeFlatMapOptional(issueLookUpResult, (issue) -> {
             issue.setLabels(labels);
+            version = versions.incrementAndGet();
             return Optional.of(new TurboIssue(issue));
         }, () -> logger.error("Issue " + issueId + " not found in model for " + repoId));
     }
@@ -225,6 +300,7 @@ public class Model implements IBaseModel {
             } else {
                 issue.setMilestoneById(milestone.get());
             }
+            version = versions.incrementAndGet();
             return Optional.of(new TurboIssue(issue));
         }, () -> logger.error("Issue " + issueId + " not found in model for " + repoId));
     }
@@ -240,6 +316,7 @@ public class Model implements IBaseModel {
         Optional<TurboIssue> issueLookUpResult = getIssueById(issueId);
         return Utility.safeFlatMapOptional(issueLookUpResult, issue -> {
             issue.setOpen(isOpen);
+            version = versions.incrementAndGet();
             return Optional.of(new TurboIssue(issue));
         }, () -> logger.error("Issue " + issueId + " not found in model for " + repoId));
     }
@@ -259,11 +336,43 @@ public class Model implements IBaseModel {
                 } else {
                     issue.setAssignee(assigneeLoginName.get());
                 }
+                version = versions.incrementAndGet();
                 return Optional.of(new TurboIssue(issue));
             },
             () -> logger.error("Issue " + issueId + " not found in model for " + repoId));
     }
 
+    /**
+     * The lowercase logins and real names of users, so that they are not lowercased again on every search.
+     */
+    private static final class UserIndex {
+        private final Set<String> logins = new HashSet<>();
+        private final String[] names;
+
+        UserIndex(List<TurboUser> users) {
+            names = new String[users.size() * 2];
+            for (int i = 0; i < users.size(); i++) {
+                TurboUser user = users.get(i);
+                names[2 * i] = user.getLoginName().toLowerCase();
+                names[2 * i + 1] = user.getRealName().toLowerCase();
+                logins.add(names[2 * i]);
+            }
+        }
+
+        boolean hasMatch(String name) {
+            String key = name.toLowerCase();
+            if (logins.contains(key)) {
+                return true;
+            }
+            for (String indexed : names) {
+                if (indexed.contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     @SuppressWarnings("unused")
     private void ______BOILERPLATE______() {}
 
@@ -154,7 +154,14 @@ public class MultiModel implements IModel {
             () -> logger.error("Model " + repoId + " not found in models"));
     }
 
-    public synchronized void insertMetadata(String repoId, Map<Integer, IssueMetadata> metadata, String currentUser) {
+    /**
+     * Reconciles the given metadata with that of the repository's issues and gives it to them.
+     *
+     * @return the metadata of the issues whose metadata changed, by issue id
+     */
+    public synchronized Map<Integer, IssueMetadata> insertMetadata(String repoId, Map<Integer, IssueMetadata> metadata,
+                                                                   String currentUser) {
+        Map<Integer, IssueMetadata> inserted = new HashMap<>();
         models.get(repoId).getIssues().forEach(issue -> {
             if (metadata.containsKey(issue.getId())) {
                 IssueMetadata toBeInserted = metadata.get(issue.getId());
@@ -162,14 +169,35 @@ public class MultiModel implements IModel {
                 // ETag comparison is based on IssueMetadata constructor for more granularity, so that we can choose
                 // to not replace events while still replacing comments in the case of same ETag.
                 // TODO move ETag comparison here when comments ETag implementation is complete.
+                IssueMetadata previous = issue.getMetadata();
                 LocalDateTime nonSelfUpdatedAt = reconcileCreationDate(toBeInserted.getNonSelfUpdatedAt(),
                                                                        issue.getCreatedAt(), currentUser, issue
                                                                                .getCreator());
                 issue.setMetadata(toBeInserted.reconcile(nonSelfUpdatedAt,
                                                          issue.getMetadata().getEvents(), issue.getMetadata()
                                                                  .getEventsETag()));
+                if (isMetadataChanged(previous, issue.getMetadata())) {
+                    inserted.put(issue.getId(), issue.getMetadata());
+                }
             }
         });
+        return inserted;
+    }
+
+    /**
+     * Metadata is taken to have changed if its events were downloaded again, or its comments or the time of
+     * the last update by others differ.
+     */
+    private static boolean isMetadataChanged(IssueMetadata previous, IssueMetadata current) {
+        return !previous.getEventsETag().equals(current.getEventsETag())
+                || !previous.getNonSelfUpdatedAt().equals(current.getNonSelfUpdatedAt())
+                || !getCommentUpdateTimes(previous).equals(getCommentUpdateTimes(current));
+    }
+
+    private static List<Date> getCommentUpdateTimes(IssueMetadata metadata) {
+        return metadata.getComments().stream()
+                .map(comment -> comment.getUpdatedAt() == null ? comment.getCreatedAt() : comment.getUpdatedAt())
+                .collect(Collectors.toList());
     }
 
     private static LocalDateTime reconcileCreationDate(LocalDateTime lastNonSelfUpdate,
@@ -204,12 +232,9 @@ public class MultiModel implements IModel {
 
     @Override
     public boolean isUserInRepo(String repoId, String userName) {
-        List<TurboUser> usersOfRepo = getUsersOfRepo(repoId);
-        return usersOfRepo.stream()
-                .filter(userOfRepo -> userOfRepo.getRealName().toLowerCase().contains(userName.toLowerCase()) ||
-                        userOfRepo.getLoginName().toLowerCase().contains(userName.toLowerCase()))
-                .findFirst()
-                .isPresent();
+        return getModelById(repoId)
+                .map(model -> model.hasUserMatching(userName))
+                .orElse(false);
     }
 
     @Override
@@ -295,6 +320,13 @@ public class MultiModel implements IModel {
         pendingRepositories.add(repoId);
     }
 
+    /**
+     * Stops treating a repository as pending, for when it could not be loaded.
+     */
+    public synchronized void removePendingRepository(String repoId) {
+        pendingRepositories.removeIf(pendingRepo -> pendingRepo.equalsIgnoreCase(repoId));
+    }
+
     /**
      * Called on new models which come in.
      * Mutates TurboIssues with meta-information.
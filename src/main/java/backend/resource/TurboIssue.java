@@ -5,7 +5,9 @@ import static util.Utility.replaceNull;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -18,6 +20,7 @@ import backend.IssueMetadata;
 import backend.resource.serialization.SerializableIssue;
 import prefs.Preferences;
 import util.HTLog;
+import util.QueryMatcher;
 import util.Utility;
 
 /**
@@ -280,11 +283,19 @@ public class TurboIssue {
      */
     public static List<TurboIssue> reconcile(List<TurboIssue> existing, List<TurboIssue> changed) {
         List<TurboIssue> existingCopy = new ArrayList<>(existing);
+
+        // Looking issues up by id, rather than searching the list for each, keeps this linear in their number
+        Map<Integer, Integer> indicesById = new HashMap<>();
+        for (int i = 0; i < existingCopy.size(); i++) {
+            indicesById.putIfAbsent(existingCopy.get(i).getId(), i);
+        }
+
         for (TurboIssue issue : changed) {
             int id = issue.getId();
 
-            Optional<Integer> correspondingIssueIndex = findIssueWithId(existingCopy, id);
+            Optional<Integer> correspondingIssueIndex = Optional.ofNullable(indicesById.get(id));
             if (!correspondingIssueIndex.isPresent()) {
+                indicesById.put(id, existingCopy.size());
                 existingCopy.add(new TurboIssue(issue));
             } else {
                 TurboIssue existingIssue = existingCopy.get(correspondingIssueIndex.get());
@@ -308,10 +319,13 @@ public class TurboIssue {
      *
      * @param issues
      * @param pullRequests
-     * @return a new list of issues
+     * @return a new list of issues, or the original one if there are no pull requests
      */
     public static List<TurboIssue> combineWithPullRequests(List<TurboIssue> issues,
                                                            List<PullRequest> pullRequests) {
+        if (pullRequests.isEmpty()) {
+            return issues;
+        }
         List<TurboIssue> issuesCopy = new ArrayList<>(issues);
 
         for (PullRequest pullRequest : pullRequests) {
@@ -377,29 +391,33 @@ public class TurboIssue {
      * @return list of issues that contains the query
      */
     public static List<TurboIssue> getMatchedIssues(List<TurboIssue> issues, String query) {
-        List<String> queries = Arrays.asList(query.split("\\s"));
-        return issues.stream()
-                .filter(i -> Utility.containsIgnoreCase(i.getMatchableText(), queries))
-                .sorted((i1, i2) -> i2.getMatchingQueryCount(queries) - i1.getMatchingQueryCount(queries))
-                .collect(Collectors.toList());
+        return getMatchedIssues(createMatcher(issues), query);
     }
 
     /**
-     * @param issues
+     * @param matcher matcher created by {@link #createMatcher} for the issues to search
      * @param query
-     * @return first issue that matches the given query
+     * @return issues that match any word of the query, those matching more words first
      */
-    public static Optional<TurboIssue> getFirstMatchingIssue(List<TurboIssue> issues, String query) {
-        return getMatchedIssues(issues, query).stream().findFirst();
+    public static List<TurboIssue> getMatchedIssues(QueryMatcher<TurboIssue> matcher, String query) {
+        return matcher.getRankedMatchesOfAnyWord(Arrays.asList(query.split("\\s")));
     }
 
     /**
-     * @param queries
-     * @return number of queries that match this issue
+     * @param issues
+     * @return a matcher for queries on the given issues, which can be reused for successive queries
      */
-    private int getMatchingQueryCount(List<String> queries) {
-        return Math.toIntExact(
-            queries.stream().filter(query -> Utility.containsIgnoreCase(getMatchableText(), query)).count());
+    public static QueryMatcher<TurboIssue> createMatcher(List<TurboIssue> issues) {
+        return new QueryMatcher<>(issues, TurboIssue::getMatchableText);
+    }
+
+    /**
+     * @param issues
+     * @param query
+     * @return first issue that matches the given query
+     */
+    public static Optional<TurboIssue> getFirstMatchingIssue(List<TurboIssue> issues, String query) {
+        return getMatchedIssues(issues, query).stream().findFirst();
     }
 
     /**
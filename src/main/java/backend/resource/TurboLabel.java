@@ -7,9 +7,6 @@ import javafx.scene.control.Tooltip;
 
 import org.eclipse.egit.github.core.Label;
 
-import util.Utility;
-
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -25,12 +22,17 @@ public class TurboLabel implements Comparable<TurboLabel> {
     public static final String NONEXCLUSIVE_DELIMITER = "-";
     public static final String GROUP_PATTERN = String.format(
             "^([^\\%1$s\\%2$s]+)(\\%1$s|\\%2$s)([^\\%1$s\\%2$s]*)", EXCLUSIVE_DELIMITER, NONEXCLUSIVE_DELIMITER);
+    private static final Pattern GROUP_REGEX = Pattern.compile(GROUP_PATTERN);
 
     private final String fullName;
     private final String shortName;
     private final String groupName;
     private final Grouping grouping;
 
+    // Lowercase forms of the names, computed once as labels are matched case-insensitively against many filters
+    private final String lowerCaseShortName;
+    private final String lowerCaseGroupName;
+
     private final String colour;
     private final String repoId;
 
@@ -42,6 +44,8 @@ public class TurboLabel implements Comparable<TurboLabel> {
         this.groupName = splitted[0];
         this.grouping = determineGrouping(splitted[1]);
         this.shortName = splitted[2];
+        this.lowerCaseShortName = shortName.toLowerCase();
+        this.lowerCaseGroupName = groupName.toLowerCase();
 
         this.colour = colour;
         this.repoId = repoId;
@@ -76,9 +80,8 @@ public class TurboLabel implements Comparable<TurboLabel> {
      * @param keyword
      * @return String array of group name, group delimiter and short name
      */
-    private static String[] splitKeyword(String keyword) {
-        Pattern p = Pattern.compile(GROUP_PATTERN);
-        Matcher m = p.matcher(keyword);
+    static String[] splitKeyword(String keyword) {
+        Matcher m = GROUP_REGEX.matcher(keyword);
 
         if (!m.find()) return new String[] { "", "", keyword };
 
@@ -104,42 +107,6 @@ public class TurboLabel implements Comparable<TurboLabel> {
                 .collect(Collectors.toList());
     }
 
-    /**
-     * Matches label name that contains nameQuery and the matching is case-insensitive
-     *
-     * @param allLabels
-     * @param nameQuery
-     * @return the list of label names that matches a query
-     */
-    public static List<TurboLabel> filterByNameQuery(List<TurboLabel> allLabels, String nameQuery) {
-        return allLabels
-                .stream()
-                .filter(label -> Utility.containsIgnoreCase(label.getShortName(), nameQuery))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Matches label name that contains groupQuery and the matching is
-     * case-insensitive
-     *
-     * @param allLabels
-     * @param groupQuery
-     * @return the list of label names that belongs to a group and matches a query
-     */
-    public static List<TurboLabel> filterByGroupQuery(List<TurboLabel> allLabels, String groupQuery) {
-        if (groupQuery.isEmpty()) return allLabels;
-
-        return allLabels
-                .stream()
-                .filter(label -> {
-                    if (label.isInGroup()) {
-                        return Utility.containsIgnoreCase(label.getGroupName(), groupQuery);
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
-    }
-
     /**
      * @param allLabels
      * @param keyword
@@ -147,13 +114,7 @@ public class TurboLabel implements Comparable<TurboLabel> {
      * contains keyword's group and label's name contains keyword's name
      */
     public static List<TurboLabel> getMatchedLabels(List<TurboLabel> allLabels, String keyword) {
-        String[] extractedNames = splitKeyword(keyword);
-
-        List<TurboLabel> newMatchedLabels = new ArrayList<>();
-        newMatchedLabels.addAll(allLabels);
-        newMatchedLabels = filterByNameQuery(newMatchedLabels, extractedNames[2]);
-        newMatchedLabels = filterByGroupQuery(newMatchedLabels, extractedNames[0]);
-        return newMatchedLabels;
+        return new LabelMatcher(allLabels).getMatchedLabels(keyword);
     }
 
     /**
@@ -184,6 +145,20 @@ public class TurboLabel implements Comparable<TurboLabel> {
         return shortName;
     }
 
+    /**
+     * @return the group name in lowercase
+     */
+    public String getLowerCaseGroupName() {
+        return lowerCaseGroupName;
+    }
+
+    /**
+     * @return the short name in lowercase
+     */
+    public String getLowerCaseShortName() {
+        return lowerCaseShortName;
+    }
+
     public boolean isInExclusiveGroup() {
         return grouping == Grouping.EXCLUSIVE;
     }
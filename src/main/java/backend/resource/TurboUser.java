@@ -2,8 +2,6 @@ package backend.resource;
 
 import static util.Utility.replaceNull;
 
-import javafx.scene.image.Image;
-
 import org.eclipse.egit.github.core.User;
 
 import backend.resource.serialization.SerializableUser;
@@ -20,7 +18,6 @@ public class TurboUser {
     private void ______TRANSIENT_FIELDS______() {}
 
     private final String repoId;
-    private transient Image avatar = null;
 
     private void ______CONSTRUCTORS______() {}
 
@@ -41,7 +38,6 @@ public class TurboUser {
         this.loginName = user.getLoginName();
         this.realName = user.getRealName();
         this.avatarURL = user.getAvatarURL();
-        this.avatar = getAvatarImageFromAvatarUrl();
         this.repoId = user.getRepoId();
     }
 
@@ -49,7 +45,6 @@ public class TurboUser {
         this.loginName = replaceNull(loginName, "");
         this.realName = replaceNull(realName, "");
         this.avatarURL = "";
-        this.avatar = getAvatarImageFromAvatarUrl();
         this.repoId = replaceNull(repoId, "");
     }
 
@@ -57,7 +52,6 @@ public class TurboUser {
         this.loginName = replaceNull(user.getLogin(), "");
         this.realName = replaceNull(user.getName(), "");
         this.avatarURL = replaceNull(user.getAvatarUrl(), "");
-        this.avatar = getAvatarImageFromAvatarUrl();
         this.repoId = replaceNull(repoId, "");
     }
 
@@ -65,7 +59,6 @@ public class TurboUser {
         this.loginName = replaceNull(user.getLoginName(), "");
         this.realName = replaceNull(user.getRealName(), "");
         this.avatarURL = replaceNull(user.getAvatarURL(), "");
-        this.avatar = getAvatarImageFromAvatarUrl();
         this.repoId = replaceNull(repoId, "");
     }
 
@@ -76,10 +69,6 @@ public class TurboUser {
         return loginName;
     }
 
-    public Image getAvatarImage() {
-        return this.avatar;
-    }
-
     private void ______BOILERPLATE______() {}
 
     public String getRepoId() {
@@ -119,9 +108,4 @@ public class TurboUser {
         result = 31 * result + avatarURL.hashCode();
         return result;
     }
-
-    private Image getAvatarImageFromAvatarUrl() {
-        if (avatarURL.isEmpty()) return null;
-        return new Image(avatarURL, 12, 12, true, true, true);
-    }
 }
@@ -0,0 +1,56 @@
+package backend.resource.serialization;
+
+import backend.IssueMetadata;
+import github.TurboIssueEvent;
+import org.eclipse.egit.github.core.Comment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warnings are suppressed to prevent complaints about fields not being final.
+ * They are this way to give them default values.
+ */
+@SuppressWarnings("PMD")
+public class SerializableIssueMetadata {
+    private List<TurboIssueEvent> events = new ArrayList<>();
+    private List<Comment> comments = new ArrayList<>();
+    private String eventsETag = "";
+    private String commentsETag = "";
+    private String user = "";
+    private LocalDateTime nonSelfUpdatedAt = LocalDateTime.now();
+
+    public SerializableIssueMetadata(IssueMetadata metadata) {
+        this.events = metadata.getEvents();
+        this.comments = metadata.getComments();
+        this.eventsETag = metadata.getEventsETag();
+        this.commentsETag = metadata.getCommentsETag();
+        this.user = metadata.getUser();
+        this.nonSelfUpdatedAt = metadata.getNonSelfUpdatedAt();
+    }
+
+    public List<TurboIssueEvent> getEvents() {
+        return events;
+    }
+
+    public List<Comment> getComments() {
+        return comments;
+    }
+
+    public String getEventsETag() {
+        return eventsETag;
+    }
+
+    public String getCommentsETag() {
+        return commentsETag;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public LocalDateTime getNonSelfUpdatedAt() {
+        return nonSelfUpdatedAt;
+    }
+}
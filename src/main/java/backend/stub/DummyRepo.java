@@ -120,6 +120,18 @@ public class DummyRepo implements Repo {
         return getRepoState(repoId).getUpdatedLabels(eTag);
     }
 
+    @Override
+    public ImmutablePair<List<Integer>, String> getIssuesWithUpdatedEvents(String repoId, String eTag,
+                                                                           Date lastCheckTime) {
+        return new ImmutablePair<>(new ArrayList<>(), eTag);
+    }
+
+    @Override
+    public ImmutablePair<List<Integer>, String> getIssuesWithUpdatedComments(String repoId, String eTag,
+                                                                             Date lastCheckTime) {
+        return new ImmutablePair<>(new ArrayList<>(), eTag);
+    }
+
     @Override
     public ImmutablePair<List<TurboMilestone>, String> getUpdatedMilestones(String repoId, String eTag) {
         return getRepoState(repoId).getUpdatedMilestones(eTag);
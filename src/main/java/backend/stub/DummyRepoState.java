@@ -323,7 +323,7 @@ public class DummyRepoState {
         ImmutablePair<TurboIssue, IssueMetadata> mutables = produceMutables(issueId);
         TurboIssue toRename = mutables.getLeft();
         IssueMetadata metadataOfIssue = mutables.getRight();
-        List<TurboIssueEvent> eventsOfIssue = metadataOfIssue.getEvents();
+        List<TurboIssueEvent> eventsOfIssue = new ArrayList<>(metadataOfIssue.getEvents());
 
         // Mutate the copies
         eventsOfIssue.add(new TurboIssueEvent(new User().setLogin("test-nonself"),
@@ -342,7 +342,7 @@ public class DummyRepoState {
         ImmutablePair<TurboIssue, IssueMetadata> mutables = produceMutables(issueId);
         TurboIssue toEdit = mutables.getLeft();
         IssueMetadata metadataOfIssue = mutables.getRight();
-        List<TurboIssueEvent> eventsOfIssue = metadataOfIssue.getEvents();
+        List<TurboIssueEvent> eventsOfIssue = new ArrayList<>(metadataOfIssue.getEvents());
 
         eventsOfIssue.add(new TurboIssueEvent(new User().setLogin("test-nonself"),
                                               isOpen ? IssueEventType.Reopened : IssueEventType.Closed,
@@ -404,7 +404,7 @@ public class DummyRepoState {
         ImmutablePair<TurboIssue, IssueMetadata> mutables = produceMutables(issueId);
         TurboIssue toSet = mutables.getLeft();
         IssueMetadata metadataOfIssue = mutables.getRight();
-        List<TurboIssueEvent> eventsOfIssue = metadataOfIssue.getEvents();
+        List<TurboIssueEvent> eventsOfIssue = new ArrayList<>(metadataOfIssue.getEvents());
 
         // Mutate the copies
         List<String> labelsOfIssue = toSet.getLabels();
@@ -435,7 +435,7 @@ public class DummyRepoState {
         ImmutablePair<TurboIssue, IssueMetadata> mutables = produceMutables(issueId);
         TurboIssue issueToSet = mutables.getLeft();
         IssueMetadata metadataOfIssue = mutables.getRight();
-        List<TurboIssueEvent> eventsOfIssue = metadataOfIssue.getEvents();
+        List<TurboIssueEvent> eventsOfIssue = new ArrayList<>(metadataOfIssue.getEvents());
 
         // demilestone the issue, then set issue milestone using the new milestone
         issueToSet.getMilestone()
@@ -486,7 +486,7 @@ public class DummyRepoState {
         ImmutablePair<TurboIssue, IssueMetadata> mutables = produceMutables(issueId);
         TurboIssue toSet = mutables.getLeft();
         IssueMetadata metadataOfIssue = mutables.getRight();
-        List<TurboIssueEvent> eventsOfIssue = metadataOfIssue.getEvents();
+        List<TurboIssueEvent> eventsOfIssue = new ArrayList<>(metadataOfIssue.getEvents());
 
         if (toSet.getAssignee().isPresent()) {
             String assigneeOfIssue = toSet.getAssignee().get();
@@ -513,7 +513,7 @@ public class DummyRepoState {
         ImmutablePair<TurboIssue, IssueMetadata> mutables = produceMutables(issueId);
         TurboIssue toComment = mutables.getLeft();
         IssueMetadata metadataOfIssue = mutables.getRight();
-        List<Comment> commentsOfIssue = metadataOfIssue.getComments();
+        List<Comment> commentsOfIssue = new ArrayList<>(metadataOfIssue.getComments());
 
         // Mutate the copies
         Comment toAdd = new Comment();
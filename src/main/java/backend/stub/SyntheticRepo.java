@@ -0,0 +1,214 @@
+package backend.stub;
+
+import backend.UserCredentials;
+import backend.interfaces.Repo;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import github.ReviewComment;
+import github.TurboIssueEvent;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.eclipse.egit.github.core.Comment;
+import org.eclipse.egit.github.core.Label;
+import org.eclipse.egit.github.core.PullRequest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * A Repo of generated repositories of configurable size; see {@link SyntheticRepoState}.
+ * Every repository id refers to a valid repository, which is generated when first accessed.
+ */
+public class SyntheticRepo implements Repo {
+
+    public static final long DEFAULT_SEED = 0;
+    public static final double DEFAULT_CHURN_RATE = 0.001;
+
+    private static final int DEFAULT_API_QUOTA = 5000;
+
+    private final HashMap<String, SyntheticRepoState> repoStates = new HashMap<>();
+
+    private final int issueCount;
+    private final long seed;
+    private final double churnRate;
+    private final LocalDateTime startTime;
+
+    // Like GitHub, only decreases for requests which are not answered as not modified
+    private int apiQuota = DEFAULT_API_QUOTA;
+
+    public SyntheticRepo(int issueCount) {
+        this(issueCount, DEFAULT_SEED, DEFAULT_CHURN_RATE, LocalDateTime.now());
+    }
+
+    /**
+     * @param issueCount the number of issues and pull requests in each repository
+     * @param seed       the seed from which repositories and their updates are generated
+     * @param churnRate  the fraction of issues updated on every poll for updated issues
+     * @param startTime  the time at which the generated history of repositories ends
+     */
+    public SyntheticRepo(int issueCount, long seed, double churnRate, LocalDateTime startTime) {
+        this.issueCount = issueCount;
+        this.seed = seed;
+        this.churnRate = churnRate;
+        this.startTime = startTime;
+    }
+
+    @Override
+    public boolean login(UserCredentials credentials) {
+        return credentials.username.equals("test") && credentials.password.equals("test");
+    }
+
+    public synchronized SyntheticRepoState getRepoState(String repoId) {
+        return repoStates.computeIfAbsent(repoId,
+                id -> new SyntheticRepoState(id, issueCount, seed, churnRate, startTime));
+    }
+
+    private synchronized void useQuota() {
+        apiQuota--;
+    }
+
+    @Override
+    public List<TurboIssue> getIssues(String repoId) {
+        useQuota();
+        return getRepoState(repoId).getIssues();
+    }
+
+    @Override
+    public List<TurboLabel> getLabels(String repoId) {
+        useQuota();
+        return getRepoState(repoId).getLabels();
+    }
+
+    @Override
+    public List<TurboMilestone> getMilestones(String repoId) {
+        useQuota();
+        return getRepoState(repoId).getMilestones();
+    }
+
+    @Override
+    public List<TurboUser> getCollaborators(String repoId) {
+        useQuota();
+        return getRepoState(repoId).getCollaborators();
+    }
+
+    @Override
+    public ImmutableTriple<List<TurboIssue>, String, Date>
+            getUpdatedIssues(String repoId, String eTag, Date lastCheckTime) {
+
+        ImmutableTriple<List<TurboIssue>, String, Date> result =
+                getRepoState(repoId).getUpdatedIssues(eTag, lastCheckTime);
+        if (!result.getMiddle().equals(eTag)) useQuota();
+        return result;
+    }
+
+    @Override
+    public List<PullRequest> getUpdatedPullRequests(String repoId, Date lastCheckTime) {
+        useQuota();
+        return getRepoState(repoId).getUpdatedPullRequests();
+    }
+
+    @Override
+    public ImmutablePair<List<TurboLabel>, String> getUpdatedLabels(String repoId, String eTag) {
+        ImmutablePair<List<TurboLabel>, String> result = getRepoState(repoId).getUpdatedLabels(eTag);
+        if (!result.getRight().equals(eTag)) useQuota();
+        return result;
+    }
+
+    @Override
+    public ImmutablePair<List<Integer>, String> getIssuesWithUpdatedEvents(String repoId, String eTag,
+                                                                           Date lastCheckTime) {
+        return new ImmutablePair<>(new ArrayList<>(), eTag);
+    }
+
+    @Override
+    public ImmutablePair<List<Integer>, String> getIssuesWithUpdatedComments(String repoId, String eTag,
+                                                                             Date lastCheckTime) {
+        return new ImmutablePair<>(new ArrayList<>(), eTag);
+    }
+
+    @Override
+    public ImmutablePair<List<TurboMilestone>, String> getUpdatedMilestones(String repoId, String eTag) {
+        ImmutablePair<List<TurboMilestone>, String> result = getRepoState(repoId).getUpdatedMilestones(eTag);
+        if (!result.getRight().equals(eTag)) useQuota();
+        return result;
+    }
+
+    @Override
+    public ImmutablePair<List<TurboUser>, String> getUpdatedCollaborators(String repoId, String eTag) {
+        ImmutablePair<List<TurboUser>, String> result = getRepoState(repoId).getUpdatedCollaborators(eTag);
+        if (!result.getRight().equals(eTag)) useQuota();
+        return result;
+    }
+
+    @Override
+    public ImmutablePair<List<TurboIssueEvent>, String> getUpdatedEvents(String repoId, int issueId, String eTag) {
+        ImmutablePair<List<TurboIssueEvent>, String> result = getRepoState(repoId).getEvents(issueId, eTag);
+        if (!result.getRight().equals(eTag)) useQuota();
+        return result;
+    }
+
+    @Override
+    public List<Comment> getComments(String repoId, int issueId) {
+        useQuota();
+        return getRepoState(repoId).getComments(issueId);
+    }
+
+    @Override
+    public List<ReviewComment> getReviewComments(String repoId, int pullRequestId) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<Comment> getAllComments(String repoId, TurboIssue issue) {
+        return getComments(repoId, issue.getId());
+    }
+
+    @Override
+    public boolean isRepositoryValid(String repoId) {
+        return true;
+    }
+
+    @Override
+    public List<Label> setLabels(String repoId, int issueId, List<String> labels) throws IOException {
+        useQuota();
+        return getRepoState(repoId).setLabels(issueId, labels).stream()
+                .map(name -> new Label().setName(name))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Integer> setMilestone(String repoId, int issueId, String issueTitle,
+                                          Optional<Integer> issueMilestone) {
+        useQuota();
+        return getRepoState(repoId).setMilestone(issueId, issueMilestone);
+    }
+
+    @Override
+    public Optional<String> setAssignee(String repoId, int issueId, String issueTitle,
+                                        Optional<String> issueAssigneeLoginName) {
+        useQuota();
+        return getRepoState(repoId).setAssignee(issueId, issueAssigneeLoginName);
+    }
+
+    @Override
+    public boolean editIssueState(String repoId, int issueId, boolean isOpen) {
+        useQuota();
+        return getRepoState(repoId).editIssueState(issueId, isOpen);
+    }
+
+    /**
+     * @return remaining calls, and a reset time ~45 minutes from now
+     */
+    @Override
+    public synchronized ImmutablePair<Integer, Long> getRateLimitResetTime() {
+        return new ImmutablePair<>(apiQuota, new Date().getTime() + 2700000);
+    }
+}
@@ -0,0 +1,644 @@
+package backend.stub;
+
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import github.IssueEventType;
+import github.TurboIssueEvent;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.eclipse.egit.github.core.Comment;
+import org.eclipse.egit.github.core.PullRequest;
+import org.eclipse.egit.github.core.User;
+import util.Utility;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * A generated repository of configurable size, used in place of a GitHub repository for load testing.
+ *
+ * The repository's labels, milestones, users, issues and pull requests are generated from a seeded random
+ * number generator with skewed distributions: a few users and labels account for most activity, most issues
+ * have few comments while some have many, and older issues are more likely to be closed. The events and
+ * comments of an issue are only generated when first requested, as the application only asks for those of
+ * issues it shows.
+ *
+ * Each poll for updated issues first applies a round of churn to the repository, in which roughly
+ * churnRate * (number of issues) issues are commented on, relabelled, reassigned, closed or reopened, or
+ * newly created. ETags only change when something did, so unchanged resources behave like a 304 response:
+ * nothing is returned and no API quota is used.
+ *
+ * The same repository id, seed and churn rate always produce the same repository and the same updates.
+ * All methods are synchronized as updates to different resources are downloaded concurrently.
+ */
+public class SyntheticRepoState {
+
+    private static final String[] WORDS = {
+        "fix", "crash", "when", "opening", "panel", "filter", "label", "milestone", "slow", "refresh",
+        "add", "support", "for", "board", "issue", "pull", "request", "update", "test", "docs",
+        "login", "error", "on", "startup", "improve", "sort", "order", "of", "cache", "window"
+    };
+    private static final String[] PRIORITIES = {"priority.high", "priority.medium", "priority.low"};
+    private static final String[] TYPES = {"type.bug", "type.enhancement", "type.task", "type.docs"};
+    private static final String[] STATUSES = {"status.new", "status.accepted", "status.ongoing"};
+    private static final String[] UNGROUPED_LABELS = {"duplicate", "wontfix", "question", "good first issue"};
+
+    // Activity of the i-th most active user or label is proportional to 1 / (i + 1)
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final int MINUTES_BETWEEN_ISSUES = 30;
+    private static final int MINUTES_PER_POLL = 1;
+
+    private final String repoId;
+    private final long seed;
+    private final double churnRate;
+    private final Random churnRandom;
+    private LocalDateTime now;
+
+    private final TreeMap<Integer, TurboIssue> issues = new TreeMap<>();
+    private final TreeMap<String, TurboLabel> labels = new TreeMap<>();
+    private final TreeMap<Integer, TurboMilestone> milestones = new TreeMap<>();
+    private final TreeMap<String, TurboUser> users = new TreeMap<>();
+
+    // Ordered from most to least active, for sampling with skewed distributions
+    private final List<String> activeUsers = new ArrayList<>();
+    private final List<String> componentLabels = new ArrayList<>();
+    private double[] userWeights;
+    private double[] componentWeights;
+
+    private TreeMap<Integer, TurboIssue> updatedIssues = new TreeMap<>(); // NOPMD
+    private TreeMap<Integer, TurboIssue> updatedPullRequests = new TreeMap<>(); // NOPMD
+    private TreeMap<String, TurboLabel> updatedLabels = new TreeMap<>(); // NOPMD
+    private TreeMap<Integer, TurboMilestone> updatedMilestones = new TreeMap<>(); // NOPMD
+    private TreeMap<String, TurboUser> updatedUsers = new TreeMap<>(); // NOPMD
+
+    // Generated on first request; see class comment
+    private final HashMap<Integer, List<TurboIssueEvent>> events = new HashMap<>();
+    private final HashMap<Integer, List<Comment>> comments = new HashMap<>();
+
+    // Incremented whenever the corresponding resource changes, and used to derive its ETag
+    private int issuesVersion = 0;
+    private int labelsVersion = 0;
+    private int milestonesVersion = 0;
+    private int usersVersion = 0;
+    private final HashMap<Integer, Integer> eventsVersions = new HashMap<>();
+
+    private int notModifiedCount = 0;
+
+    /**
+     * @param repoId     the id of the repository to generate
+     * @param issueCount the number of issues and pull requests to generate
+     * @param seed       the seed from which the repository and its updates are generated
+     * @param churnRate  the fraction of issues updated on every poll for updated issues
+     * @param now        the time at which the repository's generated history ends
+     */
+    public SyntheticRepoState(String repoId, int issueCount, long seed, double churnRate, LocalDateTime now) {
+        this.repoId = repoId;
+        this.seed = seed;
+        this.churnRate = churnRate;
+        this.now = now;
+        this.churnRandom = new Random(seed * 31 + repoId.hashCode() + 1);
+
+        Random random = new Random(seed * 31 + repoId.hashCode());
+        generateUsers(random, Math.max(10, issueCount / 100));
+        generateLabels(random, Math.max(3, issueCount / 5000));
+        generateMilestones(Math.max(5, issueCount / 250));
+        for (int id = 1; id <= issueCount; id++) {
+            TurboIssue issue = generateIssue(random, id, issueCount);
+            issues.put(id, issue);
+        }
+        countMilestoneIssues();
+    }
+
+    private void generateUsers(Random random, int userCount) {
+        for (int i = 1; i < userCount; i++) {
+            activeUsers.add("user" + i);
+        }
+        // The current user is moderately active
+        activeUsers.add(Math.min(activeUsers.size(), 5), "test");
+        activeUsers.forEach(login -> users.put(login, new TurboUser(repoId, login, capitalise(word(random)))));
+        userWeights = zipfWeights(activeUsers.size());
+    }
+
+    private void generateLabels(Random random, int componentCount) {
+        for (String[] group : Arrays.asList(PRIORITIES, TYPES, STATUSES, UNGROUPED_LABELS)) {
+            for (String name : group) {
+                labels.put(name, new TurboLabel(repoId, colour(random), name));
+            }
+        }
+        for (int i = 0; i < componentCount; i++) {
+            String name = "component." + WORDS[i % WORDS.length] + (i < WORDS.length ? "" : i / WORDS.length);
+            componentLabels.add(name);
+            labels.put(name, new TurboLabel(repoId, colour(random), name));
+        }
+        componentWeights = zipfWeights(componentLabels.size());
+    }
+
+    /**
+     * Generates weekly milestones of which the last three are open and due from the current day onwards.
+     */
+    private void generateMilestones(int milestoneCount) {
+        for (int i = 1; i <= milestoneCount; i++) {
+            TurboMilestone milestone = new TurboMilestone(repoId, i, "V0." + i);
+            int weeksFromNow = i - milestoneCount + 2;
+            milestone.setDueDate(Optional.of(now.toLocalDate().plusWeeks(weeksFromNow)));
+            milestone.setOpen(weeksFromNow >= 0);
+            milestones.put(i, milestone);
+        }
+    }
+
+    private TurboIssue generateIssue(Random random, int id, int issueCount) {
+        LocalDateTime createdAt = now.minusMinutes((long) (issueCount - id + 1) * MINUTES_BETWEEN_ISSUES)
+                .plusMinutes(random.nextInt(MINUTES_BETWEEN_ISSUES));
+        boolean isPullRequest = random.nextInt(4) == 0;
+        TurboIssue issue = new TurboIssue(repoId, id, title(random), pickUser(random), createdAt, isPullRequest);
+
+        // Newer issues are more likely to be open
+        double age = 1 - (double) id / issueCount;
+        issue.setOpen(random.nextDouble() < 0.6 - 0.5 * age);
+        issue.setCommentCount(commentCount(random));
+
+        // Most issues were last updated soon after creation
+        LocalDateTime updatedAt = createdAt.plusMinutes((long) exponential(random, 60 * 24 * 3));
+        issue.setUpdatedAt(updatedAt.isAfter(now) ? now : updatedAt);
+
+        List<String> labelsOfIssue = new ArrayList<>();
+        if (random.nextInt(10) < 6) {
+            labelsOfIssue.add(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+        }
+        if (random.nextInt(10) < 8) {
+            labelsOfIssue.add(TYPES[random.nextInt(TYPES.length)]);
+        }
+        if (issue.isOpen() && random.nextInt(2) == 0) {
+            labelsOfIssue.add(STATUSES[random.nextInt(STATUSES.length)]);
+        }
+        if (random.nextInt(10) < 4) {
+            labelsOfIssue.add(componentLabels.get(sample(random, componentWeights)));
+        }
+        if (random.nextInt(20) == 0) {
+            labelsOfIssue.add(UNGROUPED_LABELS[random.nextInt(UNGROUPED_LABELS.length)]);
+        }
+        issue.setLabels(labelsOfIssue);
+
+        if (random.nextInt(10) < 7) {
+            // Issues mostly belong to the milestone current at the time they were created
+            int current = (int) ((long) id * (milestones.size() - 2) / issueCount);
+            issue.setMilestoneById(Math.max(1, Math.min(milestones.size(), current + random.nextInt(3))));
+        }
+        if (random.nextInt(10) < 6) {
+            issue.setAssignee(pickUser(random));
+        }
+        return issue;
+    }
+
+    private void countMilestoneIssues() {
+        milestones.values().forEach(milestone -> {
+            milestone.setOpenIssues(0);
+            milestone.setClosedIssues(0);
+        });
+        issues.values().forEach(issue -> issue.getMilestone().map(milestones::get).ifPresent(milestone -> {
+            if (issue.isOpen()) {
+                milestone.setOpenIssues(milestone.getOpenIssues() + 1);
+            } else {
+                milestone.setClosedIssues(milestone.getClosedIssues() + 1);
+            }
+        }));
+    }
+
+    /**
+     * Generates the events and comments of an issue as of its last update, if not done before.
+     * They are generated from their own seed so that they do not depend on which issues were requested first.
+     */
+    private void ensureMetadataGenerated(int issueId) {
+        if (events.containsKey(issueId)) {
+            return;
+        }
+        TurboIssue issue = issues.get(issueId);
+        Random random = new Random(seed * 31 + repoId.hashCode() + (long) issueId * 1_000_003);
+        long minutes = Math.max(1, Duration.between(issue.getCreatedAt(), issue.getUpdatedAt()).toMinutes());
+
+        List<TurboIssueEvent> eventsOfIssue = new ArrayList<>();
+        for (String labelName : issue.getLabels()) {
+            eventsOfIssue.add(new TurboIssueEvent(user(pickUser(random)), IssueEventType.Labeled,
+                                                  date(issue.getCreatedAt().plusMinutes(random.nextInt(60))))
+                                      .setLabelName(labelName)
+                                      .setLabelColour(labels.get(labelName).getColour()));
+        }
+        issue.getMilestone().ifPresent(milestone -> eventsOfIssue.add(
+                new TurboIssueEvent(user(pickUser(random)), IssueEventType.Milestoned,
+                                    date(issue.getCreatedAt().plusMinutes(random.nextInt(60))))
+                        .setMilestoneTitle(milestones.get(milestone).getTitle())));
+        issue.getAssignee().ifPresent(assignee -> eventsOfIssue.add(
+                new TurboIssueEvent(user(pickUser(random)), IssueEventType.Assigned,
+                                    date(issue.getCreatedAt().plusMinutes(random.nextInt(60))))
+                        .setAssignedUser(user(assignee))));
+        if (!issue.isOpen()) {
+            if (issue.isPullRequest()) {
+                eventsOfIssue.add(new TurboIssueEvent(user(pickUser(random)), IssueEventType.Merged,
+                                                      date(issue.getUpdatedAt())));
+            }
+            eventsOfIssue.add(new TurboIssueEvent(user(pickUser(random)), IssueEventType.Closed,
+                                                  date(issue.getUpdatedAt())));
+        }
+
+        List<Comment> commentsOfIssue = new ArrayList<>();
+        for (int i = 0; i < issue.getCommentCount(); i++) {
+            LocalDateTime createdAt = issue.getCreatedAt().plusMinutes((long) (random.nextDouble() * minutes));
+            commentsOfIssue.add(comment(issueId * 1000L + i, pickUser(random), title(random), createdAt));
+        }
+        commentsOfIssue.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
+
+        events.put(issueId, eventsOfIssue);
+        comments.put(issueId, commentsOfIssue);
+    }
+
+    /**
+     * Applies one round of churn to the repository; see class comment. Also advances the repository's clock.
+     */
+    protected synchronized void churn() {
+        now = now.plusMinutes(MINUTES_PER_POLL);
+
+        double expectedChanges = churnRate * issues.size();
+        int changes = (int) expectedChanges + (churnRandom.nextDouble() < expectedChanges % 1 ? 1 : 0);
+        for (int i = 0; i < changes; i++) {
+            int change = churnRandom.nextInt(100);
+            if (change < 10 || issues.isEmpty()) {
+                createIssue();
+                continue;
+            }
+
+            TurboIssue issue = new TurboIssue(issues.get(pickRecentIssue()));
+            ensureMetadataGenerated(issue.getId());
+            String actor = pickUser(churnRandom);
+            if (change < 55) {
+                addComment(issue, actor, title(churnRandom));
+            } else if (change < 75) {
+                String label = churnRandom.nextBoolean()
+                        ? PRIORITIES[churnRandom.nextInt(PRIORITIES.length)]
+                        : componentLabels.get(sample(churnRandom, componentWeights));
+                toggleLabel(issue, actor, label);
+            } else if (change < 85) {
+                assign(issue, actor, pickUser(churnRandom));
+            } else if (change < 95) {
+                setState(issue, actor, !issue.isOpen());
+            } else {
+                setMilestone(issue, actor, Optional.of(milestones.lastKey() - churnRandom.nextInt(3)));
+            }
+            markUpdated(issue);
+        }
+    }
+
+    /**
+     * Picks an issue to update, preferring the most recent fifth of issues.
+     */
+    private int pickRecentIssue() {
+        int issueCount = issues.lastKey();
+        if (churnRandom.nextInt(10) < 8) {
+            int recent = Math.max(1, issueCount / 5);
+            return issueCount - churnRandom.nextInt(recent);
+        }
+        return 1 + churnRandom.nextInt(issueCount);
+    }
+
+    private void createIssue() {
+        int id = issues.isEmpty() ? 1 : issues.lastKey() + 1;
+        String creator = pickUser(churnRandom);
+        if (churnRandom.nextInt(50) == 0) {
+            // Occasionally, a new contributor turns up
+            creator = "user" + (activeUsers.size() + 1);
+            activeUsers.add(creator);
+            userWeights = zipfWeights(activeUsers.size());
+            TurboUser user = new TurboUser(repoId, creator);
+            users.put(creator, user);
+            updatedUsers.put(creator, user);
+            usersVersion++;
+        }
+        TurboIssue issue = new TurboIssue(repoId, id, title(churnRandom), creator, now,
+                                          churnRandom.nextInt(4) == 0);
+        issue.setUpdatedAt(now);
+        issue.addLabel(TYPES[churnRandom.nextInt(TYPES.length)]);
+        issues.put(id, issue);
+        events.put(id, new ArrayList<>());
+        comments.put(id, new ArrayList<>());
+        markUpdated(issue);
+    }
+
+    private void addComment(TurboIssue issue, String author, String body) {
+        List<Comment> commentsOfIssue = new ArrayList<>(comments.get(issue.getId()));
+        commentsOfIssue.add(comment(issue.getId() * 1000L + commentsOfIssue.size(), author, body, now));
+        comments.put(issue.getId(), commentsOfIssue);
+        issue.setCommentCount(issue.getCommentCount() + 1);
+    }
+
+    private void toggleLabel(TurboIssue issue, String actor, String labelName) {
+        List<String> labelsOfIssue = new ArrayList<>(issue.getLabels());
+        IssueEventType type;
+        if (labelsOfIssue.remove(labelName)) {
+            type = IssueEventType.Unlabeled;
+        } else {
+            labelsOfIssue.add(labelName);
+            type = IssueEventType.Labeled;
+        }
+        issue.setLabels(labelsOfIssue);
+        addEvent(issue, new TurboIssueEvent(user(actor), type, date(now))
+                .setLabelName(labelName)
+                .setLabelColour(labels.get(labelName).getColour()));
+    }
+
+    private void assign(TurboIssue issue, String actor, String assignee) {
+        issue.getAssignee().ifPresent(previous -> addEvent(issue,
+                new TurboIssueEvent(user(actor), IssueEventType.Unassigned, date(now))
+                        .setAssignedUser(user(previous))));
+        issue.setAssignee(assignee);
+        addEvent(issue, new TurboIssueEvent(user(actor), IssueEventType.Assigned, date(now))
+                .setAssignedUser(user(assignee)));
+    }
+
+    private void setState(TurboIssue issue, String actor, boolean isOpen) {
+        issue.setOpen(isOpen);
+        addEvent(issue, new TurboIssueEvent(user(actor), isOpen ? IssueEventType.Reopened : IssueEventType.Closed,
+                                            date(now)));
+    }
+
+    private void setMilestone(TurboIssue issue, String actor, Optional<Integer> milestone) {
+        issue.getMilestone().ifPresent(previous -> addEvent(issue,
+                new TurboIssueEvent(user(actor), IssueEventType.Demilestoned, date(now))
+                        .setMilestoneTitle(milestones.get(previous).getTitle())));
+        if (milestone.isPresent()) {
+            issue.setMilestoneById(milestone.get());
+            addEvent(issue, new TurboIssueEvent(user(actor), IssueEventType.Milestoned, date(now))
+                    .setMilestoneTitle(milestones.get(milestone.get()).getTitle()));
+        } else {
+            issue.removeMilestone();
+        }
+    }
+
+    private void addEvent(TurboIssue issue, TurboIssueEvent event) {
+        List<TurboIssueEvent> eventsOfIssue = new ArrayList<>(events.get(issue.getId()));
+        eventsOfIssue.add(event);
+        events.put(issue.getId(), eventsOfIssue);
+        eventsVersions.merge(issue.getId(), 1, Integer::sum);
+    }
+
+    /**
+     * Replaces the stored issue with the given updated copy and queues it up to be retrieved.
+     */
+    private void markUpdated(TurboIssue issue) {
+        issue.setUpdatedAt(now);
+        issues.put(issue.getId(), issue);
+        updatedIssues.put(issue.getId(), issue);
+        if (issue.isPullRequest()) {
+            updatedPullRequests.put(issue.getId(), issue);
+        }
+        issuesVersion++;
+    }
+
+    protected synchronized ImmutableTriple<List<TurboIssue>, String, Date> getUpdatedIssues(String eTag,
+                                                                                          Date lastCheckTime) {
+        churn();
+        String currETag = eTag("issues", issuesVersion);
+        if (currETag.equals(eTag)) {
+            notModifiedCount++;
+            return new ImmutableTriple<>(new ArrayList<>(), eTag, lastCheckTime);
+        }
+        List<TurboIssue> result = copyIssues(updatedIssues.values());
+        updatedIssues = new TreeMap<>();
+        return new ImmutableTriple<>(result, currETag, lastCheckTime);
+    }
+
+    protected synchronized List<PullRequest> getUpdatedPullRequests() {
+        List<PullRequest> result = updatedPullRequests.values().stream()
+                .map(issue -> new PullRequest()
+                        .setNumber(issue.getId())
+                        .setTitle(issue.getTitle())
+                        .setState(issue.isOpen() ? TurboIssue.STATE_OPEN : TurboIssue.STATE_CLOSED)
+                        .setUpdatedAt(date(issue.getUpdatedAt())))
+                .collect(Collectors.toList());
+        updatedPullRequests = new TreeMap<>();
+        return result;
+    }
+
+    protected synchronized ImmutablePair<List<TurboLabel>, String> getUpdatedLabels(String eTag) {
+        String currETag = eTag("labels", labelsVersion);
+        if (currETag.equals(eTag)) {
+            notModifiedCount++;
+            return new ImmutablePair<>(new ArrayList<>(), eTag);
+        }
+        List<TurboLabel> result = updatedLabels.values().stream().map(TurboLabel::new).collect(Collectors.toList());
+        updatedLabels = new TreeMap<>();
+        return new ImmutablePair<>(result, currETag);
+    }
+
+    protected synchronized ImmutablePair<List<TurboMilestone>, String> getUpdatedMilestones(String eTag) {
+        String currETag = eTag("milestones", milestonesVersion);
+        if (currETag.equals(eTag)) {
+            notModifiedCount++;
+            return new ImmutablePair<>(new ArrayList<>(), eTag);
+        }
+        List<TurboMilestone> result = updatedMilestones.values().stream()
+                .map(TurboMilestone::new)
+                .collect(Collectors.toList());
+        updatedMilestones = new TreeMap<>();
+        return new ImmutablePair<>(result, currETag);
+    }
+
+    protected synchronized ImmutablePair<List<TurboUser>, String> getUpdatedCollaborators(String eTag) {
+        String currETag = eTag("users", usersVersion);
+        if (currETag.equals(eTag)) {
+            notModifiedCount++;
+            return new ImmutablePair<>(new ArrayList<>(), eTag);
+        }
+        List<TurboUser> result = updatedUsers.values().stream().map(TurboUser::new).collect(Collectors.toList());
+        updatedUsers = new TreeMap<>();
+        return new ImmutablePair<>(result, currETag);
+    }
+
+    /**
+     * @return all events of the issue, or none if the given ETag is current
+     */
+    protected synchronized ImmutablePair<List<TurboIssueEvent>, String> getEvents(int issueId, String eTag) {
+        String currETag = eTag("events-" + issueId, eventsVersions.getOrDefault(issueId, 0));
+        if (currETag.equals(eTag) || !issues.containsKey(issueId)) {
+            notModifiedCount++;
+            return new ImmutablePair<>(new ArrayList<>(), eTag);
+        }
+        ensureMetadataGenerated(issueId);
+        return new ImmutablePair<>(new ArrayList<>(events.get(issueId)), currETag);
+    }
+
+    protected synchronized List<Comment> getComments(int issueId) {
+        if (!issues.containsKey(issueId)) {
+            return new ArrayList<>();
+        }
+        ensureMetadataGenerated(issueId);
+        return new ArrayList<>(comments.get(issueId));
+    }
+
+    protected synchronized List<TurboIssue> getIssues() {
+        return copyIssues(issues.values());
+    }
+
+    protected synchronized List<TurboLabel> getLabels() {
+        return labels.values().stream().map(TurboLabel::new).collect(Collectors.toList());
+    }
+
+    protected synchronized List<TurboMilestone> getMilestones() {
+        return milestones.values().stream().map(TurboMilestone::new).collect(Collectors.toList());
+    }
+
+    protected synchronized List<TurboUser> getCollaborators() {
+        return users.values().stream().map(TurboUser::new).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the number of requests so far which were answered as not modified
+     */
+    public synchronized int getNotModifiedCount() {
+        return notModifiedCount;
+    }
+
+    // Changes made by the current user through the application
+
+    protected synchronized List<String> setLabels(int issueId, List<String> newLabels) throws IOException {
+        Optional<String> unknownLabel = newLabels.stream().filter(label -> !labels.containsKey(label)).findFirst();
+        if (unknownLabel.isPresent()) {
+            throw new IOException("Label does not exist: " + unknownLabel.get());
+        }
+        TurboIssue issue = copyForUpdate(issueId);
+        new ArrayList<>(issue.getLabels()).stream()
+                .filter(label -> !newLabels.contains(label))
+                .forEach(label -> toggleLabel(issue, "test", label));
+        newLabels.stream()
+                .filter(label -> !issue.getLabels().contains(label))
+                .forEach(label -> toggleLabel(issue, "test", label));
+        markUpdated(issue);
+        return new ArrayList<>(newLabels);
+    }
+
+    protected synchronized Optional<Integer> setMilestone(int issueId, Optional<Integer> milestone) {
+        TurboIssue issue = copyForUpdate(issueId);
+        setMilestone(issue, "test", milestone);
+        markUpdated(issue);
+        return milestone;
+    }
+
+    protected synchronized Optional<String> setAssignee(int issueId, Optional<String> assignee) {
+        TurboIssue issue = copyForUpdate(issueId);
+        if (assignee.isPresent()) {
+            assign(issue, "test", assignee.get());
+        } else {
+            issue.removeAssignee();
+        }
+        markUpdated(issue);
+        return assignee;
+    }
+
+    protected synchronized boolean editIssueState(int issueId, boolean isOpen) {
+        TurboIssue issue = copyForUpdate(issueId);
+        setState(issue, "test", isOpen);
+        markUpdated(issue);
+        return true;
+    }
+
+    private TurboIssue copyForUpdate(int issueId) {
+        ensureMetadataGenerated(issueId);
+        return new TurboIssue(issues.get(issueId));
+    }
+
+    // Helpers
+
+    private String eTag(String resource, int version) {
+        return repoId + "/" + resource + "/" + version;
+    }
+
+    private String pickUser(Random random) {
+        return activeUsers.get(sample(random, userWeights));
+    }
+
+    /**
+     * @return the cumulative weights of n items whose weights follow a Zipf distribution
+     */
+    private static double[] zipfWeights(int n) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(Random random, double[] cumulativeWeights) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    /**
+     * Most issues have a handful of comments, and a few have dozens.
+     */
+    private static int commentCount(Random random) {
+        int count = (int) exponential(random, 2);
+        return random.nextInt(50) == 0 ? count * 10 : count;
+    }
+
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder(capitalise(word(random)));
+        int length = 3 + random.nextInt(6);
+        for (int i = 1; i < length; i++) {
+            title.append(' ').append(word(random));
+        }
+        return title.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalise(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String colour(Random random) {
+        return String.format("%06x", random.nextInt(0x1000000));
+    }
+
+    private static User user(String login) {
+        return new User().setLogin(login);
+    }
+
+    private static Date date(LocalDateTime time) {
+        return Utility.localDateTimeToDate(time);
+    }
+
+    private static Comment comment(long id, String author, String body, LocalDateTime createdAt) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setUser(user(author));
+        comment.setBody(body);
+        comment.setCreatedAt(date(createdAt));
+        comment.setUpdatedAt(date(createdAt));
+        return comment;
+    }
+
+    private static List<TurboIssue> copyIssues(Iterable<TurboIssue> issuesToCopy) {
+        List<TurboIssue> copiedIssues = new ArrayList<>();
+        issuesToCopy.forEach(issue -> copiedIssues.add(new TurboIssue(issue)));
+        return copiedIssues;
+    }
+}
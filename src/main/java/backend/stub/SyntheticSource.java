@@ -0,0 +1,100 @@
+package backend.stub;
+
+import backend.IssueMetadata;
+import backend.UserCredentials;
+import backend.github.CheckRateLimitTask;
+import backend.github.DownloadMetadataTask;
+import backend.github.DownloadModelUpdatesTask;
+import backend.github.DownloadRepoTask;
+import backend.github.EditIssueStateTask;
+import backend.github.GitHubModelUpdatesData;
+import backend.github.ReplaceIssueAssigneeTask;
+import backend.github.ReplaceIssueLabelsTask;
+import backend.github.ReplaceIssueMilestoneTask;
+import backend.interfaces.RepoSource;
+import backend.resource.Model;
+import backend.resource.TurboIssue;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import util.Futures;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A RepoSource of generated repositories with a configurable number of issues, for load testing
+ * the application offline. See {@link SyntheticRepoState}.
+ */
+public class SyntheticSource extends RepoSource {
+
+    private final SyntheticRepo repo;
+
+    public SyntheticSource(SyntheticRepo repo) {
+        this.repo = repo;
+    }
+
+    public SyntheticRepo getRepo() {
+        return repo;
+    }
+
+    @Override
+    public String getName() {
+        return "Synthetic Source";
+    }
+
+    @Override
+    public CompletableFuture<Boolean> login(UserCredentials credentials) {
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        execute(() -> response.complete(repo.login(credentials)));
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<Model> downloadRepository(String repoId) {
+        return addTask(new DownloadRepoTask(this, repo, repoId)).response;
+    }
+
+    @Override
+    public CompletableFuture<GitHubModelUpdatesData> downloadModelUpdates(Model model) {
+        return addTask(new DownloadModelUpdatesTask(this, repo, model)).response;
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, IssueMetadata>> downloadMetadata(String repoId,
+                                                                           List<TurboIssue> issues) {
+        return addTask(new DownloadMetadataTask(this, repo, repoId, issues)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replaceIssueLabels(TurboIssue issue, List<String> labels) {
+        return addTask(new ReplaceIssueLabelsTask(this, repo, issue.getRepoId(), issue.getId(), labels)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replaceIssueMilestone(TurboIssue issue, Optional<Integer> milestone) {
+        return addTask(new ReplaceIssueMilestoneTask(this, repo, issue.getRepoId(), issue.getId(), issue.getTitle(),
+                                                     milestone)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> editIssueState(TurboIssue issue, boolean isOpen) {
+        return addTask(new EditIssueStateTask(this, repo, issue.getRepoId(), issue.getId(), isOpen)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replaceIssueAssignee(TurboIssue issue, Optional<String> assigneeLoginName) {
+        return addTask(new ReplaceIssueAssigneeTask(this, repo, issue.getRepoId(),
+                issue.getId(), issue.getTitle(), assigneeLoginName)).response;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isRepositoryValid(String repoId) {
+        return Futures.unit(true);
+    }
+
+    @Override
+    public CompletableFuture<ImmutablePair<Integer, Long>> getRateLimitResetTime() {
+        return addTask(new CheckRateLimitTask(this, repo)).response;
+    }
+}
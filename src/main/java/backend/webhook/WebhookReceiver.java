@@ -0,0 +1,190 @@
+package backend.webhook;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+import util.metrics.Metrics;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+/**
+ * An HTTP listener on the loopback interface which accepts GitHub webhook deliveries, as relayed by a proxy.
+ *
+ * Deliveries are only accepted if signed with the shared secret, in the X-Hub-Signature-256 header (or
+ * X-Hub-Signature for older senders). Each accepted delivery is handed over with its event type, one at a
+ * time, in the order received; a handler which throws is taken to have been given a malformed payload.
+ */
+public class WebhookReceiver {
+
+    private static final Logger logger = HTLog.get(WebhookReceiver.class);
+
+    public static final String HEADER_EVENT = "X-GitHub-Event";
+    public static final String HEADER_SIGNATURE = "X-Hub-Signature";
+    public static final String HEADER_SIGNATURE_256 = "X-Hub-Signature-256";
+
+    private static final String EVENT_PING = "ping";
+
+    // GitHub caps payloads at 25 MB
+    private static final int MAX_PAYLOAD_BYTES = 25 * 1024 * 1024;
+
+    private final int port;
+    private final byte[] secret;
+    private final BiConsumer<String, String> onDelivery;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile Instant lastDeliveryTime;
+
+    /**
+     * @param port       the port to listen on, or 0 for any free port
+     * @param secret     the secret deliveries are signed with
+     * @param onDelivery given the event type and payload of each accepted delivery
+     */
+    public WebhookReceiver(int port, String secret, BiConsumer<String, String> onDelivery) {
+        assert secret != null && !secret.isEmpty();
+        this.port = port;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.onDelivery = onDelivery;
+    }
+
+    public synchronized void start() throws IOException {
+        assert server == null : "Attempt to start WebhookReceiver that has already been started";
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newSingleThreadExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Listening for webhook deliveries on port " + getPort());
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+        logger.info("Stopped listening for webhook deliveries");
+    }
+
+    /**
+     * Returns the port listened on, which is only known after starting if any free port was asked for.
+     */
+    public synchronized int getPort() {
+        return server == null ? port : server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the time at which the last delivery was accepted, if any was.
+     */
+    public Optional<Instant> getLastDeliveryTime() {
+        return Optional.ofNullable(lastDeliveryTime);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            exchange.sendResponseHeaders(process(exchange), -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private int process(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            return HttpURLConnection.HTTP_BAD_METHOD;
+        }
+        Optional<byte[]> body = readBody(exchange.getRequestBody());
+        if (!body.isPresent()) {
+            return HttpURLConnection.HTTP_ENTITY_TOO_LARGE;
+        }
+
+        String event = exchange.getRequestHeaders().getFirst(HEADER_EVENT);
+        if (event == null || !isSignatureValid(exchange, body.get())) {
+            Metrics.counter("webhook.rejected").increment();
+            logger.warn("Rejected webhook delivery without a valid event type and signature");
+            return HttpURLConnection.HTTP_UNAUTHORIZED;
+        }
+
+        Metrics.counter("webhook.deliveries").increment();
+        lastDeliveryTime = Instant.now();
+        if (EVENT_PING.equals(event)) {
+            return HttpURLConnection.HTTP_OK;
+        }
+        try {
+            onDelivery.accept(event, new String(body.get(), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            logger.warn("Could not apply " + event + " webhook delivery: " + e.getLocalizedMessage());
+            return HttpURLConnection.HTTP_BAD_REQUEST;
+        }
+        return HttpURLConnection.HTTP_ACCEPTED;
+    }
+
+    /**
+     * Reads the body, unless it is larger than a payload can be.
+     */
+    private static Optional<byte[]> readBody(InputStream stream) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) >= 0) {
+            body.write(buffer, 0, read);
+            if (body.size() > MAX_PAYLOAD_BYTES) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(body.toByteArray());
+    }
+
+    private boolean isSignatureValid(HttpExchange exchange, byte[] body) {
+        String signature256 = exchange.getRequestHeaders().getFirst(HEADER_SIGNATURE_256);
+        if (signature256 != null) {
+            return isSignatureValid(signature256, "sha256=", "HmacSHA256", body);
+        }
+        String signature = exchange.getRequestHeaders().getFirst(HEADER_SIGNATURE);
+        return signature != null && isSignatureValid(signature, "sha1=", "HmacSHA1", body);
+    }
+
+    private boolean isSignatureValid(String header, String prefix, String algorithm, byte[] body) {
+        if (!header.startsWith(prefix)) {
+            return false;
+        }
+        byte[] expected = sign(algorithm, secret, body).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = header.substring(prefix.length()).toLowerCase().getBytes(StandardCharsets.US_ASCII);
+        // Compared in constant time, so that the signature cannot be guessed from response times
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    /**
+     * Returns the hex-encoded HMAC of the body with the given algorithm and key.
+     */
+    public static String sign(String algorithm, byte[] key, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(algorithm);
+            mac.init(new SecretKeySpec(key, algorithm));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : mac.doFinal(body)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package backend.webhook;
+
+import backend.UpdateSignature;
+import backend.github.GitHubModelUpdatesData;
+import backend.github.GitHubRepoTask.Result;
+import backend.resource.Model;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.eclipse.egit.github.core.Issue;
+import org.eclipse.egit.github.core.Label;
+import org.eclipse.egit.github.core.Milestone;
+import org.eclipse.egit.github.core.PullRequest;
+import org.eclipse.egit.github.core.client.GsonUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Converts GitHub webhook payloads into incremental updates of the models of open repositories.
+ *
+ * Updates made from payloads keep the ETags and last check time of the model, so the next poll still
+ * downloads everything that changed since the last one; payloads only make the changes visible sooner.
+ */
+public final class WebhookUpdates {
+
+    public static final String EVENT_ISSUES = "issues";
+    public static final String EVENT_ISSUE_COMMENT = "issue_comment";
+    public static final String EVENT_LABEL = "label";
+    public static final String EVENT_MILESTONE = "milestone";
+    public static final String EVENT_PULL_REQUEST = "pull_request";
+
+    private static final String ACTION_DELETED = "deleted";
+
+    // Uses the same field naming as the rest of EGit
+    private static final Gson GSON = GsonUtils.getGson();
+
+    private WebhookUpdates() {
+    }
+
+    /**
+     * Converts a payload into updates of the model of the repository it is about.
+     *
+     * @param eventType the type of event, as given by the X-GitHub-Event header
+     * @param payload   the JSON body of the delivery
+     * @param getModel  gets the model of an open repository by its id
+     * @return the updates, or an empty Optional if the repository is not open or the event does not change
+     * its model
+     * @throws JsonParseException if the payload is malformed
+     */
+    public static Optional<GitHubModelUpdatesData> toModelUpdates(String eventType, String payload,
+                                                                  Function<String, Optional<Model>> getModel) {
+        JsonObject json = parseObject(payload);
+        if (!json.has("repository")) {
+            return Optional.empty();
+        }
+        String repoId = json.getAsJsonObject("repository").get("full_name").getAsString();
+        Optional<Model> model = getModel.apply(repoId);
+        if (!model.isPresent()) {
+            return Optional.empty();
+        }
+        String action = json.has("action") ? json.get("action").getAsString() : "";
+
+        Updates updates = new Updates(model.get());
+        switch (eventType) {
+        case EVENT_ISSUES:
+            if (!ACTION_DELETED.equals(action)) {
+                updates.issues.add(new TurboIssue(updates.repoId, read(json, "issue", Issue.class)));
+            }
+            break;
+        case EVENT_ISSUE_COMMENT:
+            Issue commented = read(json, "issue", Issue.class);
+            updates.issues.add(new TurboIssue(updates.repoId, commented));
+            updates.commentedIssues.add(commented.getNumber());
+            break;
+        case EVENT_LABEL:
+            updates.labels = Optional.of(applyLabelChange(model.get().getLabels(), json, action, updates.repoId));
+            break;
+        case EVENT_MILESTONE:
+            updates.milestones = Optional.of(
+                    applyMilestoneChange(model.get().getMilestones(), json, action, updates.repoId));
+            break;
+        case EVENT_PULL_REQUEST:
+            updates.pullRequests.add(read(json, "pull_request", PullRequest.class));
+            break;
+        default:
+            return Optional.empty();
+        }
+        return Optional.of(updates.toModelUpdates());
+    }
+
+    private static List<TurboLabel> applyLabelChange(List<TurboLabel> labels, JsonObject json, String action,
+                                                     String repoId) {
+        TurboLabel label = new TurboLabel(repoId, read(json, "label", Label.class));
+        String previousName = getPreviousValue(json, "name").orElse(label.getFullName());
+        List<TurboLabel> result = labels.stream()
+                .filter(existing -> !existing.getFullName().equals(previousName)
+                        && !existing.getFullName().equals(label.getFullName()))
+                .collect(Collectors.toList());
+        if (!ACTION_DELETED.equals(action)) {
+            result.add(label);
+        }
+        return result;
+    }
+
+    private static List<TurboMilestone> applyMilestoneChange(List<TurboMilestone> milestones, JsonObject json,
+                                                             String action, String repoId) {
+        TurboMilestone milestone = new TurboMilestone(repoId, read(json, "milestone", Milestone.class));
+        List<TurboMilestone> result = milestones.stream()
+                .filter(existing -> existing.getId() != milestone.getId())
+                .collect(Collectors.toList());
+        if (!ACTION_DELETED.equals(action)) {
+            result.add(milestone);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the previous value of a field changed by an edit, which payloads give as changes.field.from.
+     */
+    private static Optional<String> getPreviousValue(JsonObject json, String field) {
+        if (!json.has("changes") || !json.getAsJsonObject("changes").has(field)) {
+            return Optional.empty();
+        }
+        JsonElement from = json.getAsJsonObject("changes").getAsJsonObject(field).get("from");
+        return from == null || from.isJsonNull() ? Optional.empty() : Optional.of(from.getAsString());
+    }
+
+    private static JsonObject parseObject(String payload) {
+        try {
+            JsonElement json = new JsonParser().parse(payload);
+            if (!json.isJsonObject()) {
+                throw new JsonParseException("Payload is not an object");
+            }
+            return json.getAsJsonObject();
+        } catch (IllegalStateException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    private static <T> T read(JsonObject json, String field, Class<T> type) {
+        if (!json.has(field) || !json.get(field).isJsonObject()) {
+            throw new JsonParseException("Payload has no " + field);
+        }
+        return GSON.fromJson(json.get(field), type);
+    }
+
+    /**
+     * Changes read from a payload, defaulting to none.
+     */
+    private static final class Updates {
+        private final Model model;
+        private final String repoId;
+        private final List<TurboIssue> issues = new ArrayList<>();
+        private final List<Integer> commentedIssues = new ArrayList<>();
+        private final List<PullRequest> pullRequests = new ArrayList<>();
+        private Optional<List<TurboLabel>> labels = Optional.empty();
+        private Optional<List<TurboMilestone>> milestones = Optional.empty();
+
+        Updates(Model model) {
+            this.model = model;
+            this.repoId = model.getRepoId();
+        }
+
+        GitHubModelUpdatesData toModelUpdates() {
+            UpdateSignature signature = model.getUpdateSignature();
+            return new GitHubModelUpdatesData(
+                    model,
+                    new Result<>(issues, signature.issuesETag, signature.lastCheckTime),
+                    pullRequests,
+                    toResult(labels, signature.labelsETag),
+                    toResult(milestones, signature.milestonesETag),
+                    new Result<>(Collections.emptyList(), signature.collaboratorsETag),
+                    new Result<>(Collections.emptyList(), signature.issueEventsETag),
+                    new Result<>(commentedIssues, signature.issueCommentsETag));
+        }
+
+        /**
+         * A changed list replaces the stored one even if it is now empty, e.g. after its last item was deleted.
+         */
+        private static <T> Result<T> toResult(Optional<List<T>> items, String eTag) {
+            return items.map(changed -> Result.replacing(changed, eTag))
+                    .orElseGet(() -> new Result<>(Collections.emptyList(), eTag));
+        }
+    }
+}
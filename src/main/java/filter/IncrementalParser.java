@@ -0,0 +1,82 @@
+package filter;
+
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+import filter.lexer.Lexer;
+import filter.lexer.Token;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses successive versions of the text in a single filter text field, which mostly differ by characters
+ * typed at the end.
+ *
+ * When the input only extends the previous one, every token before the last one is unaffected by the added
+ * text, so lexing resumes from the start of that last token instead of the start of the input. The tree
+ * itself is not reused, since appended tokens may bind to earlier ones differently (e.g. typing "c" after
+ * "a OR b" turns "b" into "b c"); parsing the tokens is cheap in comparison, and complete results are shared
+ * through {@link Parser#CACHE}.
+ */
+public class IncrementalParser {
+
+    private String previousInput = "";
+    // Tokens of the previous input, ending with EOF, and the positions at which they start
+    private List<Token> previousTokens = Collections.emptyList();
+    private List<Integer> previousTokenStarts = Collections.emptyList();
+
+    /**
+     * @see Parser#check(String)
+     */
+    public boolean check(String input) {
+        if (input.isEmpty() || Parser.CACHE.get(input).isPresent()) {
+            return true;
+        }
+        try {
+            return Parser.check(lex(input));
+        } catch (ParseException ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * @see Parser#parse(String)
+     */
+    public FilterExpression parse(String input) {
+        if (input.isEmpty()) {
+            return Qualifier.EMPTY;
+        }
+        return Parser.CACHE.get(input).orElseGet(() -> {
+            FilterExpression expr = Parser.parse(lex(input));
+            Parser.CACHE.put(input, expr);
+            return expr;
+        });
+    }
+
+    private List<Token> lex(String input) {
+        // The last token before EOF may be extended by the appended text, so it is always lexed again
+        int reused = previousTokens.size() - 2;
+        boolean isAppended = reused >= 0 && input.startsWith(previousInput);
+
+        List<Token> tokens = new ArrayList<>();
+        List<Integer> tokenStarts = new ArrayList<>();
+        int start = 0;
+        if (isAppended) {
+            tokens.addAll(previousTokens.subList(0, reused));
+            tokenStarts.addAll(previousTokenStarts.subList(0, reused));
+            start = previousTokenStarts.get(reused);
+        }
+
+        previousInput = "";
+        previousTokens = Collections.emptyList();
+        previousTokenStarts = Collections.emptyList();
+
+        tokens.addAll(new Lexer(input, start).lex(tokenStarts));
+
+        previousInput = input;
+        previousTokens = tokens;
+        previousTokenStarts = tokenStarts;
+        return tokens;
+    }
+}
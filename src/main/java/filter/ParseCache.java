@@ -0,0 +1,43 @@
+package filter;
+
+import filter.expression.FilterExpression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A bounded cache of the results of parsing filter strings, which discards the least recently used entry
+ * once full. Parsed expressions are never modified after construction, so they are shared between all panels
+ * using the same filter string.
+ */
+public class ParseCache {
+
+    private final Map<String, FilterExpression> entries;
+
+    public ParseCache(int capacity) {
+        assert capacity > 0;
+        this.entries = new LinkedHashMap<String, FilterExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FilterExpression> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized Optional<FilterExpression> get(String input) {
+        return Optional.ofNullable(entries.get(input));
+    }
+
+    public synchronized void put(String input, FilterExpression expr) {
+        entries.put(input, expr);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -17,6 +17,11 @@ import util.Utility;
 
 public final class Parser {
 
+    /**
+     * Results of parsing recently used filter strings, shared across panels.
+     */
+    public static final ParseCache CACHE = new ParseCache(256);
+
     private final List<Token> input;
 
     /**
@@ -36,12 +41,26 @@ public final class Parser {
     /**
      * Parses an input string, returning an abstract syntax tree.
      * Throws a {@link ParseException} on syntax error.
+     * Successful results are cached in {@link #CACHE}.
      */
     public static FilterExpression parse(String input) {
         if (input.isEmpty()) {
             return Qualifier.EMPTY;
         }
-        return new Parser(new Lexer(input).lex(), false).parseExpression(0);
+        Optional<FilterExpression> cached = CACHE.get(input);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        FilterExpression expr = parse(new Lexer(input).lex());
+        CACHE.put(input, expr);
+        return expr;
+    }
+
+    /**
+     * Parses the tokens of a non-empty input string, without consulting the cache.
+     */
+    static FilterExpression parse(List<Token> tokens) {
+        return new Parser(tokens, false).parseExpression(0);
     }
 
     /**
@@ -49,12 +68,23 @@ public final class Parser {
      * least partially valid, i.e. perfectly valid, or valid but incomplete.
      */
     public static boolean check(String input) {
-        if (input.isEmpty()) {
+        if (input.isEmpty() || CACHE.get(input).isPresent()) {
             return true;
         }
 
         try {
-            new Parser(new Lexer(input).lex(), true).parseExpression(0);
+            return check(new Lexer(input).lex());
+        } catch (ParseException ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks the tokens of a non-empty input string for errors, as {@link #check(String)} does.
+     */
+    static boolean check(List<Token> tokens) {
+        try {
+            new Parser(tokens, true).parseExpression(0);
             return true;
         } catch (IncompleteInputException ignored) {
             return true;
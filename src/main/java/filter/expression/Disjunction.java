@@ -63,9 +63,9 @@ public class Disjunction implements FilterExpression {
     }
 
     @Override
-    public List<String> getWarnings(IModel model, TurboIssue issue) {
-        List<String> leftWarnings = left.getWarnings(model, issue);
-        List<String> rightWarnings = right.getWarnings(model, issue);
+    public List<String> getWarnings(IModel model, String repoId) {
+        List<String> leftWarnings = left.getWarnings(model, repoId);
+        List<String> rightWarnings = right.getWarnings(model, repoId);
         List<String> result = leftWarnings;
         result.addAll(rightWarnings);
         return result;
@@ -29,9 +29,15 @@ public interface FilterExpression {
     void applyTo(TurboIssue issue, IModel model) throws QualifierApplicationException;
 
     // Walks the syntax tree to get all problems with the input which are not severe
-    // enough to cause an error.
+    // enough to cause an error, when applied to issues of the given repository.
+    // Warnings depend only on the repository, so they need only be found once for
+    // each repository rather than for each issue.
 
-    List<String> getWarnings(IModel model, TurboIssue issue);
+    List<String> getWarnings(IModel model, String repoId);
+
+    default List<String> getWarnings(IModel model, TurboIssue issue) {
+        return getWarnings(model, issue.getRepoId());
+    }
 
     // Walks the syntax tree to get all the qualifier types that appear.
 
@@ -0,0 +1,221 @@
+package filter.expression;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import backend.interfaces.IModel;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+
+/**
+ * The sort keys of a list of issues, computed once per issue up front so that sorting does not
+ * repeat model lookups on every comparison.
+ * <p>
+ * Issues are referred to by their index in the list given on construction: sort the indices with
+ * {@link #getComparator()}, then map them back with {@link #getIssues(List)}. The resulting order is
+ * the same as that of {@link Qualifier#getCompoundSortComparator} for the same sort keys.
+ */
+public class IssueSortKeys {
+
+    /**
+     * The values of a single sort key for all issues, compared by issue index.
+     */
+    private interface Column {
+        int compare(int a, int b);
+    }
+
+    private final List<TurboIssue> issues;
+    private final List<Column> columns;
+
+    public IssueSortKeys(IModel model, List<TurboIssue> issues, List<SortKey> keys,
+                         boolean isSortableByNonSelfUpdates) {
+        this.issues = issues;
+        this.columns = keys.stream()
+                .map(key -> createColumn(model, key, isSortableByNonSelfUpdates))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the indices of all issues, in their original order
+     */
+    public List<Integer> getIndices() {
+        return IntStream.range(0, issues.size()).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * @return a comparator over issue indices which orders them by the precomputed sort keys
+     */
+    public Comparator<Integer> getComparator() {
+        return (a, b) -> {
+            for (Column column : columns) {
+                int result = column.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * @return the issues at the given indices, in the same order
+     */
+    public List<TurboIssue> getIssues(List<Integer> indices) {
+        return indices.stream().map(issues::get).collect(Collectors.toList());
+    }
+
+    /**
+     * @return a new list of all issues, sorted by the precomputed sort keys
+     */
+    public List<TurboIssue> sort() {
+        List<Integer> indices = getIndices();
+        indices.sort(getComparator());
+        return getIssues(indices);
+    }
+
+    private Column createColumn(IModel model, SortKey key, boolean isSortableByNonSelfUpdates) {
+        Column column;
+
+        switch (Qualifier.expandKeywordAliases(key.key)) {
+        case "comments":
+            column = longColumn(TurboIssue::getCommentCount);
+            break;
+        case "repo":
+            column = objectColumn(TurboIssue::getRepoId, Comparator.naturalOrder());
+            break;
+        case "updated":
+        case "date":
+            column = objectColumn(TurboIssue::getUpdatedAt, Comparator.naturalOrder());
+            break;
+        case "nonSelfUpdate":
+            if (isSortableByNonSelfUpdates) {
+                column = objectColumn(issue -> issue.getMetadata().getNonSelfUpdatedAt(),
+                                      Comparator.<LocalDateTime>naturalOrder());
+            } else {
+                column = objectColumn(TurboIssue::getUpdatedAt, Comparator.naturalOrder());
+            }
+            break;
+        case "assignee":
+        case "as":
+            // Issues without assignees go last
+            column = objectColumn(issue -> issue.getAssignee().orElse(null),
+                                  Comparator.nullsLast(Comparator.<String>naturalOrder()));
+            break;
+        case "milestone":
+        case "m":
+            // Later due dates go first and issues without milestones go last
+            column = longColumn(issue -> {
+                Optional<TurboMilestone> milestone = model.getMilestoneOfIssue(issue);
+                return milestone.isPresent() ? -getDueDate(milestone.get()) : Long.MAX_VALUE;
+            });
+            break;
+        case "id":
+            column = longColumn(TurboIssue::getId);
+            break;
+        case "state":
+        case "status":
+        case "s":
+            // Open issues go first
+            column = longColumn(issue -> issue.isOpen() ? 0 : 1);
+            break;
+        default:
+            // Doesn't match anything; assume it's a label group, which has a different notion of inversion
+            return labelGroupColumn(model, key.key, key.inverted);
+        }
+
+        if (!key.inverted) {
+            return column;
+        } else {
+            final Column finalColumn = column;
+            return (a, b) -> -finalColumn.compare(a, b);
+        }
+    }
+
+    /**
+     * The due date of a milestone as a day number, ordered as in {@link TurboMilestone#getDueDateComparator()}.
+     */
+    private static long getDueDate(TurboMilestone milestone) {
+        return milestone.getDueDate()
+                .orElse(milestone.isOpen() ? LocalDate.MAX : LocalDate.MIN)
+                .toEpochDay();
+    }
+
+    private Column longColumn(ToLongFunction<TurboIssue> getKey) {
+        long[] values = new long[issues.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getKey.applyAsLong(issues.get(i));
+        }
+        return (a, b) -> Long.compare(values[a], values[b]);
+    }
+
+    private <T> Column objectColumn(Function<TurboIssue, T> getKey, Comparator<? super T> comparator) {
+        Object[] values = new Object[issues.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getKey.apply(issues.get(i));
+        }
+        @SuppressWarnings("unchecked")
+        Comparator<Object> valueComparator = (Comparator<Object>) comparator;
+        return (a, b) -> valueComparator.compare(values[a], values[b]);
+    }
+
+    /**
+     * Stores the sorted names of each issue's labels in the group, ordered as in
+     * {@link Qualifier#getLabelGroupComparator}.
+     */
+    private Column labelGroupColumn(IModel model, String key, boolean inverted) {
+        // Strip trailing ., if any
+        final String group = key.replaceAll("\\.$", "");
+
+        String[][] values = new String[issues.size()][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = model.getLabelsOfIssue(issues.get(i), l -> l.isInGroup() && l.getGroupName().equals(group))
+                    .stream()
+                    .map(TurboLabel::getFullName)
+                    .toArray(String[]::new);
+            Arrays.sort(values[i]);
+        }
+
+        return (a, b) -> {
+            String[] aLabels = values[a];
+            String[] bLabels = values[b];
+
+            // Put empty lists at the back
+            if (aLabels.length == 0 && bLabels.length == 0) {
+                return 0;
+            } else if (aLabels.length == 0) {
+                return 1;
+            } else if (bLabels.length == 0) {
+                return -1;
+            }
+
+            // Compare lengths
+            int result = !inverted
+                    ? aLabels.length - bLabels.length
+                    : bLabels.length - aLabels.length;
+
+            if (result != 0) {
+                return result;
+            }
+
+            // Lexicographic label comparison
+            for (int i = 0; i < aLabels.length; i++) {
+                result = !inverted
+                        ? aLabels[i].compareTo(bLabels[i])
+                        : bLabels[i].compareTo(aLabels[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+}
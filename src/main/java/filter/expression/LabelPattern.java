@@ -0,0 +1,33 @@
+package filter.expression;
+
+import backend.resource.TurboLabel;
+
+/**
+ * The input to a label qualifier, split into its lowercase group and label names once so that it can be matched
+ * against the labels of many issues without being parsed again.
+ *
+ * A label matches if its group contains the group of the input and its name contains the name of the input.
+ * Input with a group but no name matches every label in a matching group, and input without a group only
+ * matches labels by name.
+ */
+public final class LabelPattern {
+
+    private final String group;
+    private final String name;
+
+    public LabelPattern(String input) {
+        // Make use of TurboLabel constructor to parse the input, avoiding duplication
+        TurboLabel inputLabel = new TurboLabel("", input.toLowerCase());
+        group = inputLabel.isInGroup() ? inputLabel.getGroupName() : "";
+        name = inputLabel.getShortName();
+    }
+
+    public boolean matches(TurboLabel candidate) {
+        if (candidate.isInGroup()) {
+            return candidate.getLowerCaseGroupName().contains(group)
+                    && (name.isEmpty() || candidate.getLowerCaseShortName().contains(name));
+        }
+        // Check only the label name
+        return group.isEmpty() && !name.isEmpty() && candidate.getLowerCaseShortName().contains(name);
+    }
+}
@@ -56,8 +56,8 @@ public class Negation implements FilterExpression {
     }
 
     @Override
-    public List<String> getWarnings(IModel model, TurboIssue issue) {
-        return expr.getWarnings(model, issue);
+    public List<String> getWarnings(IModel model, String repoId) {
+        return expr.getWarnings(model, repoId);
     }
 
     @Override
@@ -44,6 +44,9 @@ public class Qualifier implements FilterExpression {
     private Optional<Integer> number = Optional.empty();
     private List<SortKey> sortKeys = new ArrayList<>();
 
+    // The content parsed as a label, for label qualifiers which have been applied to issues
+    private volatile LabelPattern labelPattern;
+
     // Copy constructor
     public Qualifier(Qualifier other) {
         this.type = other.getType();
@@ -441,25 +444,25 @@ public class Qualifier implements FilterExpression {
     }
 
     @Override
-    public List<String> getWarnings(IModel model, TurboIssue issue) {
+    public List<String> getWarnings(IModel model, String repoId) {
         switch (type) {
         case AUTHOR:
         case ASSIGNEE:
         case INVOLVES:
-            return getWarningsForTypeAuthorOrAssignee(model, issue);
+            return getWarningsForTypeAuthorOrAssignee(model, repoId);
         default:
             return new ArrayList<>();
         }
     }
 
     /**
-     * If the user referred in the qualifier is not a contributor of the repository of the TurboIssue,
+     * If the user referred in the qualifier is not a contributor of the repository,
      * it returns a List<String> containing a warning that explains so, or an empty List<String> otherwise.
      */
-    private List<String> getWarningsForTypeAuthorOrAssignee(IModel model, TurboIssue issue) {
+    private List<String> getWarningsForTypeAuthorOrAssignee(IModel model, String repoId) {
         List<String> result = new ArrayList<>();
-        if (content.isPresent() && !model.isUserInRepo(issue.getRepoId(), content.get())) {
-            result.add(String.format(USER_WARNING_ERROR_FORMAT, content.get(), issue.getRepoId()));
+        if (content.isPresent() && !model.isUserInRepo(repoId, content.get())) {
+            result.add(String.format(USER_WARNING_ERROR_FORMAT, content.get(), repoId));
         }
         return result;
     }
@@ -621,10 +624,11 @@ public class Qualifier implements FilterExpression {
         if (sortKeys.isEmpty()) {
             return (a, b) -> 0;
         }
+        List<Comparator<TurboIssue>> comparators = sortKeys.stream()
+                .map(key -> getSortComparator(model, key.key, key.inverted, isSortableByNonSelfUpdates))
+                .collect(Collectors.toList());
         return (a, b) -> {
-            for (SortKey key : sortKeys) {
-                Comparator<TurboIssue> comparator =
-                        getSortComparator(model, key.key, key.inverted, isSortableByNonSelfUpdates);
+            for (Comparator<TurboIssue> comparator : comparators) {
                 int result = comparator.compare(a, b);
                 if (result != 0) {
                     return result;
@@ -726,14 +730,14 @@ public class Qualifier implements FilterExpression {
     public static Comparator<TurboIssue> getLabelGroupComparator(IModel model, String key, boolean inverted) {
         // Strip trailing ., if any
         final String group = key.replaceAll("\\.$", "");
-        return (a, b) -> {
 
-            // Matches labels belong to the given group
-            Predicate<TurboLabel> sameGroup = l ->
-                    l.isInGroup() && l.getGroupName().equals(group);
+        // Matches labels belong to the given group
+        Predicate<TurboLabel> sameGroup = l ->
+                l.isInGroup() && l.getGroupName().equals(group);
 
-            Comparator<TurboLabel> labelComparator = (x, y) -> x.compareTo(y);
+        Comparator<TurboLabel> labelComparator = (x, y) -> x.compareTo(y);
 
+        return (a, b) -> {
             List<TurboLabel> aLabels = model.getLabelsOfIssue(a, sameGroup);
             List<TurboLabel> bLabels = model.getLabelsOfIssue(b, sameGroup);
             Collections.sort(aLabels, labelComparator);
@@ -901,36 +905,18 @@ public class Qualifier implements FilterExpression {
     }
 
     public static boolean labelMatches(String input, String candidate) {
+        return new LabelPattern(input).matches(new TurboLabel("", candidate));
+    }
 
-        // Make use of TurboLabel constructor to parse the input, avoiding duplication
-        TurboLabel inputLabel = new TurboLabel("", input.toLowerCase());
-        TurboLabel candidateLabel = new TurboLabel("", candidate.toLowerCase());
-
-        String group = "";
-        if (inputLabel.isInGroup()) {
-            group = inputLabel.getGroupName();
-        }
-        String labelName = inputLabel.getShortName();
-
-        if (candidateLabel.isInGroup()) {
-            if (labelName.isEmpty()) {
-                // Check the group
-                if (candidateLabel.getGroupName().contains(group)) {
-                    return true;
-                }
-            } else {
-                if (candidateLabel.getGroupName().contains(group)
-                        && candidateLabel.getShortName().contains(labelName)) {
-                    return true;
-                }
-            }
-        } else {
-            // Check only the label name
-            if (group.isEmpty() && !labelName.isEmpty() && candidateLabel.getShortName().contains(labelName)) {
-                return true;
-            }
+    /**
+     * Returns the content of this qualifier parsed as a label, which is done once rather than for every label
+     * it is matched against.
+     */
+    private LabelPattern getLabelPattern() {
+        if (labelPattern == null) {
+            labelPattern = new LabelPattern(content.get());
         }
-        return false;
+        return labelPattern;
     }
 
     private boolean labelsSatisfy(IModel model, TurboIssue issue) {
@@ -941,8 +927,9 @@ public class Qualifier implements FilterExpression {
         // does not contain any labels it expresses, and not if the issue contains some label
         // it does not express.
 
+        LabelPattern pattern = getLabelPattern();
         for (TurboLabel label : model.getLabelsOfIssue(issue)) {
-            if (labelMatches(content.get(), label.getFullName())) {
+            if (pattern.matches(label)) {
                 return true;
             }
         }
@@ -1133,6 +1120,10 @@ public class Qualifier implements FilterExpression {
         return date;
     }
 
+    public List<SortKey> getSortKeys() {
+        return new ArrayList<>(sortKeys);
+    }
+
     public QualifierType getType() {
         return type;
     }
@@ -3,101 +3,283 @@ package filter.lexer;
 import filter.ParseException;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * Splits filter text into tokens in a single pass over the input.
+ *
+ * At each position the token rules are tried in priority order and the first one that matches wins, as if each
+ * were the regular expression given next to it. The rules are hand-written scanners rather than regular
+ * expressions, so lexing allocates nothing but the tokens themselves.
+ */
 public class Lexer {
 
     private static final boolean SKIP_WHITESPACE = true;
-    private static final Pattern NO_WHITESPACE = Pattern.compile("\\S");
-    private static final String ALPHANUMERIC = "[a-zA-Z0-9]";
-    private static final String VALID_USERNAME = String.format(
-            "%s[-a-zA-Z0-9]*%s", ALPHANUMERIC, ALPHANUMERIC);
-
-    private final List<Rule> rules = Arrays.asList(
-            new Rule("AND|&&?", TokenType.AND),
-            new Rule("OR|\\|\\|?", TokenType.OR),
-            new Rule("NOT|~|!|-", TokenType.NOT),
-
-            // These have higher priority than Symbol
-            new Rule("\\d{4}-\\d{1,2}-\\d{1,2}", TokenType.DATE), // YYYY-MM?-DD?
-            new Rule("[A-Za-z]+(-[A-Za-z]+)*\\s*:", TokenType.QUALIFIER),
-            new Rule(String.format("%s/[A-Za-z0-9-]+#", VALID_USERNAME), TokenType.COMPOUND_ID_PREFIX),
-            new Rule(";", TokenType.SEMICOLON),
-            new Rule("[A-Za-z0-9#][/A-Za-z0-9.'+-]*", TokenType.SYMBOL),
-
-            new Rule("\\(", TokenType.LBRACKET),
-            new Rule("\\)", TokenType.RBRACKET),
-            new Rule("\"[^\"]+\"", TokenType.QUOTED_CONTENT),
-            new Rule(",", TokenType.COMMA),
-            new Rule("%", TokenType.PERCENT),
-            new Rule("\\.\\.", TokenType.DOTDOT),
-
-            // These have higher priority than < and >
-            new Rule("<=", TokenType.LTE),
-            new Rule(">=", TokenType.GTE),
-            new Rule("<", TokenType.LT),
-            new Rule(">", TokenType.GT),
-
-            new Rule("\\*", TokenType.STAR)
-    );
 
     private final String input;
+    private final int length;
     private int position;
 
     public Lexer(String input) {
-        this.input = stripTrailingWhitespace(input);
-        this.position = 0;
+        this(input, 0);
     }
 
-    private final Pattern trailingWhitespace = Pattern.compile("\\s+$");
-
-    private String stripTrailingWhitespace(String input) {
-        return trailingWhitespace.matcher(input).replaceAll("");
+    /**
+     * Creates a lexer which starts at the given position in the input, which should be the start of a token
+     * (or whitespace before one) produced by lexing the whole input.
+     */
+    public Lexer(String input, int start) {
+        this.length = lengthWithoutTrailingWhitespace(input);
+        this.input = input;
+        this.position = start;
     }
 
-    private Token nextToken() {
-
-        if (position >= input.length()) {
-            return new Token(TokenType.EOF, "");
+    private static int lengthWithoutTrailingWhitespace(String input) {
+        int end = input.length();
+        while (end > 0 && isWhitespace(input.charAt(end - 1))) {
+            end--;
         }
+        return end;
+    }
+
+    private Token nextToken(List<Integer> tokenStarts) {
 
         if (SKIP_WHITESPACE) {
-            Matcher matcher = NO_WHITESPACE.matcher(input).region(position, input.length());
-            boolean found = matcher.find();
-            if (!found) {
-                return new Token(TokenType.EOF, "");
+            while (position < length && isWhitespace(input.charAt(position))) {
+                position++;
             }
-            position = matcher.start();
         }
 
-        for (Rule r : rules) {
-            Matcher matcher = r.getPattern().matcher(input).region(position, input.length());
+        tokenStarts.add(position);
+        if (position >= length) {
+            return new Token(TokenType.EOF, "");
+        }
 
-            if (matcher.lookingAt()) {
-                String match = matcher.group();
-                position += match.length();
+        int end;
+        TokenType type;
+        if ((end = matchAnd()) >= 0) {
+            type = TokenType.AND;
+        } else if ((end = matchOr()) >= 0) {
+            type = TokenType.OR;
+        } else if ((end = matchNot()) >= 0) {
+            type = TokenType.NOT;
 
-                return new Token(r.getTokenType(), match);
-            }
+        // These have higher priority than Symbol
+        } else if ((end = matchDate()) >= 0) {
+            type = TokenType.DATE;
+        } else if ((end = matchQualifier()) >= 0) {
+            type = TokenType.QUALIFIER;
+        } else if ((end = matchCompoundIdPrefix()) >= 0) {
+            type = TokenType.COMPOUND_ID_PREFIX;
+        } else if ((end = matchChar(';')) >= 0) {
+            type = TokenType.SEMICOLON;
+        } else if ((end = matchSymbol()) >= 0) {
+            type = TokenType.SYMBOL;
+
+        } else if ((end = matchChar('(')) >= 0) {
+            type = TokenType.LBRACKET;
+        } else if ((end = matchChar(')')) >= 0) {
+            type = TokenType.RBRACKET;
+        } else if ((end = matchQuotedContent()) >= 0) {
+            type = TokenType.QUOTED_CONTENT;
+        } else if ((end = matchChar(',')) >= 0) {
+            type = TokenType.COMMA;
+        } else if ((end = matchChar('%')) >= 0) {
+            type = TokenType.PERCENT;
+        } else if ((end = matchString("..")) >= 0) {
+            type = TokenType.DOTDOT;
+
+        // These have higher priority than < and >
+        } else if ((end = matchString("<=")) >= 0) {
+            type = TokenType.LTE;
+        } else if ((end = matchString(">=")) >= 0) {
+            type = TokenType.GTE;
+        } else if ((end = matchChar('<')) >= 0) {
+            type = TokenType.LT;
+        } else if ((end = matchChar('>')) >= 0) {
+            type = TokenType.GT;
+
+        } else if ((end = matchChar('*')) >= 0) {
+            type = TokenType.STAR;
+        } else {
+            throw new ParseException("Unrecognised token " + input.charAt(position) + " at " + position);
         }
-        throw new ParseException("Unrecognised token " + input.charAt(position) + " at " + position);
+
+        String match = input.substring(position, end);
+        position = end;
+        return new Token(type, match);
     }
 
     public List<Token> lex() {
+        return lex(new ArrayList<>());
+    }
+
+    /**
+     * Lexes the rest of the input, adding the position at which each token starts to tokenStarts.
+     */
+    public List<Token> lex(List<Integer> tokenStarts) {
         List<Token> result = new ArrayList<>();
 
         Token previous = null;
-        while (position < input.length()
+        while (position < length
                 && (previous == null || previous.getType() != TokenType.EOF)) {
-            previous = nextToken();
+            previous = nextToken(tokenStarts);
             result.add(previous);
         }
-        result.add(nextToken()); // EOF
+        result.add(nextToken(tokenStarts)); // EOF
 
         return result;
     }
 
+    /*
+     * Each of the following tries to match a rule at the current position, returning the position just after
+     * the match, or -1 if the rule does not match there.
+     */
+
+    // AND|&&?
+    private int matchAnd() {
+        int end = matchString("AND");
+        return end >= 0 ? end : matchRepeatable('&');
+    }
+
+    // OR|\|\|?
+    private int matchOr() {
+        int end = matchString("OR");
+        return end >= 0 ? end : matchRepeatable('|');
+    }
+
+    // NOT|~|!|-
+    private int matchNot() {
+        int end = matchString("NOT");
+        if (end >= 0) {
+            return end;
+        }
+        char c = input.charAt(position);
+        return c == '~' || c == '!' || c == '-' ? position + 1 : -1;
+    }
+
+    // \d{4}-\d{1,2}-\d{1,2}, i.e. YYYY-MM?-DD?
+    private int matchDate() {
+        int i = position;
+        int year = skipWhile(i, Lexer::isDigit);
+        if (year - i < 4) {
+            return -1;
+        }
+        i += 4;
+        if (!isChar(i, '-')) {
+            return -1;
+        }
+        i++;
+        int month = skipWhile(i, Lexer::isDigit);
+        if (month == i || month - i > 2 || !isChar(month, '-')) {
+            return -1;
+        }
+        i = month + 1;
+        int day = skipWhile(i, Lexer::isDigit);
+        return day == i ? -1 : Math.min(day, i + 2);
+    }
+
+    // [A-Za-z]+(-[A-Za-z]+)*\s*:
+    private int matchQualifier() {
+        int i = skipWhile(position, Lexer::isLetter);
+        if (i == position) {
+            return -1;
+        }
+        while (isChar(i, '-') && i + 1 < length && isLetter(input.charAt(i + 1))) {
+            i = skipWhile(i + 1, Lexer::isLetter);
+        }
+        i = skipWhile(i, Lexer::isWhitespace);
+        return isChar(i, ':') ? i + 1 : -1;
+    }
+
+    // [a-zA-Z0-9][-a-zA-Z0-9]*[a-zA-Z0-9]/[A-Za-z0-9-]+#
+    private int matchCompoundIdPrefix() {
+        if (!isAlphanumeric(input.charAt(position))) {
+            return -1;
+        }
+        // Neither '/' nor '#' can appear in the parts they end, so each part runs as far as it can
+        int user = skipWhile(position, Lexer::isAlphanumericOrHyphen);
+        if (user - position < 2 || !isAlphanumeric(input.charAt(user - 1)) || !isChar(user, '/')) {
+            return -1;
+        }
+        int repo = skipWhile(user + 1, Lexer::isAlphanumericOrHyphen);
+        return repo > user + 1 && isChar(repo, '#') ? repo + 1 : -1;
+    }
+
+    // [A-Za-z0-9#][/A-Za-z0-9.'+-]*
+    private int matchSymbol() {
+        char c = input.charAt(position);
+        if (!isAlphanumeric(c) && c != '#') {
+            return -1;
+        }
+        return skipWhile(position + 1, Lexer::isSymbolPart);
+    }
+
+    // "[^"]+"
+    private int matchQuotedContent() {
+        if (!isChar(position, '"')) {
+            return -1;
+        }
+        int close = input.indexOf('"', position + 1);
+        return close > position + 1 && close < length ? close + 1 : -1;
+    }
+
+    // cc?
+    private int matchRepeatable(char c) {
+        if (!isChar(position, c)) {
+            return -1;
+        }
+        return isChar(position + 1, c) ? position + 2 : position + 1;
+    }
+
+    private int matchChar(char c) {
+        return isChar(position, c) ? position + 1 : -1;
+    }
+
+    private int matchString(String s) {
+        return input.startsWith(s, position) && position + s.length() <= length ? position + s.length() : -1;
+    }
+
+    private boolean isChar(int i, char c) {
+        return i < length && input.charAt(i) == c;
+    }
+
+    private int skipWhile(int i, CharPredicate predicate) {
+        while (i < length && predicate.test(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    @FunctionalInterface
+    private interface CharPredicate {
+        boolean test(char c);
+    }
+
+    /**
+     * Matches the characters of \s in a regular expression.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+
+    private static boolean isAlphanumericOrHyphen(char c) {
+        return isAlphanumeric(c) || c == '-';
+    }
+
+    private static boolean isSymbolPart(char c) {
+        return isAlphanumeric(c) || c == '/' || c == '.' || c == '\'' || c == '+' || c == '-';
+    }
 }
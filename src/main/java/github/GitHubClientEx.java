@@ -12,8 +12,6 @@ import util.HTLog;
 import util.IOUtilities;
 import util.Utility;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
@@ -89,6 +87,7 @@ public class GitHubClientEx extends GitHubClient {
      * Serves the same purpose as GitHubClient::get, with the added
      * functionality of returning a GitHubEventResponse (containing
      * event-specific information) instead of a GitHubResponse.
+     * The response has no body of its own; events are only available from the GitHubEventsResponse.
      *
      * @param request
      * @return response
@@ -111,17 +110,9 @@ public class GitHubClientEx extends GitHubClient {
         if (isOk(code)) { // 200 OK
             String updatedEtag = Utility.stripQuotes(httpRequest.getHeaderField("ETag"));
 
-            // Copy the httpRequest input stream into a byte array
-            InputStream reqIS = getStream(httpRequest);
-            ByteArrayOutputStream buffer = IOUtilities.inputStreamToByteArrayOutputStream(reqIS);
-            InputStream reqIS2 = new ByteArrayInputStream(buffer.toByteArray());
-            InputStream reqIS3 = new ByteArrayInputStream(buffer.toByteArray());
-
-            // The first copy is used to produce the GitHubResponse
-            GitHubResponse ghResponse = new GitHubResponse(httpRequest, getBody(request, reqIS2));
-
-            // The second is parsed again for event-specific information
-            return new GitHubEventsResponse(ghResponse, reqIS3, updatedEtag);
+            // The body is parsed once, as it is streamed, into events with their event-specific information
+            GitHubResponse ghResponse = new GitHubResponse(httpRequest, null);
+            return new GitHubEventsResponse(ghResponse, getStream(httpRequest), updatedEtag);
         } else if (isNotModified(code)) { // 304 Not Modified
             GitHubResponse ghResponse = new GitHubResponse(httpRequest, null);
             return new GitHubEventsResponse(ghResponse, new NullInputStream(0), currentETag);
@@ -1,120 +1,221 @@
 package github;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.eclipse.egit.github.core.IssueEvent;
 import org.eclipse.egit.github.core.User;
 import org.eclipse.egit.github.core.client.GitHubResponse;
+import org.eclipse.egit.github.core.client.GsonUtils;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
-import java.lang.reflect.Type;
+import java.io.PushbackInputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
-import java.util.Map;
 
 import static org.eclipse.egit.github.core.client.IGitHubConstants.CHARSET_UTF8;
 
 /**
  * A wrapper class for GitHubEvents that also contain event-specific
  * information.
+ *
+ * The events are read from the response body in a single streaming pass, building each TurboIssueEvent
+ * directly from the fields of its JSON object.
  */
 public class GitHubEventsResponse {
 
     private static final Logger logger = LogManager.getLogger(GitHubEventsResponse.class.getName());
 
+    // Uses the same field naming as the rest of EGit, for deserialising users
+    private static final Gson GSON = GsonUtils.getGson();
+
     private final GitHubResponse response;
     private final List<TurboIssueEvent> turboIssueEvents;
     private final String updatedETag;
 
-    public GitHubEventsResponse(GitHubResponse response, InputStream jsonBody, String updatedETag) {
+    /**
+     * @throws IOException if the body cannot be read or is not a valid list of events, so that the caller keeps
+     * its old ETag rather than moving on past events that were never read
+     */
+    public GitHubEventsResponse(GitHubResponse response, InputStream jsonBody, String updatedETag)
+            throws IOException {
         this.response = response;
-        this.turboIssueEvents = parseEventParameters(jsonBody);
+        this.turboIssueEvents = parseEvents(jsonBody);
         this.updatedETag = updatedETag;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<TurboIssueEvent> parseEventParameters(InputStream jsonBody) {
-        ArrayList<TurboIssueEvent> eventsInJson = new ArrayList<>();
+    private static List<TurboIssueEvent> parseEvents(InputStream jsonBody) throws IOException {
+        List<TurboIssueEvent> events = new ArrayList<>();
 
-        Gson gson = new Gson();
-        Type type = new TypeToken<Map<String, Object>[]>() {}.getType();
-        BufferedReader reader;
+        // Responses which are not modified have no body at all, which is not a valid JSON document
+        PushbackInputStream body = new PushbackInputStream(jsonBody);
+        int first = body.read();
+        if (first == -1) {
+            return events;
+        }
+        body.unread(first);
 
-        try {
-            reader = new BufferedReader(new InputStreamReader(jsonBody, CHARSET_UTF8));
+        try (JsonReader reader = new JsonReader(new InputStreamReader(body, CHARSET_UTF8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                events.add(parseEvent(reader));
+            }
+            reader.endArray();
+        } catch (JsonParseException | IllegalStateException | DateTimeParseException e) {
+            logger.error(e.getLocalizedMessage(), e);
+            throw new IOException("Invalid issue events response", e);
+        }
+        return events;
+    }
 
-            Map<String, Object>[] eventsWithParameters = gson.fromJson(reader, type);
+    /**
+     * Reads one event object. The parameters specific to each type of event may come before the type itself,
+     * so all of them are read first and only those which apply are set.
+     */
+    private static TurboIssueEvent parseEvent(JsonReader reader) throws IOException {
+        User actor = null;
+        String type = null;
+        Date createdAt = null;
+        String renamedFrom = null;
+        String renamedTo = null;
+        String milestoneTitle = null;
+        String labelName = null;
+        String labelColour = null;
+        User assignee = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+            case "actor":
+                actor = GSON.fromJson(reader, User.class);
+                break;
+            case "event":
+                type = reader.nextString();
+                break;
+            case "created_at":
+                createdAt = parseDate(reader.nextString());
+                break;
+            case "rename":
+                // two string keys: from, to
+                String[] rename = readStrings(reader, "from", "to");
+                renamedFrom = rename[0];
+                renamedTo = rename[1];
+                break;
+            case "milestone":
+                // one string key: title
+                milestoneTitle = readStrings(reader, "title")[0];
+                break;
+            case "label":
+                // two string keys: name, color (hex, without #)
+                String[] label = readStrings(reader, "name", "color");
+                labelName = label[0];
+                labelColour = label[1];
+                break;
+            case "assignee":
+                assignee = GSON.fromJson(reader, User.class);
+                break;
+            default:
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
 
-            if (eventsWithParameters == null) {
-                return eventsInJson;
+        if (type == null || createdAt == null) {
+            throw new JsonParseException("Event without a type or creation time");
+        }
+        TurboIssueEvent event = new TurboIssueEvent(actor, IssueEventType.fromString(type), createdAt);
+
+        switch (event.getType()) {
+        case Renamed:
+            event.setRenamedFrom(renamedFrom);
+            event.setRenamedTo(renamedTo);
+            break;
+        case Milestoned:
+        case Demilestoned:
+            event.setMilestoneTitle(milestoneTitle);
+            break;
+        case Labeled:
+        case Unlabeled:
+            event.setLabelColour(labelColour);
+            event.setLabelName(labelName);
+            break;
+        case Assigned:
+        case Unassigned:
+            event.setAssignedUser(assignee);
+            break;
+        case Closed:
+        case Reopened:
+        case Locked:
+        case Unlocked:
+            // No need to do anything
+            break;
+        case Subscribed:
+        case Unsubscribed:
+        case Merged:
+        case HeadRefDeleted:
+        case HeadRefRestored:
+        case Referenced:
+        case Mentioned:
+        default:
+            // Not yet implemented, or no events triggered
+        }
+        return event;
+    }
+
+    /**
+     * Reads the string values of the given keys from an object, skipping the others.
+     *
+     * @return the values in the order of the keys, null for those missing
+     */
+    private static String[] readStrings(JsonReader reader, String... keys) throws IOException {
+        String[] values = new String[keys.length];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            int index = indexOf(keys, name);
+            if (index >= 0 && reader.peek() == JsonToken.STRING) {
+                values[index] = reader.nextString();
+            } else {
+                reader.skipValue();
             }
+        }
+        reader.endObject();
+        return values;
+    }
 
-            IssueEvent[] issueEvents = (IssueEvent[]) response.getBody();
-
-            Map<String, String> parameters;
-            for (int i = 0; i < issueEvents.length; i++) {
-                TurboIssueEvent event = new TurboIssueEvent(
-                        issueEvents[i].getActor(),
-                        IssueEventType.fromString(issueEvents[i].getEvent()),
-                        issueEvents[i].getCreatedAt());
-
-                switch (event.getType()) {
-                case Renamed:
-                    // two string keys: from, to
-                    parameters = (Map<String, String>) eventsWithParameters[i].get("rename");
-                    event.setRenamedFrom(parameters.get("from"));
-                    event.setRenamedTo(parameters.get("to"));
-                    break;
-                case Milestoned:
-                case Demilestoned:
-                    // one string key: title
-                    parameters = (Map<String, String>) eventsWithParameters[i].get("milestone");
-                    event.setMilestoneTitle(parameters.get("title"));
-                    break;
-                case Labeled:
-                case Unlabeled:
-                    // two string keys: name, color (hex, without #)
-                    parameters = (Map<String, String>) eventsWithParameters[i].get("label");
-                    event.setLabelColour(parameters.get("color"));
-                    event.setLabelName(parameters.get("name"));
-                    break;
-                case Assigned:
-                case Unassigned:
-                    // User object
-                    // re-serialise it using Gson
-                    Object assigneeMap = eventsWithParameters[i].get("assignee");
-                    String json = new Gson().toJson(assigneeMap);
-                    User user = gson.fromJson(json, User.class);
-                    event.setAssignedUser(user);
-                    break;
-                case Closed:
-                case Reopened:
-                case Locked:
-                case Unlocked:
-                    // No need to do anything
-                    break;
-                case Subscribed:
-                case Unsubscribed:
-                case Merged:
-                case HeadRefDeleted:
-                case HeadRefRestored:
-                case Referenced:
-                case Mentioned:
-                default:
-                    // Not yet implemented, or no events triggered
-                }
-                eventsInJson.add(event);
+    private static int indexOf(String[] keys, String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
             }
-        } catch (UnsupportedEncodingException e) {
-            logger.error(e.getLocalizedMessage(), e);
         }
-        return eventsInJson;
+        return -1;
+    }
+
+    /**
+     * Parses an ISO 8601 time as GitHub gives it, taking it to be in UTC if it has no offset.
+     */
+    private static Date parseDate(String text) {
+        try {
+            return Date.from(Instant.parse(text));
+        } catch (DateTimeParseException e) {
+            return Date.from(LocalDateTime.parse(text).toInstant(ZoneOffset.UTC));
+        }
     }
 
     public List<TurboIssueEvent> getTurboIssueEvents() {
@@ -0,0 +1,37 @@
+package github;
+
+import org.eclipse.egit.github.core.Comment;
+
+import java.util.Optional;
+
+/**
+ * A comment on an issue, as listed in a repository's feed of issue comments, which also gives the issue.
+ */
+public class IssueComment extends Comment {
+
+    private static final long serialVersionUID = 4312861398519372951L;
+
+    private String issueUrl;
+
+    public String getIssueUrl() {
+        return issueUrl;
+    }
+
+    public void setIssueUrl(String issueUrl) {
+        this.issueUrl = issueUrl;
+    }
+
+    /**
+     * Returns the number of the issue commented on, taken from the last segment of its URL.
+     */
+    public Optional<Integer> getIssueNumber() {
+        if (issueUrl == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(issueUrl.substring(issueUrl.lastIndexOf('/') + 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package github.update;
+
+import com.google.gson.reflect.TypeToken;
+import github.GitHubClientEx;
+import github.IssueComment;
+import org.eclipse.egit.github.core.IRepositoryIdProvider;
+import org.eclipse.egit.github.core.client.PagedRequest;
+import util.Utility;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.eclipse.egit.github.core.client.IGitHubConstants.SEGMENT_COMMENTS;
+import static org.eclipse.egit.github.core.client.IGitHubConstants.SEGMENT_ISSUES;
+
+/**
+ * Fetches the comments on all issues of a repository which were created or edited after the last check time.
+ */
+public class IssueCommentUpdateService extends UpdateService<IssueComment> {
+
+    private final Date lastCheckTime;
+
+    public IssueCommentUpdateService(GitHubClientEx client, String commentsETag, Date lastCheckTime) {
+        super(client, SEGMENT_ISSUES + SEGMENT_COMMENTS, commentsETag);
+        this.lastCheckTime = new Date(lastCheckTime.getTime());
+    }
+
+    private Map<String, String> createUpdatedCommentsParams() {
+        Map<String, String> params = new HashMap<>();
+        params.put("since", Utility.formatDateISO8601(lastCheckTime));
+        return params;
+    }
+
+    @Override
+    protected PagedRequest<IssueComment> createUpdatedRequest(IRepositoryIdProvider repoId) {
+        PagedRequest<IssueComment> request = super.createUpdatedRequest(repoId);
+        request.setParams(createUpdatedCommentsParams());
+        request.setType(new TypeToken<IssueComment>() {
+        }.getType());
+        request.setArrayType(new TypeToken<ArrayList<IssueComment>>() {
+        }.getType());
+        return request;
+    }
+}
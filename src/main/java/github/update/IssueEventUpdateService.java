@@ -0,0 +1,91 @@
+package github.update;
+
+import com.google.gson.reflect.TypeToken;
+import github.GitHubClientEx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.egit.github.core.IRepositoryIdProvider;
+import org.eclipse.egit.github.core.IssueEvent;
+import org.eclipse.egit.github.core.client.NoSuchPageException;
+import org.eclipse.egit.github.core.client.PageIterator;
+import org.eclipse.egit.github.core.client.PagedRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static org.eclipse.egit.github.core.client.IGitHubConstants.*;
+
+/**
+ * Fetches the events on all issues of a repository which happened after the last check time.
+ *
+ * The feed lists the newest events first and cannot be limited by time, so only its first page is checked
+ * for changes, and pages are fetched only until one reaches events from before the last check time.
+ */
+public class IssueEventUpdateService extends UpdateService<IssueEvent> {
+    private static final Logger logger = LogManager.getLogger(IssueEventUpdateService.class.getName());
+
+    private static final int EVENTS_PER_PAGE = 100;
+
+    private final Date lastCheckTime;
+
+    public IssueEventUpdateService(GitHubClientEx client, String eventsETag, Date lastCheckTime) {
+        super(client, SEGMENT_ISSUES + SEGMENT_EVENTS, eventsETag);
+        this.lastCheckTime = new Date(lastCheckTime.getTime());
+    }
+
+    @Override
+    protected PagedRequest<IssueEvent> createUpdatedRequest(IRepositoryIdProvider repoId) {
+        PagedRequest<IssueEvent> request = new PagedRequest<>(1, EVENTS_PER_PAGE);
+
+        String path = SEGMENT_REPOS + "/" + repoId.generateId() + apiSuffix;
+        request.setUri(path);
+        request.setResponseContentType(CONTENT_TYPE_JSON);
+
+        request.setType(new TypeToken<IssueEvent>() {
+        }.getType());
+        request.setArrayType(new TypeToken<ArrayList<IssueEvent>>() {
+        }.getType());
+        return request;
+    }
+
+    @Override
+    protected int getPagesToCheck() {
+        return 1;
+    }
+
+    /**
+     * Overrides the parent's method to stop at the first page with events from before the last check time.
+     */
+    @Override
+    protected List<IssueEvent> getPagedItems(String resourceDesc, PageIterator<IssueEvent> iterator)
+            throws IOException {
+        List<IssueEvent> elements = new ArrayList<>();
+        int page = 0;
+
+        try {
+            while (iterator.hasNext()) {
+                Collection<IssueEvent> events = iterator.next();
+                int numAddedItems = 0;
+                for (IssueEvent event : events) {
+                    if (event.getCreatedAt() != null && event.getCreatedAt().after(lastCheckTime)) {
+                        elements.add(event);
+                        numAddedItems++;
+                    }
+                }
+
+                logger.info(resourceDesc + " | page " + (page++) + ": " + numAddedItems + " items");
+
+                if (numAddedItems < events.size()) {
+                    break;
+                }
+            }
+        } catch (NoSuchPageException pageException) {
+            throw pageException.getCause();
+        }
+
+        return elements;
+    }
+}
@@ -11,6 +11,7 @@ import org.eclipse.egit.github.core.client.PageIterator;
 import org.eclipse.egit.github.core.client.PagedRequest;
 import org.eclipse.egit.github.core.service.GitHubService;
 import util.Utility;
+import util.metrics.Metrics;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
@@ -87,6 +88,7 @@ public class UpdateService<T> extends GitHubService {
             return updatedItems;
         }
 
+        long start = System.nanoTime();
         ArrayList<T> result = new ArrayList<>();
         String resourceDesc = repoId.generateId() + apiSuffix;
 
@@ -107,6 +109,8 @@ public class UpdateService<T> extends GitHubService {
         } catch (IOException e) {
             logger.error(e.getLocalizedMessage(), e);
             return result;
+        } finally {
+            Metrics.timer("update." + getClass().getSimpleName()).recordSince(start);
         }
 
         updatedItems = result;
@@ -119,6 +123,7 @@ public class UpdateService<T> extends GitHubService {
         ArrayList<T> result = new ArrayList<>();
 
         if (!updatedETags.isPresent() || updatedETags.get().equals(lastETags)) {
+            Metrics.counter("update.unchanged").increment();
             logger.info("Nothing to update");
         } else {
             PagedRequest<T> request = createUpdatedRequest(repoId);
@@ -156,7 +161,7 @@ public class UpdateService<T> extends GitHubService {
         List<String> etags = new ArrayList<>();
         HttpURLConnection connection = null;
 
-        while (iter.hasNext()) {
+        while (iter.hasNext() && etags.size() < getPagesToCheck()) {
             try {
                 etags.add(Utility.stripQuotes(iter.next()));
                 if (connection == null) {
@@ -171,6 +176,17 @@ public class UpdateService<T> extends GitHubService {
         return Optional.of(new ImmutablePair<>(etags, connection));
     }
 
+    /**
+     * The number of pages whose ETags are combined to tell whether the items changed; all of them by default.
+     * May be overridden by subclasses for feeds listing the newest items first, whose first page changes
+     * whenever any of them do.
+     *
+     * @return the number of pages to check
+     */
+    protected int getPagesToCheck() {
+        return Integer.MAX_VALUE;
+    }
+
     /**
      * A specialised version of GitHubService::getPage that does logging.
      *
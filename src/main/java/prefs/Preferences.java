@@ -43,6 +43,7 @@ public class Preferences { // NOPMD
 
     private final SessionConfig sessionConfig;
     private final UserConfig userConfig;
+    private final ReadStateStore readStateStore;
 
     /**
      * Initialises a Preferences instance that contains the configurations in the config files specified.
@@ -80,15 +81,43 @@ public class Preferences { // NOPMD
         this.sessionConfigFileName = sessionConfigFileName;
         this.userConfigFileName = userConfigFileName;
 
+        String readStateFileName = getReadStateFileName(sessionConfigFileName);
         if (isIgnoreExisting) {
             this.sessionConfig = createConfig(DEFAULT_FILE_CONTENTS, SessionConfig.class);
             this.userConfig = createConfig(DEFAULT_FILE_CONTENTS, UserConfig.class);
+            this.readStateStore = ReadStateStore.create(configDirectory, readStateFileName);
         } else {
             this.sessionConfig = loadConfig(configDirectory, sessionConfigFileName, SessionConfig.class);
             this.userConfig = loadConfig(configDirectory, userConfigFileName, UserConfig.class);
+            this.readStateStore = ReadStateStore.load(configDirectory, readStateFileName);
+            migrateMarkedReadTimes();
         }
     }
 
+    /**
+     * @return the name of the file in which read state is kept alongside the given session config file
+     */
+    public static String getReadStateFileName(String sessionConfigFileName) {
+        return sessionConfigFileName.replaceFirst("\\.json$", "") + "-read.log";
+    }
+
+    /**
+     * Moves marked read times saved in the session config by earlier versions to the read state store.
+     */
+    private void migrateMarkedReadTimes() {
+        Map<String, Map<Integer, LocalDateTime>> markedReadTimes = sessionConfig.removeAllMarkedReadTimes();
+        if (markedReadTimes.isEmpty()) {
+            return;
+        }
+        markedReadTimes.forEach((repoId, times) -> times.forEach((issue, time) -> {
+            if (!readStateStore.getMarkedReadAt(repoId, issue).isPresent()) {
+                readStateStore.setMarkedReadAt(repoId, issue, time);
+            }
+        }));
+        readStateStore.flush();
+        save();
+    }
+
     /**
      * Creates a new Config instance
      * @param contents The JSON representation of an contents of the Config object
@@ -269,24 +298,24 @@ public class Preferences { // NOPMD
     }
 
     /**
-     * Clears marked read at of an issue at the specified repo
+     * Clears marked read at of an issue at the specified repo.
+     * The change is written to disk in the background; see {@link ReadStateStore}.
      * @param repoId The repo that this issue resides in
      * @param issue The issue to clear
      */
     public void clearMarkedReadAt(String repoId, int issue) {
-        sessionConfig.clearMarkedReadAt(repoId, issue);
-        save();
+        readStateStore.clearMarkedReadAt(repoId, issue);
     }
 
     /**
-     * Sets the marked read at of an issue in a repo, to a certain time
+     * Sets the marked read at of an issue in a repo, to a certain time.
+     * The change is written to disk in the background; see {@link ReadStateStore}.
      * @param repoId The repo of the issue
      * @param issue The issue to set
      * @param timeReadAt The time it was marked read
      */
     public void setMarkedReadAt(String repoId, int issue, LocalDateTime timeReadAt) {
-        sessionConfig.setMarkedReadAt(repoId, issue, timeReadAt);
-        save();
+        readStateStore.setMarkedReadAt(repoId, issue, timeReadAt);
     }
 
     /**
@@ -296,6 +325,13 @@ public class Preferences { // NOPMD
      * @return An Optional of the marked read at
      */
     public Optional<LocalDateTime> getMarkedReadAt(String repoId, int issue) {
-        return sessionConfig.getMarkedReadAt(repoId, issue);
+        return readStateStore.getMarkedReadAt(repoId, issue);
+    }
+
+    /**
+     * Writes changes to read state which are still pending to disk, e.g. before the application exits.
+     */
+    public void flushReadState() {
+        readStateStore.flush();
     }
 }
@@ -0,0 +1,234 @@
+package prefs;
+
+import org.apache.logging.log4j.Logger;
+import util.FileHelper;
+import util.HTLog;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores the times at which issues were marked as read, separately from the rest of the session config.
+ *
+ * Changes are kept in memory and written behind: the first change after a flush schedules another flush a short
+ * while later, which appends all changes made in the meantime to a log file in one write. Repeated changes to
+ * the same issue in that time are coalesced, so marking many issues as read at once costs a single small write.
+ * On loading, the log is replayed, and rewritten with only the current state once it has grown too long.
+ *
+ * Each line of the log is the repo id, issue id and the time the issue was marked read as milliseconds since
+ * the epoch (treating the local time as UTC), separated by tabs. A time of {@value #CLEARED} marks the issue as
+ * no longer read.
+ */
+public class ReadStateStore {
+
+    private static final Logger logger = HTLog.get(ReadStateStore.class);
+
+    public static final long FLUSH_DELAY_MILLIS = 500;
+
+    private static final String CLEARED = "-";
+    private static final String SEPARATOR = "\t";
+    private static final int MIN_LOG_LINES_TO_COMPACT = 1000;
+
+    private final String directory;
+    private final String fileName;
+
+    private final Map<String, Map<Integer, LocalDateTime>> markedReadTimes = new HashMap<>();
+    // The latest change to each issue since the last flush, by repo id and issue id; empty if cleared
+    private Map<String, Map<Integer, Optional<LocalDateTime>>> pendingChanges = new LinkedHashMap<>();
+    private boolean isFlushScheduled = false;
+    private boolean shouldRewrite;
+    private int logLines = 0;
+
+    private final Object fileLock = new Object();
+
+    // Shared by all stores, as flushes are short and rare
+    private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ReadStateStore flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Loads the read state from the given log file, if it exists.
+     */
+    public static ReadStateStore load(String directory, String fileName) {
+        return new ReadStateStore(directory, fileName, false);
+    }
+
+    /**
+     * Creates an empty read state which replaces the given log file, if it exists, on the next flush.
+     */
+    public static ReadStateStore create(String directory, String fileName) {
+        return new ReadStateStore(directory, fileName, true);
+    }
+
+    private ReadStateStore(String directory, String fileName, boolean isIgnoreExisting) {
+        this.directory = directory;
+        this.fileName = fileName;
+        this.shouldRewrite = isIgnoreExisting;
+
+        if (!isIgnoreExisting) {
+            replayLog();
+        }
+    }
+
+    private void replayLog() {
+        if (!FileHelper.isFileExists(directory, fileName)) {
+            return;
+        }
+        String contents;
+        try {
+            contents = FileHelper.getFileContents(directory, fileName);
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+            return;
+        }
+
+        // A last line without a line separator was cut short by an interrupted write, and may hold part of a time.
+        // It is dropped, and the log rewritten so that the next append does not continue it.
+        int end = contents.lastIndexOf('\n') + 1;
+        boolean isTruncated = end < contents.length();
+
+        for (String line : contents.substring(0, end).split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(SEPARATOR);
+            if (fields.length != 3) {
+                logger.warn("Ignoring malformed read state entry: " + line);
+                continue;
+            }
+            try {
+                int issue = Integer.parseInt(fields[1]);
+                if (fields[2].equals(CLEARED)) {
+                    remove(fields[0], issue);
+                } else {
+                    put(fields[0], issue, fromMillis(Long.parseLong(fields[2])));
+                }
+                logLines++;
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring malformed read state entry: " + line);
+            }
+        }
+
+        int entries = markedReadTimes.values().stream().mapToInt(Map::size).sum();
+        shouldRewrite = isTruncated || (logLines > MIN_LOG_LINES_TO_COMPACT && logLines > 2 * entries);
+        if (shouldRewrite) {
+            scheduleFlush();
+        }
+    }
+
+    public synchronized Optional<LocalDateTime> getMarkedReadAt(String repoId, int issue) {
+        Map<Integer, LocalDateTime> times = markedReadTimes.get(repoId);
+        return times == null ? Optional.empty() : Optional.ofNullable(times.get(issue));
+    }
+
+    public synchronized void setMarkedReadAt(String repoId, int issue, LocalDateTime time) {
+        put(repoId, issue, time);
+        addPendingChange(repoId, issue, Optional.of(time));
+    }
+
+    public synchronized void clearMarkedReadAt(String repoId, int issue) {
+        if (!getMarkedReadAt(repoId, issue).isPresent()) {
+            return;
+        }
+        remove(repoId, issue);
+        addPendingChange(repoId, issue, Optional.empty());
+    }
+
+    private void put(String repoId, int issue, LocalDateTime time) {
+        markedReadTimes.computeIfAbsent(repoId, id -> new HashMap<>()).put(issue, time);
+    }
+
+    private void remove(String repoId, int issue) {
+        Map<Integer, LocalDateTime> times = markedReadTimes.get(repoId);
+        if (times != null) {
+            times.remove(issue);
+        }
+    }
+
+    private void addPendingChange(String repoId, int issue, Optional<LocalDateTime> time) {
+        pendingChanges.computeIfAbsent(repoId, id -> new LinkedHashMap<>()).put(issue, time);
+        scheduleFlush();
+    }
+
+    private synchronized void scheduleFlush() {
+        if (!isFlushScheduled) {
+            isFlushScheduled = true;
+            flusher.schedule(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending changes to disk immediately, e.g. before the application exits.
+     */
+    public void flush() {
+        synchronized (fileLock) {
+            String contents;
+            boolean isRewrite;
+            synchronized (this) {
+                isFlushScheduled = false;
+                isRewrite = shouldRewrite;
+                if (!isRewrite && pendingChanges.isEmpty()) {
+                    return;
+                }
+                contents = isRewrite ? serialiseAll() : serialisePending();
+                pendingChanges = new LinkedHashMap<>();
+                shouldRewrite = false;
+            }
+
+            try {
+                if (isRewrite) {
+                    FileHelper.writeFileContents(directory, fileName, contents);
+                } else {
+                    FileHelper.appendFileContents(directory, fileName, contents);
+                }
+            } catch (IOException e) {
+                HTLog.error(logger, e);
+                logger.error("Could not save read state; retrying");
+                // The changes are no longer pending, and the write may have left part of a line in the log
+                synchronized (this) {
+                    shouldRewrite = true;
+                    scheduleFlush();
+                }
+            }
+        }
+    }
+
+    private String serialisePending() {
+        StringBuilder contents = new StringBuilder();
+        pendingChanges.forEach((repoId, changes) -> changes.forEach((issue, time) ->
+                appendLine(contents, repoId, issue, time.map(t -> String.valueOf(toMillis(t))).orElse(CLEARED))));
+        return contents.toString();
+    }
+
+    private String serialiseAll() {
+        StringBuilder contents = new StringBuilder();
+        logLines = 0;
+        markedReadTimes.forEach((repoId, times) -> times.forEach((issue, time) ->
+                appendLine(contents, repoId, issue, String.valueOf(toMillis(time)))));
+        return contents.toString();
+    }
+
+    private void appendLine(StringBuilder contents, String repoId, int issue, String time) {
+        contents.append(repoId).append(SEPARATOR).append(issue).append(SEPARATOR).append(time).append('\n');
+        logLines++;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -43,28 +43,14 @@ public class SessionConfig {
         this.keyboardShortcuts = new HashMap<>(keyboardShortcuts);
     }
 
-    public void setMarkedReadAt(String repoId, int issue, LocalDateTime time) {
-        if (!markedReadTimes.containsKey(repoId)) {
-            markedReadTimes.put(repoId, new HashMap<>());
-        }
-        markedReadTimes.get(repoId).put(issue, time);
-    }
-
-    public Optional<LocalDateTime> getMarkedReadAt(String repoId, int issue) {
-        if (!markedReadTimes.containsKey(repoId)) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable(markedReadTimes.get(repoId).get(issue));
-    }
-
-    public void clearMarkedReadAt(String repoId, int issue) {
-        if (!markedReadTimes.containsKey(repoId)) {
-            // No need to do anything
-            return;
-        }
-        if (markedReadTimes.get(repoId).containsKey(issue)) {
-            markedReadTimes.get(repoId).remove(issue);
-        }
+    /**
+     * Removes all marked read times, which are now kept in a ReadStateStore.
+     * @return the removed times, by repo id and issue id
+     */
+    public Map<String, Map<Integer, LocalDateTime>> removeAllMarkedReadTimes() {
+        Map<String, Map<Integer, LocalDateTime>> result = new HashMap<>(markedReadTimes);
+        markedReadTimes.clear();
+        return result;
     }
 
     public void addBoard(String name, List<PanelInfo> panels) {
@@ -0,0 +1,178 @@
+package ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+import util.events.EventStats;
+import util.events.TypedEventDispatcher;
+import util.metrics.MetricSnapshot;
+import util.metrics.Metrics;
+import util.metrics.Timer;
+import util.tracing.Tracer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A hidden window showing the live values of all metrics and the delivery latency of events, from which
+ * snapshots and a timeline of recently traced spans can be exported for bug reports.
+ *
+ * While it is showing, the interval between JavaFX pulses is also recorded; this is not done otherwise, as it
+ * keeps pulses running even when nothing changes on screen.
+ */
+public class DiagnosticsWindow {
+
+    private static final Logger logger = HTLog.get(DiagnosticsWindow.class);
+
+    private static final String WINDOW_TITLE = "Diagnostics";
+    private static final String EXPORT_DIRECTORY = "diagnostics";
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(1);
+
+    private final TypedEventDispatcher eventDispatcher;
+    private final Stage window = new Stage();
+    private final TableView<MetricSnapshot> table = new TableView<>();
+    private final Label status = new Label();
+    private final Timeline refresher = new Timeline(new KeyFrame(REFRESH_INTERVAL, e -> refresh()));
+    private final AnimationTimer pulseRecorder = createPulseRecorder(Metrics.timer("fx.pulse.interval"));
+
+    public DiagnosticsWindow(TypedEventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+        refresher.setCycleCount(Timeline.INDEFINITE);
+        initWindow();
+    }
+
+    /**
+     * Should be called on the JavaFX thread.
+     */
+    public void showWindow() {
+        refresh();
+        refresher.play();
+        pulseRecorder.start();
+        window.show();
+        window.toFront();
+    }
+
+    private void initWindow() {
+        window.setTitle(WINDOW_TITLE);
+        window.setOnHidden(e -> {
+            refresher.stop();
+            pulseRecorder.stop();
+        });
+
+        table.getColumns().add(createColumn("Name", snapshot -> snapshot.name));
+        table.getColumns().add(createColumn("Type", snapshot -> snapshot.type));
+        table.getColumns().add(createColumn("Count", snapshot -> snapshot.count));
+        table.getColumns().add(createColumn("Mean", snapshot -> format(snapshot.mean)));
+        table.getColumns().add(createColumn("p50", snapshot -> format(snapshot.p50)));
+        table.getColumns().add(createColumn("p90", snapshot -> format(snapshot.p90)));
+        table.getColumns().add(createColumn("p99", snapshot -> format(snapshot.p99)));
+        table.getColumns().add(createColumn("Max", snapshot -> format(snapshot.max)));
+        table.setPrefSize(800, 500);
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        Button export = new Button("Export");
+        export.setOnAction(e -> export());
+        Button exportTrace = new Button("Export trace");
+        exportTrace.setOnAction(e -> exportTrace());
+        Button reset = new Button("Reset");
+        reset.setOnAction(e -> {
+            Metrics.reset();
+            refresh();
+        });
+        HBox controls = new HBox(10, export, exportTrace, reset, status);
+        controls.setPadding(new Insets(10));
+
+        Label note = new Label("Durations are in milliseconds.");
+        note.setPadding(new Insets(10, 10, 0, 10));
+        window.setScene(new Scene(new VBox(note, table, controls)));
+    }
+
+    private static <T> TableColumn<MetricSnapshot, T> createColumn(String title, Function<MetricSnapshot, T> value) {
+        TableColumn<MetricSnapshot, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private static String format(double value) {
+        return String.format("%.3f", value);
+    }
+
+    private void refresh() {
+        table.setItems(FXCollections.observableArrayList(getSnapshots()));
+    }
+
+    private List<MetricSnapshot> getSnapshots() {
+        List<MetricSnapshot> snapshots = Metrics.getSnapshots();
+        for (Map.Entry<String, EventStats> entry : eventDispatcher.getEventStats().entrySet()) {
+            EventStats stats = entry.getValue();
+            snapshots.add(new MetricSnapshot("events." + entry.getKey(), "event", stats.getDeliveryCount(),
+                                             stats.getMeanLatencyMillis(), 0, 0, 0, stats.getMaxLatencyMillis()));
+        }
+        return snapshots;
+    }
+
+    private void export() {
+        String fileName = "metrics-" + getTimestamp() + ".json";
+        try {
+            Metrics.exportSnapshots(getSnapshots(), EXPORT_DIRECTORY, fileName);
+            status.setText("Exported to " + EXPORT_DIRECTORY + "/" + fileName);
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+            status.setText("Export failed: " + e.getLocalizedMessage());
+        }
+    }
+
+    private void exportTrace() {
+        String fileName = "trace-" + getTimestamp() + ".json";
+        try {
+            Tracer.exportChromeTrace(EXPORT_DIRECTORY, fileName);
+            status.setText("Exported to " + EXPORT_DIRECTORY + "/" + fileName + ", open it in chrome://tracing");
+        } catch (IOException e) {
+            HTLog.error(logger, e);
+            status.setText("Export failed: " + e.getLocalizedMessage());
+        }
+    }
+
+    private static String getTimestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+
+    private static AnimationTimer createPulseRecorder(Timer pulseInterval) {
+        return new AnimationTimer() {
+            private long lastPulse;
+
+            @Override
+            public void start() {
+                lastPulse = 0;
+                super.start();
+            }
+
+            @Override
+            public void handle(long now) {
+                if (lastPulse != 0) {
+                    pulseInterval.record(now - lastPulse);
+                }
+                lastPulse = now;
+            }
+        };
+    }
+}
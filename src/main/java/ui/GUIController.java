@@ -3,6 +3,7 @@ package ui;
 import filter.expression.FilterExpression;
 import javafx.application.Platform;
 import javafx.scene.control.Label;
+import ui.components.FilterCompletionIndex;
 import ui.issuepanel.FilterPanel;
 import ui.issuepanel.PanelControl;
 import ui.issuepanel.UIBrowserBridge;
@@ -25,6 +26,7 @@ public class GUIController {
     private final PanelControl panelControl;
     private final UI ui;
     private final Label apiBox;
+    private final FilterCompletionIndex filterCompletionIndex = new FilterCompletionIndex();
     private String defaultRepoId;
 
     public GUIController(UI ui, PanelControl panelControl, Label apiBox) {
@@ -58,6 +60,8 @@ public class GUIController {
      * @param e The ModelUpdatedEvent triggered by the uiManager.
      */
     private void modelUpdated(ModelUpdatedEvent e) {
+        filterCompletionIndex.updateVocabulary(ui.logic.getModels().toModels());
+
         panelControl.getChildren().stream()
                 .filter(child -> child instanceof FilterPanel)
                 .forEach(child -> {
@@ -95,6 +99,13 @@ public class GUIController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the completion candidates shared by the filter text fields of all panels.
+     */
+    public FilterCompletionIndex getFilterCompletionIndex() {
+        return filterCompletionIndex;
+    }
+
     public List<FilterPanel> getAllPanels() {
         return panelControl.getChildren().stream()
                 .filter(child -> child instanceof FilterPanel)
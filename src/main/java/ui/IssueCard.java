@@ -9,12 +9,12 @@ import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import ui.components.AvatarCache;
 
 /**
  * Represents an individual issue card not linked to any panel
@@ -25,6 +25,7 @@ public class IssueCard extends VBox {
     private static final String OCTICON_PULL_REQUEST = "\uf009";
     private static final int CARD_WIDTH = 350;
     private static final String OCTICON_ARROW_RIGHT = "\uf03e";
+    private static final int AVATAR_SIZE = 12;
 
     protected final GuiElement guiElement;
     protected final FlowPane issueDetails;
@@ -178,14 +179,9 @@ public class IssueCard extends VBox {
      * Attempts to get the TurboUser's avatar
      *
      * @param user
-     * @return ImageView that contains the avatar image if it exists or an empty ImageView if it doesn't exist
+     * @return ImageView that shows the avatar image once it is loaded, or stays empty if it doesn't exist
      */
     private ImageView getAvatar(TurboUser user) {
-        ImageView userAvatar = new ImageView();
-        Image userAvatarImage = user.getAvatarImage();
-        if (userAvatarImage != null) {
-            userAvatar.setImage(userAvatarImage);
-        }
-        return userAvatar;
+        return AvatarCache.getShared().createImageView(user.getAvatarURL(), AVATAR_SIZE);
     }
 }
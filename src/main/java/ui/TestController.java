@@ -4,12 +4,16 @@ import backend.RepoIO;
 import backend.interfaces.RepoStore;
 import backend.json.JSONStore;
 import backend.json.JSONStoreStub;
+import backend.interfaces.RepoSource;
 import backend.stub.DummySource;
+import backend.stub.SyntheticRepo;
+import backend.stub.SyntheticSource;
 import javafx.application.Application;
 import prefs.Preferences;
 import updater.UpdateManager;
 import updater.UpdateManagerStub;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Optional;
 
@@ -66,6 +70,7 @@ public final class TestController {
                         isTestChromeDriver() ||
                         isTestGlobalConfig() ||
                         shouldTestStartupBoard() ||
+                        getSyntheticIssueCount().isPresent() ||
                         isCloseOnQuit());
     }
 
@@ -101,6 +106,19 @@ public final class TestController {
         return hasUI() && commandLineArgs.getOrDefault("closeonquit", "false").equalsIgnoreCase("true");
     }
 
+    /**
+     * Returns the number of issues per repository to generate when repositories are to be generated
+     * instead of using the dummy repository, e.g. --syntheticissues=100000 for load testing.
+     * The generated data and its updates can be varied with --syntheticseed and --syntheticchurn;
+     * see SyntheticRepo.
+     */
+    public static Optional<Integer> getSyntheticIssueCount() {
+        if (!hasUI() || !commandLineArgs.containsKey("syntheticissues")) {
+            return Optional.empty();
+        }
+        return Optional.of(Integer.parseInt(commandLineArgs.get("syntheticissues")));
+    }
+
     /**
      * Returns true if HubTurbo is not being run on Test mode or if startup board creation is being tested.
      * As for the other tests, they start on a clean state with dummy repos established
@@ -148,7 +166,11 @@ public final class TestController {
      */
     public static RepoIO createApplicationRepoIO() {
         if (isTestMode()) {
-            return createTestingRepoIO(isTestJSONEnabled() ? Optional.of(new JSONStoreStub()) : Optional.empty());
+            Optional<JSONStore> jsonStore = isTestJSONEnabled() ? Optional.of(new JSONStoreStub()) : Optional.empty();
+            if (getSyntheticIssueCount().isPresent()) {
+                return createTestingRepoIO(createSyntheticSource(getSyntheticIssueCount().get()), jsonStore);
+            }
+            return createTestingRepoIO(jsonStore);
         } else {
             return new RepoIO(Optional.empty(), Optional.empty(), Optional.empty());
         }
@@ -160,8 +182,24 @@ public final class TestController {
      *                          defaults to a new instance of JSONStore if this value is empty
      */
     public static RepoIO createTestingRepoIO(Optional<JSONStore> jsonStoreToBeUsed) {
-        return new RepoIO(Optional.of(new DummySource()), jsonStoreToBeUsed,
-                          Optional.of(RepoStore.TEST_DIRECTORY));
+        return createTestingRepoIO(new DummySource(), jsonStoreToBeUsed);
+    }
+
+    /**
+     * Creates a RepoIO used for testing which downloads repositories from the given source.
+     * @param jsonStoreToBeUsed store to be used with RepoIO,
+     *                          defaults to a new instance of JSONStore if this value is empty
+     */
+    public static RepoIO createTestingRepoIO(RepoSource repoSource, Optional<JSONStore> jsonStoreToBeUsed) {
+        return new RepoIO(Optional.of(repoSource), jsonStoreToBeUsed, Optional.of(RepoStore.TEST_DIRECTORY));
+    }
+
+    private static SyntheticSource createSyntheticSource(int issueCount) {
+        String seed = commandLineArgs.getOrDefault("syntheticseed", String.valueOf(SyntheticRepo.DEFAULT_SEED));
+        String churnRate = commandLineArgs.getOrDefault("syntheticchurn",
+                                                        String.valueOf(SyntheticRepo.DEFAULT_CHURN_RATE));
+        return new SyntheticSource(new SyntheticRepo(issueCount, Long.parseLong(seed), Double.parseDouble(churnRate),
+                                                     LocalDateTime.now()));
     }
 
     /**
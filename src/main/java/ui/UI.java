@@ -2,9 +2,14 @@ package ui;
 
 import backend.Logic;
 import backend.UIManager;
+import backend.webhook.WebhookReceiver;
+import backend.resource.Model;
 import browserview.BrowserComponent;
 import browserview.BrowserComponentStub;
-import com.google.common.eventbus.EventBus;
+import filter.FilterException;
+import filter.Parser;
+import filter.expression.Qualifier;
+import filter.expression.QualifierType;
 import com.sun.jna.platform.win32.User32;
 import com.sun.jna.platform.win32.WinDef.HWND;
 import javafx.application.Application;
@@ -25,6 +30,7 @@ import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.controlsfx.control.NotificationPane;
+import prefs.PanelInfo;
 import prefs.Preferences;
 import ui.components.HTStatusBar;
 import ui.components.KeyboardShortcuts;
@@ -43,13 +49,21 @@ import util.events.*;
 import util.events.Event;
 import util.events.testevents.PrimaryRepoChangedEvent;
 import util.events.testevents.UILogicRefreshEventHandler;
+import util.metrics.Metrics;
 
 import javax.swing.*;
 import java.awt.Rectangle;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static ui.components.KeyboardShortcuts.SHOW_DIAGNOSTICS;
 import static ui.components.KeyboardShortcuts.SHOW_ISSUE_PICKER;
 import static ui.components.KeyboardShortcuts.SHOW_REPO_PICKER;
 
@@ -65,6 +79,15 @@ public class UI extends Application implements EventDispatcher {
 
     private static final int REFRESH_PERIOD = 60;
 
+    // While webhook deliveries are arriving, polling only catches what they missed, so is done less often.
+    // Push is taken to have stopped if nothing arrives for an hour, as quiet repositories send nothing.
+    private static final int PUSH_REFRESH_PERIOD = 600;
+    private static final Duration PUSH_ACTIVE_WINDOW = Duration.ofHours(1);
+
+    // Webhook deliveries are accepted on this port if given, signed with the secret in the environment variable
+    private static final String ARG_WEBHOOK_PORT = "webhookport";
+    private static final String ENV_WEBHOOK_SECRET = "HUBTURBO_WEBHOOK_SECRET";
+
     /**
      * Minimum Java Version Required by HT.
      *
@@ -95,8 +118,9 @@ public class UI extends Application implements EventDispatcher {
     public static Preferences prefs;
     public static StatusUI status;
     public static EventDispatcher events;
-    public EventBus eventBus;
+    public TypedEventDispatcher eventDispatcher;
     private TickingTimer refreshTimer;
+    private Optional<WebhookReceiver> webhookReceiver = Optional.empty();
     public GUIController guiController;
     private NotificationController notificationController;
     public UndoController undoController;
@@ -113,6 +137,8 @@ public class UI extends Application implements EventDispatcher {
     private Label apiBox;
     private ScrollPane panelsScrollPane;
     private NotificationPane notificationPane;
+    private DiagnosticsWindow diagnosticsWindow;
+    private boolean isFirstPanelsShown = false;
 
     @SuppressWarnings("PMD")
     public static void main(String[] args) {
@@ -133,37 +159,48 @@ public class UI extends Application implements EventDispatcher {
             prefs.setLastLoginCredentials("test", "test");
             showMainWindow("dummy/dummy");
             mainStage.show();
+        } else if (canShowStoredReposBeforeLogin()) {
+            showMainWindowFromStore(logic.loginController.getRepoId());
+            mainStage.show();
         } else {
             if (logic.loginController.attemptLogin()) {
                 showMainWindow(logic.loginController.getRepoId());
                 mainStage.show();
             } else {
-                disableUI(true);
-                status.displayMessage("Waiting for login...");
-                mainStage.show();
-                new LoginDialog(this,
-                                mainStage,
-                                logic.loginController.getOwner(),
-                                logic.loginController.getRepo(),
-                                logic.loginController.getUsername(),
-                                logic.loginController.getPassword()
-                ).show().thenApply(isLoggedIn -> {
-                    if (isLoggedIn) {
-                        showMainWindow(logic.loginController.getRepoId());
-                        disableUI(false);
-                    } else {
-                        quit();
-                    }
-                    return true;
-                }).exceptionally(e -> {
-                    logger.error(e.getLocalizedMessage(), e);
-                    return false;
-                });
+                showLoginDialog(this::showMainWindow);
             }
         }
         getMainWindowHandle(mainStage.getTitle());
     }
 
+    /**
+     * Shows the login dialog, passing the id of the repository entered to onLogin once logged in.
+     * Quits if the dialog is closed without logging in.
+     */
+    private void showLoginDialog(Consumer<String> onLogin) {
+        disableUI(true);
+        status.displayMessage("Waiting for login...");
+        mainStage.show();
+        new LoginDialog(this,
+                        mainStage,
+                        logic.loginController.getOwner(),
+                        logic.loginController.getRepo(),
+                        logic.loginController.getUsername(),
+                        logic.loginController.getPassword()
+        ).show().thenApply(isLoggedIn -> {
+            if (isLoggedIn) {
+                onLogin.accept(logic.loginController.getRepoId());
+                disableUI(false);
+            } else {
+                quit();
+            }
+            return true;
+        }).exceptionally(e -> {
+            logger.error(e.getLocalizedMessage(), e);
+            return false;
+        });
+    }
+
     private void createAndLoadSampleBoard() {
         BoardAutoCreator boardCreator = new BoardAutoCreator(this, panels, prefs);
         boardCreator.createSampleBoard(false);
@@ -178,10 +215,120 @@ public class UI extends Application implements EventDispatcher {
         //We infer this is the first time HT is being used if there are no repo data stored at the start up.
         //This check needs to be done at the very beginning of the startup, before HT downloads any repo data.
         boolean isAFirstTimeUser = logic.getStoredRepos().isEmpty();
-        logic.openPrimaryRepository(repoId);
+        logic.openPrimaryRepository(repoId).thenRun(() -> Platform.runLater(this::logTimeToFirstPanels));
+        logic.setDefaultRepo(repoId);
+        triggerEvent(new PrimaryRepoChangedEvent(repoId));
+
+        initMainWindow(isAFirstTimeUser);
+    }
+
+    /**
+     * Returns true if the last session can be shown from the store while logging in, which is when the
+     * login details are known and every repository the session uses is stored. Otherwise, panels would try
+     * to download repositories before logging in.
+     */
+    private boolean canShowStoredReposBeforeLogin() {
+        return logic.loginController.hasLoginDetails()
+                && Utility.convertSetToLowerCase(logic.getStoredRepos()).containsAll(
+                Utility.convertSetToLowerCase(getReposInLastSession(logic.loginController.getRepoId())));
+    }
+
+    /**
+     * Shows the panels of the last session using the repositories in the store, then logs in and brings
+     * the repositories up to date. The stored repositories are loaded while the panels are created, and
+     * logging in happens at the same time on another thread.
+     * <p>
+     * If logging in fails, the login dialog is shown over the panels.
+     */
+    private void showMainWindowFromStore(String repoId) {
         logic.setDefaultRepo(repoId);
         triggerEvent(new PrimaryRepoChangedEvent(repoId));
 
+        // Until logged in, panels are refreshed only from the stored repositories
+        logic.setShowingStoredReposBeforeLogin(true);
+
+        // Loading starts before the panels are created so that their filters find the repositories pending
+        CompletableFuture<List<Model>> storedModels =
+                logic.openRepositoriesFromStore(getReposInLastSession(repoId));
+        initMainWindow(false);
+
+        storedModels.thenAccept(models -> Platform.runLater(() -> {
+            logTimeToFirstPanels();
+            showStaleness(models);
+        })).exceptionally(Futures::log);
+
+        CompletableFuture.supplyAsync(logic.loginController::attemptLogin)
+                .thenCombine(storedModels, (isLoggedIn, models) -> isLoggedIn)
+                .thenAccept(isLoggedIn -> Platform.runLater(() -> {
+                    if (isLoggedIn) {
+                        onLoggedInAfterShowingStore(repoId);
+                    } else {
+                        showLoginDialog(this::onLoggedInAfterShowingStore);
+                    }
+                })).exceptionally(Futures::log);
+    }
+
+    /**
+     * Opens the primary repository, which may have changed in the login dialog, and downloads updates
+     * for the repositories loaded from the store. Opening it refreshes the panels, which now open the
+     * repositories in their filters and retrieve metadata.
+     */
+    private void onLoggedInAfterShowingStore(String repoId) {
+        logic.setShowingStoredReposBeforeLogin(false);
+        primaryRepoChanged(repoId);
+        logic.refresh();
+    }
+
+    /**
+     * Returns the ids of the primary repository and those named in the filters of the saved panels.
+     */
+    private Set<String> getReposInLastSession(String primaryRepoId) {
+        Set<String> repoIds = new HashSet<>();
+        repoIds.add(primaryRepoId);
+        for (PanelInfo panel : prefs.getPanelInfo()) {
+            try {
+                repoIds.addAll(Qualifier.getMetaQualifierContent(Parser.parse(panel.getPanelFilter()),
+                                                                 QualifierType.REPO));
+            } catch (FilterException e) {
+                logger.info("Ignoring invalid filter " + panel.getPanelFilter());
+            }
+        }
+        return repoIds;
+    }
+
+    /**
+     * Shows how long ago the least recently updated of the given models was last brought up to date.
+     */
+    private void showStaleness(List<Model> models) {
+        models.stream()
+                .map(Model::getUpdateSignature)
+                .filter(signature -> !signature.isEmpty())
+                .map(signature -> signature.lastCheckTime)
+                .min(Date::compareTo)
+                .ifPresent(lastCheckTime -> status.displayMessage(String.format(
+                        "Showing stored data last updated %d minute(s) ago; updating...",
+                        Utility.millisecToMinutes(System.currentTimeMillis() - lastCheckTime.getTime()))));
+    }
+
+    /**
+     * Logs the time from startup until the panels are first shown with repository data, once per run.
+     * Should be called on the FX thread after the panels have been refreshed.
+     */
+    private void logTimeToFirstPanels() {
+        if (isFirstPanelsShown) {
+            return;
+        }
+        isFirstPanelsShown = true;
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        Metrics.timer("startup.timeToFirstPanels").record(TimeUnit.MILLISECONDS.toNanos(uptime));
+        logger.info("First panels shown " + uptime + " ms after startup");
+    }
+
+    /**
+     * Sets up the parts of the main window which depend on the primary repository, creating the panels of
+     * the last session.
+     */
+    private void initMainWindow(boolean isAFirstTimeUser) {
         triggerEvent(new BoardSavedEvent()); // Initializes boards
 
         if (TestController.isTestMode()) {
@@ -228,7 +375,7 @@ public class UI extends Application implements EventDispatcher {
         TestController.setUI(this, getParameters());
         prefs = TestController.loadApplicationPreferences();
 
-        eventBus = new EventBus();
+        eventDispatcher = new TypedEventDispatcher(Platform::runLater);
         if (TestController.isTestMode()) {
             registerTestEvents();
         }
@@ -248,11 +395,49 @@ public class UI extends Application implements EventDispatcher {
         logic = new Logic(uiManager, prefs, Optional.empty(), Optional.empty());
         // TODO clear cache if necessary
         refreshTimer = new TickingTimer("Refresh Timer", REFRESH_PERIOD,
-                                        status::updateTimeToRefresh, logic::refresh, TimeUnit.SECONDS);
+                                        status::updateTimeToRefresh, this::onRefreshTimeout, TimeUnit.SECONDS);
         refreshTimer.start();
+        startWebhookReceiver();
         undoController = new UndoController(notificationController);
     }
 
+    private void onRefreshTimeout() {
+        refreshTimer.setPeriod(isPushActive() ? PUSH_REFRESH_PERIOD : REFRESH_PERIOD);
+        logic.refresh();
+    }
+
+    private boolean isPushActive() {
+        return webhookReceiver.flatMap(WebhookReceiver::getLastDeliveryTime)
+                .map(time -> time.plus(PUSH_ACTIVE_WINDOW).isAfter(Instant.now()))
+                .orElse(false);
+    }
+
+    /**
+     * Starts listening for webhook deliveries if a port to listen on is given, along with the secret to verify
+     * them with.
+     */
+    private void startWebhookReceiver() {
+        String port = getCommandLineArgs().get(ARG_WEBHOOK_PORT);
+        if (port == null) {
+            return;
+        }
+        String secret = System.getenv(ENV_WEBHOOK_SECRET);
+        if (secret == null || secret.isEmpty()) {
+            logger.warn("Not listening for webhook deliveries: " + ENV_WEBHOOK_SECRET + " is not set");
+            return;
+        }
+        try {
+            WebhookReceiver receiver = new WebhookReceiver(Integer.parseInt(port), secret, (event, payload) -> {
+                logic.applyWebhookPayload(event, payload).exceptionally(Futures::log);
+                refreshTimer.setPeriod(PUSH_REFRESH_PERIOD);
+            });
+            receiver.start();
+            webhookReceiver = Optional.of(receiver);
+        } catch (IOException | NumberFormatException e) {
+            logger.error("Could not listen for webhook deliveries on port " + port, e);
+        }
+    }
+
     private void initUI(Stage stage) {
         apiBox = new Label("-/-");
         apiBox.setPadding(new Insets(10, 10, 5, 15));
@@ -308,12 +493,14 @@ public class UI extends Application implements EventDispatcher {
 
     public void quit() {
         globalHotkey.quit();
+        webhookReceiver.ifPresent(WebhookReceiver::stop);
         if (browserComponent != null) {
             browserComponent.onAppQuit();
         }
         if (!TestController.isTestMode() || TestController.isTestGlobalConfig()) {
             panels.saveSession();
         }
+        prefs.flushReadState();
         if (!TestController.isTestMode() || TestController.isCloseOnQuit()) {
             updateManager.onAppQuit();
             Platform.exit();
@@ -368,10 +555,19 @@ public class UI extends Application implements EventDispatcher {
         scene.addEventHandler(KeyEvent.KEY_PRESSED, event -> {
             if (SHOW_ISSUE_PICKER.match(event)) {
                 triggerEvent(new ShowIssuePickerEvent(logic.getModels().getIssues(), true));
+            } else if (SHOW_DIAGNOSTICS.match(event)) {
+                showDiagnosticsWindow();
             }
         });
     }
 
+    private void showDiagnosticsWindow() {
+        if (diagnosticsWindow == null) {
+            diagnosticsWindow = new DiagnosticsWindow(eventDispatcher);
+        }
+        diagnosticsWindow.showWindow();
+    }
+
     private static void getMainWindowHandle(String windowTitle) {
         if (PlatformSpecific.isOnWindows()) {
             mainWindowHandle = User32.INSTANCE.FindWindow(null, windowTitle);
@@ -431,22 +627,20 @@ public class UI extends Application implements EventDispatcher {
      */
 
     @Override
-    public void registerEvent(EventHandler handler) {
-        eventBus.register(handler);
+    public void registerEvent(EventHandler handler, EventDelivery delivery) {
+        eventDispatcher.registerEvent(handler, delivery);
         logger.info("Registered event handler " + handler.getClass().getInterfaces()[0].getSimpleName());
     }
 
     @Override
     public void unregisterEvent(EventHandler handler) {
-        eventBus.unregister(handler);
+        eventDispatcher.unregisterEvent(handler);
         logger.info("Unregistered event handler " + handler.getClass().getInterfaces()[0].getSimpleName());
     }
 
     @Override
     public <T extends Event> void triggerEvent(T event) {
-        logger.info("About to trigger event " + event.getClass().getSimpleName());
-        eventBus.post(event);
-        logger.info("Triggered event " + event.getClass().getSimpleName());
+        eventDispatcher.triggerEvent(event);
     }
 
     public BrowserComponent getBrowserComponent() {
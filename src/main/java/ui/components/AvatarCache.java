@@ -0,0 +1,270 @@
+package ui.components;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+import util.metrics.Metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avatars of users, shared by the whole process and loaded only when they are displayed.
+ *
+ * The same user appears in every repository they belong to, so avatars are keyed by URL rather than by user.
+ * Decoded images, scaled to the size they are displayed at, are kept in a bounded cache which discards the
+ * least recently used. The encoded images are kept on disk, and are only downloaded again once they are a day
+ * old, and then only if the server says they changed. Concurrent requests for the same avatar share one load.
+ * Avatars which could not be loaded are not tried again for a few minutes.
+ */
+public class AvatarCache {
+
+    private static final Logger logger = HTLog.get(AvatarCache.class);
+
+    public static final String DIRECTORY = "store/avatars";
+
+    private static final int CAPACITY = 512;
+    private static final int LOADING_THREADS = 2;
+    private static final int CONNECTION_TIMEOUT = 10000;
+    private static final long REVALIDATE_AFTER = TimeUnit.DAYS.toMillis(1);
+    private static final long RETRY_FAILED_AFTER = TimeUnit.MINUTES.toMillis(5);
+
+    private static final String IMAGE_EXTENSION = ".img";
+    private static final String ETAG_EXTENSION = ".etag";
+
+    private static AvatarCache shared;
+
+    private final Path directory;
+    private final ExecutorService executor = Executors.newFixedThreadPool(LOADING_THREADS, r -> {
+        Thread thread = new Thread(r, "Avatar loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Decoded images by URL and size
+    private final Map<String, Image> images;
+
+    // Loads in progress by URL and size, so that each avatar is loaded once however many ask for it
+    private final Map<String, CompletableFuture<Optional<Image>>> loading = new ConcurrentHashMap<>();
+
+    // Times at which loads failed by URL and size, so that broken avatars are not requested on every render
+    private final Map<String, Long> failures = new ConcurrentHashMap<>();
+
+    public AvatarCache(Path directory, int capacity) {
+        assert capacity > 0;
+        this.directory = directory;
+        this.images = new LinkedHashMap<String, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static synchronized AvatarCache getShared() {
+        if (shared == null) {
+            shared = new AvatarCache(Paths.get(DIRECTORY), CAPACITY);
+        }
+        return shared;
+    }
+
+    /**
+     * Returns a view of the avatar at the given URL, scaled to fit the given size. The view is empty until the
+     * avatar is loaded, and stays empty if it cannot be. Must be called on the JavaFX application thread.
+     */
+    public ImageView createImageView(String url, int size) {
+        ImageView view = new ImageView();
+        if (url.isEmpty()) {
+            return view;
+        }
+        Optional<Image> loaded = getIfLoaded(url, size);
+        if (loaded.isPresent()) {
+            view.setImage(loaded.get());
+        } else {
+            getAvatar(url, size).thenAccept(image ->
+                    image.ifPresent(avatar -> Platform.runLater(() -> view.setImage(avatar))));
+        }
+        return view;
+    }
+
+    public synchronized Optional<Image> getIfLoaded(String url, int size) {
+        return Optional.ofNullable(images.get(getKey(url, size)));
+    }
+
+    /**
+     * Loads the avatar at the given URL in the background, scaled to fit the given size.
+     */
+    public CompletableFuture<Optional<Image>> getAvatar(String url, int size) {
+        Optional<Image> loaded = getIfLoaded(url, size);
+        if (loaded.isPresent()) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+        String key = getKey(url, size);
+        if (hasFailedRecently(key)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        // The load is only started once it is registered, so the map is never updated from within itself
+        CompletableFuture<Optional<Image>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Image>> existing = loading.putIfAbsent(key, load);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture.supplyAsync(() -> getEncoded(url).flatMap(bytes -> decode(url, bytes, size)), executor)
+                .whenComplete((image, e) -> {
+                    if (e == null && image.isPresent()) {
+                        putImage(key, image.get());
+                    } else {
+                        failures.put(key, System.currentTimeMillis());
+                    }
+                    loading.remove(key);
+                    if (e == null) {
+                        load.complete(image);
+                    } else {
+                        load.completeExceptionally(e);
+                    }
+                });
+        return load;
+    }
+
+    private synchronized void putImage(String key, Image image) {
+        images.put(key, image);
+    }
+
+    private boolean hasFailedRecently(String key) {
+        Long failedAt = failures.get(key);
+        if (failedAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - failedAt < RETRY_FAILED_AFTER) {
+            return true;
+        }
+        failures.remove(key, failedAt);
+        return false;
+    }
+
+    private static Optional<Image> decode(String url, byte[] bytes, int size) {
+        Image image = new Image(new ByteArrayInputStream(bytes), size, size, true, true);
+        if (image.isError()) {
+            logger.warn("Could not decode avatar " + url);
+            return Optional.empty();
+        }
+        return Optional.of(image);
+    }
+
+    /**
+     * Returns the encoded avatar at the given URL. The copy on disk is used if it is fresh; otherwise it is
+     * revalidated with the server, and downloaded again if it changed. A stale copy is used if the server
+     * cannot be reached.
+     */
+    public Optional<byte[]> getEncoded(String url) {
+        String name = Hashing.sha1().hashString(url, Charsets.UTF_8).toString();
+        Path imageFile = directory.resolve(name + IMAGE_EXTENSION);
+        Path eTagFile = directory.resolve(name + ETAG_EXTENSION);
+
+        Optional<byte[]> stored = readStored(imageFile);
+        try {
+            if (stored.isPresent() && isFresh(imageFile)) {
+                Metrics.counter("avatar.diskHits").increment();
+                return stored;
+            }
+            return Optional.of(download(url, imageFile, eTagFile, stored));
+        } catch (IOException e) {
+            logger.warn("Could not download avatar " + url + ": " + e.getMessage());
+            return stored;
+        }
+    }
+
+    private byte[] download(String url, Path imageFile, Path eTagFile, Optional<byte[]> stored) throws IOException {
+        URLConnection connection = new URL(url).openConnection();
+        connection.setConnectTimeout(CONNECTION_TIMEOUT);
+        connection.setReadTimeout(CONNECTION_TIMEOUT);
+        if (stored.isPresent() && connection instanceof HttpURLConnection) {
+            connection.setIfModifiedSince(Files.getLastModifiedTime(imageFile).toMillis());
+            Optional<String> eTag = readETag(eTagFile);
+            if (eTag.isPresent()) {
+                connection.setRequestProperty("If-None-Match", eTag.get());
+            }
+            if (((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                Metrics.counter("avatar.revalidated").increment();
+                Files.setLastModifiedTime(imageFile, FileTime.fromMillis(System.currentTimeMillis()));
+                return stored.get();
+            }
+        }
+
+        byte[] bytes;
+        try (InputStream input = connection.getInputStream()) {
+            bytes = IOUtils.toByteArray(input);
+        }
+        Metrics.counter("avatar.downloads").increment();
+        store(imageFile, bytes);
+        String eTag = connection.getHeaderField("ETag");
+        if (eTag == null) {
+            Files.deleteIfExists(eTagFile);
+        } else {
+            store(eTagFile, eTag.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes;
+    }
+
+    private static boolean isFresh(Path imageFile) throws IOException {
+        return System.currentTimeMillis() - Files.getLastModifiedTime(imageFile).toMillis() < REVALIDATE_AFTER;
+    }
+
+    private static Optional<byte[]> readStored(Path imageFile) {
+        if (!Files.exists(imageFile)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readAllBytes(imageFile));
+        } catch (IOException e) {
+            logger.warn("Could not read stored avatar " + imageFile + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> readETag(Path eTagFile) throws IOException {
+        if (!Files.exists(eTagFile)) {
+            return Optional.empty();
+        }
+        return Optional.of(new String(Files.readAllBytes(eTagFile), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a file by moving a complete temporary file into place, so that other instances sharing the
+     * directory never read a partly written one.
+     */
+    private void store(Path file, byte[] bytes) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String getKey(String url, int size) {
+        return size + " " + url;
+    }
+}
@@ -0,0 +1,198 @@
+package ui.components;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * An index of words used as completion candidates, grouped into named sources.
+ *
+ * Each source keeps its words sorted by lowercase form, along with every suffix that starts a part of a word
+ * (after a '.', '-', '/', '_' or space), so prefix matches are found by binary search. A query is matched
+ * case-insensitively and its results are ranked: words it is a prefix of come first, then words with a part it
+ * is a prefix of, then words merely containing it. Within each rank, sources are taken in the order they were
+ * first added, and words alphabetically.
+ *
+ * Replacing the words of one source only rebuilds that source, and only when they actually changed.
+ */
+public class CompletionIndex {
+
+    private static final String PART_SEPARATORS = ".-/_ ";
+    private static final Comparator<String> WORD_ORDER =
+            Comparator.comparing((String word) -> word.toLowerCase()).thenComparing(Comparator.naturalOrder());
+
+    private final Map<String, Source> sources = new LinkedHashMap<>();
+
+    /**
+     * Sets the words of the given source, adding the source if it is new.
+     *
+     * @return true if the index changed
+     */
+    public synchronized boolean setWords(String source, Collection<String> words) {
+        Source existing = sources.get(source);
+        Set<String> wordSet = new LinkedHashSet<>(words);
+        if (existing != null && existing.hasWords(wordSet)) {
+            return false;
+        }
+        sources.put(source, new Source(wordSet));
+        return true;
+    }
+
+    public synchronized void removeSource(String source) {
+        sources.remove(source);
+    }
+
+    public synchronized Set<String> getSources() {
+        return new LinkedHashSet<>(sources.keySet());
+    }
+
+    public List<String> getCompletions(String query, int limit) {
+        return getCompletions(query, limit, source -> true);
+    }
+
+    /**
+     * Returns at most limit completions for the query, in order of rank, from the sources that are included.
+     */
+    public List<String> getCompletions(String query, int limit, Predicate<String> isSourceIncluded) {
+        return rank(query, limit, getIncludedSources(isSourceIncluded, Collections.emptySet()));
+    }
+
+    /**
+     * As {@link #getCompletions(String, int, Predicate)}, but with the sources of the overlay taking the place
+     * of those of this index with the same names, so that one user of a shared index can have words of its own
+     * without changing them for the others. The sources of the overlay come first.
+     */
+    public List<String> getCompletions(String query, int limit, Predicate<String> isSourceIncluded,
+                                       CompletionIndex overlay) {
+        List<Source> included = new ArrayList<>(overlay.getIncludedSources(isSourceIncluded,
+                                                                           Collections.emptySet()));
+        included.addAll(getIncludedSources(isSourceIncluded, overlay.getSources()));
+        return rank(query, limit, included);
+    }
+
+    private synchronized List<Source> getIncludedSources(Predicate<String> isSourceIncluded, Set<String> excluded) {
+        return sources.entrySet().stream()
+                .filter(entry -> isSourceIncluded.test(entry.getKey()) && !excluded.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> rank(String query, int limit, List<Source> included) {
+        String key = query.toLowerCase();
+        Set<String> results = new LinkedHashSet<>();
+        for (Source source : included) {
+            source.addWordPrefixMatches(key, results, limit);
+        }
+        for (Source source : included) {
+            source.addPartPrefixMatches(key, results, limit);
+        }
+        for (Source source : included) {
+            source.addSubstringMatches(key, results, limit);
+        }
+        return new ArrayList<>(results);
+    }
+
+    private static final class Source {
+
+        private final String[] words;
+        private final String[] keys;
+
+        // Suffixes of keys which start a part of the word, sorted, and the index of the word each comes from
+        private final String[] partKeys;
+        private final int[] partWords;
+
+        Source(Set<String> wordSet) {
+            words = wordSet.stream()
+                    .sorted(WORD_ORDER)
+                    .toArray(String[]::new);
+            keys = Arrays.stream(words).map(String::toLowerCase).toArray(String[]::new);
+
+            List<Part> parts = new ArrayList<>();
+            for (int i = 0; i < keys.length; i++) {
+                for (int j = 1; j < keys[i].length(); j++) {
+                    if (PART_SEPARATORS.indexOf(keys[i].charAt(j - 1)) >= 0) {
+                        parts.add(new Part(keys[i].substring(j), i));
+                    }
+                }
+            }
+            parts.sort(Comparator.comparing(part -> part.key));
+            partKeys = parts.stream().map(part -> part.key).toArray(String[]::new);
+            partWords = parts.stream().mapToInt(part -> part.word).toArray();
+        }
+
+        boolean hasWords(Set<String> wordSet) {
+            return words.length == wordSet.size() && wordSet.containsAll(Arrays.asList(words));
+        }
+
+        void addWordPrefixMatches(String key, Set<String> results, int limit) {
+            for (int i = lowerBound(keys, key); i < keys.length && results.size() < limit; i++) {
+                if (!keys[i].startsWith(key)) {
+                    break;
+                }
+                results.add(words[i]);
+            }
+        }
+
+        void addPartPrefixMatches(String key, Set<String> results, int limit) {
+            if (results.size() >= limit || key.isEmpty()) {
+                return;
+            }
+            // Collected by word index first, so that matching words are added alphabetically
+            TreeSet<Integer> matching = new TreeSet<>();
+            for (int i = lowerBound(partKeys, key); i < partKeys.length && partKeys[i].startsWith(key); i++) {
+                matching.add(partWords[i]);
+            }
+            for (int word : matching) {
+                if (results.size() >= limit) {
+                    return;
+                }
+                results.add(words[word]);
+            }
+        }
+
+        void addSubstringMatches(String key, Set<String> results, int limit) {
+            for (int i = 0; i < keys.length && results.size() < limit; i++) {
+                if (keys[i].contains(key)) {
+                    results.add(words[i]);
+                }
+            }
+        }
+
+        /**
+         * Returns the index of the first element of the sorted array which is not less than the key.
+         */
+        private static int lowerBound(String[] sorted, String key) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class Part {
+        private final String key;
+        private final int word;
+
+        Part(String key, int word) {
+            this.key = key;
+            this.word = word;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ui.components;
+
+import backend.resource.Model;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import filter.expression.QualifierType;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Completion candidates for filter text: the filter keywords, plus the labels, milestones and users of each
+ * open repository and the ids of the repositories themselves.
+ *
+ * When completing the input to a qualifier which takes one of these (e.g. label:), only candidates of that kind
+ * are offered.
+ */
+public class FilterCompletionIndex extends CompletionIndex {
+
+    private static final String KEYWORDS = "keywords";
+    private static final String LABELS = "labels";
+    private static final String MILESTONES = "milestones";
+    private static final String USERS = "users";
+    private static final String REPOS = "repos";
+
+    // Words which can be typed as a single symbol in a filter; others have to be quoted
+    private static final Pattern SYMBOL = Pattern.compile("[A-Za-z0-9#][/A-Za-z0-9.'+-]*");
+
+    public FilterCompletionIndex() {
+        setKeywords(QualifierType.getCompletionKeywords());
+    }
+
+    public final void setKeywords(Collection<String> keywords) {
+        setWords(KEYWORDS, keywords);
+    }
+
+    /**
+     * Updates the candidates taken from repositories to those in the given models. Only the sources of
+     * repositories whose labels, milestones or users changed are rebuilt.
+     */
+    public void updateVocabulary(List<Model> models) {
+        Set<String> current = new HashSet<>();
+        for (Model model : models) {
+            String repoId = model.getRepoId();
+            updateSource(current, LABELS, repoId, model.getLabels(), TurboLabel::getFullName);
+            updateSource(current, MILESTONES, repoId, model.getMilestones(), TurboMilestone::getTitle);
+            updateSource(current, USERS, repoId, model.getUsers(), TurboUser::getLoginName);
+        }
+        setWords(REPOS, models.stream().map(Model::getRepoId).collect(Collectors.toList()));
+        current.add(REPOS);
+        current.add(KEYWORDS);
+
+        getSources().stream()
+                .filter(source -> !current.contains(source))
+                .forEach(this::removeSource);
+    }
+
+    private <T> void updateSource(Set<String> current, String kind, String repoId,
+                                  List<T> items, Function<T, String> toWord) {
+        String source = kind + ":" + repoId;
+        current.add(source);
+        setWords(source, items.stream()
+                .map(toWord)
+                .filter(word -> word != null && !word.isEmpty())
+                .map(FilterCompletionIndex::quoteIfNecessary)
+                .collect(Collectors.toList()));
+    }
+
+    private static String quoteIfNecessary(String word) {
+        return SYMBOL.matcher(word).matches() || word.contains("\"") ? word : "\"" + word + "\"";
+    }
+
+    /**
+     * Returns at most limit completions for the word being typed, given the name of the qualifier it is the
+     * input to, if any.
+     */
+    public List<String> getCompletions(String word, Optional<String> qualifier, int limit) {
+        return getCompletions(word, qualifier, limit, new CompletionIndex());
+    }
+
+    /**
+     * As {@link #getCompletions(String, Optional, int)}, with the sources of the overlay in place of those of
+     * this index with the same names, e.g. one from {@link #createKeywords} in place of the filter keywords.
+     */
+    public List<String> getCompletions(String word, Optional<String> qualifier, int limit,
+                                       CompletionIndex overlay) {
+        Optional<String> kind = qualifier.flatMap(QualifierType::parse).flatMap(FilterCompletionIndex::getKind);
+        if (!kind.isPresent()) {
+            return getCompletions(word, limit, source -> true, overlay);
+        }
+        String prefix = kind.get();
+        return getCompletions(word, limit, source -> source.startsWith(prefix), overlay);
+    }
+
+    /**
+     * Returns an index of the given keywords, to be used as an overlay in place of the filter keywords.
+     */
+    public static CompletionIndex createKeywords(Collection<String> keywords) {
+        CompletionIndex index = new CompletionIndex();
+        index.setWords(KEYWORDS, keywords);
+        return index;
+    }
+
+    private static Optional<String> getKind(QualifierType type) {
+        switch (type) {
+        case LABEL:
+        case LABELS:
+            return Optional.of(LABELS);
+        case MILESTONE:
+        case MILESTONES:
+            return Optional.of(MILESTONES);
+        case ASSIGNEE:
+        case AUTHOR:
+        case INVOLVES:
+            return Optional.of(USERS);
+        case REPO:
+            return Optional.of(REPOS);
+        default:
+            return Optional.empty();
+        }
+    }
+}
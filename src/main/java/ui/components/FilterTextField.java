@@ -1,6 +1,5 @@
 package ui.components;
 
-import filter.expression.QualifierType;
 import javafx.event.ActionEvent;
 import javafx.geometry.Side;
 import javafx.scene.control.TextField;
@@ -9,13 +8,12 @@ import javafx.scene.input.KeyEvent;
 import org.controlsfx.validation.ValidationResult;
 import org.controlsfx.validation.ValidationSupport;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import static ui.components.KeyboardShortcuts.SHOW_DOCS;
 
@@ -53,20 +51,27 @@ public class FilterTextField extends TextField {
     // Shows that is navigating the suggestion menu
     private boolean isNavigating = false;
 
-    // The list of keywords which will be used in completion
-    private List<String> keywords = initCompletionKeywords();
+    // The words which will be used in completion
+    private final FilterCompletionIndex completionIndex;
+
+    // Words of this field only, used in place of those of the same kind in the completion index
+    private CompletionIndex ownCompletions = new CompletionIndex();
 
 
     public FilterTextField(Predicate<String> validation) {
+        this(validation, new FilterCompletionIndex());
+    }
+
+    /**
+     * Creates a field which takes completions from the given index, which may be shared with other fields.
+     */
+    public FilterTextField(Predicate<String> validation, FilterCompletionIndex completionIndex) {
         super("");
+        this.completionIndex = completionIndex;
         suggestions = setupSuggestion();
         setup(validation);
     }
 
-    private List<String> initCompletionKeywords() {
-        return QualifierType.getCompletionKeywords().stream().sorted().collect(Collectors.toList());
-    }
-
     private void setup(Predicate<String> validation) {
         setPrefColumnCount(30);
         validationSupport.registerValidator(this, (c, newValue) -> {
@@ -161,10 +166,27 @@ public class FilterTextField extends TextField {
 
     /**
      * @param query
-     * @return suggested keyword that contains a given query
+     * @return suggested words that contain a given query, best matches first
      */
     private List<String> getMatchingKeywords(String query) {
-        return keywords.stream().filter(keyword -> keyword.contains(query)).collect(Collectors.toList());
+        return completionIndex.getCompletions(query, getCurrentQualifier(), MAX_SUGGESTIONS, ownCompletions);
+    }
+
+    /**
+     * Determines the name of the qualifier whose input is currently being edited, if any.
+     */
+    private Optional<String> getCurrentQualifier() {
+        int caret = Math.min(getSelection().getStart(), getSelection().getEnd());
+        int wordStart = getInitialCaretPosition(caret);
+        String text = getText();
+        if (wordStart == 0 || text.charAt(wordStart - 1) != ':') {
+            return Optional.empty();
+        }
+        int start = wordStart - 1;
+        while (start > 0 && (Character.isLetter(text.charAt(start - 1)) || text.charAt(start - 1) == '-')) {
+            start--;
+        }
+        return start < wordStart - 1 ? Optional.of(text.substring(start, wordStart - 1)) : Optional.empty();
     }
 
 
@@ -229,7 +251,7 @@ public class FilterTextField extends TextField {
     
     private SuggestionsMenu setupSuggestion() {
         SuggestionsMenu suggestion = new SuggestionsMenu(MAX_SUGGESTIONS).setActionHandler(this::menuItemHandler);
-        suggestion.loadSuggestions(keywords);
+        suggestion.loadSuggestions(completionIndex.getCompletions("", MAX_SUGGESTIONS));
         return suggestion;
     }
 
@@ -286,9 +308,10 @@ public class FilterTextField extends TextField {
     }
 
     /**
-     * Sets the list of words to be used as completion candidates.
+     * Sets the list of keywords to be used as completion candidates by this field, in addition to those taken
+     * from repositories. Other fields sharing the same completion index keep their keywords.
      */
     public void setCompletionKeywords(List<String> words) {
-        keywords = new ArrayList<>(words);
+        ownCompletions = FilterCompletionIndex.createKeywords(words);
     }
 }
@@ -3,6 +3,7 @@ package ui.components;
 import javafx.application.Platform;
 import org.controlsfx.control.StatusBar;
 import ui.UI;
+import util.events.EventDelivery;
 import util.events.UpdateProgressEventHandler;
 
 import java.util.HashMap;
@@ -34,7 +35,8 @@ public class HTStatusBar extends StatusBar implements StatusUI {
     }
 
     private void setupProgressEvents() {
-        ui.registerEvent((UpdateProgressEventHandler) e -> Platform.runLater(() -> {
+        // Progress events for a repo which arrive faster than the FX thread can show them are coalesced
+        ui.registerEvent((UpdateProgressEventHandler) e -> {
             if (progressBars.containsKey(e.repoId)) {
                 if (e.done) {
                     getRightItems().remove(progressBars.get(e.repoId));
@@ -46,7 +48,7 @@ public class HTStatusBar extends StatusBar implements StatusUI {
                 progressBars.put(e.repoId, progressBar);
                 getRightItems().add(progressBar);
             }
-        }));
+        }, EventDelivery.FX_THREAD);
     }
 
     private void setup() {
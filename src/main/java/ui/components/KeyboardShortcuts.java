@@ -104,6 +104,8 @@ public final class KeyboardShortcuts {
             new KeyCodeCombination(KeyCode.ESCAPE);
     public static final KeyCodeCombination SHOW_REPO_PICKER =
             new KeyCodeCombination(KeyCode.R, KeyCombination.CONTROL_DOWN, KeyCombination.SHIFT_DOWN);
+    public static final KeyCodeCombination SHOW_DIAGNOSTICS =
+            new KeyCodeCombination(KeyCode.D, KeyCombination.CONTROL_DOWN, KeyCombination.SHIFT_DOWN);
 
     public static final KeyCodeCombination NEW_ISSUE =
             new KeyCodeCombination(KeyCode.I, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
@@ -3,9 +3,9 @@ package ui.components.issuepicker;
 import java.util.Optional;
 
 import backend.resource.MultiModel;
-import javafx.application.Platform;
 import javafx.stage.Stage;
 import ui.UI;
+import util.events.EventDelivery;
 import util.events.ShowIssuePickerEventHandler;
 
 public class IssuePicker {
@@ -14,8 +14,8 @@ public class IssuePicker {
 
     public IssuePicker(UI ui, Stage stage) {
         this.stage = stage;
-        ui.registerEvent((ShowIssuePickerEventHandler) e ->
-                Platform.runLater(() -> showIssuePicker(ui.logic.getModels())));
+        ui.registerEvent((ShowIssuePickerEventHandler) e -> showIssuePicker(ui.logic.getModels()),
+                         EventDelivery.FX_THREAD);
     }
 
     private Optional<String> showIssuePicker(MultiModel models) {
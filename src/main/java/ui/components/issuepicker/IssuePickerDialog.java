@@ -30,6 +30,7 @@ import ui.GuiElement;
 import ui.IssueCard;
 import ui.UI;
 import util.HTLog;
+import util.QueryMatcher;
 
 /**
  * Serves as a presenter that synchronizes changes in issues with dialog view
@@ -50,6 +51,7 @@ public class IssuePickerDialog extends Dialog<String> {
 
     private final MultiModel models;
     private final List<TurboIssue> allIssues;
+    private final QueryMatcher<TurboIssue> issueMatcher;
 
     private IssuePickerState state;
 
@@ -66,8 +68,9 @@ public class IssuePickerDialog extends Dialog<String> {
     public IssuePickerDialog(Stage stage, MultiModel models) {
         this.models = models;
         this.allIssues = models.getIssues();
+        this.issueMatcher = TurboIssue.createMatcher(allIssues);
 
-        initUI(stage, allIssues);
+        initUI(stage);
         Platform.runLater(issuepickerQueryField::requestFocus);
     }
 
@@ -79,12 +82,12 @@ public class IssuePickerDialog extends Dialog<String> {
             (observable, oldText, newText) -> handleUserInput(issuepickerQueryField.getText()));
     }
 
-    private void initUI(Stage stage, List<TurboIssue> issues) {
+    private void initUI(Stage stage) {
         initialiseDialog(stage);
         setDialogPaneContent();
         createButtons();
 
-        state = new IssuePickerState(issues, "");
+        state = new IssuePickerState(issueMatcher, "");
         populateSuggestedIssues(allIssues, state.getSelectedIssue());
     }
 
@@ -148,7 +151,7 @@ public class IssuePickerDialog extends Dialog<String> {
      * Updates state of the issue picker based on the entire query
      */
     private final void handleUserInput(String query) {
-        state = new IssuePickerState(allIssues, query.toLowerCase());
+        state = new IssuePickerState(issueMatcher, query.toLowerCase());
         populatePanes(state);
     }
 
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 
 import backend.resource.TurboIssue;
+import util.QueryMatcher;
 
 /**
  * Represents the state of the issue picker.
@@ -14,16 +15,20 @@ public class IssuePickerState {
     private List<TurboIssue> suggestedIssues;
     private Optional<TurboIssue> selectedIssue = Optional.empty();
 
-    private final List<TurboIssue> allIssues;
+    private final QueryMatcher<TurboIssue> matcher;
 
     public IssuePickerState(List<TurboIssue> allIssues, String userInput) {
-        this(allIssues, new ArrayList<>());
-        setIssues(userInput);
+        this(TurboIssue.createMatcher(allIssues), userInput);
     }
 
-    private IssuePickerState(List<TurboIssue> allIssues, List<TurboIssue> suggestedIssues) {
-        this.suggestedIssues = suggestedIssues;
-        this.allIssues = allIssues;
+    /**
+     * @param matcher matcher over all issues, which may be shared by successive states
+     * @param userInput
+     */
+    public IssuePickerState(QueryMatcher<TurboIssue> matcher, String userInput) {
+        this.suggestedIssues = new ArrayList<>();
+        this.matcher = matcher;
+        setIssues(userInput);
     }
 
     public Optional<TurboIssue> getSelectedIssue() {
@@ -41,7 +46,7 @@ public class IssuePickerState {
      */
     private final void setIssues(String userInput) {
         String query = userInput.trim();
-        setSuggestedIssues(allIssues, query);
+        setSuggestedIssues(query);
         if (query.isEmpty()) return;
         selectedIssue = suggestedIssues.stream().findFirst();
     }
@@ -58,10 +63,10 @@ public class IssuePickerState {
     /**
      * Sets suggested issues with given query
      *
-     * @param issue
+     * @param query
      */
-    private void setSuggestedIssues(List<TurboIssue> issues, String query) {
+    private void setSuggestedIssues(String query) {
         suggestedIssues.clear();
-        suggestedIssues.addAll(TurboIssue.getMatchedIssues(issues, query));
+        suggestedIssues.addAll(TurboIssue.getMatchedIssues(matcher, query));
     }
 }
@@ -2,11 +2,11 @@ package ui.components.pickers;
 
 import backend.resource.TurboIssue;
 import backend.resource.TurboUser;
-import javafx.application.Platform;
 import javafx.scene.control.ButtonType;
 import javafx.stage.Stage;
 import ui.UI;
 import undo.actions.ChangeAssigneeAction;
+import util.events.EventDelivery;
 import util.events.ShowAssigneePickerEventHandler;
 
 import java.util.List;
@@ -20,7 +20,7 @@ public class AssigneePicker {
     public AssigneePicker(UI ui, Stage stage) {
         this.ui = ui;
         this.stage = stage;
-        ui.registerEvent((ShowAssigneePickerEventHandler) e -> Platform.runLater(() -> showAssigneePicker(e.issue)));
+        ui.registerEvent((ShowAssigneePickerEventHandler) e -> showAssigneePicker(e.issue), EventDelivery.FX_THREAD);
     }
 
     private void showAssigneePicker(TurboIssue issue) {
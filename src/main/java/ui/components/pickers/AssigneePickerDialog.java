@@ -13,6 +13,7 @@ import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import ui.IdGenerator;
+import util.QueryMatcher;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,6 +33,7 @@ public class AssigneePickerDialog extends Dialog<AssigneePickerDialog.AssigneePi
     private VBox matchingUsersBox;
     private TextField textField;
     private AssigneePickerState state;
+    private final QueryMatcher<PickerAssignee> userMatcher;
 
     public AssigneePickerDialog(Stage stage, TurboIssue issue, List<TurboUser> users) {
         initOwner(stage);
@@ -39,6 +41,7 @@ public class AssigneePickerDialog extends Dialog<AssigneePickerDialog.AssigneePi
         setupButtons(getDialogPane());
         setConfirmResultConverter();
         originalUsers.addAll(convertToPickerAssignees(issue, users));
+        userMatcher = AssigneePickerState.createMatcher(originalUsers);
         state = new AssigneePickerState(originalUsers);
         initUI();
         setupKeyEvents();
@@ -57,7 +60,7 @@ public class AssigneePickerDialog extends Dialog<AssigneePickerDialog.AssigneePi
     }
 
     private void handleUpdatedInput(String userInput) {
-        state = new AssigneePickerState(originalUsers, userInput);
+        state = new AssigneePickerState(originalUsers, userInput, userMatcher);
         refreshUI(state);
     }
 
@@ -1,24 +1,46 @@
 package ui.components.pickers;
 
-import util.Utility;
+import util.QueryMatcher;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class AssigneePickerState {
     private List<PickerAssignee> usersList;
+    private final QueryMatcher<PickerAssignee> matcher;
 
     public AssigneePickerState(List<PickerAssignee> users) {
+        this(users, createMatcher(users));
+    }
+
+    private AssigneePickerState(List<PickerAssignee> users, QueryMatcher<PickerAssignee> matcher) {
         usersList = cloneUsers(users);
+        this.matcher = matcher;
     }
 
     public AssigneePickerState(List<PickerAssignee> users, String userInput) {
-        this(users);
+        this(users, userInput, createMatcher(users));
+    }
+
+    /**
+     * @param users
+     * @param userInput
+     * @param matcher matcher created by {@link #createMatcher} for the same users, which may be shared by
+     *                successive states
+     */
+    public AssigneePickerState(List<PickerAssignee> users, String userInput, QueryMatcher<PickerAssignee> matcher) {
+        this(users, matcher);
         processInput(userInput);
     }
 
+    public static QueryMatcher<PickerAssignee> createMatcher(List<PickerAssignee> users) {
+        return new QueryMatcher<>(users, PickerAssignee::getLoginName);
+    }
+
     private static List<PickerAssignee> cloneUsers(List<PickerAssignee> sourceList) {
         return sourceList.stream()
                 .map(PickerAssignee::new)
@@ -62,10 +84,8 @@ public class AssigneePickerState {
     }
 
     private void filterUsers(String query) {
-        usersList.forEach(user -> {
-            boolean matchQuery = Utility.containsIgnoreCase(user.getLoginName(), query);
-            user.setMatching(matchQuery);
-        });
+        Set<PickerAssignee> matchingUsers = new HashSet<>(matcher.getMatches(query));
+        usersList.forEach(user -> user.setMatching(matchingUsers.contains(user)));
     }
 
     private Optional<PickerAssignee> getFirstMatchingUser() {
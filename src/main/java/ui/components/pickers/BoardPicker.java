@@ -1,8 +1,8 @@
 package ui.components.pickers;
 
-import javafx.application.Platform;
 import javafx.stage.Stage;
 import ui.UI;
+import util.events.EventDelivery;
 import util.events.ShowBoardPickerEventHandler;
 
 import java.util.List;
@@ -25,7 +25,7 @@ public class BoardPicker {
     public BoardPicker(UI ui, Stage stage) {
         this.ui = ui;
         this.stage = stage;
-        ui.registerEvent((ShowBoardPickerEventHandler) e -> Platform.runLater(() -> showBoardPicker(e.boards)));
+        ui.registerEvent((ShowBoardPickerEventHandler) e -> showBoardPicker(e.boards), EventDelivery.FX_THREAD);
     }
 
     private void showBoardPicker(List<String> boards) {
@@ -2,10 +2,10 @@ package ui.components.pickers;
 
 import backend.resource.TurboIssue;
 import backend.resource.TurboLabel;
-import javafx.application.Platform;
 import javafx.stage.Stage;
 import ui.UI;
 import undo.actions.ChangeLabelsAction;
+import util.events.EventDelivery;
 import util.events.ShowLabelPickerEventHandler;
 
 import java.util.List;
@@ -21,7 +21,7 @@ public class LabelPicker {
     public LabelPicker(UI ui, Stage stage) {
         this.ui = ui;
         this.stage = stage;
-        ui.registerEvent((ShowLabelPickerEventHandler) e -> Platform.runLater(() -> showLabelPicker(e.issue)));
+        ui.registerEvent((ShowLabelPickerEventHandler) e -> showLabelPicker(e.issue), EventDelivery.FX_THREAD);
     }
 
     // TODO implement multiple dialogs, currently, only one dialog is allowed and it blocks the main UI when open
@@ -1,5 +1,6 @@
 package ui.components.pickers;
 
+import backend.resource.LabelMatcher;
 import backend.resource.TurboIssue;
 import backend.resource.TurboLabel;
 import javafx.application.Platform;
@@ -36,6 +37,7 @@ public class LabelPickerDialog extends Dialog<List<String>> {
     private static final Logger logger = HTLog.get(LabelPickerDialog.class);
 
     private final List<TurboLabel> allLabels;
+    private final LabelMatcher labelMatcher;
     private final TurboIssue issue;
     private LabelPickerState state;
 
@@ -52,6 +54,7 @@ public class LabelPickerDialog extends Dialog<List<String>> {
 
     LabelPickerDialog(TurboIssue issue, List<TurboLabel> allLabels, Stage stage) {
         this.allLabels = allLabels;
+        this.labelMatcher = new LabelMatcher(allLabels);
         this.issue = issue;
 
         initUI(stage, issue);
@@ -72,7 +75,7 @@ public class LabelPickerDialog extends Dialog<List<String>> {
         title.setTooltip(createTitleTooltip(issue));
         createButtons();
 
-        state = new LabelPickerState(TurboLabel.getMatchedLabels(allLabels, issue.getLabels()), allLabels, "");
+        state = new LabelPickerState(TurboLabel.getMatchedLabels(allLabels, issue.getLabels()), labelMatcher, "");
         populatePanes(state);
     }
 
@@ -319,13 +322,13 @@ public class LabelPickerDialog extends Dialog<List<String>> {
      */
     private final void handleUserInput(String query) {
         state = new LabelPickerState(
-                TurboLabel.getMatchedLabels(allLabels, issue.getLabels()), allLabels, query.toLowerCase());
+                TurboLabel.getMatchedLabels(allLabels, issue.getLabels()), labelMatcher, query.toLowerCase());
         populatePanes(state);
     }
 
     private void handleLabelClick(String labelName) {
         queryField.setDisable(true);
-        TurboLabel.getMatchedLabels(allLabels, labelName)
+        labelMatcher.getMatchedLabels(labelName)
                 .stream().findFirst().ifPresent(state::updateAssignedLabels);
         populatePanes(state);
     }
@@ -1,5 +1,6 @@
 package ui.components.pickers;
 
+import backend.resource.LabelMatcher;
 import backend.resource.TurboLabel;
 
 import java.util.*;
@@ -15,23 +16,32 @@ public class LabelPickerState {
     private List<TurboLabel> addedLabels;
     private List<TurboLabel> removedLabels;
     private List<TurboLabel> matchedLabels;
-    private List<TurboLabel> allLabels;
+    private LabelMatcher labelMatcher;
     private OptionalInt currentSuggestionIndex;
 
     public LabelPickerState(List<TurboLabel> initialLabels, List<TurboLabel> allLabels, String userInput) {
-        this(initialLabels, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), allLabels,
+        this(initialLabels, new LabelMatcher(allLabels), userInput);
+    }
+
+    /**
+     * @param initialLabels
+     * @param labelMatcher matcher over all labels, which may be shared by successive states
+     * @param userInput
+     */
+    public LabelPickerState(List<TurboLabel> initialLabels, LabelMatcher labelMatcher, String userInput) {
+        this(initialLabels, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), labelMatcher,
              OptionalInt.empty());
         update(userInput);
     }
 
     private LabelPickerState(List<TurboLabel> initialLabels, List<TurboLabel> addedLabels,
                              List<TurboLabel> removedLabels, List<TurboLabel> matchedLabels,
-                             List<TurboLabel> allLabels, OptionalInt currentSuggestionIndex) {
+                             LabelMatcher labelMatcher, OptionalInt currentSuggestionIndex) {
         this.initialLabels = initialLabels;
         this.addedLabels = addedLabels;
         this.removedLabels = removedLabels;
         this.matchedLabels = matchedLabels;
-        this.allLabels = allLabels;
+        this.labelMatcher = labelMatcher;
         this.currentSuggestionIndex = currentSuggestionIndex;
     }
 
@@ -43,7 +53,7 @@ public class LabelPickerState {
     private final void update(String userInput) {
         List<String> confirmedKeywords = getConfirmedKeywords(userInput);
         for (String confirmedKeyword : confirmedKeywords) {
-            TurboLabel.getMatchedLabels(allLabels, confirmedKeyword)
+            labelMatcher.getMatchedLabels(confirmedKeyword)
                     .stream().findFirst().ifPresent(this::updateAssignedLabels);
         }
 
@@ -91,7 +101,7 @@ public class LabelPickerState {
      * @param keyword
      */
     private final void updateMatchedLabels(String keyword) {
-        matchedLabels = TurboLabel.getMatchedLabels(allLabels, keyword);
+        matchedLabels = labelMatcher.getMatchedLabels(keyword);
     }
 
     /**
@@ -2,11 +2,11 @@ package ui.components.pickers;
 
 import backend.resource.TurboIssue;
 import backend.resource.TurboMilestone;
-import javafx.application.Platform;
 import javafx.scene.control.ButtonType;
 import javafx.stage.Stage;
 import ui.UI;
 import undo.actions.ChangeMilestoneAction;
+import util.events.EventDelivery;
 import util.events.ShowMilestonePickerEventHandler;
 
 import java.util.List;
@@ -22,7 +22,7 @@ public class MilestonePicker {
     public MilestonePicker(UI ui, Stage mainStage) {
         this.ui = ui;
         this.stage = mainStage;
-        ui.registerEvent((ShowMilestonePickerEventHandler) e -> Platform.runLater(() -> showMilestonePicker(e.issue)));
+        ui.registerEvent((ShowMilestonePickerEventHandler) e -> showMilestonePicker(e.issue), EventDelivery.FX_THREAD);
     }
 
     /**
@@ -10,6 +10,7 @@ import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import util.QueryMatcher;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -32,6 +33,7 @@ public class MilestonePickerDialog extends Dialog<MilestonePickerDialogResponse>
     private VBox matchingMilestonesBox;
     private TextField inputField;
     private MilestonePickerState state;
+    private final QueryMatcher<PickerMilestone> milestoneMatcher;
 
     /**
      * The issue and the originalMilestones list provided should come from the same repository
@@ -43,6 +45,7 @@ public class MilestonePickerDialog extends Dialog<MilestonePickerDialogResponse>
         setupButtons(getDialogPane());
         setConfirmResultConverter();
         originalMilestones.addAll(convertToPickerMilestones(issue, milestones));
+        milestoneMatcher = MilestonePickerState.createMatcher(originalMilestones);
         state = new MilestonePickerState(originalMilestones);
         initUI();
         setupKeyEvents();
@@ -96,7 +99,7 @@ public class MilestonePickerDialog extends Dialog<MilestonePickerDialogResponse>
     }
 
     private void handleUpdatedInput(String userInput) {
-        state = new MilestonePickerState(originalMilestones, userInput);
+        state = new MilestonePickerState(originalMilestones, userInput, milestoneMatcher);
         refreshUI(state);
     }
 
@@ -1,12 +1,14 @@
 package ui.components.pickers;
 
-import util.Utility;
+import util.QueryMatcher;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This class handles the state and logic of the MilestonePickerDialog,
@@ -16,13 +18,30 @@ public class MilestonePickerState {
     public static final int BEST_MATCHING_LIMIT = 5;
     private final List<PickerMilestone> allMilestones;
     private final List<PickerMilestone> bestMatchingMilestones;
+    private final QueryMatcher<PickerMilestone> matcher;
 
     public MilestonePickerState(List<PickerMilestone> milestones, String userQuery) {
+        this(milestones, userQuery, createMatcher(milestones));
+    }
+
+    /**
+     * @param milestones
+     * @param userQuery
+     * @param matcher matcher created by {@link #createMatcher} for the same milestones, which may be shared by
+     *                successive states
+     */
+    public MilestonePickerState(List<PickerMilestone> milestones, String userQuery,
+                                QueryMatcher<PickerMilestone> matcher) {
         allMilestones = cloneList(milestones);
         bestMatchingMilestones = new ArrayList<>();
+        this.matcher = matcher;
         processQuery(userQuery);
     }
 
+    public static QueryMatcher<PickerMilestone> createMatcher(List<PickerMilestone> milestones) {
+        return new QueryMatcher<>(milestones, PickerMilestone::getTitle);
+    }
+
     public MilestonePickerState(List<PickerMilestone> milestones) {
         this(milestones, "");
     }
@@ -41,15 +60,11 @@ public class MilestonePickerState {
     }
 
     private void processMatchingMilestonesByQuerySentence(List<PickerMilestone> milestones, String querySentence) {
-        String[] queryWords = querySentence.split(" ");
-        Stream.of(queryWords)
-                .forEach(queryWord -> processMatchingMilestonesByQueryWord(milestones, queryWord));
-    }
-
-    private void processMatchingMilestonesByQueryWord(List<PickerMilestone> milestones, String queryWord) {
+        List<String> queryWords = Arrays.asList(querySentence.split(" "));
+        Set<PickerMilestone> matchingMilestones = new HashSet<>(matcher.getMatchesOfAllWords(queryWords));
         milestones.stream()
                 .forEach(milestone -> {
-                    if (milestone.isMatching()) milestone.setMatching(isMatchingQuery(milestone, queryWord));
+                    if (milestone.isMatching()) milestone.setMatching(matchingMilestones.contains(milestone));
                 });
     }
 
@@ -276,15 +291,11 @@ public class MilestonePickerState {
     private List<PickerMilestone> getNewMatchingMilestones(String querySentence,
                                                            List<PickerMilestone> currentMilestones,
                                                            List<PickerMilestone> allMilestones) {
-        String[] curQueryWords = querySentence.split(" ");
+        List<String> curQueryWords = Arrays.asList(querySentence.split(" "));
+        Set<PickerMilestone> matchingMilestones = new HashSet<>(matcher.getMatchesOfAllWords(curQueryWords));
 
-        List<PickerMilestone> matchingMilestones = allMilestones;
-        for (String word : curQueryWords) {
-            matchingMilestones = matchingMilestones.stream()
-                    .filter(milestone -> isMatchingQuery(milestone, word))
-                    .collect(Collectors.toList());
-        }
-        return matchingMilestones.stream()
+        return allMilestones.stream()
+                .filter(matchingMilestones::contains)
                 .filter(milestone -> !currentMilestones.contains(milestone))
                 .collect(Collectors.toList());
     }
@@ -326,8 +337,4 @@ public class MilestonePickerState {
                 .filter(milestone -> milestone.getTitle().equals(query))
                 .findFirst();
     }
-
-    private boolean isMatchingQuery(PickerMilestone milestone, String query) {
-        return Utility.containsIgnoreCase(milestone.getTitle(), query);
-    }
 }
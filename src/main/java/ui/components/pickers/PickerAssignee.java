@@ -7,9 +7,9 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import ui.components.AvatarCache;
 
 import java.util.List;
 import java.util.Optional;
@@ -167,7 +167,6 @@ public class PickerAssignee extends TurboUser implements Comparable<PickerAssign
     }
 
     private ImageView getAvatarImageView(){
-        if (getAvatarURL().isEmpty()) return new ImageView();
-        return new ImageView(new Image(getAvatarURL(), AVATAR_SIZE, AVATAR_SIZE, true, true, true));
+        return AvatarCache.getShared().createImageView(getAvatarURL(), AVATAR_SIZE);
     }
 }
@@ -1,8 +1,8 @@
 package ui.components.pickers;
 
-import javafx.application.Platform;
 import javafx.stage.Stage;
 import ui.UI;
+import util.events.EventDelivery;
 import util.events.ShowRepositoryPickerEventHandler;
 
 import java.util.Optional;
@@ -20,7 +20,7 @@ public class RepositoryPicker {
     public RepositoryPicker(UI ui, Consumer<String> onValueChangeCallback) {
         this.ui = ui;
         this.onValueChangeCallback = onValueChangeCallback;
-        ui.registerEvent((ShowRepositoryPickerEventHandler) e -> Platform.runLater(() -> showRepositoryPicker()));
+        ui.registerEvent((ShowRepositoryPickerEventHandler) e -> showRepositoryPicker(), EventDelivery.FX_THREAD);
     }
 
     private void showRepositoryPicker() {
@@ -4,7 +4,7 @@ import javafx.application.Platform;
 import ui.*;
 import ui.components.PanelMenuBar;
 import filter.FilterException;
-import filter.Parser;
+import filter.IncrementalParser;
 import filter.expression.FilterExpression;
 import filter.expression.Qualifier;
 import javafx.collections.FXCollections;
@@ -39,6 +39,7 @@ public abstract class FilterPanel extends AbstractPanel {
 
     public PanelMenuBar panelMenuBar;
     protected FilterTextField filterTextField;
+    private final IncrementalParser filterParser = new IncrementalParser();
     private ObservableList<GuiElement> elementsToDisplay = null;
 
 
@@ -103,7 +104,7 @@ public abstract class FilterPanel extends AbstractPanel {
     }
 
     private Node createFilterBox() {
-        filterTextField = new FilterTextField(Parser::check)
+        filterTextField = new FilterTextField(filterParser::check, ui.guiController.getFilterCompletionIndex())
                 .setOnCancel(this::requestFocus)
                 .setOnShowDocs(ui.getBrowserComponent()::showFilterDocs)
                 .setOnConfirm((text) -> {
@@ -152,7 +153,7 @@ public abstract class FilterPanel extends AbstractPanel {
 
     private void applyStringFilter(String filterString) {
         try {
-            FilterExpression filter = Parser.parse(filterString);
+            FilterExpression filter = filterParser.parse(filterString);
             if (filter != null) {
                 this.applyFilterExpression(filter);
                 filterTextField.setStyleForValidFilter();
@@ -31,6 +31,8 @@ import util.GithubPageElements;
 import util.HTLog;
 import util.KeyPress;
 import util.events.*;
+import util.tracing.Span;
+import util.tracing.Tracer;
 import backend.resource.TurboIssue;
 import filter.expression.Qualifier;
 import util.events.ShowMilestonePickerEvent;
@@ -180,25 +182,28 @@ public class ListPanel extends FilterPanel {
      */
     @Override
     public final void refreshItems() {
-        final HashSet<Integer> issuesWithNewComments
-                = updateIssueCommentCounts(Qualifier.hasUpdatedQualifier(getCurrentFilterExpression()));
-
-        // Set the cell factory every time - this forces the list view to update
-        listView.setCellFactory(list -> new ListPanelCell(this, panelIndex, issuesWithNewComments));
-        listView.saveSelection();
-
-        // Supposedly this also causes the list view to update - not sure
-        // if it actually does on platforms other than Linux...
-        listView.setItems(null);
-        listView.setItems(getElementsList());
-        issuesCount = getElementsList().size();
-        closedIssuesCount = getClosedIssuesCount();
-        openIssuesCount = issuesCount - closedIssuesCount;
-        listView.restoreSelection();
-        this.setId(IdGenerator.getPanelId(panelIndex));
-        updateFooter();
-
-
+        Span span = Tracer.start("ListPanel.refreshItems");
+        try {
+            final HashSet<Integer> issuesWithNewComments
+                    = updateIssueCommentCounts(Qualifier.hasUpdatedQualifier(getCurrentFilterExpression()));
+
+            // Set the cell factory every time - this forces the list view to update
+            listView.setCellFactory(list -> new ListPanelCell(this, panelIndex, issuesWithNewComments));
+            listView.saveSelection();
+
+            // Supposedly this also causes the list view to update - not sure
+            // if it actually does on platforms other than Linux...
+            listView.setItems(null);
+            listView.setItems(getElementsList());
+            issuesCount = getElementsList().size();
+            closedIssuesCount = getClosedIssuesCount();
+            openIssuesCount = issuesCount - closedIssuesCount;
+            listView.restoreSelection();
+            this.setId(IdGenerator.getPanelId(panelIndex));
+            updateFooter();
+        } finally {
+            span.close();
+        }
     }
 
     private int getClosedIssuesCount() {
@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * A helper that manages file I/O.
@@ -78,4 +79,15 @@ public final class FileHelper {
         logger.info("Write successful: " + filePath.toAbsolutePath());
     }
 
+    /**
+     * Appends a String to the file, creating the file if it does not exist
+     * @param fileContents The contents to append, in String form
+     */
+    public static void appendFileContents(String fileDirectory, String fileName, String fileContents)
+            throws IOException {
+        createDirectoryIfNonExistent(fileDirectory);
+        Path filePath = getFilePath(fileDirectory, fileName);
+        Files.write(filePath, fileContents.getBytes(CHARSET), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
 }
@@ -0,0 +1,165 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Matches queries against the text of a fixed list of items, case-insensitively, as pickers do on every
+ * keystroke.
+ *
+ * The lowercase text of each item is computed once, along with a bag of the characters it contains, which
+ * rules out most items without searching their text. The items containing each word queried recently are
+ * remembered, so when a word is extended only the items that contained it are searched again.
+ *
+ * Results are always in the order of the original list, except where ranked.
+ */
+public class QueryMatcher<T> {
+
+    private static final int CACHED_WORDS = 32;
+
+    private final List<T> items;
+    private final String[] texts;
+    private final long[] charBags;
+    private final int[] allIndices;
+
+    // Indices of the items containing recently queried words, by lowercase word
+    private final Map<String, int[]> matchesByWord = new LinkedHashMap<String, int[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > CACHED_WORDS;
+        }
+    };
+
+    public QueryMatcher(List<T> items, Function<T, String> toText) {
+        this.items = new ArrayList<>(items);
+        this.texts = new String[items.size()];
+        this.charBags = new long[items.size()];
+        this.allIndices = new int[items.size()];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = toText.apply(this.items.get(i)).toLowerCase();
+            charBags[i] = getCharBag(texts[i]);
+            allIndices[i] = i;
+        }
+    }
+
+    /**
+     * Returns the items whose text contains the query.
+     */
+    public List<T> getMatches(String query) {
+        return toItems(getMatchingIndices(query));
+    }
+
+    /**
+     * Returns the items whose text contains every one of the words.
+     */
+    public List<T> getMatchesOfAllWords(List<String> words) {
+        int[] counts = countMatchingWords(words);
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == words.size()) {
+                result.add(items.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the items whose text contains any of the words, those containing more of the words first.
+     * Items containing the same number of words stay in their original order.
+     */
+    public List<T> getRankedMatchesOfAnyWord(List<String> words) {
+        int[] counts = countMatchingWords(words);
+
+        // Counting sort on the number of matching words, which is stable. Items containing c words have rank
+        // words.size() - c, and the items of each rank start after all those of lower ranks.
+        int[] starts = new int[words.size() + 1];
+        for (int count : counts) {
+            if (count > 0) {
+                starts[words.size() - count + 1]++;
+            }
+        }
+        for (int rank = 1; rank < starts.length; rank++) {
+            starts[rank] += starts[rank - 1];
+        }
+        List<T> ranked = new ArrayList<>(Collections.nCopies(starts[words.size()], null));
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                ranked.set(starts[words.size() - counts[i]]++, items.get(i));
+            }
+        }
+        return ranked;
+    }
+
+    private int[] countMatchingWords(List<String> words) {
+        int[] counts = new int[items.size()];
+        for (String word : words) {
+            for (int i : getMatchingIndices(word)) {
+                counts[i]++;
+            }
+        }
+        return counts;
+    }
+
+    private synchronized int[] getMatchingIndices(String query) {
+        String word = query.toLowerCase();
+        int[] cached = matchesByWord.get(word);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Only items containing a cached part of the word can contain the word
+        int[] candidates = allIndices;
+        for (Map.Entry<String, int[]> entry : matchesByWord.entrySet()) {
+            if (entry.getValue().length < candidates.length && word.contains(entry.getKey())) {
+                candidates = entry.getValue();
+            }
+        }
+
+        long charBag = getCharBag(word);
+        int[] matches = new int[candidates.length];
+        int matched = 0;
+        for (int i : candidates) {
+            if ((charBag & ~charBags[i]) == 0 && texts[i].contains(word)) {
+                matches[matched++] = i;
+            }
+        }
+        matches = Arrays.copyOf(matches, matched);
+
+        matchesByWord.put(word, matches);
+        return matches;
+    }
+
+    private List<T> toItems(int[] indices) {
+        List<T> result = new ArrayList<>(indices.length);
+        for (int i : indices) {
+            result.add(items.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a set of bits, each standing for a letter, a digit or a group of other characters, with a bit set
+     * for each such character in the text. Text can only contain another if its set includes the other's.
+     */
+    private static long getCharBag(String text) {
+        long bag = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int bit;
+            if (c >= 'a' && c <= 'z') {
+                bit = c - 'a';
+            } else if (c >= '0' && c <= '9') {
+                bit = 26 + c - '0';
+            } else {
+                bit = 36 + c % 28;
+            }
+            bag |= 1L << bit;
+        }
+        return bag;
+    }
+}
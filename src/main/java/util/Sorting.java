@@ -0,0 +1,108 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selection and partial sorting routines for when only a prefix of a sorted list is needed.
+ * <p>
+ * All routines are stable: elements which compare equal keep their relative order in the input,
+ * so results agree with those of a full List.sort on the same input.
+ */
+public final class Sorting {
+
+    private Sorting() {
+    }
+
+    /**
+     * Returns the k smallest elements of items according to comparator, in sorted order.
+     * <p>
+     * Runs in O(n log k) time and O(k) extra space using a bounded heap. If k is not smaller than
+     * the number of items, this is equivalent to a full sort.
+     *
+     * @param items      the elements to select from; not modified
+     * @param k          the number of elements to select
+     * @param comparator the order to select and sort by
+     * @return a new list of at most k elements
+     */
+    public static <T> List<T> topK(List<T> items, int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        if (k >= items.size()) {
+            List<T> result = new ArrayList<>(items);
+            result.sort(comparator);
+            return result;
+        }
+
+        List<T> result = new ArrayList<>(k);
+        for (int index : selectTopKIndices(items, k, comparator)) {
+            result.add(items.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Returns all of items with the k smallest elements according to comparator in sorted order at the front,
+     * followed by the remaining elements in their original order.
+     * <p>
+     * Useful when only the first k elements will be looked at immediately, e.g. the visible part of a list,
+     * and the rest will be fully sorted later.
+     *
+     * @param items      the elements to sort; not modified
+     * @param k          the number of leading elements to sort
+     * @param comparator the order to sort by
+     * @return a new list containing all elements of items
+     */
+    public static <T> List<T> sortFirst(List<T> items, int k, Comparator<? super T> comparator) {
+        if (k >= items.size()) {
+            return topK(items, k, comparator);
+        }
+
+        List<T> result = new ArrayList<>(items.size());
+        boolean[] isSelected = new boolean[items.size()];
+        if (k > 0) {
+            for (int index : selectTopKIndices(items, k, comparator)) {
+                result.add(items.get(index));
+                isSelected[index] = true;
+            }
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (!isSelected[i]) {
+                result.add(items.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects the indices of the k smallest elements, 0 < k < items.size(), returning them in sorted order.
+     * Ties are broken by index to keep the selection stable.
+     */
+    private static <T> int[] selectTopKIndices(List<T> items, int k, Comparator<? super T> comparator) {
+        Comparator<Integer> stableOrder = (i, j) -> {
+            int result = comparator.compare(items.get(i), items.get(j));
+            return result != 0 ? result : Integer.compare(i, j);
+        };
+
+        // Max-heap on the stable order, so that the head is the largest of the k smallest seen so far
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k, stableOrder.reversed());
+        for (int i = 0; i < items.size(); i++) {
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (stableOrder.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        // Draining a max-heap yields indices from largest to smallest
+        int[] indices = new int[heap.size()];
+        for (int i = indices.length - 1; i >= 0; i--) {
+            indices[i] = heap.poll();
+        }
+        return indices;
+    }
+}
@@ -40,8 +40,8 @@ public class TickingTimer {
     // The name of the timer. Used to identify it in logging messages and such.
     private final String name;
 
-    // The period after which the timer times out.
-    private final int period;
+    // The period after which the timer times out. May be changed while the timer runs.
+    private int period;
 
     // onTick will not pause the timer when run, so it should not be a long-running task.
     // Will run before onTimeout.
@@ -90,6 +90,23 @@ public class TickingTimer {
         time = period;
     }
 
+    public synchronized int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Changes the period of the timer. The current countdown is shortened if it is longer than the new
+     * period, and otherwise continues; the new period applies from the next restart.
+     */
+    public synchronized void setPeriod(int period) {
+        assert period > 0 && period % TICK_PERIOD == 0;
+        if (this.period != period) {
+            logger.info(String.format("Changing period of TickingTimer %s to %d", name, period));
+        }
+        this.period = period;
+        time = Math.min(time, period);
+    }
+
     /**
      * Causes the timer to time out on the next tick.
      * Returns a latch that will block until after onTimeout is called.
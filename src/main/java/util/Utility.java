@@ -5,6 +5,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -93,6 +94,31 @@ public final class Utility {
         return false;
     }
 
+    /**
+     * As writeFile, but writes to a temporary file which is then moved over the given file, so that the file
+     * never holds partially written content.
+     *
+     * @return true on JSON corruption or failure to write
+     */
+    public static boolean writeFileAtomically(String fileName, String content, int issueCount) {
+        boolean validPath = !(fileName == null || fileName.isEmpty());
+        if (validPath) {
+            try {
+                Path tempFile = Paths.get(fileName + ".tmp");
+                Files.write(tempFile, content.getBytes(StandardCharsets.UTF_8));
+                Files.move(tempFile, Paths.get(fileName),
+                           StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                long sizeAfterWrite = Files.size(Paths.get(fileName));
+                return processFileGrowth(sizeAfterWrite, issueCount, fileName);
+            } catch (IOException e) {
+                logger.error(e.getLocalizedMessage(), e);
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns true on failure to delete file
      *
@@ -117,16 +143,20 @@ public final class Utility {
         // The average issue is about 0.75KB in size. If the total filesize is more than (2 * issueCount KB),
         // we consider the json to have exploded as the file is unusually large.
         if (issueCount > 0 && sizeAfterWrite > ((long) issueCount * 2000)) {
-            UI.events.triggerEvent(new ShowErrorDialogEvent("Possible data corruption detected",
-                    fileName + " is unusually large.\n\n"
-                            + "Now proceeding to delete the file and "
-                            + "redownload the repository to prevent "
-                            + "further corruption.\n\n"
-                            + "A copy of the corrupted file is saved as "
-                            + fileName + "-err. "
-                            + "The error log of the program has been stored "
-                            + "in the file hubturbo-err-log.log."
-            ));
+            logger.warn(fileName + " is unusually large; deleting it to redownload the repository");
+            // UI isn't initialised when run as a daemon
+            if (UI.events != null) {
+                UI.events.triggerEvent(new ShowErrorDialogEvent("Possible data corruption detected",
+                        fileName + " is unusually large.\n\n"
+                                + "Now proceeding to delete the file and "
+                                + "redownload the repository to prevent "
+                                + "further corruption.\n\n"
+                                + "A copy of the corrupted file is saved as "
+                                + fileName + "-err. "
+                                + "The error log of the program has been stored "
+                                + "in the file hubturbo-err-log.log."
+                ));
+            }
             parseAndDeleteFile(fileName);
             copyLog();
             return true;
@@ -1,9 +1,6 @@
 package util.events;
 
-import com.google.common.eventbus.Subscribe;
-
 @FunctionalInterface
 public interface ApplyingFilterEventHandler extends EventHandler {
-    @Subscribe
     void handle(ApplyingFilterEvent e);
 }
@@ -0,0 +1,9 @@
+package util.events;
+
+/**
+ * An event which supersedes earlier events with the same coalescing key. A handler which is not run on the
+ * thread that triggered the event only receives the latest of those triggered since it last ran.
+ */
+public interface CoalescingEvent {
+    Object getCoalescingKey();
+}
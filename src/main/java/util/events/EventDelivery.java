@@ -0,0 +1,22 @@
+package util.events;
+
+/**
+ * Where a registered event handler is run when an event it handles is triggered.
+ */
+public enum EventDelivery {
+    /**
+     * On the thread which triggered the event, before triggerEvent returns (unless the event was triggered
+     * by another handler on that thread, in which case after that handler returns).
+     */
+    SAME_THREAD,
+
+    /**
+     * Later, on the JavaFX application thread.
+     */
+    FX_THREAD,
+
+    /**
+     * Later, on the dispatcher's background thread.
+     */
+    BACKGROUND
+}
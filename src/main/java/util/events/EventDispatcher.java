@@ -2,10 +2,17 @@ package util.events;
 
 public interface EventDispatcher {
     /**
-     * Publish/subscribe API making use of Guava's EventBus.
-     * Takes an event handler to be called upon an event being fired.
+     * Publish/subscribe API.
+     * Takes an event handler to be called on the triggering thread upon an event being fired.
      */
-    void registerEvent(EventHandler handler);
+    default void registerEvent(EventHandler handler) {
+        registerEvent(handler, EventDelivery.SAME_THREAD);
+    }
+
+    /**
+     * Takes an event handler to be called upon an event being fired, and where it should be run.
+     */
+    void registerEvent(EventHandler handler, EventDelivery delivery);
 
     /**
      * Takes an event handler to be unregistered.
@@ -13,10 +20,9 @@ public interface EventDispatcher {
     void unregisterEvent(EventHandler handler);
 
     /**
-     * Publish/subscribe API making use of Guava's EventBus.
-     * Triggers all events of a certain type. EventBus will ensure that the
-     * event is fired for all subscribers whose parameter is either the same
-     * or a super type.
+     * Publish/subscribe API.
+     * Triggers all events of a certain type. The event is fired for all
+     * subscribers whose parameter is either the same or a super type.
      */
     <T extends Event> void triggerEvent(T event);
 }
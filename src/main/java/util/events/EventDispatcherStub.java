@@ -1,28 +1,30 @@
 package util.events;
 
-import com.google.common.eventbus.EventBus;
-
 /**
  * Stub class used for headless firing of events.
+ * Handlers which should run on the JavaFX thread are run on the triggering thread instead.
  * Used for testing.
  */
 public class EventDispatcherStub implements EventDispatcher {
-    EventBus eventBus;
+    private final TypedEventDispatcher dispatcher;
 
     public EventDispatcherStub() {
-        this.eventBus = new EventBus();
+        this.dispatcher = new TypedEventDispatcher(Runnable::run);
     }
 
-    public void registerEvent(EventHandler handler) {
-        eventBus.register(handler);
+    @Override
+    public void registerEvent(EventHandler handler, EventDelivery delivery) {
+        dispatcher.registerEvent(handler, delivery);
     }
 
+    @Override
     public void unregisterEvent(EventHandler handler) {
-        eventBus.unregister(handler);
+        dispatcher.unregisterEvent(handler);
     }
 
+    @Override
     public <T extends Event> void triggerEvent(T event) {
-        eventBus.post(event);
+        dispatcher.triggerEvent(event);
     }
 
 }
@@ -0,0 +1,50 @@
+package util.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How long handlers of one type of event took to run after the event was triggered, including any time spent
+ * waiting to be run on another thread, and how many events were coalesced instead of being delivered.
+ */
+public class EventStats {
+
+    private final LongAdder deliveries = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final LongAdder coalesced = new LongAdder();
+
+    void recordDelivery(long latencyNanos) {
+        deliveries.increment();
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    public long getDeliveryCount() {
+        return deliveries.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public double getMeanLatencyMillis() {
+        long count = deliveries.sum();
+        return count == 0 ? 0 : totalLatencyNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyNanos.get() / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d delivered (mean %.3fms, max %.3fms), %d coalesced",
+                             getDeliveryCount(), getMeanLatencyMillis(), getMaxLatencyMillis(),
+                             getCoalescedCount());
+    }
+}
@@ -0,0 +1,260 @@
+package util.events;
+
+import org.apache.logging.log4j.Logger;
+import util.HTLog;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Delivers events to the handlers registered for their type or any of its superclasses, each on the thread its
+ * handler was registered to run on (see {@link EventDelivery}). Handlers on the triggering thread run in order:
+ * those of the event's own type first and those of each superclass after, each in the order they were registered.
+ *
+ * Only classes are searched, not interfaces. A handler takes a subclass of {@link Event}, which is itself a class,
+ * so there can be no handler for an interface such as {@link CoalescingEvent}.
+ *
+ * The method of a handler and the type of event it takes are looked up once, when it is registered, and the
+ * handlers of each type of event are collected on its first dispatch after any registration changes, so
+ * triggering an event involves no reflection or searching.
+ *
+ * As with Guava's EventBus, events triggered by a handler running on the triggering thread are queued and
+ * delivered once it returns, and exceptions thrown by handlers are logged rather than propagated. Handlers run
+ * on other threads only receive the latest of any {@link CoalescingEvent}s which supersede each other.
+ */
+public class TypedEventDispatcher implements EventDispatcher {
+
+    private static final Logger logger = HTLog.get(TypedEventDispatcher.class);
+
+    private final Executor fxExecutor;
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Event dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this; lists are replaced rather than modified
+    private final Map<EventHandler, Registration> registrations = new HashMap<>();
+    private final Map<Class<?>, List<Registration>> handlersByType = new HashMap<>();
+
+    // The handlers of each type of event dispatched since registrations last changed, including those of supertypes
+    private volatile Map<Class<?>, List<Registration>> handlersForEvent = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, EventStats> stats = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Queue<Runnable>> sameThreadQueue = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<Boolean> isDispatching = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * @param fxExecutor runs handlers which should be run on the JavaFX thread, e.g. Platform::runLater
+     */
+    public TypedEventDispatcher(Executor fxExecutor) {
+        this.fxExecutor = fxExecutor;
+    }
+
+    @Override
+    public synchronized void registerEvent(EventHandler handler, EventDelivery delivery) {
+        if (registrations.containsKey(handler)) {
+            return;
+        }
+        Registration registration = new Registration(handler, delivery);
+        registrations.put(handler, registration);
+
+        List<Registration> handlers = new ArrayList<>(handlersByType.getOrDefault(registration.eventType,
+                                                                                  Collections.emptyList()));
+        handlers.add(registration);
+        handlersByType.put(registration.eventType, handlers);
+        handlersForEvent = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public synchronized void unregisterEvent(EventHandler handler) {
+        Registration registration = registrations.remove(handler);
+        if (registration == null) {
+            throw new IllegalArgumentException("Event handler was not registered: " + handler);
+        }
+        registration.isRegistered = false;
+
+        List<Registration> handlers = new ArrayList<>(handlersByType.get(registration.eventType));
+        handlers.remove(registration);
+        if (handlers.isEmpty()) {
+            handlersByType.remove(registration.eventType);
+        } else {
+            handlersByType.put(registration.eventType, handlers);
+        }
+        handlersForEvent = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public <T extends Event> void triggerEvent(T event) {
+        long triggeredAt = System.nanoTime();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Triggering event " + event.getClass().getSimpleName());
+        }
+
+        Queue<Runnable> queue = sameThreadQueue.get();
+        for (Registration registration : getHandlers(event.getClass())) {
+            switch (registration.delivery) {
+            case SAME_THREAD:
+                queue.add(() -> deliver(registration, event, triggeredAt));
+                break;
+            case FX_THREAD:
+                schedule(registration, event, triggeredAt, fxExecutor);
+                break;
+            default:
+                schedule(registration, event, triggeredAt, backgroundExecutor);
+                break;
+            }
+        }
+
+        if (isDispatching.get()) {
+            return;
+        }
+        isDispatching.set(true);
+        try {
+            Runnable delivery;
+            while ((delivery = queue.poll()) != null) {
+                delivery.run();
+            }
+        } finally {
+            isDispatching.set(false);
+        }
+    }
+
+    /**
+     * Returns the statistics of each type of event delivered so far, by simple class name.
+     */
+    public Map<String, EventStats> getEventStats() {
+        Map<String, EventStats> result = new TreeMap<>();
+        stats.forEach((type, typeStats) -> result.put(type.getSimpleName(), typeStats));
+        return result;
+    }
+
+    public Optional<EventStats> getEventStats(Class<? extends Event> eventType) {
+        return Optional.ofNullable(stats.get(eventType));
+    }
+
+    private List<Registration> getHandlers(Class<?> eventType) {
+        List<Registration> handlers = handlersForEvent.get(eventType);
+        return handlers != null ? handlers : collectHandlers(eventType);
+    }
+
+    /**
+     * Collects the handlers of the given type of event and its superclasses, most specific first. Interfaces are
+     * not searched, as no handler can take one.
+     */
+    private synchronized List<Registration> collectHandlers(Class<?> eventType) {
+        List<Registration> handlers = new ArrayList<>();
+        for (Class<?> type = eventType; type != null; type = type.getSuperclass()) {
+            handlers.addAll(handlersByType.getOrDefault(type, Collections.emptyList()));
+        }
+        handlersForEvent.put(eventType, handlers);
+        return handlers;
+    }
+
+    private void schedule(Registration registration, Event event, long triggeredAt, Executor executor) {
+        if (!(event instanceof CoalescingEvent)) {
+            executor.execute(() -> deliver(registration, event, triggeredAt));
+            return;
+        }
+        Object key = ((CoalescingEvent) event).getCoalescingKey();
+        if (registration.pending.put(key, new Triggered(event, triggeredAt)) != null) {
+            // The event it replaced has yet to be delivered, and this will be delivered in its place
+            getStats(event.getClass()).recordCoalesced();
+            return;
+        }
+        executor.execute(() -> {
+            Triggered latest = registration.pending.remove(key);
+            deliver(registration, latest.event, latest.triggeredAt);
+        });
+    }
+
+    private void deliver(Registration registration, Event event, long triggeredAt) {
+        if (!registration.isRegistered) {
+            return;
+        }
+        try {
+            registration.invoker.invokeExact(event);
+        } catch (Throwable e) {
+            logger.error("Handler of " + event.getClass().getSimpleName() + " threw an exception", e);
+        }
+        getStats(event.getClass()).recordDelivery(System.nanoTime() - triggeredAt);
+    }
+
+    private EventStats getStats(Class<?> eventType) {
+        return stats.computeIfAbsent(eventType, type -> new EventStats());
+    }
+
+    private static final class Registration {
+        private final Class<?> eventType;
+        private final EventDelivery delivery;
+        private final MethodHandle invoker;
+        private volatile boolean isRegistered = true;
+
+        // Coalescing events waiting to be delivered, by coalescing key
+        private final Map<Object, Triggered> pending = new ConcurrentHashMap<>();
+
+        Registration(EventHandler handler, EventDelivery delivery) {
+            Method method = findHandlerMethod(handler.getClass())
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Event handler has no method taking an event: " + handler));
+            this.eventType = method.getParameterTypes()[0];
+            this.delivery = delivery;
+            try {
+                method.setAccessible(true);
+                this.invoker = MethodHandles.lookup().unreflect(method)
+                        .bindTo(handler)
+                        .asType(MethodType.methodType(void.class, Event.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Event handler method is not accessible: " + method, e);
+            }
+        }
+
+        /**
+         * Finds the abstract method taking an event in the handler interfaces a class implements.
+         */
+        private static Optional<Method> findHandlerMethod(Class<?> handlerClass) {
+            for (Class<?> type : handlerClass.getInterfaces()) {
+                for (Method method : type.getDeclaredMethods()) {
+                    if (Modifier.isAbstract(method.getModifiers()) && method.getParameterCount() == 1
+                            && Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                        return Optional.of(method);
+                    }
+                }
+                Optional<Method> inherited = findHandlerMethod(type);
+                if (inherited.isPresent()) {
+                    return inherited;
+                }
+            }
+            return handlerClass.getSuperclass() == null
+                    ? Optional.empty()
+                    : findHandlerMethod(handlerClass.getSuperclass());
+        }
+    }
+
+    private static final class Triggered {
+        private final Event event;
+        private final long triggeredAt;
+
+        Triggered(Event event, long triggeredAt) {
+            this.event = event;
+            this.triggeredAt = triggeredAt;
+        }
+    }
+}
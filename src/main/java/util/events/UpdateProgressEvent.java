@@ -1,6 +1,6 @@
 package util.events;
 
-public class UpdateProgressEvent extends Event {
+public class UpdateProgressEvent extends Event implements CoalescingEvent {
     public final String repoId;
     public final float progress;
     public final boolean done;
@@ -17,4 +17,9 @@ public class UpdateProgressEvent extends Event {
         this.progress = 1;
         this.done = true;
     }
+
+    @Override
+    public Object getCoalescingKey() {
+        return repoId;
+    }
 }
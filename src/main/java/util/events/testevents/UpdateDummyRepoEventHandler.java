@@ -1,10 +1,8 @@
 package util.events.testevents;
 
-import com.google.common.eventbus.Subscribe;
 import util.events.EventHandler;
 
 @FunctionalInterface
 public interface UpdateDummyRepoEventHandler extends EventHandler {
-    @Subscribe
     void handle(UpdateDummyRepoEvent e);
 }
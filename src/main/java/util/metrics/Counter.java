@@ -0,0 +1,30 @@
+package util.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count of occurrences of something, such as requests made.
+ */
+public class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
@@ -0,0 +1,102 @@
+package util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The distribution of non-negative values, such as sizes or durations, from which percentiles can be read.
+ *
+ * Values are counted in buckets: one for each value below {@value #EXACT_VALUES}, then eight for each power of
+ * two, so percentiles are within 12.5% of the true value while recording takes constant time and space.
+ */
+public class Histogram {
+
+    private static final int EXACT_VALUES = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_VALUE_BITS = Integer.numberOfTrailingZeros(EXACT_VALUES);
+    private static final int BUCKETS = EXACT_VALUES + (Long.SIZE - 1 - EXACT_VALUE_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets.incrementAndGet(getBucket(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulateAndGet(clamped, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the smallest value which at least the given fraction of the recorded values do not exceed,
+     * to within the precision of the buckets, or 0 if no values were recorded.
+     */
+    public long getPercentile(double fraction) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int getBucket(long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_VALUES + (exponent - EXACT_VALUE_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketUpperBound(int bucket) {
+        if (bucket < EXACT_VALUES) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT_VALUES) / SUB_BUCKETS + EXACT_VALUE_BITS;
+        int subBucket = (bucket - EXACT_VALUES) % SUB_BUCKETS;
+        long lowerBound = (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,53 @@
+package util.metrics;
+
+/**
+ * The values of a metric at one point in time. Durations are in milliseconds.
+ */
+public class MetricSnapshot {
+
+    public final String name;
+    public final String type;
+    public final long count;
+    public final double mean;
+    public final double p50;
+    public final double p90;
+    public final double p99;
+    public final double max;
+
+    public MetricSnapshot(String name, String type, long count, double mean, double p50, double p90, double p99,
+                          double max) {
+        this.name = name;
+        this.type = type;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    static MetricSnapshot of(String name, Counter counter) {
+        return new MetricSnapshot(name, "counter", counter.getCount(), 0, 0, 0, 0, 0);
+    }
+
+    static MetricSnapshot ofGauge(String name, long value) {
+        return new MetricSnapshot(name, "gauge", value, 0, 0, 0, 0, 0);
+    }
+
+    static MetricSnapshot of(String name, Histogram histogram) {
+        return new MetricSnapshot(name, "histogram", histogram.getCount(), histogram.getMean(),
+                                  histogram.getPercentile(0.5), histogram.getPercentile(0.9),
+                                  histogram.getPercentile(0.99), histogram.getMax());
+    }
+
+    static MetricSnapshot of(String name, Timer timer) {
+        Histogram nanos = timer.getHistogram();
+        return new MetricSnapshot(name, "timer", nanos.getCount(), toMillis(nanos.getMean()),
+                                  toMillis(nanos.getPercentile(0.5)), toMillis(nanos.getPercentile(0.9)),
+                                  toMillis(nanos.getPercentile(0.99)), toMillis(nanos.getMax()));
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / 1e6;
+    }
+}
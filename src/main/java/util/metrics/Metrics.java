@@ -0,0 +1,95 @@
+package util.metrics;
+
+import com.google.gson.GsonBuilder;
+import util.FileHelper;
+import util.Version;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The application-wide registry of metrics, each identified by a dotted name such as "store.write".
+ *
+ * Metrics are created on first use and live for the rest of the session, so call sites can look them up by
+ * name each time or keep a reference. Recording is lock-free and cheap enough for hot paths.
+ */
+public final class Metrics {
+
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, unused -> new Counter());
+    }
+
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, unused -> new Timer());
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, unused -> new Histogram());
+    }
+
+    /**
+     * Registers a value which is read whenever a snapshot is taken, replacing any gauge of the same name.
+     */
+    public static void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Returns the current values of all metrics, ordered by name.
+     */
+    public static List<MetricSnapshot> getSnapshots() {
+        Map<String, MetricSnapshot> snapshots = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshots.put(name, MetricSnapshot.of(name, counter)));
+        timers.forEach((name, timer) -> snapshots.put(name, MetricSnapshot.of(name, timer)));
+        histograms.forEach((name, histogram) -> snapshots.put(name, MetricSnapshot.of(name, histogram)));
+        gauges.forEach((name, gauge) -> snapshots.put(name, MetricSnapshot.ofGauge(name, gauge.getAsLong())));
+        return new ArrayList<>(snapshots.values());
+    }
+
+    /**
+     * Clears the values of all counters, timers and histograms. Gauges are unaffected.
+     */
+    public static void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Writes the given snapshots to a JSON file, along with the time and application version, so that they
+     * can be attached to bug reports.
+     */
+    public static void exportSnapshots(List<MetricSnapshot> snapshots, String directory, String fileName)
+            throws IOException {
+        Export export = new Export(LocalDateTime.now().toString(), Version.getCurrentVersion().toString(),
+                                   snapshots);
+        FileHelper.writeFileContents(directory, fileName,
+                                     new GsonBuilder().setPrettyPrinting().create().toJson(export));
+    }
+
+    private static final class Export {
+        private final String time;
+        private final String version;
+        private final List<MetricSnapshot> metrics;
+
+        Export(String time, String version, List<MetricSnapshot> metrics) {
+            this.time = time;
+            this.version = version;
+            this.metrics = metrics;
+        }
+    }
+
+    private Metrics() {
+    }
+}
@@ -0,0 +1,63 @@
+package util.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The distribution of durations of an operation, in nanoseconds.
+ */
+public class Timer {
+
+    private final Histogram nanos = new Histogram();
+
+    Timer() {
+    }
+
+    public void record(long durationNanos) {
+        nanos.record(durationNanos);
+    }
+
+    /**
+     * Records the time from the given start, as returned by System.nanoTime, until now.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public <T> T time(Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    public void time(Runnable operation) {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    /**
+     * Starts an asynchronous operation, recording the time until the future it returns completes, whether
+     * normally or not.
+     */
+    public <T> CompletableFuture<T> timeAsync(Supplier<CompletableFuture<T>> operation) {
+        long start = System.nanoTime();
+        CompletableFuture<T> result = operation.get();
+        result.whenComplete((value, error) -> recordSince(start));
+        return result;
+    }
+
+    public Histogram getHistogram() {
+        return nanos;
+    }
+
+    void reset() {
+        nanos.reset();
+    }
+}
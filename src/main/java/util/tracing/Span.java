@@ -0,0 +1,97 @@
+package util.tracing;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A timed section of work, part of the trace of some larger operation such as a refresh.
+ *
+ * Spans started with {@link Tracer#start} are synchronous: they become the current span of the thread that
+ * started them until they are closed, on the same thread. Asynchronous spans cover work which completes
+ * elsewhere, such as a CompletableFuture, and end when it does.
+ */
+public final class Span implements AutoCloseable {
+
+    private static final AtomicLong nextId = new AtomicLong(1);
+
+    private final long id = nextId.getAndIncrement();
+    private final long traceId;
+    private final Optional<Span> parent;
+    private final String name;
+    private final Optional<String> detail;
+    private final boolean isAsync;
+    private final long threadId;
+    private final String threadName;
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    // The span that was current on the starting thread before this one, restored when a synchronous span closes
+    private final Span previous;
+
+    Span(Optional<Span> parent, String name, Optional<String> detail, boolean isAsync, Span previous) {
+        this.traceId = parent.map(Span::getTraceId).orElse(id);
+        this.parent = parent;
+        this.name = name;
+        this.detail = detail;
+        this.isAsync = isAsync;
+        this.threadId = Thread.currentThread().getId();
+        this.threadName = Thread.currentThread().getName();
+        this.previous = previous;
+    }
+
+    /**
+     * Ends the span. A synchronous span also stops being the current span of its thread.
+     */
+    @Override
+    public void close() {
+        if (endNanos != 0) {
+            return;
+        }
+        endNanos = System.nanoTime();
+        Tracer.finish(this);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getTraceId() {
+        return traceId;
+    }
+
+    public Optional<Long> getParentId() {
+        return parent.map(Span::getId);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<String> getDetail() {
+        return detail;
+    }
+
+    public boolean isAsync() {
+        return isAsync;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    Span getPrevious() {
+        return previous;
+    }
+}
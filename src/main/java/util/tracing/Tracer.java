@@ -0,0 +1,219 @@
+package util.tracing;
+
+import com.google.gson.GsonBuilder;
+import util.FileHelper;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records spans of work, keeping the most recently finished ones so that they can be exported as a timeline.
+ *
+ * Each thread has a current span, which becomes the parent of spans started on it. The current span does not
+ * follow work handed to other threads by itself: tasks submitted to executors and callbacks added to
+ * CompletableFutures should be wrapped with {@link #wrap}, which captures the current span when the task is
+ * created and makes it current again when the task runs.
+ */
+public final class Tracer {
+
+    public static final int MAX_FINISHED_SPANS = 20000;
+
+    private static final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    // Guarded by itself
+    private static final Deque<Span> finished = new ArrayDeque<>();
+
+    /**
+     * Starts a synchronous span as a child of the current span, making it current until it is closed.
+     * Should be used in a try-with-resources statement.
+     */
+    public static Span start(String name) {
+        return start(name, Optional.empty());
+    }
+
+    public static Span start(String name, Optional<String> detail) {
+        Span span = new Span(Optional.ofNullable(current.get()), name, detail, false, current.get());
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Traces an asynchronous operation: the span is current while the operation is started, so that work it
+     * hands off while starting can be wrapped as its children, and ends when the future it returns completes.
+     */
+    public static <T> CompletableFuture<T> traceAsync(String name, Optional<String> detail,
+                                                      Supplier<CompletableFuture<T>> operation) {
+        Span previous = current.get();
+        Span span = new Span(Optional.ofNullable(previous), name, detail, true, previous);
+        current.set(span);
+        CompletableFuture<T> result;
+        try {
+            result = operation.get();
+        } finally {
+            current.set(previous);
+        }
+        result.whenComplete((value, error) -> span.close());
+        return result;
+    }
+
+    public static Optional<Span> getCurrentSpan() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Returns a task which runs the given one with the span that is current now as its current span.
+     */
+    public static Runnable wrap(Runnable task) {
+        Span captured = current.get();
+        return () -> runWith(captured, task);
+    }
+
+    /**
+     * Returns a task which runs the given one in a span that is a child of the span current now.
+     */
+    public static Runnable wrap(String name, Runnable task) {
+        Span captured = current.get();
+        return () -> runWith(captured, () -> {
+            Span span = start(name);
+            try {
+                task.run();
+            } finally {
+                span.close();
+            }
+        });
+    }
+
+    public static <T, R> Function<T, R> wrap(Function<T, R> function) {
+        Span captured = current.get();
+        return input -> {
+            Span previous = current.get();
+            current.set(captured);
+            try {
+                return function.apply(input);
+            } finally {
+                current.set(previous);
+            }
+        };
+    }
+
+    private static void runWith(Span span, Runnable task) {
+        Span previous = current.get();
+        current.set(span);
+        try {
+            task.run();
+        } finally {
+            current.set(previous);
+        }
+    }
+
+    static void finish(Span span) {
+        // Also undoes any child spans left open on this thread
+        if (!span.isAsync() && span.getThreadId() == Thread.currentThread().getId()) {
+            current.set(span.getPrevious());
+        }
+        synchronized (finished) {
+            finished.addLast(span);
+            if (finished.size() > MAX_FINISHED_SPANS) {
+                finished.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Returns the most recently finished spans, in the order they finished.
+     */
+    public static List<Span> getFinishedSpans() {
+        synchronized (finished) {
+            return new ArrayList<>(finished);
+        }
+    }
+
+    public static void clear() {
+        synchronized (finished) {
+            finished.clear();
+        }
+    }
+
+    /**
+     * Writes the finished spans to a file in the Chrome trace event format, which can be opened in
+     * chrome://tracing or other trace viewers. Synchronous spans are shown on the thread they ran on;
+     * asynchronous spans each get a track of their own.
+     */
+    public static void exportChromeTrace(String directory, String fileName) throws IOException {
+        FileHelper.writeFileContents(directory, fileName,
+                                     new GsonBuilder().create().toJson(toChromeTrace(getFinishedSpans())));
+    }
+
+    static Map<String, Object> toChromeTrace(List<Span> spans) {
+        long origin = spans.stream().mapToLong(Span::getStartNanos).min().orElse(0);
+        List<Map<String, Object>> events = new ArrayList<>();
+        Map<Long, String> threadNames = new HashMap<>();
+        for (Span span : spans) {
+            Map<String, Object> args = new LinkedHashMap<>();
+            args.put("trace", span.getTraceId());
+            span.getParentId().ifPresent(parent -> args.put("parent", parent));
+            span.getDetail().ifPresent(detail -> args.put("detail", detail));
+
+            long start = toMicros(span.getStartNanos() - origin);
+            long duration = toMicros(span.getEndNanos() - span.getStartNanos());
+            if (span.isAsync()) {
+                events.add(createEvent(span, "b", start, args));
+                events.add(createEvent(span, "e", start + duration, new LinkedHashMap<>()));
+            } else {
+                Map<String, Object> event = createEvent(span, "X", start, args);
+                event.put("dur", duration);
+                events.add(event);
+            }
+            threadNames.putIfAbsent(span.getThreadId(), span.getThreadName());
+        }
+        threadNames.forEach((threadId, threadName) -> {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("name", "thread_name");
+            event.put("ph", "M");
+            event.put("pid", 1);
+            event.put("tid", threadId);
+            Map<String, Object> args = new LinkedHashMap<>();
+            args.put("name", threadName);
+            event.put("args", args);
+            events.add(event);
+        });
+
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("traceEvents", events);
+        trace.put("displayTimeUnit", "ms");
+        return trace;
+    }
+
+    private static Map<String, Object> createEvent(Span span, String phase, long timestamp,
+                                                   Map<String, Object> args) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", span.getName());
+        event.put("cat", span.isAsync() ? "async" : "sync");
+        event.put("ph", phase);
+        event.put("ts", timestamp);
+        event.put("pid", 1);
+        event.put("tid", span.getThreadId());
+        if (span.isAsync()) {
+            event.put("id", Long.toHexString(span.getId()));
+        }
+        event.put("args", args);
+        return event;
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1000;
+    }
+
+    private Tracer() {
+    }
+}
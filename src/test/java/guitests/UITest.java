@@ -50,6 +50,7 @@ import javafx.scene.input.KeyCombination;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.FlowPane;
 import javafx.stage.Stage;
+import prefs.Preferences;
 import ui.IdGenerator;
 import ui.MenuControl;
 import ui.TestController;
@@ -139,7 +140,9 @@ public class UITest extends FxRobot {
                 .filter(Files::isRegularFile)
                 .filter(p ->
                     getFileExtension(String.valueOf(p.getFileName())).equalsIgnoreCase("json") ||
-                        getFileExtension(String.valueOf(p.getFileName())).equalsIgnoreCase("json-err")
+                        getFileExtension(String.valueOf(p.getFileName())).equalsIgnoreCase("json-err") ||
+                        getFileExtension(String.valueOf(p.getFileName())).equalsIgnoreCase("metadata") ||
+                        getFileExtension(String.valueOf(p.getFileName())).equalsIgnoreCase("lock")
                 )
                 .forEach(p -> new File(p.toAbsolutePath().toString()).delete());
         } catch (IOException e) {
@@ -150,6 +153,8 @@ public class UITest extends FxRobot {
     public static void clearAllTestConfigs() {
         clearTestConfig(TestController.TEST_DIRECTORY, TestController.TEST_SESSION_CONFIG_FILENAME);
         clearTestConfig(TestController.TEST_DIRECTORY, TestController.TEST_USER_CONFIG_FILENAME);
+        clearTestConfig(TestController.TEST_DIRECTORY,
+                        Preferences.getReadStateFileName(TestController.TEST_SESSION_CONFIG_FILENAME));
     }
 
     private static void clearTestConfig(String directory, String filename) {
@@ -0,0 +1,128 @@
+package tests;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ui.components.AvatarCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AvatarCacheTests {
+
+    private static final String ETAG = "\"avatar-1\"";
+    private static final byte[] AVATAR = "avatar".getBytes(StandardCharsets.UTF_8);
+
+    private final List<Optional<String>> requestETags = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger brokenRequests = new AtomicInteger();
+
+    private HttpServer server;
+    private Path directory;
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/avatar", exchange -> {
+            Optional<String> eTag = Optional.ofNullable(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            requestETags.add(eTag);
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            if (eTag.isPresent() && eTag.get().equals(ETAG)) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+            } else {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, AVATAR.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(AVATAR);
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/broken", exchange -> {
+            brokenRequests.incrementAndGet();
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_FOUND, -1);
+            exchange.close();
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/avatar";
+        directory = Files.createTempDirectory("avatars");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.stop(0);
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    public void getEncoded_freshOnDisk_notDownloadedAgain() {
+        assertArrayEquals(AVATAR, new AvatarCache(directory, 1).getEncoded(url).get());
+
+        // Another instance sharing the directory uses the stored copy
+        assertArrayEquals(AVATAR, new AvatarCache(directory, 1).getEncoded(url).get());
+        assertEquals(1, requestETags.size());
+        assertFalse(requestETags.get(0).isPresent());
+    }
+
+    @Test
+    public void getEncoded_staleOnDisk_revalidated() throws IOException {
+        AvatarCache cache = new AvatarCache(directory, 1);
+        cache.getEncoded(url);
+        makeStale();
+
+        assertArrayEquals(AVATAR, cache.getEncoded(url).get());
+        assertEquals(2, requestETags.size());
+        assertEquals(Optional.of(ETAG), requestETags.get(1));
+
+        // Revalidating makes the stored copy fresh again
+        cache.getEncoded(url);
+        assertEquals(2, requestETags.size());
+    }
+
+    @Test
+    public void getEncoded_serverUnreachable_staleCopyUsed() throws IOException {
+        AvatarCache cache = new AvatarCache(directory, 1);
+        cache.getEncoded(url);
+        makeStale();
+        server.stop(0);
+
+        assertArrayEquals(AVATAR, cache.getEncoded(url).get());
+        assertFalse(cache.getEncoded(url + "/missing").isPresent());
+    }
+
+    @Test
+    public void getAvatar_failed_notRequestedAgain() {
+        AvatarCache cache = new AvatarCache(directory, 1);
+        String brokenUrl = "http://localhost:" + server.getAddress().getPort() + "/broken";
+
+        assertFalse(cache.getAvatar(brokenUrl, 12).join().isPresent());
+        assertFalse(cache.getAvatar(brokenUrl, 12).join().isPresent());
+        assertEquals(1, brokenRequests.get());
+    }
+
+    private void makeStale() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+            }
+        }
+    }
+}
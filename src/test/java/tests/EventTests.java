@@ -1,92 +1,96 @@
 package tests;
 
-import com.google.common.eventbus.EventBus;
 import org.junit.Test;
 import util.events.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 
 public class EventTests {
 
-    private final EventBus events = new EventBus();
+    private final TypedEventDispatcher events = new TypedEventDispatcher(Runnable::run);
+
+    // Handlers report here rather than asserting, as the dispatcher logs and swallows what they throw
+    private final List<String> handled = new ArrayList<>();
 
-    private final EventHandler succeed2 = (IssueSelectedEventHandler) e -> assertTrue(true);
-    private final EventHandler fail2 = (IssueSelectedEventHandler) e -> fail("IssueSelectedEventHandler failed");
-    private final EventHandler succeed1 = (BoardSavedEventHandler) e -> assertTrue(true);
-    private final EventHandler fail1 = (BoardSavedEventHandler) e -> fail("BoardSavedEventHandler failed");
+    private final EventHandler succeed2 = (IssueSelectedEventHandler) e -> handled.add("succeed2");
+    private final EventHandler fail2 = (IssueSelectedEventHandler) e -> handled.add("fail2");
+    private final EventHandler succeed1 = (BoardSavedEventHandler) e -> handled.add("succeed1");
+    private final EventHandler fail1 = (BoardSavedEventHandler) e -> handled.add("fail1");
 
     @Test
     public void basics() {
         // Ensure that the right handler is triggered
-        events.register(fail2);
-        events.register(succeed1);
+        events.registerEvent(fail2);
+        events.registerEvent(succeed1);
 
         BoardSavedEvent te = new BoardSavedEvent();
         IssueSelectedEvent te2 = new IssueSelectedEvent("", 1, 2, false);
 
-        events.post(te);
+        events.triggerEvent(te);
+        assertEquals(Arrays.asList("succeed1"), handled);
 
         // Remove handlers before next test
-        events.unregister(fail2);
-        events.unregister(succeed1);
+        events.unregisterEvent(fail2);
+        events.unregisterEvent(succeed1);
 
         // Attempts to unregister handlers which aren't registered to begin with
         try {
-            events.unregister(fail1);
+            events.unregisterEvent(fail1);
             fail("Cannot unregister event handler which hasn't been registered");
         } catch (IllegalArgumentException e) {
         }
         try {
-            events.unregister(succeed2);
+            events.unregisterEvent(succeed2);
             fail("Cannot unregister event handler which hasn't been registered");
         } catch (IllegalArgumentException e) {
         }
 
         // Try the other event
-        events.register(fail1);
-        events.register(succeed2);
+        handled.clear();
+        events.registerEvent(fail1);
+        events.registerEvent(succeed2);
 
-        events.post(te2);
+        events.triggerEvent(te2);
+        assertEquals(Arrays.asList("succeed2"), handled);
 
-        events.unregister(fail1);
-        events.unregister(succeed2);
+        events.unregisterEvent(fail1);
+        events.unregisterEvent(succeed2);
 
         // Try both
-        events.register(succeed1);
-        events.register(succeed2);
+        handled.clear();
+        events.registerEvent(succeed1);
+        events.registerEvent(succeed2);
 
-        events.post(te);
-        events.post(te2);
+        events.triggerEvent(te);
+        events.triggerEvent(te2);
+        assertEquals(Arrays.asList("succeed1", "succeed2"), handled);
     }
 
     @Test
     public void testSuperclassHandlerOnSubclassEvent() {
-        EventBus eventsSuperSub = new EventBus();
-
-        final EventHandler superclassHandlerSucceed = (UnusedStoredReposChangedEventHandler) e -> assertTrue(true);
-        final EventHandler subclassHandlerSucceed = (PrimaryRepoOpenedEventHandler) e -> assertTrue(true);
-        final EventHandler subclassHandlerFail =
-                (PrimaryRepoOpenedEventHandler) e -> fail("PrimaryRepoOpenedEventHandler failed");
+        final EventHandler superclassHandler = (UnusedStoredReposChangedEventHandler) e -> handled.add("superclass");
+        final EventHandler subclassHandler = (PrimaryRepoOpenedEventHandler) e -> handled.add("subclass");
 
         // Dispatch superclass event, ensure subclass handler doesn't fire
-        eventsSuperSub.register(superclassHandlerSucceed);
-        eventsSuperSub.register(subclassHandlerFail);
-
-        UnusedStoredReposChangedEvent superclassEvent = new UnusedStoredReposChangedEvent();
-
-        eventsSuperSub.post(superclassEvent);
-
-        eventsSuperSub.unregister(superclassHandlerSucceed);
-        eventsSuperSub.unregister(subclassHandlerFail);
-
-        // Dispatch subclass event, ensure both handler fire
-        eventsSuperSub.register(superclassHandlerSucceed);
-        eventsSuperSub.register(subclassHandlerSucceed);
-
-        PrimaryRepoOpenedEvent subclassEvent = new PrimaryRepoOpenedEvent();
-
-        eventsSuperSub.post(subclassEvent);
+        events.registerEvent(superclassHandler);
+        events.registerEvent(subclassHandler);
+
+        events.triggerEvent(new UnusedStoredReposChangedEvent());
+        assertEquals(Arrays.asList("superclass"), handled);
+
+        // Dispatch subclass event, ensure both handlers fire
+        handled.clear();
+        events.triggerEvent(new PrimaryRepoOpenedEvent());
+        Collections.sort(handled);
+        assertEquals(Arrays.asList("subclass", "superclass"), handled);
+        assertTrue(events.getEventStats(PrimaryRepoOpenedEvent.class).isPresent());
     }
 }
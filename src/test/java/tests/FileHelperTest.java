@@ -74,4 +74,11 @@ public class FileHelperTest {
         FileHelper.writeFileContents(TEST_FOLDER, TEST_FILE_NAME, fileContents);
         assertEquals(fileContents, FileUtils.readFileToString(new File(TEST_FOLDER, TEST_FILE_NAME)));
     }
+
+    @Test
+    public void appendFileContents_newAndExistingFile_contentsAppended() throws IOException {
+        FileHelper.appendFileContents(TEST_FOLDER, TEST_FILE_NAME, "first line\n");
+        FileHelper.appendFileContents(TEST_FOLDER, TEST_FILE_NAME, "second line\n");
+        assertEquals("first line\nsecond line\n", FileUtils.readFileToString(new File(TEST_FOLDER, TEST_FILE_NAME)));
+    }
 }
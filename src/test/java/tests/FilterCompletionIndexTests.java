@@ -0,0 +1,116 @@
+package tests;
+
+import backend.resource.Model;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import org.junit.Test;
+import ui.components.CompletionIndex;
+import ui.components.FilterCompletionIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FilterCompletionIndexTests {
+
+    private static final String REPO_ID = "test/test";
+
+    @Test
+    public void getCompletions_rankedByMatchKind() {
+        CompletionIndex index = new CompletionIndex();
+        index.setWords("first", Arrays.asList("type.bug", "Bugfix", "debug", "priority.high"));
+        index.setWords("second", Arrays.asList("bugs", "no-bug"));
+
+        assertEquals(Arrays.asList("Bugfix", "bugs", "type.bug", "no-bug", "debug"),
+                     index.getCompletions("bug", 10));
+        assertEquals(Arrays.asList("Bugfix", "bugs"), index.getCompletions("BUG", 2));
+        assertEquals(Arrays.asList("bugs", "no-bug"), index.getCompletions("bug", 10, "second"::equals));
+        assertEquals(6, index.getCompletions("", 10).size());
+    }
+
+    @Test
+    public void setWords_unchangedWords_notRebuilt() {
+        CompletionIndex index = new CompletionIndex();
+        assertTrue(index.setWords("source", Arrays.asList("a", "b")));
+        assertFalse(index.setWords("source", Arrays.asList("b", "a")));
+        assertTrue(index.setWords("source", Collections.singletonList("a")));
+        assertEquals(Collections.singletonList("a"), index.getCompletions("", 10));
+    }
+
+    @Test
+    public void getCompletions_keywordsAndModelVocabulary() {
+        FilterCompletionIndex index = new FilterCompletionIndex();
+        index.updateVocabulary(Collections.singletonList(createModel()));
+
+        List<String> completions = index.getCompletions("a", Optional.empty(), 20);
+        assertEquals(Arrays.asList("assignee", "author"), completions.subList(0, 2));
+        assertTrue(completions.contains("alice"));
+
+        assertEquals(Arrays.asList("\"good first issue\"", "type.bug"),
+                     index.getCompletions("", Optional.of("label"), 20));
+        assertEquals(Collections.singletonList("\"good first issue\""),
+                     index.getCompletions("fir", Optional.of("labels"), 20));
+        assertEquals(Collections.singletonList("alice"), index.getCompletions("a", Optional.of("creator"), 20));
+        assertEquals(Collections.singletonList("V0.1"), index.getCompletions("v", Optional.of("milestone"), 20));
+        assertEquals(Collections.singletonList(REPO_ID), index.getCompletions("te", Optional.of("repo"), 20));
+
+        index.updateVocabulary(Collections.emptyList());
+        assertTrue(index.getCompletions("", Optional.of("label"), 20).isEmpty());
+        assertFalse(index.getCompletions("a", Optional.empty(), 20).contains("alice"));
+    }
+
+    @Test
+    public void getCompletions_keywordsOverlay_replacesKeywordsForThatCallerOnly() {
+        FilterCompletionIndex index = new FilterCompletionIndex();
+        index.updateVocabulary(Collections.singletonList(createModel()));
+        CompletionIndex keywords = FilterCompletionIndex.createKeywords(Arrays.asList("apple", "banana"));
+
+        List<String> completions = index.getCompletions("a", Optional.empty(), 20, keywords);
+        assertEquals("apple", completions.get(0));
+        assertTrue(completions.contains("alice"));
+        assertFalse(completions.contains("assignee"));
+        assertEquals(Collections.singletonList("alice"),
+                     index.getCompletions("a", Optional.of("author"), 20, keywords));
+
+        // The shared index keeps its keywords
+        assertEquals(Arrays.asList("assignee", "author"),
+                     index.getCompletions("a", Optional.empty(), 20).subList(0, 2));
+    }
+
+    @Test
+    public void getCompletions_manyLabels_fast() {
+        CompletionIndex index = new CompletionIndex();
+        for (int repo = 0; repo < 10; repo++) {
+            List<String> labels = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                labels.add("group" + i % 50 + ".label" + i);
+            }
+            index.setWords("labels:" + repo, labels);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            index.getCompletions("label9", 20);
+        }
+        long averageMicros = (System.nanoTime() - start) / 100 / 1000;
+
+        assertEquals(20, index.getCompletions("label9", 20).size());
+        assertTrue("Took " + averageMicros + "us", averageMicros < 5000);
+    }
+
+    private static Model createModel() {
+        TurboMilestone milestone = new TurboMilestone(REPO_ID, 1, "V0.1");
+        return new Model(REPO_ID, new ArrayList<>(),
+                         Arrays.asList(new TurboLabel(REPO_ID, "type.bug"),
+                                       new TurboLabel(REPO_ID, "good first issue")),
+                         Collections.singletonList(milestone),
+                         Collections.singletonList(new TurboUser(REPO_ID, "alice")));
+    }
+}
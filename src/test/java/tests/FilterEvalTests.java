@@ -20,6 +20,7 @@ import filter.ParseException;
 import filter.Parser;
 import filter.SemanticException;
 import filter.expression.FilterExpression;
+import filter.expression.LabelPattern;
 import filter.expression.Qualifier;
 import filter.expression.QualifierType;
 import prefs.Preferences;
@@ -830,6 +831,20 @@ public class FilterEvalTests {
         assertFalse(Qualifier.labelMatches(".", "p.high"));
     }
 
+    @Test
+    public void labelPattern_matchLabels_sameResultsAsLabelMatches() {
+        LabelPattern pattern = new LabelPattern("PRI.hi");
+        List<TurboLabel> labels = Arrays.asList(new TurboLabel(REPO, "priority.high"),
+                                                new TurboLabel(REPO, "P.high"),
+                                                new TurboLabel(REPO, "Priority-HIGHER"),
+                                                new TurboLabel(REPO, "high"));
+        for (TurboLabel label : labels) {
+            assertEquals(Qualifier.labelMatches("PRI.hi", label.getFullName()), pattern.matches(label));
+        }
+        assertTrue(pattern.matches(labels.get(2)));
+        assertFalse(pattern.matches(labels.get(3)));
+    }
+
     @Test
     public void processQualifier_useInvalidUsername_getUsernameWarning() {
         TurboUser user = new TurboUser(REPO, "fox", "charlie");
@@ -113,6 +113,46 @@ public class FilterLexerTests {
         assertFalse(tokenise("id:-/#1").contains(new Token(TokenType.COMPOUND_ID_PREFIX, "test/#")));
     }
 
+    @Test
+    public void lex_rulePriority_firstMatchingRuleWins() {
+
+        assertEquals(tokenise("ANDROID created:2015-1-12 2015-123 a - b"), Arrays.asList(
+                new Token(TokenType.AND, "AND"),
+                new Token(TokenType.SYMBOL, "ROID"),
+                new Token(TokenType.QUALIFIER, "created:"),
+                new Token(TokenType.DATE, "2015-1-12"),
+                new Token(TokenType.SYMBOL, "2015-123"),
+                new Token(TokenType.SYMBOL, "a"),
+                new Token(TokenType.NOT, "-"),
+                new Token(TokenType.SYMBOL, "b"),
+                new Token(TokenType.EOF, "")));
+
+        assertEquals(tokenise("updated:<=24 &&|| a..b \"some text\"*"), Arrays.asList(
+                new Token(TokenType.QUALIFIER, "updated:"),
+                new Token(TokenType.LTE, "<="),
+                new Token(TokenType.SYMBOL, "24"),
+                new Token(TokenType.AND, "&&"),
+                new Token(TokenType.OR, "||"),
+                new Token(TokenType.SYMBOL, "a..b"),
+                new Token(TokenType.QUOTED_CONTENT, "\"some text\""),
+                new Token(TokenType.STAR, "*"),
+                new Token(TokenType.EOF, "")));
+    }
+
+    @Test
+    public void lex_whitespaceInQualifier_tokenIncludesWhitespace() {
+
+        assertEquals(tokenise(" label \t: a\n"), Arrays.asList(
+                new Token(TokenType.QUALIFIER, "label \t:"),
+                new Token(TokenType.SYMBOL, "a"),
+                new Token(TokenType.EOF, "")));
+    }
+
+    @Test(expected = ParseException.class)
+    public void lex_unterminatedQuote_throwParseException() {
+        tokenise("title:\"unterminated");
+    }
+
     /**
      * @param query
      * @return list of tokens after lexing
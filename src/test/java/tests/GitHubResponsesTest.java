@@ -4,17 +4,18 @@ import github.GitHubEventsResponse;
 import github.IssueEventType;
 import github.TurboIssueEvent;
 import org.apache.commons.io.IOUtils;
-import org.eclipse.egit.github.core.IssueEvent;
-import org.eclipse.egit.github.core.User;
+import org.apache.commons.io.input.NullInputStream;
 import org.eclipse.egit.github.core.client.GitHubResponse;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Ensures the conversion from GitHub responses' body to HubTurbo resource objects are correct.
@@ -23,20 +24,8 @@ public class GitHubResponsesTest {
 
     @Test
     public void gitHubEventsResponseConstructorTest() throws IOException {
-        // Must match the details in eventsResponseJson of gitHubEventsResponseJsonStream.
-        IssueEvent testNonSelfEvent = new IssueEvent()
-                .setActor(new User().setLogin("test-nonself"))
-                .setCreatedAt(new Date())
-                .setEvent("renamed");
-        IssueEvent testSelfEvent = new IssueEvent()
-                .setActor(new User().setLogin("test"))
-                .setCreatedAt(new Date())
-                .setEvent("milestoned");
-        IssueEvent[] testEvents = { testNonSelfEvent, testSelfEvent };
-
-        // We parse the input stream string here.
-        GitHubResponse testResponse = new GitHubResponse(null, testEvents);
-        GitHubEventsResponse testEventsResponse = new GitHubEventsResponse(testResponse,
+        // The events and their details are all read from the JSON body
+        GitHubEventsResponse testEventsResponse = new GitHubEventsResponse(new GitHubResponse(null, null),
                                                                            gitHubEventsResponseJsonStream(),
                                                                            "");
         List<TurboIssueEvent> issueEvents = testEventsResponse.getTurboIssueEvents();
@@ -44,10 +33,51 @@ public class GitHubResponsesTest {
         // Will fail if the GitHubEventsResponse constructor doesn't parse properly.
         assertEquals(2, issueEvents.size());
         assertEquals(IssueEventType.Renamed, issueEvents.get(0).getType());
+        assertEquals("test-nonself", issueEvents.get(0).getActor().getLogin());
         assertEquals("test issue 1", issueEvents.get(0).getRenamedFrom());
         assertEquals("test issue 1.1", issueEvents.get(0).getRenamedTo());
         assertEquals(IssueEventType.Milestoned, issueEvents.get(1).getType());
+        assertEquals("test", issueEvents.get(1).getActor().getLogin());
         assertEquals("3.0.0", issueEvents.get(1).getMilestoneTitle());
+        assertEquals(Date.from(Instant.parse("2015-06-12T02:24:14Z")), issueEvents.get(1).getDate());
+    }
+
+    @Test
+    public void gitHubEventsResponse_parametersBeforeTypeAndNestedObjects_parsed() throws IOException {
+        String json = "[{\"label\":{\"name\":\"type.bug\",\"color\":\"ff0000\"},"
+                + "\"issue\":{\"number\":1,\"labels\":[{\"name\":\"x\"}],\"milestone\":null},"
+                + "\"actor\":{\"login\":\"alice\",\"avatar_url\":\"http://a\"},"
+                + "\"event\":\"labeled\",\"created_at\":\"2015-06-12T02:24:14Z\"},"
+                + "{\"event\":\"assigned\",\"created_at\":\"2015-06-12T02:24:15Z\",\"actor\":null,"
+                + "\"assignee\":{\"login\":\"bob\"}}]";
+        List<TurboIssueEvent> issueEvents = new GitHubEventsResponse(new GitHubResponse(null, null),
+                                                                     IOUtils.toInputStream(json, "UTF-8"), "")
+                .getTurboIssueEvents();
+
+        assertEquals(2, issueEvents.size());
+        assertEquals("type.bug", issueEvents.get(0).getLabelName());
+        assertEquals("ff0000", issueEvents.get(0).getLabelColour());
+        assertEquals("http://a", issueEvents.get(0).getActor().getAvatarUrl());
+        assertEquals(IssueEventType.Assigned, issueEvents.get(1).getType());
+        assertEquals("bob", issueEvents.get(1).getAssignedUser().getLogin());
+    }
+
+    @Test
+    public void gitHubEventsResponse_emptyBody_noEvents() throws IOException {
+        assertTrue(new GitHubEventsResponse(new GitHubResponse(null, null), new NullInputStream(0), "")
+                           .getTurboIssueEvents().isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void gitHubEventsResponse_truncatedBody_throws() throws IOException {
+        String json = "[{\"event\":\"closed\",\"created_at\":\"2015-06-12T02:24:14Z\"},{\"event\":\"reop";
+        new GitHubEventsResponse(new GitHubResponse(null, null), IOUtils.toInputStream(json, "UTF-8"), "etag");
+    }
+
+    @Test(expected = IOException.class)
+    public void gitHubEventsResponse_eventWithoutType_throws() throws IOException {
+        String json = "[{\"created_at\":\"2015-06-12T02:24:14Z\"}]";
+        new GitHubEventsResponse(new GitHubResponse(null, null), IOUtils.toInputStream(json, "UTF-8"), "etag");
     }
 
     /**
@@ -0,0 +1,45 @@
+package tests;
+
+import filter.IncrementalParser;
+import filter.ParseException;
+import filter.Parser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalParserTests {
+
+    private static final String FILTER = "(label:type.bug OR label:\"type feature\") -is:closed "
+            + "created:2015-3-15..* id:test/test#12 updated:<=24 sort:~updated, id";
+
+    @Test
+    public void check_typedOneCharacterAtATime_sameAsFullCheck() {
+        IncrementalParser parser = new IncrementalParser();
+        for (int i = 0; i <= FILTER.length(); i++) {
+            String input = FILTER.substring(0, i);
+            assertEquals(input, Parser.check(input), parser.check(input));
+        }
+        assertEquals(Parser.parse(FILTER), parser.parse(FILTER));
+    }
+
+    @Test
+    public void check_editedInMiddleAndDeleted_sameAsFullCheck() {
+        IncrementalParser parser = new IncrementalParser();
+        assertTrue(parser.check("label:a OR b"));
+        assertFalse(parser.check("label:a OR b ^"));
+        assertTrue(parser.check("label:a OR b"));
+        assertTrue(parser.check("label:a OR"));
+        assertTrue(parser.check("label:a OR c"));
+        assertFalse(parser.check("label:a OR )"));
+        assertEquals(Parser.parse("label:a ANDc"), parser.parse("label:a ANDc"));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_incompleteInput_throwParseException() {
+        IncrementalParser parser = new IncrementalParser();
+        assertTrue(parser.check("label:"));
+        parser.parse("label:");
+    }
+}
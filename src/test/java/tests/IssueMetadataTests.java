@@ -1,6 +1,8 @@
 package tests;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -36,11 +38,26 @@ public class IssueMetadataTests {
         assertEquals(3, metadata.getEvents().size());
         assertEquals(3, metadata.getComments().size());
 
-        metadata.getEvents().addAll(stubEvents());
-        metadata.getComments().addAll(stubComments());
+        try {
+            metadata.getEvents().addAll(stubEvents());
+            fail("Events of metadata were changed");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+        try {
+            metadata.getComments().addAll(stubComments());
+            fail("Comments of metadata were changed");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
 
         assertEquals(3, metadata.getEvents().size());
         assertEquals(3, metadata.getComments().size());
+
+        // Derived instances share the lists rather than copying them
+        IssueMetadata full = metadata.full("test");
+        assertSame(metadata.getEvents(), full.getEvents());
+        assertSame(metadata.getComments(), full.invalidate().getComments());
     }
 
     @Test
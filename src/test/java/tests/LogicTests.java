@@ -6,6 +6,7 @@ import backend.UIManager;
 import backend.resource.Model;
 import backend.resource.MultiModel;
 import backend.resource.TurboIssue;
+import filter.Parser;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -13,15 +14,19 @@ import org.junit.rules.ExpectedException;
 import org.mockito.InOrder;
 import prefs.Preferences;
 import ui.UI;
+import ui.components.StatusUIStub;
+import ui.issuepanel.FilterPanel;
 import util.events.EventDispatcher;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -35,6 +40,7 @@ public class LogicTests {
     private final Logic logic;
     private final RepoIO mockedRepoIO;
     private final MultiModel mockedMultiModel;
+    private final UIManager mockedUIManager;
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -43,11 +49,13 @@ public class LogicTests {
         Preferences mockedPreferences = mock(Preferences.class);
         when(mockedPreferences.getLastViewedRepository()).thenReturn(Optional.empty());
         UI.events = mock(EventDispatcher.class);
+        UI.status = new StatusUIStub();
 
         mockedRepoIO = mock(RepoIO.class);
         mockedMultiModel = mock(MultiModel.class);
+        mockedUIManager = mock(UIManager.class);
 
-        logic = new Logic(mock(UIManager.class), mockedPreferences,
+        logic = new Logic(mockedUIManager, mockedPreferences,
                           Optional.of(mockedRepoIO), Optional.of(mockedMultiModel));
     }
 
@@ -55,6 +63,7 @@ public class LogicTests {
     public void resetMockedObjects() {
         reset(mockedRepoIO);
         reset(mockedMultiModel);
+        reset(mockedUIManager);
     }
 
     /**
@@ -479,6 +488,58 @@ public class LogicTests {
                 .replaceIssueAssignee(anyString(), anyInt(), any(Optional.class));
     }
 
+    /**
+     * Tests that openRepositoriesFromStore loads only stored repositories, without downloading them,
+     * and skips those which fail to load
+     */
+    @Test
+    public void openRepositoriesFromStore_storedRepos_loadedWithoutDownloading()
+            throws ExecutionException, InterruptedException {
+        Model stored = new Model("dummy/stored");
+        CompletableFuture<Model> failedLoad = new CompletableFuture<>();
+        failedLoad.completeExceptionally(new RuntimeException("corrupted"));
+        when(mockedRepoIO.getStoredRepos()).thenReturn(Arrays.asList("dummy/stored", "dummy/broken"));
+        when(mockedRepoIO.loadRepositoryFromStore("dummy/stored"))
+                .thenReturn(CompletableFuture.completedFuture(stored));
+        when(mockedRepoIO.loadRepositoryFromStore("dummy/broken")).thenReturn(failedLoad);
+
+        List<Model> loaded = logic.openRepositoriesFromStore(
+                new HashSet<>(Arrays.asList("dummy/STORED", "dummy/broken", "dummy/notStored"))).get();
+
+        assertEquals(Arrays.asList(stored), loaded);
+        verify(mockedMultiModel).addPending(stored);
+        verify(mockedMultiModel).removePendingRepository("dummy/broken");
+        verify(mockedRepoIO, never()).loadRepositoryFromStore("dummy/notStored");
+        verify(mockedRepoIO, never()).openRepository(anyString());
+        verify(mockedRepoIO, never()).updateModel(any(Model.class), anyBoolean());
+    }
+
+    /**
+     * Tests that refreshing panels while showing stored repositories before logging in does not retrieve
+     * metadata, and that it is retrieved once logged in
+     */
+    @Test
+    public void openPrimaryRepository_beforeLogin_noMetadataRequested() {
+        TurboIssue issue = new TurboIssue("dummy/dummy", 1, "stored");
+        FilterPanel panel = mock(FilterPanel.class);
+        when(panel.getCurrentFilterExpression()).thenReturn(Parser.parse("updated:24"));
+        when(mockedUIManager.getAllPanels()).thenReturn(Arrays.asList(panel));
+        when(mockedMultiModel.getIssues()).thenReturn(Arrays.asList(issue));
+        when(mockedMultiModel.getDefaultRepo()).thenReturn("dummy/dummy");
+        when(mockedMultiModel.isRepositoryPending("dummy/dummy")).thenReturn(true);
+        when(mockedRepoIO.getIssueMetadata(anyString(), anyListOf(TurboIssue.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        logic.setShowingStoredReposBeforeLogin(true);
+        logic.openPrimaryRepository("dummy/dummy");
+        verify(mockedRepoIO, never()).getIssueMetadata(anyString(), anyListOf(TurboIssue.class));
+        verify(mockedUIManager).update(any(), any());
+
+        logic.setShowingStoredReposBeforeLogin(false);
+        logic.openPrimaryRepository("dummy/dummy");
+        verify(mockedRepoIO).getIssueMetadata("dummy/dummy", Arrays.asList(issue));
+    }
+
     private void mockRepoIOReplaceIssueLabelsResult(boolean replaceResult) {
         when(mockedRepoIO.replaceIssueLabels(any(TurboIssue.class), anyListOf(String.class)))
                 .thenReturn(CompletableFuture.completedFuture(replaceResult));
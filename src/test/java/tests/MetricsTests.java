@@ -0,0 +1,86 @@
+package tests;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Test;
+import util.metrics.Histogram;
+import util.metrics.MetricSnapshot;
+import util.metrics.Metrics;
+import util.metrics.Timer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTests {
+
+    private static final String TEST_FOLDER = "metricstest";
+
+    @After
+    public void removeTestFolder() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_FOLDER));
+    }
+
+    @Test
+    public void histogram_uniformValues_percentilesWithinPrecision() {
+        Histogram histogram = Metrics.histogram("test.uniform");
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10000, histogram.getCount());
+        assertEquals(5000.5, histogram.getMean(), 1e-9);
+        assertEquals(10000, histogram.getMax());
+        assertWithin(5000, histogram.getPercentile(0.5));
+        assertWithin(9000, histogram.getPercentile(0.9));
+        assertWithin(9900, histogram.getPercentile(0.99));
+        assertEquals(10000, histogram.getPercentile(1));
+    }
+
+    @Test
+    public void histogram_smallValues_exact() {
+        Histogram histogram = Metrics.histogram("test.small");
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-1);
+        assertEquals(0, histogram.getPercentile(0.2));
+        assertEquals(3, histogram.getPercentile(0.5));
+        assertEquals(7, histogram.getPercentile(0.9));
+    }
+
+    @Test
+    public void timer_asyncOperation_recordedOnCompletion() {
+        Timer timer = Metrics.timer("test.async");
+        CompletableFuture<String> future = new CompletableFuture<>();
+        timer.timeAsync(() -> future);
+        assertEquals(0, timer.getHistogram().getCount());
+        future.complete("done");
+        assertEquals(1, timer.getHistogram().getCount());
+    }
+
+    @Test
+    public void exportSnapshots_allMetricsWritten() throws IOException {
+        Metrics.counter("test.exported").add(42);
+        Metrics.gauge("test.gauge", () -> 7);
+        List<MetricSnapshot> snapshots = Metrics.getSnapshots();
+        List<String> names = snapshots.stream().map(snapshot -> snapshot.name).collect(Collectors.toList());
+        assertTrue(names.contains("test.exported"));
+        assertEquals(names.stream().sorted().collect(Collectors.toList()), names);
+
+        Metrics.exportSnapshots(snapshots, TEST_FOLDER, "metrics.json");
+        String json = new String(Files.readAllBytes(Paths.get(TEST_FOLDER, "metrics.json")), "UTF-8");
+        assertTrue(json.contains("\"name\": \"test.exported\""));
+        assertTrue(json.contains("\"count\": 42"));
+        assertTrue(json.contains("\"type\": \"gauge\""));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " is not within 12.5% of " + expected, Math.abs(actual - expected) <= expected / 8);
+    }
+}
@@ -11,8 +11,10 @@ import org.junit.Test;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ModelTests {
 
@@ -51,20 +53,29 @@ public class ModelTests {
     @Test
     public void immutability() {
         Model other = new Model(modelUpdated);
-        other.getIssues().add(new TurboIssue(REPO, 11, ""));
+        assertUnmodifiable(() -> other.getIssues().add(new TurboIssue(REPO, 11, "")));
+        assertUnmodifiable(() -> other.getLabels().add(new TurboLabel(REPO, "aksdjl")));
+        assertUnmodifiable(() -> other.getMilestones().add(new TurboMilestone(REPO, 11, "")));
+        assertUnmodifiable(() -> other.getUsers().add(new TurboUser(REPO, "")));
         assertEquals(modelUpdated, other);
 
-        other = new Model(modelUpdated);
-        other.getLabels().add(new TurboLabel(REPO, "aksdjl"));
-        assertEquals(modelUpdated, other);
-
-        other = new Model(modelUpdated);
-        other.getMilestones().add(new TurboMilestone(REPO, 11, ""));
-        assertEquals(modelUpdated, other);
+        // Lists given to a model are copied, as they may be changed later
+        List<TurboIssue> issues = new ArrayList<>(modelUpdated.getIssues());
+        Model model = new Model(REPO, issues, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        issues.add(new TurboIssue(REPO, 11, ""));
+        assertEquals(modelUpdated.getIssues(), model.getIssues());
+    }
 
-        other = new Model(modelUpdated);
-        other.getUsers().add(new TurboUser(REPO, ""));
-        assertEquals(modelUpdated, other);
+    /**
+     * Copies of a model share its lists, so they must not be changed through the getters
+     */
+    private static void assertUnmodifiable(Runnable change) {
+        try {
+            change.run();
+            fail("List of model was changed");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
     }
 
     @Test
@@ -285,6 +296,42 @@ public class ModelTests {
         assertEquals("User 10", modelUpdated.getUserByLogin("User 10").get().getLoginName());
     }
 
+    @Test
+    public void version() {
+        List<TurboIssue> issues = Arrays.asList(new TurboIssue(REPO, 1, "Issue 1"));
+        Model model = new Model(REPO, new ArrayList<>(issues), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        Model copy = new Model(model);
+        assertTrue(model.isSameVersionAs(copy));
+        assertTrue(model.isSameVersionAs(model.withUpdateSignature(UpdateSignature.EMPTY)));
+
+        // Equal models constructed separately have different versions
+        Model other = new Model(REPO, new ArrayList<>(issues), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        assertEquals(model, other);
+        assertFalse(model.isSameVersionAs(other));
+
+        // Changing an issue changes the version of the model it was changed through
+        long version = model.getVersion();
+        model.editIssueState(1, false);
+        assertNotEquals(version, model.getVersion());
+        assertFalse(model.isSameVersionAs(copy));
+
+        // Nothing changes if the issue is not found
+        version = model.getVersion();
+        model.editIssueState(2, false);
+        assertEquals(version, model.getVersion());
+    }
+
+    @Test
+    public void hasUserMatching() {
+        Model model = new Model(REPO, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                                Arrays.asList(new TurboUser(REPO, "alice", "Alice Liddell"),
+                                              new TurboUser(REPO, "bob", "")));
+        assertTrue(model.hasUserMatching("BOB"));
+        assertTrue(model.hasUserMatching("lid"));
+        assertTrue(new Model(model).hasUserMatching("ali"));
+        assertFalse(model.hasUserMatching("carol"));
+    }
+
     /**
      * Tests that replaceIssueLabels returns Optional.empty() if the model for the
      * issue given in the argument can't be found
@@ -109,12 +109,10 @@ public class MultiModelTest {
         TurboUser user2 = new TurboUser(REPO, "bob", "Fox");
         List<TurboUser> users = Arrays.asList(user1, user2);
 
-        Model mockedModel = mock(Model.class);
-        when(mockedModel.getRepoId()).thenReturn(REPO);
-        when(mockedModel.getUsers()).thenReturn(users);
+        Model model = new Model(REPO, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), users);
 
         models.queuePendingRepository(REPO);
-        models.addPending(mockedModel);
+        models.addPending(model);
 
         assertTrue(models.isUserInRepo(REPO, "aLICE"));
         assertTrue(models.isUserInRepo(REPO, "bob"));
@@ -130,12 +128,10 @@ public class MultiModelTest {
         TurboUser user2 = new TurboUser(REPO, "bob", "Fox");
         List<TurboUser> users = Arrays.asList(user1, user2);
 
-        Model mockedModel = mock(Model.class);
-        when(mockedModel.getRepoId()).thenReturn(REPO);
-        when(mockedModel.getUsers()).thenReturn(users);
+        Model model = new Model(REPO, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), users);
 
         models.queuePendingRepository(REPO);
-        models.addPending(mockedModel);
+        models.addPending(model);
 
         assertFalse(models.isUserInRepo(REPO, "bot"));
         assertFalse(models.isUserInRepo(REPO, "alices"));
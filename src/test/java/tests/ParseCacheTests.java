@@ -0,0 +1,49 @@
+package tests;
+
+import filter.ParseCache;
+import filter.Parser;
+import filter.expression.FilterExpression;
+import filter.expression.Qualifier;
+import filter.expression.QualifierType;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParseCacheTests {
+
+    @Test
+    public void put_overCapacity_leastRecentlyUsedEvicted() {
+        ParseCache cache = new ParseCache(2);
+        FilterExpression a = new Qualifier(QualifierType.KEYWORD, "a");
+        FilterExpression b = new Qualifier(QualifierType.KEYWORD, "b");
+        FilterExpression c = new Qualifier(QualifierType.KEYWORD, "c");
+
+        cache.put("a", a);
+        cache.put("b", b);
+        assertEquals(Optional.of(a), cache.get("a"));
+        cache.put("c", c);
+
+        assertEquals(2, cache.size());
+        assertEquals(Optional.of(a), cache.get("a"));
+        assertFalse(cache.get("b").isPresent());
+        assertEquals(Optional.of(c), cache.get("c"));
+    }
+
+    @Test
+    public void parse_sameInput_sharedResult() {
+        String input = "label:priority.high is:open sort:~updated";
+        FilterExpression first = Parser.parse(input);
+
+        assertSame(first, Parser.parse(input));
+        assertTrue(Parser.check(input));
+
+        Parser.CACHE.clear();
+        FilterExpression reparsed = Parser.parse(input);
+        assertEquals(first, reparsed);
+    }
+}
@@ -17,8 +17,10 @@ import backend.interfaces.IModel;
 import backend.resource.*;
 import filter.Parser;
 import filter.expression.FilterExpression;
+import filter.expression.IssueSortKeys;
 import filter.expression.Qualifier;
 import filter.expression.QualifierType;
+import filter.expression.SortKey;
 
 public class QualifierTests {
     List<TurboIssue> issues = createSampleIssues();
@@ -330,6 +332,30 @@ public class QualifierTests {
         assertEquals(expected, actual);
     }
 
+    /**
+     * Tests that precomputed sort keys order issues in the same way as the compound sort comparator.
+     */
+    @Test
+    public void issueSortKeys_compoundKeys_sameOrderAsComparator() {
+        List<TurboIssue> issues = testModel.getIssues();
+        TurboIssue issue6 = new TurboIssue("testrepo/testrepo", 6, "Issue6");
+        TurboIssue issue7 = new TurboIssue("testrepo/testrepo", 7, "Issue7");
+        issue7.setMilestone(testModel.getMilestones().get(3));
+        issues.add(issue6);
+        issues.add(issue7);
+
+        for (String sortQualifier : Arrays.asList("sort:milestone,id", "sort:~milestone,id",
+                                                  "sort:repo,id,assignee", "sort:~assignee,~id")) {
+            Qualifier sort = getMetaQualifiers(Parser.parse(sortQualifier)).get(0);
+            Collections.shuffle(issues);
+
+            List<TurboIssue> sortedIssues = new IssueSortKeys(testModel, issues, sort.getSortKeys(), false).sort();
+            issues.sort(sort.getCompoundSortComparator(testModel, false));
+
+            assertEquals(getIds(issues), getIds(sortedIssues));
+        }
+    }
+
     @Test
     public void milestoneSorting_closedMilestoneWithoutDueDate_prioritizeRecentMilestone() {
         List<TurboIssue> issues = testModel.getIssues();
@@ -560,10 +586,15 @@ public class QualifierTests {
     private void assertSorted(List<TurboIssue> issues, List<Integer> expectedIds,
                               IModel model, String sortCriteria,
                               boolean isInverted, boolean isNonSelfUpdate) {
+        // Precomputed sort keys should give the same order
+        List<SortKey> sortKeys = Collections.singletonList(new SortKey(sortCriteria, isInverted));
+        List<TurboIssue> sortedIssues = new IssueSortKeys(model, issues, sortKeys, isNonSelfUpdate).sort();
+
         Collections.sort(issues,
                          Qualifier.getSortComparator(model, sortCriteria, isInverted, isNonSelfUpdate));
 
         assertEquals(expectedIds, getIds(issues));
+        assertEquals(expectedIds, getIds(sortedIssues));
     }
 
     /**
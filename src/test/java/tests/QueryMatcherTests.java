@@ -0,0 +1,60 @@
+package tests;
+
+import org.junit.Test;
+import util.QueryMatcher;
+import util.Utility;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryMatcherTests {
+
+    private static final List<String> ITEMS = Arrays.asList(
+            "Fix crash in panel", "Add label picker", "crash on startup", "Panel filter", "UI: Crash!", "");
+
+    private static QueryMatcher<String> createMatcher() {
+        return new QueryMatcher<>(ITEMS, Function.identity());
+    }
+
+    private static List<String> containingIgnoreCase(String query) {
+        return ITEMS.stream()
+                .filter(item -> Utility.containsIgnoreCase(item, query))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void getMatches_typedAndDeleted_sameAsContainsIgnoreCase() {
+        QueryMatcher<String> matcher = createMatcher();
+        String query = "Crash in p!";
+        for (int i = 0; i <= query.length(); i++) {
+            assertEquals(containingIgnoreCase(query.substring(0, i)), matcher.getMatches(query.substring(0, i)));
+        }
+        for (int i = query.length(); i >= 0; i--) {
+            assertEquals(containingIgnoreCase(query.substring(0, i)), matcher.getMatches(query.substring(0, i)));
+        }
+        assertEquals(containingIgnoreCase("ash!"), matcher.getMatches("ash!"));
+        assertEquals(containingIgnoreCase("panel"), matcher.getMatches("PANEL"));
+    }
+
+    @Test
+    public void getMatchesOfAllWords_someWordsMissing_onlyItemsWithAllWords() {
+        QueryMatcher<String> matcher = createMatcher();
+        assertEquals(Arrays.asList("Fix crash in panel"),
+                     matcher.getMatchesOfAllWords(Arrays.asList("crash", "panel")));
+        assertEquals(ITEMS, matcher.getMatchesOfAllWords(Arrays.asList()));
+        assertEquals(Arrays.asList(), matcher.getMatchesOfAllWords(Arrays.asList("crash", "none")));
+    }
+
+    @Test
+    public void getRankedMatchesOfAnyWord_itemsWithMoreWordsFirst() {
+        QueryMatcher<String> matcher = createMatcher();
+        assertEquals(Arrays.asList("Fix crash in panel", "crash on startup", "Panel filter", "UI: Crash!"),
+                     matcher.getRankedMatchesOfAnyWord(Arrays.asList("crash", "panel")));
+        assertEquals(Arrays.asList("Panel filter", "Fix crash in panel"),
+                     matcher.getRankedMatchesOfAnyWord(Arrays.asList("filter", "panel", "zzz")));
+    }
+}
@@ -0,0 +1,149 @@
+package tests;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import prefs.ReadStateStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ReadStateStoreTests {
+
+    private static final String TEST_FOLDER = "readstatetest";
+    private static final String TEST_FILE_NAME = "test-read.log";
+    private static final String REPO_ID = "dummy/dummy";
+    private static final LocalDateTime TIME = LocalDateTime.of(2016, 3, 1, 12, 30, 15);
+
+    @Before
+    public void initialiseTestFolder() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_FOLDER));
+    }
+
+    @After
+    public void removeTestFolder() throws IOException {
+        FileUtils.deleteDirectory(new File(TEST_FOLDER));
+    }
+
+    @Test
+    public void setMarkedReadAt_flushAndReload_sameReadState() {
+        ReadStateStore store = ReadStateStore.create(TEST_FOLDER, TEST_FILE_NAME);
+        store.setMarkedReadAt(REPO_ID, 1, TIME);
+        store.setMarkedReadAt(REPO_ID, 2, TIME.plusHours(1));
+        store.setMarkedReadAt("dummy/other", 1, TIME.plusHours(2));
+        store.clearMarkedReadAt(REPO_ID, 2);
+        assertEquals(Optional.of(TIME), store.getMarkedReadAt(REPO_ID, 1));
+        assertEquals(Optional.empty(), store.getMarkedReadAt(REPO_ID, 2));
+        store.flush();
+
+        ReadStateStore loaded = ReadStateStore.load(TEST_FOLDER, TEST_FILE_NAME);
+        assertEquals(Optional.of(TIME), loaded.getMarkedReadAt(REPO_ID, 1));
+        assertEquals(Optional.empty(), loaded.getMarkedReadAt(REPO_ID, 2));
+        assertEquals(Optional.of(TIME.plusHours(2)), loaded.getMarkedReadAt("dummy/other", 1));
+        assertEquals(Optional.empty(), loaded.getMarkedReadAt("dummy/none", 1));
+    }
+
+    @Test
+    public void setMarkedReadAt_manyChanges_coalescedIntoOneAppend() throws IOException {
+        ReadStateStore store = ReadStateStore.create(TEST_FOLDER, TEST_FILE_NAME);
+        for (int i = 1; i <= 1000; i++) {
+            store.setMarkedReadAt(REPO_ID, i, TIME);
+        }
+        for (int i = 0; i < 100; i++) {
+            store.setMarkedReadAt(REPO_ID, 1, TIME.plusMinutes(i));
+        }
+        store.flush();
+
+        // Only the latest change to each issue is written
+        assertEquals(1000, readLog().size());
+
+        store.clearMarkedReadAt(REPO_ID, 1);
+        store.clearMarkedReadAt(REPO_ID, 1);
+        store.flush();
+        assertEquals(1001, readLog().size());
+        assertFalse(ReadStateStore.load(TEST_FOLDER, TEST_FILE_NAME).getMarkedReadAt(REPO_ID, 1).isPresent());
+    }
+
+    @Test
+    public void setMarkedReadAt_noExplicitFlush_writtenInBackground() throws InterruptedException, IOException {
+        ReadStateStore store = ReadStateStore.create(TEST_FOLDER, TEST_FILE_NAME);
+        store.setMarkedReadAt(REPO_ID, 1, TIME);
+
+        waitForLogLines(1);
+        assertEquals(1, readLog().size());
+    }
+
+    @Test
+    public void load_malformedAndTruncatedLines_ignored() throws IOException {
+        Files.createDirectories(Paths.get(TEST_FOLDER));
+        Files.write(Paths.get(TEST_FOLDER, TEST_FILE_NAME),
+                    ("dummy/dummy\t1\t1456835415000\n" +
+                     "dummy/dummy\tx\t1456835415000\n" +
+                     "dummy/dummy\t2").getBytes("UTF-8"));
+
+        ReadStateStore store = ReadStateStore.load(TEST_FOLDER, TEST_FILE_NAME);
+        assertEquals(Optional.of(TIME), store.getMarkedReadAt(REPO_ID, 1));
+        assertFalse(store.getMarkedReadAt(REPO_ID, 2).isPresent());
+    }
+
+    @Test
+    public void load_lastLineCutShort_discardedAndRewritten() throws IOException {
+        Files.createDirectories(Paths.get(TEST_FOLDER));
+        Files.write(Paths.get(TEST_FOLDER, TEST_FILE_NAME),
+                    ("dummy/dummy\t1\t1456835415000\n" +
+                     "dummy/dummy\t2\t14568").getBytes("UTF-8"));
+
+        ReadStateStore store = ReadStateStore.load(TEST_FOLDER, TEST_FILE_NAME);
+        assertEquals(Optional.of(TIME), store.getMarkedReadAt(REPO_ID, 1));
+        assertFalse(store.getMarkedReadAt(REPO_ID, 2).isPresent());
+
+        // The partial line is removed rather than continued by the next append
+        store.setMarkedReadAt(REPO_ID, 3, TIME);
+        store.flush();
+        assertEquals(2, readLog().size());
+        ReadStateStore loaded = ReadStateStore.load(TEST_FOLDER, TEST_FILE_NAME);
+        assertFalse(loaded.getMarkedReadAt(REPO_ID, 2).isPresent());
+        assertEquals(Optional.of(TIME), loaded.getMarkedReadAt(REPO_ID, 3));
+    }
+
+    @Test
+    public void flush_writeFails_logRewrittenOnNextFlush() throws IOException {
+        ReadStateStore store = ReadStateStore.create(TEST_FOLDER, TEST_FILE_NAME);
+        store.setMarkedReadAt(REPO_ID, 1, TIME);
+        store.flush();
+        store.setMarkedReadAt(REPO_ID, 2, TIME);
+
+        // A directory in place of the log makes the write fail
+        Files.delete(Paths.get(TEST_FOLDER, TEST_FILE_NAME));
+        Files.createDirectory(Paths.get(TEST_FOLDER, TEST_FILE_NAME));
+        store.flush();
+        Files.delete(Paths.get(TEST_FOLDER, TEST_FILE_NAME));
+
+        store.flush();
+        assertEquals(2, readLog().size());
+        ReadStateStore loaded = ReadStateStore.load(TEST_FOLDER, TEST_FILE_NAME);
+        assertEquals(Optional.of(TIME), loaded.getMarkedReadAt(REPO_ID, 1));
+        assertEquals(Optional.of(TIME), loaded.getMarkedReadAt(REPO_ID, 2));
+    }
+
+    private void waitForLogLines(int lines) throws InterruptedException, IOException {
+        long deadline = System.currentTimeMillis() + ReadStateStore.FLUSH_DELAY_MILLIS * 10;
+        while (System.currentTimeMillis() < deadline
+                && (!Files.exists(Paths.get(TEST_FOLDER, TEST_FILE_NAME)) || readLog().size() < lines)) {
+            Thread.sleep(ReadStateStore.FLUSH_DELAY_MILLIS / 5);
+        }
+    }
+
+    private List<String> readLog() throws IOException {
+        return Files.readAllLines(Paths.get(TEST_FOLDER, TEST_FILE_NAME));
+    }
+}
@@ -1,7 +1,9 @@
 package tests;
 
+import backend.IssueMetadata;
 import backend.RepoIO;
 import backend.control.RepoOpControl;
+import backend.control.operations.UpdateLocalModelOp;
 import backend.github.GitHubModelUpdatesData;
 import backend.github.GitHubRepoTask;
 import backend.interfaces.Repo;
@@ -11,10 +13,12 @@ import backend.resource.TurboIssue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.Test;
+import prefs.Preferences;
 import util.AtomicMaxInteger;
 import util.Futures;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +28,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -46,6 +51,7 @@ public class RepoOpControlTest {
 
     private GitHubModelUpdatesData createEmptyModelUpdatesData(Model model) {
         return new GitHubModelUpdatesData(model, createEmptyUpdatesResult(), new ArrayList<>(),
+                                          createEmptyUpdatesResult(), createEmptyUpdatesResult(),
                                           createEmptyUpdatesResult(), createEmptyUpdatesResult(),
                                           createEmptyUpdatesResult());
     }
@@ -213,6 +219,49 @@ public class RepoOpControlTest {
         assertEquals(true, result);
     }
 
+    @Test
+    public void updateLocalModel_issuesWithActivity_metadataInvalidated() throws Exception {
+        TurboIssue withEvents = new TurboIssue(REPO, 1, "Issue 1");
+        TurboIssue withComments = new TurboIssue(REPO, 2, "Issue 2");
+        TurboIssue untouched = new TurboIssue(REPO, 3, "Issue 3");
+        for (TurboIssue turboIssue : Arrays.asList(withEvents, withComments, untouched)) {
+            turboIssue.setMetadata(IssueMetadata.empty().full("test"));
+        }
+        Model model = new Model(REPO, new ArrayList<>(Arrays.asList(withEvents, withComments, untouched)),
+                                new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        GitHubModelUpdatesData updates = new GitHubModelUpdatesData(
+                model, createEmptyUpdatesResult(), new ArrayList<>(),
+                createEmptyUpdatesResult(), createEmptyUpdatesResult(), createEmptyUpdatesResult(),
+                new GitHubRepoTask.Result<>(Arrays.asList(1), "events"),
+                new GitHubRepoTask.Result<>(Arrays.asList(2, 4), "comments"));
+
+        Model updated = new UpdateLocalModelOp(new MultiModel(mock(Preferences.class)), updates,
+                                               new CompletableFuture<>()).perform().get();
+
+        assertFalse(updated.getIssueById(1).get().getMetadata().isLatest());
+        assertFalse(updated.getIssueById(2).get().getMetadata().isLatest());
+        assertTrue(updated.getIssueById(3).get().getMetadata().isLatest());
+        assertEquals("events", updated.getUpdateSignature().issueEventsETag);
+        assertEquals("comments", updated.getUpdateSignature().issueCommentsETag);
+    }
+
+    @Test
+    public void updateLocalModel_nothingDownloaded_versionKept() throws Exception {
+        MultiModel models = new MultiModel(mock(Preferences.class));
+        Model model = new Model(REPO, new ArrayList<>(Arrays.asList(new TurboIssue(issue))),
+                                new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        Model updated = new UpdateLocalModelOp(models, createEmptyModelUpdatesData(model),
+                                               new CompletableFuture<>()).perform().get();
+        Model updatedAgain = new UpdateLocalModelOp(models, createEmptyModelUpdatesData(updated),
+                                                    new CompletableFuture<>()).perform().get();
+
+        // The first update changes the signature, so the model is rebuilt; the second changes nothing
+        assertFalse(model.isSameVersionAs(updated));
+        assertTrue(updated.isSameVersionAs(updatedAgain));
+        assertEquals(updated, updatedAgain);
+    }
+
     /**
      * Creates a stub RepoIO with artificial delay for various operations, and
      * which increments a value for purposes of verifying behaviour.
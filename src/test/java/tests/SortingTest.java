@@ -0,0 +1,64 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import util.Sorting;
+
+public class SortingTest {
+
+    @Test
+    public void topK_smallK_sameAsFullSortPrefix() {
+        List<Integer> items = randomList(1000, 100);
+        List<Integer> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.naturalOrder());
+
+        assertEquals(sorted.subList(0, 20), Sorting.topK(items, 20, Comparator.naturalOrder()));
+        assertEquals(sorted.subList(0, 1), Sorting.topK(items, 1, Comparator.naturalOrder()));
+    }
+
+    @Test
+    public void topK_kOutOfRange_emptyOrFullSort() {
+        List<Integer> items = Arrays.asList(3, 1, 2);
+
+        assertTrue(Sorting.topK(items, 0, Comparator.naturalOrder()).isEmpty());
+        assertTrue(Sorting.topK(items, -1, Comparator.naturalOrder()).isEmpty());
+        assertEquals(Arrays.asList(1, 2, 3), Sorting.topK(items, 3, Comparator.naturalOrder()));
+        assertEquals(Arrays.asList(1, 2, 3), Sorting.topK(items, 10, Comparator.naturalOrder()));
+    }
+
+    @Test
+    public void topK_equalKeys_stable() {
+        // Compare only by the first character, so ties are broken by input order
+        List<String> items = Arrays.asList("b1", "a1", "b2", "a2", "a3", "c1");
+        Comparator<String> byFirstChar = Comparator.comparing(s -> s.charAt(0));
+
+        assertEquals(Arrays.asList("a1", "a2", "a3", "b1"), Sorting.topK(items, 4, byFirstChar));
+    }
+
+    @Test
+    public void sortFirst_prefixSortedAndRestInOriginalOrder() {
+        List<Integer> items = Arrays.asList(5, 9, 1, 7, 3, 8);
+
+        assertEquals(Arrays.asList(1, 3, 5, 9, 7, 8), Sorting.sortFirst(items, 3, Comparator.naturalOrder()));
+        assertEquals(items, Sorting.sortFirst(items, 0, Comparator.naturalOrder()));
+        assertEquals(Arrays.asList(1, 3, 5, 7, 8, 9), Sorting.sortFirst(items, 6, Comparator.naturalOrder()));
+    }
+
+    private static List<Integer> randomList(int size, int bound) {
+        Random random = new Random(0);
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            result.add(random.nextInt(bound));
+        }
+        return result;
+    }
+}
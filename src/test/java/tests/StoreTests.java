@@ -1,13 +1,20 @@
 package tests;
 
+import backend.IssueMetadata;
 import backend.RepoIO;
 import backend.interfaces.RepoStore;
+import backend.interfaces.StoreTask;
 import backend.json.JSONStore;
 import backend.json.JSONStoreStub;
 import backend.resource.Model;
+import backend.resource.serialization.SerializableModel;
 import backend.stub.DummyRepoState;
+import github.IssueEventType;
+import github.TurboIssueEvent;
 import guitests.UITest;
 
+import org.eclipse.egit.github.core.Comment;
+import org.eclipse.egit.github.core.User;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -19,13 +26,35 @@ import util.events.EventDispatcherStub;
 import util.events.testevents.UpdateDummyRepoEvent;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 public class StoreTests {
 
@@ -152,6 +181,158 @@ public class StoreTests {
         assertEquals(false, Files.exists(Paths.get("store/test/dummy1-dummy1.json")));
     }
 
+    @Test
+    public void testIssueMetadataRestoredOnLoad() throws ExecutionException, InterruptedException {
+        RepoIO testIO = TestController.createTestingRepoIO(Optional.empty());
+        testIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(testIO));
+        testIO.openRepository("dummy1/dummy1").get();
+
+        Date eventTime = new Date(1456835415000L);
+        Comment comment = new Comment();
+        comment.setBody("comment");
+        comment.setUser(new User().setLogin("other"));
+        comment.setCreatedAt(eventTime);
+        IssueMetadata metadata = IssueMetadata.intermediate(
+                Arrays.asList(new TurboIssueEvent(new User().setLogin("other"), IssueEventType.Closed, eventTime)),
+                Arrays.asList(comment), "etag", "").full("test");
+        Map<Integer, IssueMetadata> toSave = new HashMap<>();
+        toSave.put(1, IssueMetadata.empty());
+        toSave.put(2, IssueMetadata.empty());
+        testIO.saveIssueMetadata("dummy1/dummy1", toSave).get();
+        // A later entry for an issue replaces an earlier one
+        toSave.put(1, metadata);
+        testIO.saveIssueMetadata("dummy1/dummy1", toSave).get();
+
+        Model loaded = new JSONStore().loadRepository("dummy1/dummy1").get();
+        IssueMetadata restored = loaded.getIssueById(1).get().getMetadata();
+        assertEquals("etag", restored.getEventsETag());
+        assertEquals(1, restored.getEvents().size());
+        assertEquals("comment", restored.getComments().get(0).getBody());
+        assertEquals(metadata.getNonSelfUpdatedAt(), restored.getNonSelfUpdatedAt());
+        assertEquals(1, restored.getNonSelfCommentCount());
+        assertFalse(restored.isLatest());
+        assertEquals("", loaded.getIssueById(3).get().getMetadata().getEventsETag());
+    }
+
+    @Test
+    public void testTasksOnSameRepoRunInOrder() throws InterruptedException {
+        TaskStore store = new TaskStore();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            // Interleave tasks on another repo, which must not affect the order
+            store.add("other/repo", () -> TestUtils.delay(0.001));
+            store.add(i % 2 == 0 ? "test/repo" : "Test/Repo", () -> {
+                order.add(index);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), order);
+    }
+
+    @Test
+    public void testTasksOnDifferentReposRunInParallel() throws InterruptedException {
+        assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+
+        // Each task only finishes once the other has started
+        TaskStore store = new TaskStore();
+        CyclicBarrier bothStarted = new CyclicBarrier(2);
+        CountDownLatch done = new CountDownLatch(2);
+        for (String repoId : Arrays.asList("test/repo1", "test/repo2")) {
+            store.add(repoId, () -> {
+                try {
+                    bothStarted.await(5, TimeUnit.SECONDS);
+                    done.countDown();
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    fail();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSharedStoreHasOneWriterPerRepo() throws IOException {
+        Files.createDirectories(Paths.get(RepoStore.TEST_DIRECTORY));
+        JSONStore store = new JSONStore();
+
+        // Another instance holding the lock on the repository is its writer
+        try (FileChannel otherInstance = FileChannel.open(Paths.get(RepoStore.TEST_DIRECTORY, "shared-one.lock"),
+                                                          StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = otherInstance.lock();
+            try {
+                assertFalse(store.isWriterOf("shared/one"));
+            } finally {
+                lock.release();
+            }
+        }
+
+        // Once it exits, the store takes over, and stays the writer
+        assertTrue(store.isWriterOf("shared/one"));
+        assertTrue(store.isWriterOf("SHARED/ONE"));
+        store.removeStoredRepo("shared/one");
+    }
+
+    @Test
+    public void testReaderPicksUpUpdatesSavedByWriter() throws ExecutionException, InterruptedException {
+        String repoId = "shared/two";
+        RepoIO writerIO = TestController.createTestingRepoIO(Optional.empty());
+        writerIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(writerIO));
+        Model writerModel = writerIO.openRepository(repoId).get();
+
+        RepoIO readerIO = TestController.createTestingRepoIO(Optional.of(new ReaderStore()));
+        readerIO.setRepoOpControl(TestUtils.createRepoOpControlWithEmptyModels(readerIO));
+        Model readerModel = readerIO.openRepository(repoId).get();
+        assertEquals(DummyRepoState.NO_OF_DUMMY_ISSUES, readerModel.getIssues().size());
+
+        // The reader does not download the new issue itself...
+        UI.events.triggerEvent(UpdateDummyRepoEvent.newIssue(repoId));
+        readerModel = readerIO.updateModel(readerModel, false).get();
+        assertEquals(DummyRepoState.NO_OF_DUMMY_ISSUES, readerModel.getIssues().size());
+
+        // ...but picks it up once the writer has stored it
+        writerIO.updateModel(writerModel, false).get();
+        readerModel = readerIO.updateModel(readerModel, false).get();
+        assertEquals(DummyRepoState.NO_OF_DUMMY_ISSUES + 1, readerModel.getIssues().size());
+        assertFalse(Files.exists(Paths.get(RepoStore.TEST_DIRECTORY, "shared-two.json.tmp")));
+    }
+
+    /**
+     * A store in an instance which is not the writer of any repository.
+     */
+    private static class ReaderStore extends JSONStore {
+        @Override
+        public boolean isWriterOf(String repoId) {
+            return false;
+        }
+    }
+
+    /**
+     * A store which runs arbitrary tasks.
+     */
+    private static class TaskStore extends RepoStore {
+        void add(String repoId, Runnable task) {
+            addTask(new StoreTask(repoId) {
+                @Override
+                public void run() {
+                    task.run();
+                }
+            });
+        }
+
+        @Override
+        public CompletableFuture<Model> loadRepository(String repoId) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletableFuture<Boolean> saveRepository(String repoId, SerializableModel model) {
+            return new CompletableFuture<>();
+        }
+    }
+
     @After
     public void cleanup() {
         UITest.clearTestFolder();
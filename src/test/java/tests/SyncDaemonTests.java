@@ -0,0 +1,142 @@
+package tests;
+
+import backend.daemon.QueryResult;
+import backend.daemon.QueryServer;
+import backend.daemon.SyncDaemon;
+import backend.interfaces.RepoStore;
+import backend.json.JSONStoreStub;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import prefs.Preferences;
+import ui.TestController;
+import ui.UI;
+import ui.components.StatusUI;
+import ui.components.StatusUIStub;
+import util.events.EventDispatcher;
+import util.events.EventDispatcherStub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SyncDaemonTests {
+
+    private static final String REPO = "dummy1/dummy1";
+
+    private SyncDaemon daemon;
+    private QueryServer server;
+
+    @Before
+    public void setup() throws IOException {
+        RepoStore.changeDirectory(RepoStore.TEST_DIRECTORY);
+        daemon = new SyncDaemon(mock(Preferences.class),
+                                TestController.createTestingRepoIO(Optional.of(new JSONStoreStub())));
+        server = new QueryServer(0, daemon);
+        server.start();
+    }
+
+    @After
+    public void teardown() {
+        server.stop();
+        daemon.stop();
+    }
+
+    @Test
+    public void query_repoQualifier_repositoryOpenedAndFiltered() {
+        QueryResult result = daemon.query("repo:" + REPO + " is:pr").join();
+
+        assertFalse(result.getError().isPresent());
+        assertEquals("[7, 11]", result.getElements().stream()
+                .map(element -> element.getIssue().getId())
+                .sorted()
+                .collect(Collectors.toList())
+                .toString());
+        assertTrue(daemon.getOpenRepositories().contains(REPO));
+    }
+
+    @Test
+    public void constructor_uiEventsAndStatusLeftAlone() {
+        EventDispatcher events = UI.events;
+        StatusUI status = UI.status;
+        try {
+            UI.events = new EventDispatcherStub();
+            UI.status = new StatusUIStub();
+            EventDispatcher uiEvents = UI.events;
+            StatusUI uiStatus = UI.status;
+
+            new SyncDaemon(mock(Preferences.class),
+                           TestController.createTestingRepoIO(Optional.of(new JSONStoreStub())));
+
+            assertSame(uiEvents, UI.events);
+            assertSame(uiStatus, UI.status);
+        } finally {
+            UI.events = events;
+            UI.status = status;
+        }
+    }
+
+    @Test
+    public void query_invalidFilter_error() {
+        QueryResult result = daemon.query("repo:" + REPO + " (").join();
+
+        assertTrue(result.getError().isPresent());
+        assertTrue(result.getElements().isEmpty());
+    }
+
+    @Test
+    public void openRepository_differentCase_openedOnce() {
+        assertTrue(daemon.openRepository(REPO).join());
+        assertTrue(daemon.openRepository(REPO.toUpperCase()).join());
+        assertEquals(1, daemon.getOpenRepositories().size());
+        assertFalse(daemon.openRepository("not a repo").join());
+    }
+
+    @Test
+    public void queryServer_filterQuery_issuesAsJson() throws IOException {
+        HttpURLConnection connection = get("/query?filter="
+                + URLEncoder.encode("repo:" + REPO + " id:1", StandardCharsets.UTF_8.name()));
+        assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+
+        JsonObject json = read(connection.getInputStream());
+        assertEquals(1, json.get("count").getAsInt());
+        JsonObject issue = json.getAsJsonArray("issues").get(0).getAsJsonObject();
+        assertEquals(REPO, issue.get("repo").getAsString());
+        assertEquals(1, issue.get("number").getAsInt());
+        assertTrue(issue.get("open").getAsBoolean());
+
+        JsonObject repos = read(get("/repos").getInputStream());
+        assertEquals(REPO, repos.getAsJsonArray("repos").get(0).getAsString());
+    }
+
+    @Test
+    public void queryServer_invalidFilterOrMissingParameter_badRequest() throws IOException {
+        HttpURLConnection connection = get("/query?filter=" + URLEncoder.encode("(", StandardCharsets.UTF_8.name()));
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, connection.getResponseCode());
+        assertTrue(read(connection.getErrorStream()).has("error"));
+
+        assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, get("/query").getResponseCode());
+    }
+
+    private HttpURLConnection get(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+    }
+
+    private static JsonObject read(InputStream stream) throws IOException {
+        return new JsonParser().parse(IOUtils.toString(stream, StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+}
@@ -0,0 +1,140 @@
+package tests;
+
+import backend.resource.Model;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.resource.TurboMilestone;
+import backend.resource.TurboUser;
+import backend.stub.SyntheticRepo;
+import backend.stub.SyntheticSource;
+import github.TurboIssueEvent;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticRepoTests {
+
+    private static final String REPO_ID = "synthetic/repo";
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2016, 3, 1, 12, 0);
+
+    @Test
+    public void getIssues_sameSeed_sameRepository() {
+        List<TurboIssue> issues = new SyntheticRepo(500, 42, 0, START_TIME).getIssues(REPO_ID);
+        List<TurboIssue> sameSeedIssues = new SyntheticRepo(500, 42, 0, START_TIME).getIssues(REPO_ID);
+        List<TurboIssue> otherSeedIssues = new SyntheticRepo(500, 43, 0, START_TIME).getIssues(REPO_ID);
+
+        assertEquals(500, issues.size());
+        assertEquals(summarise(issues), summarise(sameSeedIssues));
+        assertNotEquals(summarise(issues), summarise(otherSeedIssues));
+    }
+
+    @Test
+    public void getIssues_referencesExistingEntities() {
+        SyntheticRepo repo = new SyntheticRepo(2000, 0, 0, START_TIME);
+        List<TurboIssue> issues = repo.getIssues(REPO_ID);
+        Set<String> labels = repo.getLabels(REPO_ID).stream()
+                .map(TurboLabel::getFullName).collect(Collectors.toSet());
+        Set<Integer> milestones = repo.getMilestones(REPO_ID).stream()
+                .map(TurboMilestone::getId).collect(Collectors.toSet());
+        Set<String> users = repo.getCollaborators(REPO_ID).stream()
+                .map(TurboUser::getLoginName).collect(Collectors.toSet());
+
+        for (TurboIssue issue : issues) {
+            assertTrue(labels.containsAll(issue.getLabels()));
+            issue.getMilestone().ifPresent(milestone -> assertTrue(milestones.contains(milestone)));
+            issue.getAssignee().ifPresent(assignee -> assertTrue(users.contains(assignee)));
+            assertTrue(users.contains(issue.getCreator()));
+            assertFalse(issue.getUpdatedAt().isAfter(START_TIME));
+        }
+        assertTrue(issues.stream().anyMatch(TurboIssue::isPullRequest));
+        assertTrue(issues.stream().anyMatch(TurboIssue::isOpen));
+        assertTrue(issues.stream().anyMatch(issue -> !issue.isOpen()));
+    }
+
+    @Test
+    public void getUpdatedIssues_noChurn_notModified() {
+        SyntheticRepo repo = new SyntheticRepo(100, 0, 0, START_TIME);
+
+        String eTag = repo.getUpdatedIssues(REPO_ID, null, new Date()).getMiddle();
+        int quota = repo.getRateLimitResetTime().getLeft();
+        ImmutableTriple<List<TurboIssue>, String, Date> result = repo.getUpdatedIssues(REPO_ID, eTag, new Date());
+
+        assertTrue(result.getLeft().isEmpty());
+        assertEquals(eTag, result.getMiddle());
+        assertEquals(quota, (int) repo.getRateLimitResetTime().getLeft());
+
+        String labelsETag = repo.getUpdatedLabels(REPO_ID, null).getRight();
+        assertTrue(repo.getUpdatedLabels(REPO_ID, labelsETag).getLeft().isEmpty());
+        assertEquals(2, repo.getRepoState(REPO_ID).getNotModifiedCount());
+    }
+
+    @Test
+    public void getUpdatedIssues_churn_updatesAboutChurnRateOfIssues() {
+        SyntheticRepo repo = new SyntheticRepo(10000, 0, 0.01, START_TIME);
+        List<TurboIssue> issues = repo.getIssues(REPO_ID);
+
+        ImmutableTriple<List<TurboIssue>, String, Date> first = repo.getUpdatedIssues(REPO_ID, "", new Date());
+        ImmutableTriple<List<TurboIssue>, String, Date> second =
+                repo.getUpdatedIssues(REPO_ID, first.getMiddle(), new Date());
+
+        assertNotEquals(first.getMiddle(), second.getMiddle());
+        assertTrue(first.getLeft().size() > 50 && first.getLeft().size() <= 100);
+        assertTrue(second.getLeft().size() > 50 && second.getLeft().size() <= 100);
+        for (TurboIssue updated : second.getLeft()) {
+            assertTrue(updated.getUpdatedAt().isAfter(START_TIME));
+            if (updated.getId() <= issues.size()) {
+                assertNotEquals(issues.get(updated.getId() - 1), updated);
+            }
+        }
+    }
+
+    @Test
+    public void getUpdatedEvents_unchangedETag_notModified() {
+        SyntheticRepo repo = new SyntheticRepo(100, 0, 0, START_TIME);
+        TurboIssue issue = repo.getIssues(REPO_ID).stream()
+                .filter(i -> !i.getLabels().isEmpty())
+                .findFirst().get();
+
+        ImmutablePair<List<TurboIssueEvent>, String> events = repo.getUpdatedEvents(REPO_ID, issue.getId(), "");
+        ImmutablePair<List<TurboIssueEvent>, String> unchanged =
+                repo.getUpdatedEvents(REPO_ID, issue.getId(), events.getRight());
+
+        assertFalse(events.getLeft().isEmpty());
+        assertTrue(unchanged.getLeft().isEmpty());
+        assertEquals(events.getRight(), unchanged.getRight());
+        assertEquals(issue.getCommentCount(), repo.getComments(REPO_ID, issue.getId()).size());
+        assertEquals(1, repo.getRepoState(REPO_ID).getNotModifiedCount());
+    }
+
+    @Test
+    public void downloadRepository_syntheticSource() throws ExecutionException, InterruptedException {
+        SyntheticSource source = new SyntheticSource(new SyntheticRepo(1000, 0, 0.01, START_TIME));
+
+        Model model = source.downloadRepository(REPO_ID).get();
+
+        assertEquals(REPO_ID, model.getRepoId());
+        assertEquals(1000, model.getIssues().size());
+        assertFalse(model.getLabels().isEmpty());
+        assertFalse(model.getMilestones().isEmpty());
+        assertFalse(model.getUsers().isEmpty());
+    }
+
+    private static List<String> summarise(List<TurboIssue> issues) {
+        return issues.stream()
+                .map(issue -> issue.getTitle() + issue.getLabels() + issue.getMilestone() + issue.getAssignee()
+                        + issue.isOpen() + issue.getCommentCount() + issue.getUpdatedAt())
+                .collect(Collectors.toList());
+    }
+}
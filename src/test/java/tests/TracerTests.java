@@ -0,0 +1,103 @@
+package tests;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+import util.tracing.Span;
+import util.tracing.Tracer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TracerTests {
+
+    private static final String TEST_FOLDER = "tracertest";
+
+    @Before
+    public void clearSpans() {
+        Tracer.clear();
+    }
+
+    @Test
+    public void start_nestedSpans_childOfCurrent() {
+        try (Span outer = Tracer.start("outer")) {
+            try (Span inner = Tracer.start("inner", Optional.of("detail"))) {
+                assertEquals(Optional.of(outer.getId()), inner.getParentId());
+                assertEquals(outer.getTraceId(), inner.getTraceId());
+                assertEquals(Optional.of(inner), Tracer.getCurrentSpan());
+            }
+            assertEquals(Optional.of(outer), Tracer.getCurrentSpan());
+        }
+        assertFalse(Tracer.getCurrentSpan().isPresent());
+
+        List<Span> finished = Tracer.getFinishedSpans();
+        assertEquals("inner", finished.get(0).getName());
+        assertEquals("outer", finished.get(1).getName());
+    }
+
+    @Test
+    public void traceAsync_wrappedWork_childrenOnOtherThreads() throws ExecutionException, InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CompletableFuture<Integer> result = Tracer.traceAsync("refresh", Optional.empty(), () -> {
+            CompletableFuture<Integer> download = new CompletableFuture<>();
+            executor.execute(Tracer.wrap("download", () -> download.complete(1)));
+            return download.thenApply(Tracer.wrap(n -> {
+                Span span = Tracer.start("apply");
+                try {
+                    return n + 1;
+                } finally {
+                    span.close();
+                }
+            }));
+        });
+        assertFalse(Tracer.getCurrentSpan().isPresent());
+        assertEquals(2, (int) result.get());
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        List<Span> finished = Tracer.getFinishedSpans();
+        Span refresh = finished.stream().filter(span -> span.getName().equals("refresh")).findFirst().get();
+        assertTrue(refresh.isAsync());
+        assertEquals(3, finished.size());
+        for (Span span : finished) {
+            assertEquals(refresh.getTraceId(), span.getTraceId());
+            if (span != refresh) {
+                assertEquals(Optional.of(refresh.getId()), span.getParentId());
+            }
+        }
+    }
+
+    @Test
+    public void exportChromeTrace_syncAndAsyncSpans_writtenAsTraceEvents() throws IOException {
+        Span span = Tracer.start("sync");
+        try {
+            Tracer.traceAsync("async", Optional.empty(), () -> CompletableFuture.completedFuture(true));
+        } finally {
+            span.close();
+        }
+        try {
+            Tracer.exportChromeTrace(TEST_FOLDER, "trace.json");
+            String json = new String(Files.readAllBytes(Paths.get(TEST_FOLDER, "trace.json")), "UTF-8");
+            assertTrue(json.startsWith("{\"traceEvents\":["));
+            assertTrue(json.contains("\"name\":\"sync\",\"cat\":\"sync\",\"ph\":\"X\""));
+            assertTrue(json.contains("\"name\":\"async\",\"cat\":\"async\",\"ph\":\"b\""));
+            assertTrue(json.contains("\"name\":\"async\",\"cat\":\"async\",\"ph\":\"e\""));
+            assertTrue(json.contains("\"ph\":\"M\""));
+        } finally {
+            FileUtils.deleteDirectory(new File(TEST_FOLDER));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package tests;
+
+import org.junit.Test;
+import util.events.BoardSavedEvent;
+import util.events.BoardSavedEventHandler;
+import util.events.EventDelivery;
+import util.events.EventHandler;
+import util.events.PrimaryRepoOpenedEvent;
+import util.events.PrimaryRepoOpenedEventHandler;
+import util.events.TypedEventDispatcher;
+import util.events.UnusedStoredReposChangedEvent;
+import util.events.UnusedStoredReposChangedEventHandler;
+import util.events.UpdateProgressEvent;
+import util.events.UpdateProgressEventHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TypedEventDispatcherTests {
+
+    private final TypedEventDispatcher dispatcher = new TypedEventDispatcher(Runnable::run);
+
+    @Test
+    public void triggerEvent_subclassEvent_handlersOfSuperclassAlsoCalled() {
+        List<String> handled = new ArrayList<>();
+        dispatcher.registerEvent((UnusedStoredReposChangedEventHandler) e -> handled.add("superclass"));
+        dispatcher.registerEvent((PrimaryRepoOpenedEventHandler) e -> handled.add("subclass"));
+
+        dispatcher.triggerEvent(new UnusedStoredReposChangedEvent());
+        assertEquals(Arrays.asList("superclass"), handled);
+
+        handled.clear();
+        dispatcher.triggerEvent(new PrimaryRepoOpenedEvent());
+        Collections.sort(handled);
+        assertEquals(Arrays.asList("subclass", "superclass"), handled);
+    }
+
+    @Test
+    public void triggerEvent_sameThread_ownTypeFirstThenSuperclassesInRegistrationOrder() {
+        List<String> handled = new ArrayList<>();
+        dispatcher.registerEvent((UnusedStoredReposChangedEventHandler) e -> handled.add("superclass 1"));
+        dispatcher.registerEvent((PrimaryRepoOpenedEventHandler) e -> handled.add("subclass 1"));
+        dispatcher.registerEvent((UnusedStoredReposChangedEventHandler) e -> handled.add("superclass 2"));
+        dispatcher.registerEvent((PrimaryRepoOpenedEventHandler) e -> handled.add("subclass 2"));
+
+        dispatcher.triggerEvent(new PrimaryRepoOpenedEvent());
+        assertEquals(Arrays.asList("subclass 1", "subclass 2", "superclass 1", "superclass 2"), handled);
+    }
+
+    @Test
+    public void triggerEvent_handlerRegisteredAfterDispatch_calledOnNextDispatch() {
+        List<String> handled = new ArrayList<>();
+        dispatcher.registerEvent((UnusedStoredReposChangedEventHandler) e -> handled.add("superclass"));
+        dispatcher.triggerEvent(new PrimaryRepoOpenedEvent());
+
+        // The handlers collected for the subclass on its first dispatch are collected again
+        dispatcher.registerEvent((PrimaryRepoOpenedEventHandler) e -> handled.add("subclass"));
+        dispatcher.triggerEvent(new PrimaryRepoOpenedEvent());
+        assertEquals(Arrays.asList("superclass", "subclass", "superclass"), handled);
+    }
+
+    @Test
+    public void unregisterEvent_handlerNoLongerCalled() {
+        List<String> handled = new ArrayList<>();
+        EventHandler handler = (BoardSavedEventHandler) e -> handled.add("saved");
+        dispatcher.registerEvent(handler);
+        dispatcher.registerEvent(handler);
+        dispatcher.triggerEvent(new BoardSavedEvent());
+        dispatcher.unregisterEvent(handler);
+        dispatcher.triggerEvent(new BoardSavedEvent());
+        assertEquals(Arrays.asList("saved"), handled);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unregisterEvent_notRegistered_throws() {
+        dispatcher.unregisterEvent((BoardSavedEventHandler) e -> { });
+    }
+
+    @Test
+    public void triggerEvent_fromHandler_deliveredAfterHandlerReturns() {
+        List<String> handled = new ArrayList<>();
+        dispatcher.registerEvent((BoardSavedEventHandler) e -> {
+            dispatcher.triggerEvent(new UnusedStoredReposChangedEvent());
+            handled.add("board saved");
+        });
+        dispatcher.registerEvent((UnusedStoredReposChangedEventHandler) e -> handled.add("repos changed"));
+        dispatcher.triggerEvent(new BoardSavedEvent());
+        assertEquals(Arrays.asList("board saved", "repos changed"), handled);
+    }
+
+    @Test
+    public void triggerEvent_handlerThrows_otherHandlersStillCalled() {
+        List<String> handled = new ArrayList<>();
+        dispatcher.registerEvent((BoardSavedEventHandler) e -> {
+            throw new IllegalStateException("handler failed");
+        });
+        dispatcher.registerEvent((BoardSavedEventHandler) e -> handled.add("saved"));
+        dispatcher.triggerEvent(new BoardSavedEvent());
+        assertEquals(Arrays.asList("saved"), handled);
+        assertEquals(2, dispatcher.getEventStats(BoardSavedEvent.class).get().getDeliveryCount());
+    }
+
+    @Test
+    public void triggerEvent_backgroundHandlerBusy_progressEventsCoalesced() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        List<Float> progress = Collections.synchronizedList(new ArrayList<>());
+        dispatcher.registerEvent((BoardSavedEventHandler) e -> {
+            blocked.countDown();
+            await(unblock);
+        }, EventDelivery.BACKGROUND);
+        dispatcher.registerEvent((UpdateProgressEventHandler) e -> {
+            progress.add(e.progress);
+            finished.countDown();
+        }, EventDelivery.BACKGROUND);
+
+        // Hold up the background thread while progress events arrive
+        dispatcher.triggerEvent(new BoardSavedEvent());
+        await(blocked);
+        for (int i = 1; i <= 10; i++) {
+            dispatcher.triggerEvent(new UpdateProgressEvent("dummy/dummy", i / 10f));
+        }
+        dispatcher.triggerEvent(new UpdateProgressEvent("dummy/other", 0.5f));
+        unblock.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1f, 0.5f), progress);
+        assertEquals(9, dispatcher.getEventStats(UpdateProgressEvent.class).get().getCoalescedCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
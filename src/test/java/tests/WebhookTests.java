@@ -0,0 +1,178 @@
+package tests;
+
+import backend.IssueMetadata;
+import backend.UpdateSignature;
+import backend.control.operations.UpdateLocalModelOp;
+import backend.github.GitHubModelUpdatesData;
+import backend.resource.Model;
+import backend.resource.MultiModel;
+import backend.resource.TurboIssue;
+import backend.resource.TurboLabel;
+import backend.webhook.WebhookReceiver;
+import backend.webhook.WebhookUpdates;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import prefs.Preferences;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class WebhookTests {
+
+    private static final String REPO_ID = "dummy/dummy";
+    private static final String SECRET = "webhook-secret";
+
+    private final BlockingQueue<ImmutablePair<String, String>> deliveries = new LinkedBlockingQueue<>();
+    private WebhookReceiver receiver;
+
+    @Before
+    public void startReceiver() throws IOException {
+        receiver = new WebhookReceiver(0, SECRET,
+                                       (event, payload) -> deliveries.add(new ImmutablePair<>(event, payload)));
+        receiver.start();
+    }
+
+    @After
+    public void stopReceiver() {
+        receiver.stop();
+    }
+
+    @Test
+    public void post_signedPayload_delivered() throws IOException, InterruptedException {
+        String payload = readPayload("issues-edited.json");
+
+        assertEquals(HttpURLConnection.HTTP_ACCEPTED,
+                     post("issues", payload, WebhookReceiver.HEADER_SIGNATURE_256, sign("HmacSHA256", payload)));
+
+        ImmutablePair<String, String> delivery = deliveries.poll(5, TimeUnit.SECONDS);
+        assertEquals("issues", delivery.left);
+        assertEquals(payload, delivery.right);
+        assertTrue(receiver.getLastDeliveryTime().isPresent());
+    }
+
+    @Test
+    public void post_legacySignature_delivered() throws IOException, InterruptedException {
+        String payload = readPayload("label-edited.json");
+
+        assertEquals(HttpURLConnection.HTTP_ACCEPTED,
+                     post("label", payload, WebhookReceiver.HEADER_SIGNATURE, sign("HmacSHA1", payload)));
+        assertEquals("label", deliveries.poll(5, TimeUnit.SECONDS).left);
+    }
+
+    @Test
+    public void post_wrongOrMissingSignature_rejected() throws IOException {
+        String payload = readPayload("issues-edited.json");
+        String tampered = payload.replace("Panels flicker when refreshed", "Something else");
+
+        assertEquals(HttpURLConnection.HTTP_UNAUTHORIZED,
+                     post("issues", tampered, WebhookReceiver.HEADER_SIGNATURE_256, sign("HmacSHA256", payload)));
+        assertEquals(HttpURLConnection.HTTP_UNAUTHORIZED, post("issues", payload, null, null));
+        assertTrue(deliveries.isEmpty());
+        assertFalse(receiver.getLastDeliveryTime().isPresent());
+    }
+
+    @Test
+    public void toModelUpdates_recordedPayloads_appliedToModel() throws Exception {
+        TurboIssue first = new TurboIssue(REPO_ID, 1, "Panels flicker on refresh");
+        TurboIssue second = new TurboIssue(REPO_ID, 2, "Add webhook support");
+        second.setMetadata(IssueMetadata.empty().full("test"));
+        first.setUpdatedAt(LocalDateTime.of(2016, 3, 1, 10, 0));
+        second.setUpdatedAt(LocalDateTime.of(2016, 3, 1, 11, 0));
+        UpdateSignature signature = new UpdateSignature("issues", "labels", "milestones", "users",
+                                                        "events", "comments", new Date(0));
+        Model model = new Model(REPO_ID, new ArrayList<>(Arrays.asList(first, second)),
+                                new ArrayList<>(Arrays.asList(new TurboLabel(REPO_ID, "type.bug"),
+                                                              new TurboLabel(REPO_ID, "priority.high"))),
+                                new ArrayList<>(), new ArrayList<>(), signature);
+
+        model = apply(model, "issues", readPayload("issues-edited.json"));
+        model = apply(model, "issue_comment", readPayload("issue_comment-created.json"));
+        model = apply(model, "label", readPayload("label-edited.json"));
+
+        assertEquals("Panels flicker when refreshed", model.getIssueById(1).get().getTitle());
+        assertEquals(Arrays.asList("type.bug"), model.getIssueById(1).get().getLabels());
+        assertFalse(model.getIssueById(2).get().getMetadata().isLatest());
+        assertEquals(1, model.getIssueById(2).get().getCommentCount());
+        assertEquals(Arrays.asList("priority.high", "type.defect"),
+                     model.getLabels().stream().map(TurboLabel::getFullName).sorted().collect(Collectors.toList()));
+
+        // The next poll must still download everything since the last one
+        assertEquals(signature, model.getUpdateSignature());
+        assertEquals(new Date(0), model.getUpdateSignature().lastCheckTime);
+        assertEquals("comments", model.getUpdateSignature().issueCommentsETag);
+    }
+
+    @Test
+    public void toModelUpdates_lastLabelDeleted_labelsEmptied() throws Exception {
+        Model model = new Model(REPO_ID, new ArrayList<>(),
+                                new ArrayList<>(Arrays.asList(new TurboLabel(REPO_ID, "type.bug"))),
+                                new ArrayList<>(), new ArrayList<>());
+
+        model = apply(model, "label", readPayload("label-deleted.json"));
+
+        assertTrue(model.getLabels().isEmpty());
+    }
+
+    @Test
+    public void toModelUpdates_repositoryNotOpenOrUnsupportedEvent_ignored() throws IOException {
+        String payload = readPayload("issues-edited.json");
+        assertFalse(WebhookUpdates.toModelUpdates("issues", payload, repoId -> Optional.empty()).isPresent());
+        assertFalse(WebhookUpdates.toModelUpdates("watch", payload, repoId -> Optional.of(new Model(REPO_ID)))
+                            .isPresent());
+    }
+
+    private static Model apply(Model model, String event, String payload) throws Exception {
+        GitHubModelUpdatesData updates = WebhookUpdates.toModelUpdates(event, payload, repoId -> Optional.of(model))
+                .get();
+        return new UpdateLocalModelOp(new MultiModel(mock(Preferences.class)), updates, new CompletableFuture<>())
+                .perform().get();
+    }
+
+    private int post(String event, String payload, String signatureHeader, String signature) throws IOException {
+        URL url = new URL("http://localhost:" + receiver.getPort() + "/");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty(WebhookReceiver.HEADER_EVENT, event);
+        connection.setRequestProperty("Content-Type", "application/json");
+        if (signatureHeader != null) {
+            connection.setRequestProperty(signatureHeader, signature);
+        }
+        try (OutputStream body = connection.getOutputStream()) {
+            body.write(payload.getBytes(StandardCharsets.UTF_8));
+        }
+        int code = connection.getResponseCode();
+        connection.disconnect();
+        return code;
+    }
+
+    private static String sign(String algorithm, String payload) {
+        String hex = WebhookReceiver.sign(algorithm, SECRET.getBytes(StandardCharsets.UTF_8),
+                                          payload.getBytes(StandardCharsets.UTF_8));
+        return (algorithm.equals("HmacSHA256") ? "sha256=" : "sha1=") + hex;
+    }
+
+    private String readPayload(String filename) throws IOException {
+        return TestUtils.readFileFromResource(this, "tests/WebhookPayloads/" + filename);
+    }
+}